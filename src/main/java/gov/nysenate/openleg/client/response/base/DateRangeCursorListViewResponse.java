@@ -0,0 +1,60 @@
+package gov.nysenate.openleg.client.response.base;
+
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.client.view.base.ListView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.util.DateUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A cursor paginated list response. Instead of a total count and offsets, it carries the cursor that
+ * the next page can be requested with. The cursor is null once the last page has been reached.
+ */
+public class DateRangeCursorListViewResponse<ViewType> extends BaseResponse
+{
+    protected ListView<ViewType> result;
+    protected LocalDateTime fromDateTime;
+    protected LocalDateTime toDateTime;
+    protected int limit;
+    protected String nextCursor;
+
+    protected DateRangeCursorListViewResponse(ListView<ViewType> result, Range<LocalDateTime> dateTimeRange,
+                                              int limit, String nextCursor) {
+        this.result = result;
+        this.fromDateTime = DateUtils.startOfDateTimeRange(dateTimeRange);
+        this.toDateTime = DateUtils.endOfDateTimeRange(dateTimeRange);
+        this.limit = limit;
+        this.nextCursor = nextCursor;
+        if (result != null) {
+            success = true;
+            this.responseType = result.getViewType();
+        }
+    }
+
+    public static <ViewType extends ViewObject> DateRangeCursorListViewResponse<ViewType> of(
+            List<ViewType> items, Range<LocalDateTime> dateTimeRange, int limit, String nextCursor) {
+        return new DateRangeCursorListViewResponse<>(ListView.of(items), dateTimeRange, limit, nextCursor);
+    }
+
+    public ListView<ViewType> getResult() {
+        return result;
+    }
+
+    public LocalDateTime getFromDateTime() {
+        return fromDateTime;
+    }
+
+    public LocalDateTime getToDateTime() {
+        return toDateTime;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -30,6 +30,7 @@ public enum ErrorCode
 
     SPOTCHECK_REPORT_NOT_FOUND(31, "The requested spotcheck report was not found"),
     SENATE_SITE_JSON_DUMP_MISSING_FIELDS(32, "The JSON dump is missing required fields"),
+    SPOTCHECK_MISMATCH_NOT_FOUND(33, "The requested spotcheck mismatch was not found"),
 
     /** --- Committee --- */
 
@@ -0,0 +1,64 @@
+package gov.nysenate.openleg.client.view.database;
+
+import com.mchange.v2.c3p0.PooledDataSource;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionPoolStatsView implements ViewObject
+{
+    protected int numConnections;
+    protected int numBusyConnections;
+    protected int numIdleConnections;
+    protected int numThreadsAwaitingCheckout;
+    protected long numFailedCheckouts;
+    protected long connectionCheckouts;
+    protected double totalCheckoutTimeMs;
+
+    public ConnectionPoolStatsView(PooledDataSource pool, long connectionCheckouts, long totalCheckoutNanos)
+            throws SQLException {
+        if (pool != null) {
+            this.numConnections = pool.getNumConnectionsDefaultUser();
+            this.numBusyConnections = pool.getNumBusyConnectionsDefaultUser();
+            this.numIdleConnections = pool.getNumIdleConnectionsDefaultUser();
+            this.numThreadsAwaitingCheckout = pool.getNumThreadsAwaitingCheckoutDefaultUser();
+            this.numFailedCheckouts = pool.getNumFailedCheckoutsDefaultUser();
+        }
+        this.connectionCheckouts = connectionCheckouts;
+        this.totalCheckoutTimeMs = (double) totalCheckoutNanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String getViewType() {
+        return "connection-pool-stats";
+    }
+
+    public int getNumConnections() {
+        return numConnections;
+    }
+
+    public int getNumBusyConnections() {
+        return numBusyConnections;
+    }
+
+    public int getNumIdleConnections() {
+        return numIdleConnections;
+    }
+
+    public int getNumThreadsAwaitingCheckout() {
+        return numThreadsAwaitingCheckout;
+    }
+
+    public long getNumFailedCheckouts() {
+        return numFailedCheckouts;
+    }
+
+    public long getConnectionCheckouts() {
+        return connectionCheckouts;
+    }
+
+    public double getTotalCheckoutTimeMs() {
+        return totalCheckoutTimeMs;
+    }
+}
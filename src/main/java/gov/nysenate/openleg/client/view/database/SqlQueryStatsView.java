@@ -0,0 +1,85 @@
+package gov.nysenate.openleg.client.view.database;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.dao.base.SqlQueryStats;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class SqlQueryStatsView implements ViewObject
+{
+    protected String queryName;
+    protected long count;
+    protected long errorCount;
+    protected long rowCount;
+    protected double totalTimeMs;
+    protected double avgTimeMs;
+    protected double maxTimeMs;
+    protected double poolWaitTimeMs;
+    protected List<Long> histogramBoundsMs;
+    protected List<Long> histogram;
+
+    public SqlQueryStatsView(SqlQueryStats stats) {
+        if (stats != null) {
+            this.queryName = stats.getQueryName();
+            this.count = stats.getCount();
+            this.errorCount = stats.getErrorCount();
+            this.rowCount = stats.getRowCount();
+            this.totalTimeMs = toMillis(stats.getTotalNanos());
+            this.avgTimeMs = count > 0 ? totalTimeMs / count : 0;
+            this.maxTimeMs = toMillis(stats.getMaxNanos());
+            this.poolWaitTimeMs = toMillis(stats.getPoolWaitNanos());
+            this.histogramBoundsMs = SqlQueryStats.BUCKET_BOUNDS_MS;
+            this.histogram = stats.getHistogram();
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String getViewType() {
+        return "sql-query-stats";
+    }
+
+    public String getQueryName() {
+        return queryName;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public double getTotalTimeMs() {
+        return totalTimeMs;
+    }
+
+    public double getAvgTimeMs() {
+        return avgTimeMs;
+    }
+
+    public double getMaxTimeMs() {
+        return maxTimeMs;
+    }
+
+    public double getPoolWaitTimeMs() {
+        return poolWaitTimeMs;
+    }
+
+    public List<Long> getHistogramBoundsMs() {
+        return histogramBoundsMs;
+    }
+
+    public List<Long> getHistogram() {
+        return histogram;
+    }
+}
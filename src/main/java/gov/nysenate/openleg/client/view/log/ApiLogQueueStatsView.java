@@ -0,0 +1,36 @@
+package gov.nysenate.openleg.client.view.log;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.service.log.data.ApiLogDataService;
+
+public class ApiLogQueueStatsView implements ViewObject
+{
+    protected int queuedCount;
+    protected int capacity;
+    protected long droppedCount;
+
+    public ApiLogQueueStatsView(ApiLogDataService apiLogDataService) {
+        if (apiLogDataService != null) {
+            this.queuedCount = apiLogDataService.getQueuedCount();
+            this.capacity = apiLogDataService.getQueueCapacity();
+            this.droppedCount = apiLogDataService.getDroppedCount();
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "api-log-queue-stats";
+    }
+
+    public int getQueuedCount() {
+        return queuedCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+}
@@ -0,0 +1,68 @@
+package gov.nysenate.openleg.client.view.process;
+
+import gov.nysenate.openleg.client.view.base.ListView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.model.process.DataProcessMetrics;
+import gov.nysenate.openleg.model.process.DataProcessRun;
+
+import java.time.LocalDateTime;
+
+import static java.util.stream.Collectors.toList;
+
+public class DataProcessMetricsView implements ViewObject
+{
+    protected int processId;
+    protected LocalDateTime startDateTime;
+    protected LocalDateTime endDateTime;
+    protected ListView<DataProcessStageMetricView> stages;
+    protected ListView<DataProcessQueueMetricView> queues;
+
+    /** --- Constructors --- */
+
+    public DataProcessMetricsView(DataProcessRun run) {
+        this(run, (run != null) ? run.getMetrics() : null);
+    }
+
+    public DataProcessMetricsView(DataProcessRun run, DataProcessMetrics metrics) {
+        if (run != null) {
+            this.processId = run.getProcessId();
+            this.startDateTime = run.getStartDateTime();
+            this.endDateTime = run.getEndDateTime();
+        }
+        if (metrics != null) {
+            this.stages = ListView.of(metrics.getStageMetrics().stream()
+                .map(DataProcessStageMetricView::new)
+                .collect(toList()));
+            this.queues = ListView.of(metrics.getQueueMetrics().stream()
+                .map(DataProcessQueueMetricView::new)
+                .collect(toList()));
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "data-process-metrics";
+    }
+
+    /** --- Basic Getters --- */
+
+    public int getProcessId() {
+        return processId;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public ListView<DataProcessStageMetricView> getStages() {
+        return stages;
+    }
+
+    public ListView<DataProcessQueueMetricView> getQueues() {
+        return queues;
+    }
+}
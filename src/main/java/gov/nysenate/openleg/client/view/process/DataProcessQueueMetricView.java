@@ -0,0 +1,42 @@
+package gov.nysenate.openleg.client.view.process;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.model.process.DataProcessQueueMetric;
+
+public class DataProcessQueueMetricView implements ViewObject
+{
+    protected String queue;
+    protected long samples;
+    protected long lastDepth;
+    protected long peakDepth;
+
+    public DataProcessQueueMetricView(DataProcessQueueMetric metric) {
+        if (metric != null) {
+            this.queue = metric.getQueue();
+            this.samples = metric.getSamples();
+            this.lastDepth = metric.getLastDepth();
+            this.peakDepth = metric.getPeakDepth();
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "data-process-queue-metric";
+    }
+
+    public String getQueue() {
+        return queue;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getLastDepth() {
+        return lastDepth;
+    }
+
+    public long getPeakDepth() {
+        return peakDepth;
+    }
+}
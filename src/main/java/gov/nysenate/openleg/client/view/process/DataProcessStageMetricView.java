@@ -0,0 +1,66 @@
+package gov.nysenate.openleg.client.view.process;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.model.process.DataProcessStageMetric;
+
+import java.util.concurrent.TimeUnit;
+
+public class DataProcessStageMetricView implements ViewObject
+{
+    protected String stage;
+    protected long count;
+    protected long items;
+    protected double totalTimeMs;
+    protected double avgTimeMs;
+    protected double maxTimeMs;
+    protected double itemsPerSecond;
+
+    public DataProcessStageMetricView(DataProcessStageMetric metric) {
+        if (metric != null) {
+            this.stage = metric.getStage();
+            this.count = metric.getCount();
+            this.items = metric.getItems();
+            this.totalTimeMs = toMillis(metric.getTotalNanos());
+            this.avgTimeMs = count > 0 ? totalTimeMs / count : 0;
+            this.maxTimeMs = toMillis(metric.getMaxNanos());
+            this.itemsPerSecond = metric.getItemsPerSecond();
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public String getViewType() {
+        return "data-process-stage-metric";
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getItems() {
+        return items;
+    }
+
+    public double getTotalTimeMs() {
+        return totalTimeMs;
+    }
+
+    public double getAvgTimeMs() {
+        return avgTimeMs;
+    }
+
+    public double getMaxTimeMs() {
+        return maxTimeMs;
+    }
+
+    public double getItemsPerSecond() {
+        return itemsPerSecond;
+    }
+}
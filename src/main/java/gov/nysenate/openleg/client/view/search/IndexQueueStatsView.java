@@ -0,0 +1,86 @@
+package gov.nysenate.openleg.client.view.search;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.model.search.IndexQueueStats;
+
+import java.time.LocalDateTime;
+
+public class IndexQueueStatsView implements ViewObject
+{
+    protected int pendingCount;
+    protected int capacity;
+    protected long lagMillis;
+    protected long queuedCount;
+    protected long coalescedCount;
+    protected long blockedCount;
+    protected long sentCount;
+    protected long failedCount;
+    protected long bulkRequestCount;
+    protected LocalDateTime lastFlushDateTime;
+    protected long lastFlushMillis;
+
+    public IndexQueueStatsView(IndexQueueStats stats) {
+        if (stats != null) {
+            this.pendingCount = stats.getPendingCount();
+            this.capacity = stats.getCapacity();
+            this.lagMillis = stats.getLagMillis();
+            this.queuedCount = stats.getQueuedCount();
+            this.coalescedCount = stats.getCoalescedCount();
+            this.blockedCount = stats.getBlockedCount();
+            this.sentCount = stats.getSentCount();
+            this.failedCount = stats.getFailedCount();
+            this.bulkRequestCount = stats.getBulkRequestCount();
+            this.lastFlushDateTime = stats.getLastFlushDateTime();
+            this.lastFlushMillis = stats.getLastFlushMillis();
+        }
+    }
+
+    @Override
+    public String getViewType() {
+        return "index-queue-stats";
+    }
+
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public long getQueuedCount() {
+        return queuedCount;
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    public long getBlockedCount() {
+        return blockedCount;
+    }
+
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public long getBulkRequestCount() {
+        return bulkRequestCount;
+    }
+
+    public LocalDateTime getLastFlushDateTime() {
+        return lastFlushDateTime;
+    }
+
+    public long getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+}
@@ -0,0 +1,30 @@
+package gov.nysenate.openleg.client.view.spotcheck;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.util.StringDiffer;
+
+import java.util.LinkedList;
+
+public class MismatchDiffView implements ViewObject
+{
+    protected int mismatchId;
+    protected LinkedList<StringDiffer.Diff> diff;
+
+    public MismatchDiffView(int mismatchId, LinkedList<StringDiffer.Diff> diff) {
+        this.mismatchId = mismatchId;
+        this.diff = diff;
+    }
+
+    public int getMismatchId() {
+        return mismatchId;
+    }
+
+    public LinkedList<StringDiffer.Diff> getDiff() {
+        return diff;
+    }
+
+    @Override
+    public String getViewType() {
+        return "mismatch-diff";
+    }
+}
@@ -1,9 +1,21 @@
 package gov.nysenate.openleg.client.view.updates;
 
+import gov.nysenate.openleg.client.view.agenda.AgendaIdView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.client.view.bill.BaseBillIdView;
+import gov.nysenate.openleg.client.view.calendar.CalendarIdView;
+import gov.nysenate.openleg.client.view.law.LawDocIdView;
+import gov.nysenate.openleg.client.view.law.LawVersionIdView;
+import gov.nysenate.openleg.model.agenda.AgendaId;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.calendar.CalendarId;
+import gov.nysenate.openleg.model.law.LawDocId;
+import gov.nysenate.openleg.model.law.LawVersionId;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public class UpdateTokenView implements ViewObject
 {
@@ -47,4 +59,33 @@ public class UpdateTokenView implements ViewObject
     public LocalDateTime getProcessedDateTime() {
         return processedDateTime;
     }
+
+    /**
+     * Determines the content type of the given genericized update token and returns a ViewObject id for that content
+     * @param token UpdateToken<Map<String, String>>
+     * @return ViewObject
+     */
+    public static ViewObject getIdView(UpdateToken<Map<String, String>> token) {
+        Map<String, String> id = token.getId();
+        switch (token.getContentType()) {
+            case AGENDA:
+                return new AgendaIdView(new AgendaId(
+                        Integer.parseInt(id.get("agendaNumber")),
+                        Integer.parseInt(id.get("year"))
+                ));
+            case BILL:
+                return new BaseBillIdView(new BaseBillId(id.get("printNo"), Integer.parseInt(id.get("session"))));
+            case CALENDAR:
+                return new CalendarIdView(new CalendarId(
+                        Integer.parseInt(id.get("calNo")),
+                        Integer.parseInt(id.get("year"))
+                ));
+            case LAW:
+                if (id.containsKey("lawDocId")) {
+                    return new LawDocIdView(new LawDocId(id.get("lawDocId"), LocalDate.parse(id.get("publishedDate"))));
+                }
+                return new LawVersionIdView(new LawVersionId(id.get("lawId"), LocalDate.parse(id.get("publishedDate"))));
+        }
+        return () -> "null";
+    }
 }
@@ -8,15 +8,9 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.google.common.eventbus.AsyncEventBus;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.SubscriberExceptionHandler;
-import gov.nysenate.openleg.model.agenda.Agenda;
-import gov.nysenate.openleg.model.agenda.AgendaId;
-import gov.nysenate.openleg.model.bill.BaseBillId;
-import gov.nysenate.openleg.model.bill.Bill;
-import gov.nysenate.openleg.model.calendar.CalendarId;
-import gov.nysenate.openleg.model.sobi.SobiFragment;
-import gov.nysenate.openleg.processor.base.IngestCache;
 import gov.nysenate.openleg.util.AsciiArt;
 import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import gov.nysenate.openleg.util.TimedEventBus;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.SizeOfPolicyConfiguration;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -37,7 +31,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.net.InetSocketAddress;
-import java.util.Calendar;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -134,7 +127,7 @@ public class ApplicationConfig implements CachingConfigurer
             logger.error("Event Bus Exception thrown during event handling within {}: {}, {}", context.getSubscriberMethod(),
                 exception, ExceptionUtils.getStackTrace(exception));
         };
-        return new EventBus(errorHandler);
+        return new TimedEventBus(errorHandler);
     }
 
     @Bean
@@ -159,24 +152,4 @@ public class ApplicationConfig implements CachingConfigurer
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         return objectMapper;
     }
-
-    /** --- Processing Instances --- */
-
-    @Value("${sobi.batch.process.size:100}")
-    private int sobiBatchSize;
-
-    @Bean(name = "billIngestCache")
-    public IngestCache<BaseBillId, Bill, SobiFragment> billIngestCache() {
-        return new IngestCache<>(sobiBatchSize);
-    }
-
-    @Bean(name = "agendaIngestCache")
-    public IngestCache<AgendaId, Agenda, SobiFragment> agendaIngestCache() {
-        return new IngestCache<>(100);
-    }
-
-    @Bean(name = "calendarIngestCache")
-    public IngestCache<CalendarId, Calendar, SobiFragment> calendarIngestCache() {
-        return new IngestCache<>(100);
-    }
-}
\ No newline at end of file
+}
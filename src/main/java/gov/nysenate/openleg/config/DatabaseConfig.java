@@ -1,8 +1,12 @@
 package gov.nysenate.openleg.config;
 
 import com.mchange.v2.c3p0.ComboPooledDataSource;
+import gov.nysenate.openleg.dao.base.InstrumentedNamedParameterJdbcTemplate;
+import gov.nysenate.openleg.dao.base.PoolTimingDataSource;
+import gov.nysenate.openleg.dao.base.SqlQueryMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -30,22 +34,36 @@ public class DatabaseConfig
     @Value("${postgresdb.user}")  private String dbUser;
     @Value("${postgresdb.pass}")  private String dbPass;
 
+    /** Number of sql statements whose parsed named parameter form is cached by the named jdbc template. */
+    @Value("${postgresdb.parsed.sql.cache.size:1024}") private int parsedSqlCacheSize;
+
+    @Autowired private SqlQueryMetrics sqlQueryMetrics;
+
     @Bean
     public JdbcTemplate jdbcTemplate() {
         return new JdbcTemplate(postgresDataSource());
     }
 
+    /**
+     * The named jdbc template records statistics for each query in the {@link SqlQueryMetrics}.
+     * @return NamedParameterJdbcTemplate
+     */
     @Bean
     public NamedParameterJdbcTemplate namedJdbcTemplate() {
-        return new NamedParameterJdbcTemplate(postgresDataSource());
+        NamedParameterJdbcTemplate namedJdbcTemplate =
+            new InstrumentedNamedParameterJdbcTemplate(postgresDataSource(), sqlQueryMetrics);
+        namedJdbcTemplate.setCacheLimit(parsedSqlCacheSize);
+        return namedJdbcTemplate;
     }
 
     /**
      * Configures the sql data source using a connection pool.
+     * Connection checkouts are timed so that pool contention shows up in the query statistics.
+     * The pool is closed along with the returned data source when the context shuts down.
      * @return DataSource
      */
-    @Bean
-    public DataSource postgresDataSource() {
+    @Bean(destroyMethod = "close")
+    public PoolTimingDataSource postgresDataSource() {
         final String jdbcUrlTemplate = "jdbc:%s//%s/%s";
         ComboPooledDataSource pool = new ComboPooledDataSource();
         try {
@@ -65,7 +83,9 @@ public class DatabaseConfig
         pool.setTestConnectionOnCheckout(false);
         pool.setTestConnectionOnCheckin(true);
         pool.setIdleConnectionTestPeriod(30);
-        return pool;
+
+        sqlQueryMetrics.setConnectionPool(pool);
+        return new PoolTimingDataSource(pool, sqlQueryMetrics);
     }
 
     /**
@@ -57,6 +57,18 @@ public class Environment
     /** Allow elastic search to index documents. */
     @Value("${elastic.search.enabled}") private boolean elasticIndexing;
 
+    /** Maximum number of entities with pending index writes before writers are blocked. */
+    @Value("${elastic.index.queue.capacity:10000}") private int elasticIndexQueueCapacity;
+
+    /** Maximum number of entities whose pending writes are sent in a single bulk request. */
+    @Value("${elastic.index.queue.batch.size:500}") private int elasticIndexBatchSize;
+
+    /** Maximum time in milliseconds that a pending index write will wait for a batch to fill up. */
+    @Value("${elastic.index.queue.flush.interval:1000}") private long elasticIndexFlushInterval;
+
+    /** Number of threads that load data into a search index during a rebuild. */
+    @Value("${elastic.index.rebuild.threads:4}") private int elasticRebuildThreads;
+
     /** --- Processing settings --- */
 
     /** Enable processing of data. */
@@ -71,6 +83,18 @@ public class Environment
     /** If SOBI batch is enabled, this specifies the maximum batch size. */
     @Value("${sobi.batch.process.size}") private int sobiBatchSize;
 
+    /** Process pending SOBI fragments concurrently, partitioned by the entities they modify. */
+    @Value("${sobi.parallel.process.enabled:false}") private boolean sobiParallelEnabled;
+
+    /** If parallel SOBI processing is enabled, this specifies the number of worker threads. */
+    @Value("${sobi.parallel.process.threads:4}") private int sobiParallelThreads;
+
+    /** Persist the bills in the ingest cache using batched writes when it is flushed. */
+    @Value("${bill.batch.persist.enabled:true}") private boolean billBatchPersistEnabled;
+
+    /** The number of law documents that are persisted and indexed together while processing law files. */
+    @Value("${law.persist.batch.size:500}") private int lawPersistBatchSize;
+
     /** --- Scheduling Settings --- */
 
     /** Enable processing of data at scheduled intervals. */
@@ -84,6 +108,9 @@ public class Environment
     @Value("${spotcheck.alert.grace.period}") private int rawAlertGracePeriod;
     private Duration spotcheckAlertGracePeriod;
 
+    /** Number of threads that compare content against the senate site dumps. */
+    @Value("${spotcheck.senatesite.threads:4}") private int senateSiteSpotcheckThreads;
+
     /** Allows bills to be automatically added to the scrape queue if true */
     @Value("${bill.scrape.queue.enabled}") private boolean billScrapeQueueEnabled;
 
@@ -159,6 +186,22 @@ public class Environment
         this.elasticIndexing = elasticIndexing;
     }
 
+    public int getElasticIndexQueueCapacity() {
+        return elasticIndexQueueCapacity;
+    }
+
+    public int getElasticIndexBatchSize() {
+        return elasticIndexBatchSize;
+    }
+
+    public long getElasticIndexFlushInterval() {
+        return elasticIndexFlushInterval;
+    }
+
+    public int getElasticRebuildThreads() {
+        return elasticRebuildThreads;
+    }
+
     public boolean isProcessingEnabled() {
         return processingEnabled;
     }
@@ -191,6 +234,34 @@ public class Environment
         this.sobiBatchSize = sobiBatchSize;
     }
 
+    public boolean isSobiParallelEnabled() {
+        return sobiParallelEnabled;
+    }
+
+    public void setSobiParallelEnabled(boolean sobiParallelEnabled) {
+        this.sobiParallelEnabled = sobiParallelEnabled;
+    }
+
+    public int getSobiParallelThreads() {
+        return sobiParallelThreads;
+    }
+
+    public boolean isBillBatchPersistEnabled() {
+        return billBatchPersistEnabled;
+    }
+
+    public void setBillBatchPersistEnabled(boolean billBatchPersistEnabled) {
+        this.billBatchPersistEnabled = billBatchPersistEnabled;
+    }
+
+    public int getLawPersistBatchSize() {
+        return lawPersistBatchSize;
+    }
+
+    public void setLawPersistBatchSize(int lawPersistBatchSize) {
+        this.lawPersistBatchSize = lawPersistBatchSize;
+    }
+
     public String getApiSecret() {
         return apiSecret;
     }
@@ -299,6 +370,14 @@ public class Environment
         this.spotcheckAlertGracePeriod = spotcheckAlertGracePeriod;
     }
 
+    public int getSenateSiteSpotcheckThreads() {
+        return senateSiteSpotcheckThreads;
+    }
+
+    public void setSenateSiteSpotcheckThreads(int senateSiteSpotcheckThreads) {
+        this.senateSiteSpotcheckThreads = senateSiteSpotcheckThreads;
+    }
+
     public String getOldProdUrl() {
         return oldProdUrl;
     }
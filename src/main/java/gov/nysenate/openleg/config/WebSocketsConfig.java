@@ -1,16 +1,24 @@
 package gov.nysenate.openleg.config;
 
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.AbstractWebSocketMessageBrokerConfigurer;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketsConfig extends AbstractWebSocketMessageBrokerConfigurer
 {
+    /** Maximum size (KB) of the messages buffered for a slow subscriber before it is disconnected. */
+    @Value("${stomp.send.buffer.size:512}") private int sendBufferSizeKb;
+
+    /** Maximum time (ms) a send to a slow subscriber may take before it is disconnected. */
+    @Value("${stomp.send.time.limit:10000}") private int sendTimeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         super.configureMessageBroker(registry);
@@ -22,4 +30,14 @@ public class WebSocketsConfig extends AbstractWebSocketMessageBrokerConfigurer
     public void registerStompEndpoints(StompEndpointRegistry stompEndpointRegistry) {
         stompEndpointRegistry.addEndpoint("/sock").withSockJS();
     }
+
+    /**
+     * Bound the messages that are buffered for each session. Subscribers to the update stream that cannot keep up
+     * are disconnected rather than buffered indefinitely, and can resume from the last cursor they received.
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit(sendBufferSizeKb * 1024);
+        registration.setSendTimeLimit(sendTimeLimit);
+    }
 }
@@ -2,8 +2,10 @@ package gov.nysenate.openleg.controller.api.admin;
 
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
+import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
 import gov.nysenate.openleg.client.view.base.SearchResultView;
 import gov.nysenate.openleg.client.view.log.ApiLogItemView;
+import gov.nysenate.openleg.client.view.log.ApiLogQueueStatsView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.log.search.ApiLogStompService;
@@ -12,6 +14,7 @@ import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.auth.ApiUserService;
+import gov.nysenate.openleg.service.log.data.ApiLogDataService;
 import gov.nysenate.openleg.service.log.search.ApiLogSearchService;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.slf4j.Logger;
@@ -35,6 +38,7 @@ public class ApiLogCtrl extends BaseCtrl
 
     @Autowired private ApiLogSearchService logSearchService;
     @Autowired private ApiUserService apiUserService;
+    @Autowired private ApiLogDataService apiLogDataService;
 
     @RequiresPermissions("admin:apilog:view")
     @RequestMapping("")
@@ -48,4 +52,16 @@ public class ApiLogCtrl extends BaseCtrl
                 .map(r -> new SearchResultView(r.getResult(), r.getRank(), r.getHighlights()))
                 .collect(toList()), results.getTotalResults(), limOff);
     }
+
+    /**
+     * Api Log Queue API
+     *
+     * Get the number of api log events waiting to be persisted and the number that were dropped because the
+     * queue was full: (GET) /api/3/admin/apiLogs/queue
+     */
+    @RequiresPermissions("admin:apilog:view")
+    @RequestMapping(value = "/queue", method = RequestMethod.GET)
+    public BaseResponse getQueueStats() {
+        return new ViewObjectResponse<>(new ApiLogQueueStatsView(apiLogDataService));
+    }
 }
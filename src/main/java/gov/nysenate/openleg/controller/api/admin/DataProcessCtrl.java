@@ -7,6 +7,7 @@ import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
 import gov.nysenate.openleg.client.response.error.ErrorCode;
 import gov.nysenate.openleg.client.response.error.ErrorResponse;
 import gov.nysenate.openleg.client.response.error.ViewObjectErrorResponse;
+import gov.nysenate.openleg.client.view.process.DataProcessMetricsView;
 import gov.nysenate.openleg.client.view.process.DataProcessRunDetailView;
 import gov.nysenate.openleg.client.view.process.DataProcessRunInfoView;
 import gov.nysenate.openleg.client.view.process.DataProcessRunView;
@@ -19,6 +20,7 @@ import gov.nysenate.openleg.model.process.DataProcessRun;
 import gov.nysenate.openleg.model.process.DataProcessRunInfo;
 import gov.nysenate.openleg.processor.DataProcessor;
 import gov.nysenate.openleg.service.process.DataProcessLogService;
+import gov.nysenate.openleg.service.process.DataProcessMetricsService;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.slf4j.Logger;
@@ -45,6 +47,7 @@ public class DataProcessCtrl extends BaseCtrl
     @Autowired private Environment env;
     @Autowired private DataProcessLogService processLogs;
     @Autowired private DataProcessor dataProcessor;
+    @Autowired private DataProcessMetricsService processMetrics;
 
     /**
      * Data Process API
@@ -157,4 +160,46 @@ public class DataProcessCtrl extends BaseCtrl
             return new ErrorResponse(ErrorCode.PROCESS_RUN_NOT_FOUND);
         }
     }
+
+    /**
+     * Data Process Run Metrics API
+     * ----------------------------
+     *
+     * Get the stage timings and queue depths that were recorded for a data process run.
+     * Usage:
+     * (GET) /api/3/admin/process/runs/id/{id}/metrics
+     * (GET) /api/3/admin/process/metrics/current
+     *
+     * The metrics of the run in progress are only saved once it finishes, until then the metrics recorded so far
+     * are returned. They are also broadcast to the '/event/process/metrics' stomp destination.
+     *
+     * Expected Output: DataProcessMetricsView
+     */
+    @RequiresPermissions("admin:dataProcess")
+    @RequestMapping("/runs/id/{id:[0-9]+}/metrics")
+    public BaseResponse getRunMetrics(@PathVariable int id) {
+        Optional<DataProcessRun> currentRun = processMetrics.getCurrentRun();
+        if (currentRun.isPresent() && currentRun.get().getProcessId() == id) {
+            return new ViewObjectResponse<>(new DataProcessMetricsView(currentRun.get()));
+        }
+        Optional<DataProcessRun> run = processLogs.getRun(id);
+        if (run.isPresent()) {
+            return new ViewObjectResponse<>(new DataProcessMetricsView(run.get(), processLogs.getMetrics(id)));
+        }
+        return new ErrorResponse(ErrorCode.PROCESS_RUN_NOT_FOUND);
+    }
+
+    /**
+     * Gets the metrics recorded so far for the run that is in progress.
+     * @see #getRunMetrics(int)
+     */
+    @RequiresPermissions("admin:dataProcess")
+    @RequestMapping("/metrics/current")
+    public BaseResponse getCurrentRunMetrics() {
+        Optional<DataProcessRun> run = processMetrics.getCurrentRun();
+        if (run.isPresent()) {
+            return new ViewObjectResponse<>(new DataProcessMetricsView(run.get()));
+        }
+        return new ErrorResponse(ErrorCode.PROCESS_RUN_NOT_FOUND);
+    }
 }
@@ -4,9 +4,12 @@ import com.google.common.collect.Sets;
 import com.google.common.eventbus.EventBus;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.SimpleResponse;
+import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
 import gov.nysenate.openleg.client.response.error.ErrorCode;
 import gov.nysenate.openleg.client.response.error.ErrorResponse;
+import gov.nysenate.openleg.client.view.search.IndexQueueStatsView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.dao.base.ElasticIndexQueue;
 import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.search.ClearIndexEvent;
 import gov.nysenate.openleg.model.search.RebuildIndexEvent;
@@ -32,12 +35,24 @@ public class SearchIndexCtrl extends BaseCtrl
     private static final Logger logger = LoggerFactory.getLogger(SearchIndexCtrl.class);
 
     @Autowired private EventBus eventBus;
+    @Autowired private ElasticIndexQueue indexQueue;
 
     @PostConstruct
     private void init() {
         eventBus.register(this);
     }
 
+    /**
+     * Search Index Queue API
+     *
+     * Get the depth and lag of the queue of pending search index writes: (GET) /api/3/admin/index/queue
+     */
+    @RequiresPermissions("admin:searchIndexEdit")
+    @RequestMapping(value = "/queue", method = RequestMethod.GET)
+    public BaseResponse getIndexQueueStats() {
+        return new ViewObjectResponse<>(new IndexQueueStatsView(indexQueue.getStats()));
+    }
+
     /**
      * Search Index Rebuild API
      *
@@ -45,9 +60,9 @@ public class SearchIndexCtrl extends BaseCtrl
      * 'indexType' can be set to 'all' to reindex everything, or to one of the values in the
      * {@link gov.nysenate.openleg.dao.base.SearchIndex} enumeration.
      *
-     * Re-indexing in this context means dropping all the existing data in an index and re-inserting
-     * using data pulled from the backing store. Probably don't want to do this while a data processing
-     * job is running.
+     * Re-indexing in this context means inserting all data pulled from the backing store into a new index,
+     * which replaces the existing index once it is complete. Searches keep using the existing index in the
+     * meantime. If a rebuild is interrupted, the next rebuild of that index resumes it.
      */
     @RequiresPermissions("admin:searchIndexEdit")
     @RequestMapping(value = "/{indexType}", method = RequestMethod.PUT)
@@ -6,8 +6,11 @@ import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.response.base.SimpleResponse;
 import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
+import gov.nysenate.openleg.client.response.error.ErrorCode;
+import gov.nysenate.openleg.client.response.error.ViewObjectErrorResponse;
 import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.spotcheck.MismatchContentTypeSummaryView;
+import gov.nysenate.openleg.client.view.spotcheck.MismatchDiffView;
 import gov.nysenate.openleg.client.view.spotcheck.MismatchStatusSummaryView;
 import gov.nysenate.openleg.client.view.spotcheck.MismatchTypeSummaryView;
 import gov.nysenate.openleg.client.view.spotcheck.MismatchView;
@@ -19,12 +22,15 @@ import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.spotcheck.MismatchOrderBy;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.spotcheck.*;
+import gov.nysenate.openleg.service.spotcheck.base.MismatchDiffService;
+import gov.nysenate.openleg.service.spotcheck.base.MismatchNotFoundEx;
 import gov.nysenate.openleg.service.spotcheck.base.SpotCheckReportService;
 import gov.nysenate.openleg.service.spotcheck.base.SpotcheckRunService;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
@@ -46,6 +52,7 @@ public class SpotCheckCtrl extends BaseCtrl
 
     @Autowired private List<SpotCheckReportService<?>> reportServices;
     @Autowired private SpotcheckRunService spotcheckRunService;
+    @Autowired private MismatchDiffService mismatchDiffService;
 
     private ImmutableMap<SpotCheckRefType, SpotCheckReportService<?>> reportServiceMap;
 
@@ -113,6 +120,25 @@ public class SpotCheckCtrl extends BaseCtrl
         return ListViewResponse.of(mismatchViews, mismatches.getTotal(), mismatches.getLimOff());
     }
 
+    /**
+     * Spotcheck Mismatch Diff API
+     *
+     * <p>Gets the diff from the reference data to the observed data of a mismatch. The diff is decoded from the
+     * one stored when the mismatch was saved, so it is not recomputed for every view.
+     *
+     * <p>Usage: (GET) /api/3/admin/spotcheck/mismatches/{mismatchId}/diff
+     *
+     * <p>Request Parameters: <ul>
+     *                     <li>simple - boolean - optional, default true - merges small edits into larger segments.
+     *                     </ul>
+     */
+    @RequiresPermissions("admin:view")
+    @RequestMapping(value = "/mismatches/{mismatchId:\\d+}/diff", method = RequestMethod.GET)
+    public BaseResponse getMismatchDiff(@PathVariable int mismatchId,
+                                        @RequestParam(defaultValue = "true") boolean simple) {
+        return new ViewObjectResponse<>(new MismatchDiffView(mismatchId, mismatchDiffService.getDiff(mismatchId, simple)));
+    }
+
     /**
      * SpotCheck Mismatch Status Summary API
      *
@@ -290,6 +316,14 @@ public class SpotCheckCtrl extends BaseCtrl
                 "spotcheck reports run");
     }
 
+    /** --- Exception Handlers --- */
+
+    @ExceptionHandler(MismatchNotFoundEx.class)
+    @ResponseStatus(value = HttpStatus.NOT_FOUND)
+    public BaseResponse handleMismatchNotFoundEx(MismatchNotFoundEx ex) {
+        return new ViewObjectErrorResponse(ErrorCode.SPOTCHECK_MISMATCH_NOT_FOUND, ex.getMismatchId());
+    }
+
     /** --- Internal Methods --- */
 
     private SpotCheckDataSource getDatasource(String datasource) {
@@ -0,0 +1,77 @@
+package gov.nysenate.openleg.controller.api.admin;
+
+import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.ListViewResponse;
+import gov.nysenate.openleg.client.response.base.SimpleResponse;
+import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
+import gov.nysenate.openleg.client.view.database.ConnectionPoolStatsView;
+import gov.nysenate.openleg.client.view.database.SqlQueryStatsView;
+import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SqlQueryMetrics;
+import gov.nysenate.openleg.dao.base.SqlQueryStats;
+import org.apache.shiro.authz.annotation.RequiresPermissions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_ADMIN_API_PATH;
+
+@RestController
+@RequestMapping(value = BASE_ADMIN_API_PATH + "/sql")
+public class SqlStatsCtrl extends BaseCtrl
+{
+    @Autowired private SqlQueryMetrics sqlQueryMetrics;
+
+    /**
+     * Sql Query Stats API
+     * -------------------
+     *
+     * Gets execution statistics for each sql query, ordered by total execution time: (GET) /api/3/admin/sql/stats
+     *
+     * Request Params: limit, offset (int) - Paginate through the queries (default limit 50)
+     */
+    @RequiresPermissions("admin:view")
+    @RequestMapping(value = "/stats", method = RequestMethod.GET)
+    public BaseResponse getQueryStats(WebRequest webRequest) {
+        LimitOffset limitOffset = getLimitOffset(webRequest, 50);
+        List<SqlQueryStats> stats = sqlQueryMetrics.getQueryStats();
+        stats.sort(Comparator.comparingLong(SqlQueryStats::getTotalNanos).reversed());
+        return ListViewResponse.of(LimitOffset.limitList(stats, limitOffset).stream()
+                .map(SqlQueryStatsView::new)
+                .collect(Collectors.toList()), stats.size(), limitOffset);
+    }
+
+    /**
+     * Sql Query Stats Reset API
+     * -------------------------
+     *
+     * Clears all collected sql query statistics: (DELETE) /api/3/admin/sql/stats
+     */
+    @RequiresPermissions("admin:sqlStats")
+    @RequestMapping(value = "/stats", method = RequestMethod.DELETE)
+    public BaseResponse resetQueryStats() {
+        sqlQueryMetrics.reset();
+        return new SimpleResponse(true, "Sql query stats have been reset", "sql-stats-reset");
+    }
+
+    /**
+     * Connection Pool Stats API
+     * -------------------------
+     *
+     * Gets the current state of the database connection pool: (GET) /api/3/admin/sql/pool
+     */
+    @RequiresPermissions("admin:view")
+    @RequestMapping(value = "/pool", method = RequestMethod.GET)
+    public BaseResponse getPoolStats() throws SQLException {
+        return new ViewObjectResponse<>(new ConnectionPoolStatsView(sqlQueryMetrics.getConnectionPool().orElse(null),
+                sqlQueryMetrics.getConnectionCheckouts(), sqlQueryMetrics.getTotalPoolWaitNanos()));
+    }
+}
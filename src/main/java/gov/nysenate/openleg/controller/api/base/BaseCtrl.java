@@ -17,6 +17,8 @@ import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.notification.Notification;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.UnexpectedSearchException;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import org.apache.catalina.connector.ClientAbortException;
 import org.apache.commons.lang3.BooleanUtils;
@@ -323,6 +325,53 @@ public abstract class BaseCtrl
         return "published".equalsIgnoreCase(type) ? UpdateType.PUBLISHED_DATE : UpdateType.PROCESSED_DATE;
     }
 
+    /**
+     * Updates requests are paginated by cursor instead of by offset if the 'cursor' parameter is present.
+     * An empty cursor parameter requests the first page.
+     *
+     * @param request WebRequest
+     * @return boolean
+     */
+    protected boolean isCursorRequest(WebRequest request) {
+        return request.getParameter("cursor") != null;
+    }
+
+    /**
+     * Parses the 'cursor' parameter of a cursor paginated updates request.
+     *
+     * @param request WebRequest
+     * @return UpdateCursor - null if the cursor parameter is blank, i.e. the first page is requested.
+     * @throws InvalidRequestParamEx if the cursor is malformed
+     */
+    protected UpdateCursor getUpdateCursorFromParam(WebRequest request) {
+        String cursor = request.getParameter("cursor");
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            return UpdateCursor.decode(cursor);
+        }
+        catch (IllegalArgumentException ex) {
+            throw new InvalidRequestParamEx(cursor, "cursor", "string",
+                    "The 'nextCursor' value of a previous response, or empty for the first page");
+        }
+    }
+
+    /**
+     * Returns the cursor for the page that follows the given page of updates.
+     *
+     * @param updates List - A page of updates
+     * @param limit int - The requested page size
+     * @param updateType UpdateType - The update type the updates were ordered by
+     * @return String - An encoded UpdateCursor, or null if there are no more updates.
+     */
+    protected String getNextUpdateCursor(List<? extends UpdateToken<?>> updates, int limit, UpdateType updateType) {
+        if (limit <= 0 || updates.size() < limit) {
+            return null;
+        }
+        return UpdateCursor.of(updates.get(updates.size() - 1), updateType).encode();
+    }
+
     private <T extends Enum<T>> InvalidRequestParamEx getEnumParamEx(Class<T> enumType, Function<T, String> valueFunction,
                                                         String paramName, String paramValue) {
         throw new InvalidRequestParamEx(paramValue, paramName, "string",
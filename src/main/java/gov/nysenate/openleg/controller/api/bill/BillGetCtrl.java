@@ -17,12 +17,17 @@ import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillAmendment;
 import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.cache.PdfCacheKey;
+import gov.nysenate.openleg.model.cache.ResponseCacheKey;
 import gov.nysenate.openleg.model.search.SearchException;
+import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import gov.nysenate.openleg.service.bill.search.BillSearchService;
+import gov.nysenate.openleg.service.pdf.CachedPdfService;
+import gov.nysenate.openleg.service.response.CachedResponseService;
 import gov.nysenate.openleg.util.BillTextUtils;
 import gov.nysenate.openleg.util.OutputUtils;
 import gov.nysenate.openleg.util.StringDiffer;
@@ -30,16 +35,16 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
@@ -56,6 +61,8 @@ public class BillGetCtrl extends BaseCtrl
 
     @Autowired protected BillDataService billData;
     @Autowired protected BillSearchService billSearch;
+    @Autowired protected CachedPdfService pdfService;
+    @Autowired protected CachedResponseService responseService;
 
     protected enum BillViewLevel
     {
@@ -102,11 +109,13 @@ public class BillGetCtrl extends BaseCtrl
         SearchResults<BaseBillId> results =
             billSearch.searchBills(SessionYear.of(sessionYear), sort, limOff);
         // The bill data is retrieved from the data service so the data is always fresh.
-        return ListViewResponse.of(
-            results.getResults().stream()
-                .map(r -> (full) ? new BillView(billData.getBill(r.getResult()))
-                        : new BillInfoView(billData.getBillInfo(r.getResult())))
-                .collect(Collectors.toList()), results.getTotalResults(), limOff);
+        List<BaseBillId> billIds = results.getResults().stream()
+            .map(SearchResult::getResult)
+            .collect(Collectors.toList());
+        List<ViewObject> billViews = (full)
+            ? billData.getBills(billIds).stream().map(BillView::new).collect(Collectors.toList())
+            : billIds.stream().map(id -> new BillInfoView(billData.getBillInfo(id))).collect(Collectors.toList());
+        return ListViewResponse.of(billViews, results.getTotalResults(), limOff);
     }
 
     /**
@@ -117,30 +126,51 @@ public class BillGetCtrl extends BaseCtrl
      * The version on the printNo is not needed since bills are returned with all amendments.
      *
      * Request Parameters: view - Specify the level of detail (defaults to BillViewLevel.DEFAULT)
+     *                     compact - If true, the json is not indented (defaults to false)
+     *
+     * Responses for all view levels other than the WITH_REFS levels are cached until the bill is updated.
      *
      * Expected Output: BillView, DetailedBillView, or BillInfoView
      */
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}")
-    public BaseResponse getBill(@PathVariable int sessionYear, @PathVariable String printNo, WebRequest request) {
+    public void getBill(@PathVariable int sessionYear, @PathVariable String printNo,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
         BaseBillId baseBillId = getBaseBillId(printNo, sessionYear, "printNo");
         BillViewLevel level = BillViewLevel.getValue(request.getParameter("view"));
-        ViewObject viewObject;
         switch (level) {
-            case INFO: viewObject = new BillInfoView(billData.getBillInfo(baseBillId)); break;
-            case WITH_REFS: viewObject = new DetailBillView(billData.getBill(baseBillId), billData); break;
-            case NO_FULLTEXT: viewObject = new BillView(getFullTextStrippedBill(baseBillId)); break;
-            case WITH_REFS_NO_FULLTEXT: viewObject = new DetailBillView(getFullTextStrippedBill(baseBillId), billData); break;
+            case WITH_REFS:
+                responseService.writeResponse(getBillResponse(baseBillId,
+                        new DetailBillView(billData.getBill(baseBillId), billData)), request, response);
+                return;
+            case WITH_REFS_NO_FULLTEXT:
+                responseService.writeResponse(getBillResponse(baseBillId,
+                        new DetailBillView(getFullTextStrippedBill(baseBillId), billData)), request, response);
+                return;
+        }
+        Bill bill = billData.getBill(baseBillId);
+        String variant = "bill?view=" + level;
+        Supplier<ViewObject> viewSupplier;
+        switch (level) {
+            case INFO: viewSupplier = () -> new BillInfoView(billData.getBillInfo(baseBillId)); break;
+            case NO_FULLTEXT: viewSupplier = () -> new BillView(getFullTextStrippedBill(baseBillId)); break;
             case ONLY_FULLTEXT: {
                 Version amdVersion = Version.DEFAULT;
                 if (request.getParameter("version") != null) {
                     amdVersion = parseVersion(request.getParameter("version"), "version");
                 }
-                Bill bill = billData.getBill(baseBillId);
-                viewObject = new BillFullTextView(bill.getBaseBillId(), amdVersion.getValue(), bill.getAmendment(amdVersion).getFullText());
+                BillAmendment amendment = bill.getAmendment(amdVersion);
+                variant += "&version=" + amdVersion;
+                viewSupplier = () -> new BillFullTextView(bill.getBaseBillId(), amendment.getVersion().getValue(),
+                                                          amendment.getFullText());
                 break;
             }
-            default: viewObject = new BillView(billData.getBill(baseBillId));
+            default: viewSupplier = () -> new BillView(bill);
         }
+        responseService.writeResponse(ResponseCacheKey.of(baseBillId, variant, bill.getModifiedDateTime()),
+                () -> getBillResponse(baseBillId, viewSupplier.get()), request, response);
+    }
+
+    private ViewObjectResponse<ViewObject> getBillResponse(BaseBillId baseBillId, ViewObject viewObject) {
         return new ViewObjectResponse<>(viewObject, "Data for bill " + baseBillId);
     }
 
@@ -167,15 +197,13 @@ public class BillGetCtrl extends BaseCtrl
      * Expected Output: PDF response
      */
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}.pdf")
-    public ResponseEntity<byte[]> getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo)
+    public void getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo,
+                           HttpServletRequest request, HttpServletResponse response)
                            throws Exception {
         BillId billId = getBillId(printNo, sessionYear, "printNo");
         Bill bill = billData.getBill(BaseBillId.of(billId));
-        ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-        BillPdfView.writeBillPdf(bill, billId.getVersion(), pdfBytes);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/pdf"));
-        return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+        pdfService.writePdf(PdfCacheKey.of(billId, bill.getModifiedDateTime()),
+                out -> BillPdfView.writeBillPdf(bill, billId.getVersion(), out), request, response);
     }
 
     /**
@@ -2,6 +2,7 @@ package gov.nysenate.openleg.controller.api.bill;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.DateRangeCursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.DateRangeListViewResponse;
 import gov.nysenate.openleg.client.view.bill.BaseBillIdView;
 import gov.nysenate.openleg.client.view.bill.SimpleBillInfoView;
@@ -17,6 +18,7 @@ import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.bill.data.BillUpdatesDao;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillUpdateField;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -32,6 +34,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -68,6 +71,9 @@ public class BillUpdatesCtrl extends BaseCtrl
      *                 type (string) - Update type (processed, published) Default: published
      *                 filter (string) - Filter updates by a BillUpdateField value
      *                 limit, offset (int) - Paginate
+     *                 cursor (string) - Paginate by cursor instead of offset. Leave empty to get the first page, then
+     *                                   pass the 'nextCursor' of each response to get the following page.
+     *                                   The total count is not computed in this mode.
      *                 order (string) - Order by update date
      *
      * Expected Output: List of UpdateTokenView<BaseBillId> or UpdateDigestView<BaseBillId> if detail = true.
@@ -145,29 +151,51 @@ public class BillUpdatesCtrl extends BaseCtrl
         UpdateType updateType = getUpdateTypeFromParam(request);
         BillUpdateField fieldFilter = getUpdateFieldFromParam(filter);
 
+        if (isCursorRequest(request)) {
+            SortOrder cursorOrder = (sortOrder == SortOrder.DESC) ? SortOrder.DESC : SortOrder.ASC;
+            UpdateCursor after = getUpdateCursorFromParam(request);
+            int limit = limOff.getLimit();
+            if (!detail) {
+                List<UpdateToken<BaseBillId>> updateTokens =
+                    billUpdatesDao.getUpdatesAfter(updateRange, updateType, fieldFilter, cursorOrder, after, limit);
+                return DateRangeCursorListViewResponse.of(updateTokens.stream()
+                    .map(token -> getTokenView(token, summary))
+                    .collect(toList()), updateRange, limit, getNextUpdateCursor(updateTokens, limit, updateType));
+            }
+            List<UpdateDigest<BaseBillId>> updateDigests =
+                billUpdatesDao.getDetailedUpdatesAfter(updateRange, updateType, fieldFilter, cursorOrder, after, limit);
+            return DateRangeCursorListViewResponse.of(updateDigests.stream()
+                .map(digest -> getDigestView(digest, summary))
+                .collect(toList()), updateRange, limit, getNextUpdateCursor(updateDigests, limit, updateType));
+        }
         if (!detail) {
             PaginatedList<UpdateToken<BaseBillId>> updateTokens =
                 billUpdatesDao.getUpdates(updateRange, updateType, fieldFilter, sortOrder, limOff);
             return DateRangeListViewResponse.of(updateTokens.getResults().stream()
-                .map(token ->
-                    (!summary) ? new UpdateTokenView(token, new BaseBillIdView(token.getId()))
-                               : new UpdateTokenModelView(token, new BaseBillIdView(token.getId()),
-                                                                 new SimpleBillInfoView(billData.getBillInfo(token.getId())))
-                ).collect(toList()), updateRange, updateTokens.getTotal(), limOff);
+                .map(token -> getTokenView(token, summary))
+                .collect(toList()), updateRange, updateTokens.getTotal(), limOff);
         }
         else {
             PaginatedList<UpdateDigest<BaseBillId>> updateDigests =
                 billUpdatesDao.getDetailedUpdates(updateRange, updateType, fieldFilter, sortOrder, limOff);
             return DateRangeListViewResponse.of(updateDigests.getResults().stream()
-                .map(digest ->
-                        (!summary) ? new UpdateDigestView(digest, new BaseBillIdView(digest.getId()))
-                                   : new UpdateDigestModelView(digest, new BaseBillIdView(digest.getId()),
-                                                                       new SimpleBillInfoView(billData.getBillInfo(digest.getId())))
-                )
+                .map(digest -> getDigestView(digest, summary))
                 .collect(toList()), updateRange, updateDigests.getTotal(), limOff);
         }
     }
 
+    private UpdateTokenView getTokenView(UpdateToken<BaseBillId> token, boolean summary) {
+        return (!summary) ? new UpdateTokenView(token, new BaseBillIdView(token.getId()))
+                          : new UpdateTokenModelView(token, new BaseBillIdView(token.getId()),
+                                                            new SimpleBillInfoView(billData.getBillInfo(token.getId())));
+    }
+
+    private UpdateDigestView getDigestView(UpdateDigest<BaseBillId> digest, boolean summary) {
+        return (!summary) ? new UpdateDigestView(digest, new BaseBillIdView(digest.getId()))
+                          : new UpdateDigestModelView(digest, new BaseBillIdView(digest.getId()),
+                                                              new SimpleBillInfoView(billData.getBillInfo(digest.getId())));
+    }
+
     private BaseResponse getUpdatesForBillDuring(int sessionYear, String printNo, LocalDateTime from, LocalDateTime to,
                                                  WebRequest request) {
         BillUpdateField filterField = getUpdateFieldFromParam(request.getParameter("filter"));
@@ -11,9 +11,11 @@ import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.cache.ResponseCacheKey;
 import gov.nysenate.openleg.model.calendar.*;
 import gov.nysenate.openleg.service.calendar.data.CalendarDataService;
 import gov.nysenate.openleg.service.calendar.data.CalendarNotFoundEx;
+import gov.nysenate.openleg.service.response.CachedResponseService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +23,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
@@ -37,6 +42,9 @@ public class CalendarGetCtrl extends BaseCtrl
     @Autowired
     private CalendarViewFactory calendarViewFactory;
 
+    @Autowired
+    private CachedResponseService responseService;
+
     /** --- Request Handlers --- */
 
     /**
@@ -120,14 +128,27 @@ public class CalendarGetCtrl extends BaseCtrl
      *
      * Gets a single calendar via year and calendar number:
      *      (GET) /api/3/calendars/{year}/{calendarNumber}
+     * Request Parameters:  compact - If true, the json is not indented (default false)
+     *
+     * Responses with full=false are cached until the calendar is updated. Full responses embed the info of every
+     * bill on the calendar, which changes independently of the calendar, so they are built on every request.
      */
     @RequestMapping(value = "/{year:\\d{4}}/{calNo:\\d+}")
-    public BaseResponse getCalendar(@PathVariable int year,
-                                    @PathVariable int calNo,
-                                    @RequestParam(defaultValue = "true") boolean full) {
-        Calendar calendar = calendarDataService.getCalendar(new CalendarId(calNo, year));
-        return new ViewObjectResponse<>(full ? calendarViewFactory.getCalendarView(calendar)
-                                             : new SimpleCalendarView(calendar));
+    public void getCalendar(@PathVariable int year,
+                            @PathVariable int calNo,
+                            @RequestParam(defaultValue = "true") boolean full,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CalendarId calendarId = new CalendarId(calNo, year);
+        Calendar calendar = calendarDataService.getCalendar(calendarId);
+        if (full) {
+            responseService.writeResponse(new ViewObjectResponse<>(calendarViewFactory.getCalendarView(calendar)),
+                    request, response);
+        }
+        else {
+            responseService.writeResponse(
+                    ResponseCacheKey.of(calendarId, "calendar?full=false", calendar.getModifiedDateTime()),
+                    () -> new ViewObjectResponse<>(new SimpleCalendarView(calendar)), request, response);
+        }
     }
 
     /**
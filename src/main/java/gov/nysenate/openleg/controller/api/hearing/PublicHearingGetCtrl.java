@@ -11,6 +11,7 @@ import gov.nysenate.openleg.client.view.hearing.PublicHearingPdfView;
 import gov.nysenate.openleg.client.view.hearing.PublicHearingView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.model.cache.PdfCacheKey;
 import gov.nysenate.openleg.model.hearing.PublicHearing;
 import gov.nysenate.openleg.model.hearing.PublicHearingId;
 import gov.nysenate.openleg.model.search.SearchException;
@@ -18,17 +19,15 @@ import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.hearing.data.PublicHearingDataService;
 import gov.nysenate.openleg.service.hearing.data.PublicHearingNotFoundEx;
 import gov.nysenate.openleg.service.hearing.search.PublicHearingSearchService;
+import gov.nysenate.openleg.service.pdf.CachedPdfService;
 import org.apache.pdfbox.exceptions.COSVisitorException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.stream.Collectors;
 
@@ -45,6 +44,9 @@ public class PublicHearingGetCtrl extends BaseCtrl
     @Autowired
     private PublicHearingSearchService hearingSearch;
 
+    @Autowired
+    private CachedPdfService pdfService;
+
     /**
      * Public Hearing Listing API
      * --------------------------
@@ -125,14 +127,12 @@ public class PublicHearingGetCtrl extends BaseCtrl
      * Expected Output: PDF response.
      */
     @RequestMapping(value = "/{filename}.pdf")
-    public ResponseEntity<byte[]> getHearingPdf(@PathVariable String filename)
+    public void getHearingPdf(@PathVariable String filename, HttpServletRequest request,
+                              HttpServletResponse response)
             throws IOException, COSVisitorException {
         PublicHearing hearing = hearingData.getPublicHearing(new PublicHearingId(filename));
-        ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-        PublicHearingPdfView.writePublicHearingPdf(hearing, pdfBytes);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/pdf"));
-        return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+        pdfService.writePdf(PdfCacheKey.of(hearing.getId(), hearing.getModifiedDateTime()),
+                out -> PublicHearingPdfView.writePublicHearingPdf(hearing, out), request, response);
     }
 
     /**
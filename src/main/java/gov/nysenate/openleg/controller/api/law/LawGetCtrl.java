@@ -9,6 +9,7 @@ import gov.nysenate.openleg.client.response.error.ViewObjectErrorResponse;
 import gov.nysenate.openleg.client.view.law.*;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.model.cache.ResponseCacheKey;
 import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.law.LawInfo;
 import gov.nysenate.openleg.model.law.LawTree;
@@ -16,6 +17,7 @@ import gov.nysenate.openleg.model.law.LawTreeNode;
 import gov.nysenate.openleg.service.law.data.LawDataService;
 import gov.nysenate.openleg.service.law.data.LawDocumentNotFoundEx;
 import gov.nysenate.openleg.service.law.data.LawTreeNotFoundEx;
+import gov.nysenate.openleg.service.response.CachedResponseService;
 import org.apache.commons.lang3.time.StopWatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +27,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.LinkedList;
@@ -41,6 +46,7 @@ public class LawGetCtrl extends BaseCtrl
     private static final Logger logger = LoggerFactory.getLogger(LawGetCtrl.class);
 
     @Autowired private LawDataService lawDataService;
+    @Autowired private CachedResponseService responseService;
 
     /** --- Request Handlers --- */
 
@@ -80,22 +86,32 @@ public class LawGetCtrl extends BaseCtrl
      * fromLocation (string) - Start the law tree at a certain node based on location id.
      * depth (integer) - Output child nodes up to the specified depth (defaults to the full depth of the tree)
      * full (boolean) - If set to true all document text will also be fetched. (defaults to no document text)
+     * compact (boolean) - If set to true the json is not indented. (defaults to false)
+     *
+     * Responses are cached until the law is updated.
      *
      * Expected output: LawTreeView
      */
     @RequestMapping("/{lawId}")
-    public BaseResponse getLawTree(@PathVariable String lawId, @RequestParam(required = false) String date,
-                                   @RequestParam(required = false) String fromLocation,
-                                   @RequestParam(required = false) Integer depth,
-                                   @RequestParam(defaultValue = "false") boolean full) {
+    public void getLawTree(@PathVariable String lawId, @RequestParam(required = false) String date,
+                           @RequestParam(required = false) String fromLocation,
+                           @RequestParam(required = false) Integer depth,
+                           @RequestParam(defaultValue = "false") boolean full,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
         LocalDate publishedDate = (date != null) ? parseISODate(date, "date") : null;
         LawTree lawTree = lawDataService.getLawTree(lawId, publishedDate);
-        ViewObjectResponse<LawTreeView> response =
-            (full) ? new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth,
-                                                              lawDataService.getLawDocuments(lawId, publishedDate)))
-                   : new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth));
-        response.setMessage("The document structure for " + lawId + " law");
-        return response;
+        String variant = "tree?fromLocation=" + fromLocation + "&depth=" + depth + "&full=" + full +
+                         "&date=" + publishedDate;
+        responseService.writeResponse(
+            ResponseCacheKey.ofLaw(lawId, variant, lawTree.getPublishedDate().atStartOfDay()),
+            () -> {
+                ViewObjectResponse<LawTreeView> treeResponse =
+                    (full) ? new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth,
+                                                                      lawDataService.getLawDocuments(lawId, publishedDate)))
+                           : new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth));
+                treeResponse.setMessage("The document structure for " + lawId + " law");
+                return treeResponse;
+            }, request, response);
     }
 
     /**
@@ -110,21 +126,32 @@ public class LawGetCtrl extends BaseCtrl
      * Optional Params:
      * date (iso date) - Published date of the document (defaults to latest).
      * refTreeDate (iso date) - Published date of the containing law tree (defaults to latest).
+     * compact (boolean) - If set to true the json is not indented. (defaults to false)
+     *
+     * Responses are cached until the law is updated.
      *
      * Expected output: LawDocWithRefsView
      */
     @RequestMapping("/{lawId}/{locationId}")
-    public BaseResponse getLawDocument(@PathVariable String lawId, @PathVariable String locationId,
-                                       @RequestParam(required = false) String date,
-                                       @RequestParam(required = false) String refTreeDate) {
+    public void getLawDocument(@PathVariable String lawId, @PathVariable String locationId,
+                               @RequestParam(required = false) String date,
+                               @RequestParam(required = false) String refTreeDate,
+                               HttpServletRequest request, HttpServletResponse response) throws IOException {
         LocalDate activeDate = (date != null) ? parseISODate(date, "date") : LocalDate.now();
         String documentId = lawId + locationId;
         LawDocument doc = lawDataService.getLawDocument(documentId, activeDate);
         LocalDate refTreeLocalDate = (refTreeDate != null) ? parseISODate(refTreeDate, "refTreeDate") : LocalDate.now();
-        Optional<LawTreeNode> lawTreeNodeOpt = lawDataService.getLawTree(lawId, refTreeLocalDate).find(documentId);
-        ViewObjectResponse<LawDocWithRefsView> response = new ViewObjectResponse<>(new LawDocWithRefsView(doc, lawTreeNodeOpt));
-        response.setMessage("Law document for location " + locationId + " in " + lawId + " law ");
-        return response;
+        LawTree refTree = lawDataService.getLawTree(lawId, refTreeLocalDate);
+        String variant = "doc?documentId=" + documentId + "&refTree=" + refTree.getPublishedDate();
+        responseService.writeResponse(
+            ResponseCacheKey.ofLaw(lawId, variant, doc.getPublishedDate().atStartOfDay()),
+            () -> {
+                Optional<LawTreeNode> lawTreeNodeOpt = refTree.find(documentId);
+                ViewObjectResponse<LawDocWithRefsView> docResponse =
+                    new ViewObjectResponse<>(new LawDocWithRefsView(doc, lawTreeNodeOpt));
+                docResponse.setMessage("Law document for location " + locationId + " in " + lawId + " law ");
+                return docResponse;
+            }, request, response);
     }
 
     /** --- Exception Handlers --- */
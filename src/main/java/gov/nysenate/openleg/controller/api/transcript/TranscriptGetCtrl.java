@@ -12,24 +12,23 @@ import gov.nysenate.openleg.client.view.transcript.TranscriptPdfView;
 import gov.nysenate.openleg.client.view.transcript.TranscriptView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.model.cache.PdfCacheKey;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.model.transcript.Transcript;
 import gov.nysenate.openleg.model.transcript.TranscriptId;
 import gov.nysenate.openleg.model.transcript.TranscriptNotFoundEx;
+import gov.nysenate.openleg.service.pdf.CachedPdfService;
 import gov.nysenate.openleg.service.transcript.data.TranscriptDataService;
 import gov.nysenate.openleg.service.transcript.search.TranscriptSearchService;
 import org.apache.pdfbox.exceptions.COSVisitorException;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.stream.Collectors;
 
@@ -49,6 +48,9 @@ public class TranscriptGetCtrl extends BaseCtrl
     @Autowired
     private TranscriptSearchService transcriptSearch;
 
+    @Autowired
+    private CachedPdfService pdfService;
+
     /**
      * Transcript Listing API
      * ----------------------
@@ -124,15 +126,13 @@ public class TranscriptGetCtrl extends BaseCtrl
      * Expected Output: PDF response.
      */
     @RequestMapping("/{filename}.pdf")
-    public ResponseEntity<byte[]> getTranscriptPdf(@PathVariable String filename)
+    public void getTranscriptPdf(@PathVariable String filename, HttpServletRequest request,
+                                 HttpServletResponse response)
             throws IOException, COSVisitorException {
         TranscriptId transcriptId = new TranscriptId(filename);
         Transcript transcript = transcriptData.getTranscript(transcriptId);
-        ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-        TranscriptPdfView.writeTranscriptPdf(transcript, pdfBytes);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/pdf"));
-        return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+        pdfService.writePdf(PdfCacheKey.of(transcriptId, transcript.getModifiedDateTime()),
+                out -> TranscriptPdfView.writeTranscriptPdf(transcript, out), request, response);
     }
 
     /** --- Internal --- */
@@ -2,13 +2,8 @@ package gov.nysenate.openleg.controller.api.update;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.DateRangeCursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.DateRangeListViewResponse;
-import gov.nysenate.openleg.client.view.agenda.AgendaIdView;
-import gov.nysenate.openleg.client.view.base.ViewObject;
-import gov.nysenate.openleg.client.view.bill.BaseBillIdView;
-import gov.nysenate.openleg.client.view.calendar.CalendarIdView;
-import gov.nysenate.openleg.client.view.law.LawDocIdView;
-import gov.nysenate.openleg.client.view.law.LawVersionIdView;
 import gov.nysenate.openleg.client.view.updates.UpdateDigestView;
 import gov.nysenate.openleg.client.view.updates.UpdateTokenView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
@@ -16,12 +11,8 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.updates.AggregateUpdatesDao;
-import gov.nysenate.openleg.model.agenda.AgendaId;
-import gov.nysenate.openleg.model.bill.BaseBillId;
-import gov.nysenate.openleg.model.calendar.CalendarId;
-import gov.nysenate.openleg.model.law.LawDocId;
-import gov.nysenate.openleg.model.law.LawVersionId;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -32,9 +23,9 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -62,6 +53,9 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
      *                                           Default: all types (AGENDA, BILL, CALENDAR, LAW)
      *                 type (string) - Update type (processed, published) Default: processed
      *                 limit, offset (int) - Paginate
+     *                 cursor (string) - Paginate by cursor instead of offset. Leave empty to get the first page, then
+     *                                   pass the 'nextCursor' of each response to get the following page.
+     *                                   The total count is not computed in this mode.
      *                 order (string) - Order by update
      *
      * Expected Response: List of UpdateTokenView or UpdateDigestTokenView if detail = true
@@ -89,6 +83,10 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
         LimitOffset limitOffset = getLimitOffset(webRequest, 50);
         SortOrder order = getSortOrder(webRequest, SortOrder.DESC);
 
+        if (isCursorRequest(webRequest)) {
+            return getCursorResponse(dateTimeRange, updateType, contentTypes, detail, fields, limitOffset.getLimit(),
+                    (order == SortOrder.ASC) ? SortOrder.ASC : SortOrder.DESC, getUpdateCursorFromParam(webRequest));
+        }
         return detail
                 ? getDigestResponse(dateTimeRange, updateType, contentTypes, fields, limitOffset, order)
                 : getTokenResponse(dateTimeRange, updateType, contentTypes, limitOffset, order);
@@ -118,6 +116,27 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
                 dateTimeRange, result.getTotal(), limitOffset);
     }
 
+    private BaseResponse getCursorResponse(Range<LocalDateTime> dateTimeRange, UpdateType updateType,
+                                           Set<UpdateContentType> contentTypes, boolean detail, boolean fields,
+                                           int limit, SortOrder order, UpdateCursor after) {
+        if (detail) {
+            List<UpdateDigest<Map<String, String>>> digests = updatesDao.getUpdateDigestsAfter(
+                    dateTimeRange, contentTypes, updateType, order, after, limit, fields);
+            return DateRangeCursorListViewResponse.of(
+                    digests.stream()
+                            .map(this::getDigestView)
+                            .collect(Collectors.toList()),
+                    dateTimeRange, limit, getNextUpdateCursor(digests, limit, updateType));
+        }
+        List<UpdateToken<Map<String, String>>> tokens = updatesDao.getUpdateTokensAfter(
+                dateTimeRange, contentTypes, updateType, order, after, limit);
+        return DateRangeCursorListViewResponse.of(
+                tokens.stream()
+                        .map(this::getTokenView)
+                        .collect(Collectors.toList()),
+                dateTimeRange, limit, getNextUpdateCursor(tokens, limit, updateType));
+    }
+
     private Set<UpdateContentType> getContentTypes(WebRequest webRequest) {
         String[] contentTypeStrings = webRequest.getParameterValues("content-type");
         Set<UpdateContentType> types = new HashSet<>();
@@ -135,39 +154,10 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
     }
 
     private UpdateTokenView getTokenView(UpdateToken<Map<String, String>> token) {
-        return new UpdateTokenView(token, getIdView(token));
+        return new UpdateTokenView(token, UpdateTokenView.getIdView(token));
     }
 
     private UpdateDigestView getDigestView(UpdateDigest<Map<String, String>> digest) {
-        return new UpdateDigestView(digest, getIdView(digest));
-    }
-
-    /**
-     * Determines the content type of the given genericized update token and returns a ViewObject id for that content
-     * @param token UpdateToken<Map<String, String>>
-     * @return ViewObject
-     */
-    private ViewObject getIdView(UpdateToken<Map<String, String>> token) {
-        Map<String, String> id = token.getId();
-        switch (token.getContentType()) {
-            case AGENDA:
-                return new AgendaIdView(new AgendaId(
-                        Integer.parseInt(id.get("agendaNumber")),
-                        Integer.parseInt(id.get("year"))
-                ));
-            case BILL:
-                return new BaseBillIdView(new BaseBillId(id.get("printNo"), Integer.parseInt(id.get("session"))));
-            case CALENDAR:
-                return new CalendarIdView(new CalendarId(
-                        Integer.parseInt(id.get("calNo")),
-                        Integer.parseInt(id.get("year"))
-                ));
-            case LAW:
-                if (id.containsKey("lawDocId")) {
-                    return new LawDocIdView(new LawDocId(id.get("lawDocId"), LocalDate.parse(id.get("publishedDate"))));
-                }
-                return new LawVersionIdView(new LawVersionId(id.get("lawId"), LocalDate.parse(id.get("publishedDate"))));
-        }
-        return () -> "null";
+        return new UpdateDigestView(digest, UpdateTokenView.getIdView(digest));
     }
 }
@@ -0,0 +1,90 @@
+package gov.nysenate.openleg.controller.api.update;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.client.response.base.DateRangeCursorListViewResponse;
+import gov.nysenate.openleg.controller.api.base.InvalidRequestParamEx;
+import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+import gov.nysenate.openleg.service.updates.UpdateStreamPage;
+import gov.nysenate.openleg.service.updates.UpdateStreamService;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static gov.nysenate.openleg.service.updates.UpdateStreamService.CURSOR_HEADER;
+import static gov.nysenate.openleg.service.updates.UpdateStreamService.FILTER_HEADERS;
+
+@Controller
+public class UpdateStreamCtrl
+{
+    /** The maximum number of change log rows that are read per resume request. */
+    private static final int RESUME_LIMIT = 1000;
+
+    @Autowired private UpdateStreamService updateStreamService;
+    @Autowired private ObjectMapper objectMapper;
+
+    /**
+     * Update Stream Resume API
+     * ------------------------
+     *
+     * Replays the updates that a subscriber of the update stream has missed.
+     *
+     * Usage: (STOMP SUBSCRIBE) /app/updates/{contentType}
+     *
+     * Headers: cursor (string) - The cursor of the last update that was received from /event/updates/{contentType}.
+     *                            Leave empty to get the updates since the stream was started.
+     *          session, committee, lawId (string) - Only replay updates matching these values, these should be the
+     *                                               same filters used in the selector of the live subscription.
+     *
+     * Expected Response: A single DateRangeCursorListViewResponse of UpdateDigestView. If the 'nextCursor' is not
+     *                    null, more updates were missed and should be requested with that cursor.
+     */
+    @SubscribeMapping("/updates/{contentType}")
+    public String resumeUpdates(@DestinationVariable String contentType, SimpMessageHeaderAccessor headers)
+            throws JsonProcessingException {
+        UpdateContentType type = getContentType(contentType);
+        UpdateCursor after = getCursor(headers.getFirstNativeHeader(CURSOR_HEADER));
+        Map<String, String> filters = new HashMap<>();
+        for (String filterHeader : FILTER_HEADERS) {
+            String value = headers.getFirstNativeHeader(filterHeader);
+            if (StringUtils.isNotBlank(value)) {
+                filters.put(filterHeader, value);
+            }
+        }
+        UpdateStreamPage page = updateStreamService.getUpdatesAfter(type, after, filters, RESUME_LIMIT);
+        Range<LocalDateTime> range = (after != null) ? Range.atLeast(after.getDateTime()) : Range.all();
+        return objectMapper.writeValueAsString(DateRangeCursorListViewResponse.of(
+                page.getUpdates(), range, RESUME_LIMIT,
+                page.getNextCursor() != null ? page.getNextCursor().encode() : null));
+    }
+
+    private UpdateContentType getContentType(String contentType) {
+        try {
+            return UpdateContentType.getValue(contentType);
+        }
+        catch (IllegalArgumentException ex) {
+            throw new InvalidRequestParamEx(contentType, "contentType", "String", "Must be a valid update content type");
+        }
+    }
+
+    private UpdateCursor getCursor(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        try {
+            return UpdateCursor.decode(cursor);
+        }
+        catch (IllegalArgumentException ex) {
+            throw new InvalidRequestParamEx(cursor, CURSOR_HEADER, "String", "Must be a cursor from the update stream");
+        }
+    }
+}
@@ -56,4 +56,12 @@ public interface AgendaSearchDao
      * @param agendaId AgendaId
      */
     public void deleteAgendaFromIndex(AgendaId agendaId);
+
+    /**
+     * Queues index updates for the supplied agendas. The updates are sent in bulk by a background worker,
+     * replacing any writes that are still pending for the same agendas.
+     *
+     * @param agendas Collection<Agenda>
+     */
+    public void queueAgendaIndexUpdates(Collection<Agenda> agendas);
 }
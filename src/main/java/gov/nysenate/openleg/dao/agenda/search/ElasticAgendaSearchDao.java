@@ -11,7 +11,9 @@ import gov.nysenate.openleg.model.entity.Chamber;
 import gov.nysenate.openleg.model.entity.CommitteeId;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.util.OutputUtils;
+import org.elasticsearch.action.ActionRequest;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
+import org.elasticsearch.action.index.IndexRequestBuilder;
 import org.elasticsearch.action.search.SearchRequestBuilder;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.QueryBuilder;
@@ -25,6 +27,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Repository
 public class ElasticAgendaSearchDao extends ElasticBaseDao implements AgendaSearchDao
@@ -75,16 +78,18 @@ public class ElasticAgendaSearchDao extends ElasticBaseDao implements AgendaSear
             agendas.forEach(agenda ->
                 agenda.getCommittees().stream()
                     .map(cid -> new AgendaCommFlatView(agenda, cid, null))
-                    .forEach(cfv ->
-                        bulkRequest.add(
-                            searchClient.prepareIndex(agendaIndexName,
-                                agenda.getId().getYear() + "-" + cfv.getAgenda().getId().getNumber(),
-                                cfv.getCommittee().getCommitteeId().getName())
-                            .setSource(OutputUtils.toJson(cfv)))));
+                    .forEach(cfv -> bulkRequest.add(getCommitteeIndexRequest(cfv))));
             safeBulkRequestExecute(bulkRequest);
         }
     }
 
+    private IndexRequestBuilder getCommitteeIndexRequest(AgendaCommFlatView cfv) {
+        return searchClient.prepareIndex(agendaIndexName,
+                cfv.getAgenda().getId().getYear() + "-" + cfv.getAgenda().getId().getNumber(),
+                cfv.getCommittee().getCommitteeId().getName())
+            .setSource(OutputUtils.toJson(cfv));
+    }
+
     /** {@inheritDoc} */
     @Override
     public void deleteAgendaFromIndex(AgendaId agendaId) {
@@ -93,6 +98,18 @@ public class ElasticAgendaSearchDao extends ElasticBaseDao implements AgendaSear
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void queueAgendaIndexUpdates(Collection<Agenda> agendas) {
+        agendas.forEach(agenda -> {
+            List<ActionRequest> requests = agenda.getCommittees().stream()
+                .map(cid -> getCommitteeIndexRequest(new AgendaCommFlatView(agenda, cid, null)).request())
+                .collect(Collectors.toList());
+            indexQueue.enqueue(agendaIndexName + "/" + agenda.getId().getYear() + "-" + agenda.getId().getNumber(),
+                               requests);
+        });
+    }
+
     @Override
     protected List<String> getIndices() {
         return Arrays.asList(agendaIndexName);
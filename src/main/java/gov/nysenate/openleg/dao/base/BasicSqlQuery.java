@@ -10,9 +10,10 @@ public interface BasicSqlQuery
     /**
      * Retrieve a formatted sql String with the envSchema value replaced where
      * applicable. This is needed for allowing configurable schema names.
+     * The result is cached by the {@link SqlQueryRegistry}.
      */
     public default String getSql(String envSchema) {
-        return SqlQueryUtils.getSqlWithSchema(getSql(), envSchema);
+        return SqlQueryRegistry.getSql(this, envSchema);
     }
 
     /**
@@ -20,7 +21,7 @@ public interface BasicSqlQuery
      * appended to the end according to the supplied LimitOffset instance.
      */
     public default String getSql(String envSchema, LimitOffset limitOffset) {
-        return SqlQueryUtils.getSqlWithSchema(getSql(), envSchema, limitOffset);
+        return getSql(envSchema) + SqlQueryUtils.getLimitOffsetClause(limitOffset);
     }
 
     /**
@@ -36,6 +37,6 @@ public interface BasicSqlQuery
      * order by clause set according to the supplied OrderBy instance.
      */
     public default String getSql(String envSchema, OrderBy orderBy, LimitOffset limitOffset) {
-        return SqlQueryUtils.getSqlWithSchema(getSql(), envSchema, orderBy, limitOffset);
+        return getSql(envSchema) + SqlQueryUtils.getOrderByClause(orderBy) + SqlQueryUtils.getLimitOffsetClause(limitOffset);
     }
 }
@@ -6,12 +6,13 @@ import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.admin.indices.alias.Alias;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequestBuilder;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsRequest;
 import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.delete.DeleteAction;
 import org.elasticsearch.action.delete.DeleteRequest;
-import org.elasticsearch.action.delete.DeleteRequestBuilder;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.action.search.SearchRequestBuilder;
@@ -32,6 +33,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.annotation.PostConstruct;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +51,14 @@ public abstract class ElasticBaseDao
     @Autowired
     protected Client searchClient;
 
+    @Autowired
+    protected ElasticIndexQueue indexQueue;
+
+    @Autowired
+    protected ElasticIndexRouter indexRouter;
+
+    private static final DateTimeFormatter indexVersionFormat = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
     @PostConstruct
     private void init() {
         createIndices();
@@ -65,6 +76,46 @@ public abstract class ElasticBaseDao
         getIndices().forEach(this::deleteIndex);
     }
 
+    public boolean indexExists(String indexName) {
+        return indicesExist(indexName);
+    }
+
+    /**
+     * Creates a new versioned index for the given alias that can be filled without affecting searches.
+     *
+     * @param alias String - One of the indices returned by {@link #getIndices()}
+     * @return String - The name of the new index
+     */
+    public String createRebuildIndex(String alias) {
+        String indexName = getVersionedIndexName(alias);
+        logger.info("Creating search index {} to rebuild {}", indexName, alias);
+        searchClient.admin().indices().prepareCreate(indexName).execute().actionGet();
+        return indexName;
+    }
+
+    /**
+     * Points the given alias to the target index, then deletes the indices it pointed to before.
+     * The target index is refreshed first so that it is fully searchable as soon as the alias points to it.
+     *
+     * @param alias String - One of the indices returned by {@link #getIndices()}
+     * @param targetIndex String - A rebuilt index created via {@link #createRebuildIndex(String)}
+     */
+    public void swapIndex(String alias, String targetIndex) {
+        searchClient.admin().indices().prepareRefresh(targetIndex).execute().actionGet();
+        List<String> oldIndices = getAliasedIndices(alias);
+        IndicesAliasesRequestBuilder aliasRequest = searchClient.admin().indices().prepareAliases();
+        oldIndices.forEach(index -> aliasRequest.removeAlias(index, alias));
+        aliasRequest.addAlias(targetIndex, alias);
+        if (oldIndices.isEmpty() && indicesExist(alias)) {
+            // Indices created before aliases were used are named after the alias. The aliases api cannot remove
+            // an index in this version, so it is deleted right before the alias is added to keep the gap short.
+            deleteIndex(alias);
+        }
+        aliasRequest.execute().actionGet();
+        logger.info("Search index {} now points to {}", alias, targetIndex);
+        oldIndices.forEach(this::deleteIndex);
+    }
+
     /** --- Abstract methods --- */
 
     /**
@@ -175,28 +226,46 @@ public abstract class ElasticBaseDao
      */
     protected void safeBulkRequestExecute(BulkRequestBuilder bulkRequest) {
         if (bulkRequest != null && bulkRequest.numberOfActions() > 0) {
+            indexRouter.route(bulkRequest.request());
             bulkRequest.execute().actionGet();
         }
     }
 
     protected void deleteEntry(String indexName, String type, String id) {
-        DeleteRequestBuilder request = searchClient.prepareDelete();
-        request.setIndex(indexName);
-        request.setType(type);
-        request.setId(id);
-        request.execute().actionGet();
+        BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
+        bulkRequest.add(getDeleteRequest(indexName, type, id));
+        safeBulkRequestExecute(bulkRequest);
+    }
 
+    /**
+     * Generates a delete request for the document designated by the given index, type, and id.
+     */
+    protected DeleteRequest getDeleteRequest(String indexName, String type, String id) {
+        return new DeleteRequest(indexName, type, id);
     }
 
     protected boolean indicesExist(String... indices) {
         return searchClient.admin().indices().exists(new IndicesExistsRequest(indices)).actionGet().isExists();
     }
 
-    protected void createIndex(String indexName) {
-        searchClient.admin().indices().prepareCreate(indexName).execute().actionGet();
+    /**
+     * Creates a new versioned index that is referenced by the given alias.
+     */
+    protected void createIndex(String alias) {
+        searchClient.admin().indices().prepareCreate(getVersionedIndexName(alias))
+                .addAlias(new Alias(alias))
+                .execute().actionGet();
     }
 
+    /**
+     * Deletes the given index, or all indices referenced by it if it is an alias.
+     */
     protected void deleteIndex(String index) {
+        List<String> aliasedIndices = getAliasedIndices(index);
+        if (!aliasedIndices.isEmpty()) {
+            aliasedIndices.forEach(this::deleteIndex);
+            return;
+        }
         try {
             logger.info("Deleting search index {}", index);
             searchClient.admin().indices().delete(new DeleteIndexRequest(index)).actionGet();
@@ -205,4 +274,22 @@ public abstract class ElasticBaseDao
             logger.info("Cannot delete index {} because it doesn't exist.", index);
         }
     }
+
+    /**
+     * Returns the names of the indices that the given alias points to.
+     */
+    protected List<String> getAliasedIndices(String alias) {
+        List<String> indices = new ArrayList<>();
+        searchClient.admin().indices().prepareGetAliases(alias).execute().actionGet().getAliases()
+                .forEach(entry -> {
+                    if (!entry.value.isEmpty()) {
+                        indices.add(entry.key);
+                    }
+                });
+        return indices;
+    }
+
+    private static String getVersionedIndexName(String alias) {
+        return alias + "_" + LocalDateTime.now().format(indexVersionFormat);
+    }
 }
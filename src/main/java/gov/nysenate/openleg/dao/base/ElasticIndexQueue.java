@@ -0,0 +1,301 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.model.search.IndexQueueStats;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.Client;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects search index writes and sends them to elastic search in bulk requests from a background worker.
+ *
+ * Pending writes are keyed by the entity whose documents they modify, so an entity that is updated several
+ * times before the next flush is only written once using its latest requests. A bulk request is sent as soon
+ * as a full batch is pending or once the oldest pending write has waited for the flush interval. The number of
+ * pending entities is bounded; writers block while the queue is full so that ingest cannot outrun the index.
+ * Writers only queue their requests, the time spent sending them can be followed through a {@link FlushListener}.
+ */
+@Repository
+public class ElasticIndexQueue
+{
+    private static final Logger logger = LoggerFactory.getLogger(ElasticIndexQueue.class);
+
+    /**
+     * Receives the size and duration of each bulk request sent by the worker.
+     */
+    @FunctionalInterface
+    public interface FlushListener
+    {
+        void flushed(int requestCount, long elapsedNanos);
+    }
+
+    @Autowired private Client searchClient;
+    @Autowired private Environment env;
+    @Autowired private ElasticIndexRouter indexRouter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    /** Pending writes in the order they were first queued. */
+    private final LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+
+    private int capacity = 10000;
+    private int batchSize = 500;
+    private long flushIntervalMillis = 1000;
+
+    private volatile boolean running = false;
+    private ExecutorService worker;
+
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong blockedCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong bulkRequestCount = new AtomicLong();
+    private volatile LocalDateTime lastFlushDateTime;
+    private volatile long lastFlushMillis;
+
+    private volatile FlushListener flushListener;
+
+    @PostConstruct
+    protected void init() {
+        configure(env.getElasticIndexQueueCapacity(), env.getElasticIndexBatchSize(), env.getElasticIndexFlushInterval());
+        running = true;
+        worker = Executors.newSingleThreadExecutor(new OpenlegThreadFactory("search-index"));
+        worker.submit(this::processQueue);
+    }
+
+    /**
+     * Stops accepting new work and waits for the worker to send everything that is still pending.
+     */
+    @PreDestroy
+    protected void shutdown() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+        if (worker != null) {
+            worker.shutdown();
+            if (!worker.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Search index queue did not drain before shutdown, {} writes were dropped", getPendingCount());
+                worker.shutdownNow();
+            }
+        }
+    }
+
+    /** --- Public Methods --- */
+
+    /**
+     * Queues the given requests to be sent to the index with a later bulk request. Any requests that are still
+     * pending for the same key are replaced. Blocks while the queue is full.
+     *
+     * @param key String - Identifies the entity modified by the requests, e.g. index/type/id
+     * @param requests List<ActionRequest> - Index and/or delete requests
+     */
+    public void enqueue(String key, List<ActionRequest> requests) {
+        lock.lock();
+        try {
+            PendingWrite existing = pending.get(key);
+            if (existing != null) {
+                // The entity keeps its place in line, only the requests are swapped out.
+                existing.requests = requests;
+                coalescedCount.incrementAndGet();
+                return;
+            }
+            if (running && pending.size() >= capacity) {
+                blockedCount.incrementAndGet();
+                while (running && pending.size() >= capacity) {
+                    notFull.awaitUninterruptibly();
+                }
+            }
+            pending.put(key, new PendingWrite(requests));
+            queuedCount.incrementAndGet();
+            if (pending.size() == 1 || pending.size() >= batchSize) {
+                notEmpty.signal();
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return int - The number of distinct entities with pending writes.
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return IndexQueueStats - A snapshot of the queue depth, lag and running totals.
+     */
+    public IndexQueueStats getStats() {
+        int pendingCount;
+        long lagMillis = 0;
+        lock.lock();
+        try {
+            pendingCount = pending.size();
+            if (!pending.isEmpty()) {
+                lagMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - getOldest().queuedNanos);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+        return new IndexQueueStats(pendingCount, capacity, lagMillis, queuedCount.get(), coalescedCount.get(),
+            blockedCount.get(), sentCount.get(), failedCount.get(), bulkRequestCount.get(),
+            lastFlushDateTime, lastFlushMillis);
+    }
+
+    public void setFlushListener(FlushListener flushListener) {
+        this.flushListener = flushListener;
+    }
+
+    /** --- Internal Methods --- */
+
+    protected void configure(int capacity, int batchSize, long flushIntervalMillis) {
+        this.capacity = Math.max(capacity, 1);
+        this.batchSize = Math.max(batchSize, 1);
+        this.flushIntervalMillis = Math.max(flushIntervalMillis, 0);
+    }
+
+    /**
+     * Worker loop, sends batches until the queue is shut down and all pending writes have been sent.
+     */
+    private void processQueue() {
+        while (running || getPendingCount() > 0) {
+            try {
+                flush(takeBatch(running));
+            }
+            catch (InterruptedException ex) {
+                logger.warn("Search index worker was interrupted with {} pending writes", getPendingCount());
+                return;
+            }
+            catch (Exception ex) {
+                logger.error("Unexpected exception while sending queued search index writes", ex);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns up to a batch size of pending writes.
+     *
+     * @param await boolean - If true, waits until a full batch is pending or the oldest write is due.
+     * @return List<ActionRequest> - The requests of the removed writes, in the order they were queued.
+     */
+    protected List<ActionRequest> takeBatch(boolean await) throws InterruptedException {
+        lock.lock();
+        try {
+            if (await) {
+                while (running && pending.isEmpty()) {
+                    notEmpty.await();
+                }
+                while (running && !pending.isEmpty() && pending.size() < batchSize) {
+                    long dueNanos = getOldest().queuedNanos + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                    long waitNanos = dueNanos - System.nanoTime();
+                    if (waitNanos <= 0) {
+                        break;
+                    }
+                    notEmpty.awaitNanos(waitNanos);
+                }
+            }
+            List<ActionRequest> batch = new ArrayList<>();
+            Iterator<PendingWrite> pendingItr = pending.values().iterator();
+            for (int i = 0; i < batchSize && pendingItr.hasNext(); i++) {
+                batch.addAll(pendingItr.next().requests);
+                pendingItr.remove();
+            }
+            notFull.signalAll();
+            return batch;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the given requests as a single bulk request, logging any that failed.
+     */
+    protected void flush(List<ActionRequest> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        BulkRequest bulkRequest = new BulkRequest();
+        bulkRequest.add(requests);
+        try {
+            BulkResponse response = executeBulk(bulkRequest);
+            long failures = Arrays.stream(response.getItems()).filter(BulkItemResponse::isFailed).count();
+            if (failures > 0) {
+                logger.warn("{} of {} search index writes failed: {}",
+                    failures, requests.size(), response.buildFailureMessage());
+            }
+            sentCount.addAndGet(requests.size() - failures);
+            failedCount.addAndGet(failures);
+        }
+        catch (RuntimeException ex) {
+            logger.error("Bulk request of {} search index writes failed", requests.size(), ex);
+            failedCount.addAndGet(requests.size());
+        }
+        finally {
+            long elapsedNanos = System.nanoTime() - start;
+            bulkRequestCount.incrementAndGet();
+            lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            lastFlushDateTime = LocalDateTime.now();
+            FlushListener listener = flushListener;
+            if (listener != null) {
+                listener.flushed(requests.size(), elapsedNanos);
+            }
+        }
+        logger.debug("Sent {} search index writes in {} ms", requests.size(), lastFlushMillis);
+    }
+
+    protected BulkResponse executeBulk(BulkRequest bulkRequest) {
+        indexRouter.route(bulkRequest);
+        return searchClient.bulk(bulkRequest).actionGet();
+    }
+
+    private PendingWrite getOldest() {
+        return pending.values().iterator().next();
+    }
+
+    private static class PendingWrite
+    {
+        private final long queuedNanos = System.nanoTime();
+        private List<ActionRequest> requests;
+
+        private PendingWrite(List<ActionRequest> requests) {
+            this.requests = requests;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.dao.search.SearchIndexRebuildDao;
+import org.apache.commons.lang3.tuple.Pair;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.admin.indices.exists.indices.IndicesExistsRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.index.engine.VersionConflictEngineException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Directs search index writes while an index is being rebuilt into a new versioned index.
+ *
+ * Searches always go through the alias of an index (e.g. 'bills'), which points to the live versioned index.
+ * Threads that are loading data for a rebuild write to the new index only. All other writes go to the live
+ * index and are also copied into the new index, so that it does not miss updates made while the rebuild is
+ * in progress or after it was interrupted.
+ *
+ * Loader writes only create documents, so a loader snapshot never overwrites a newer live copy. Live deletes are
+ * recorded so that they can be re-applied once loading is done, in case a loader snapshot recreated the document.
+ */
+@Repository
+public class ElasticIndexRouter
+{
+    private static final Logger logger = LoggerFactory.getLogger(ElasticIndexRouter.class);
+
+    @Autowired private Client searchClient;
+    @Autowired private SearchIndexRebuildDao rebuildDao;
+
+    /** Maps the alias of each index that is being rebuilt to the name of the new index. */
+    private final Map<String, String> rebuildTargets = new ConcurrentHashMap<>();
+
+    /** Maps aliases to the new index for the rebuild that the current thread is loading data for. */
+    private final ThreadLocal<Map<String, String>> loaderTargets = ThreadLocal.withInitial(HashMap::new);
+
+    /** Maps the alias of each index that is being rebuilt to the (type, id) of each live delete copied into it. */
+    private final Map<String, Set<Pair<String, String>>> rebuildDeletes = new ConcurrentHashMap<>();
+
+    /**
+     * Resumes copying writes into the new indices of any rebuilds that were interrupted.
+     */
+    @PostConstruct
+    protected void init() {
+        rebuildDao.getCheckpoints().forEach(checkpoint -> {
+            String alias = checkpoint.getSearchIndex().getIndexName();
+            if (searchClient.admin().indices().exists(new IndicesExistsRequest(checkpoint.getTargetIndex()))
+                    .actionGet().isExists()) {
+                logger.info("Found unfinished rebuild of {} into {}", alias, checkpoint.getTargetIndex());
+                addRebuildTarget(alias, checkpoint.getTargetIndex());
+            }
+        });
+    }
+
+    /** --- Public Methods --- */
+
+    /**
+     * Starts copying writes made to the given alias into the target index.
+     */
+    public void addRebuildTarget(String alias, String targetIndex) {
+        rebuildTargets.put(alias, targetIndex);
+    }
+
+    /**
+     * Stops copying writes made to the given alias.
+     */
+    public void removeRebuildTarget(String alias) {
+        rebuildTargets.remove(alias);
+        rebuildDeletes.remove(alias);
+    }
+
+    /**
+     * Returns the (type, id) of each live delete that was copied into the rebuild target of the given alias.
+     *
+     * @param alias String
+     * @return Set<Pair<String, String>>
+     */
+    public Set<Pair<String, String>> getRebuildDeletes(String alias) {
+        return rebuildDeletes.getOrDefault(alias, ConcurrentHashMap.newKeySet());
+    }
+
+    /**
+     * Re-applies the live deletes made during a rebuild to its target index. This must be called once all
+     * loaders are done, since a loader may have recreated a document from a snapshot taken before it was deleted.
+     * A document is only deleted if it is also absent from the live index, and only at the version that was
+     * checked, so a live write made in the meantime is kept.
+     *
+     * @param alias String
+     */
+    public void reapplyRebuildDeletes(String alias) {
+        String targetIndex = rebuildTargets.get(alias);
+        if (targetIndex == null) {
+            return;
+        }
+        int deleted = 0;
+        for (Pair<String, String> doc : getRebuildDeletes(alias)) {
+            GetResponse targetDoc = searchClient.prepareGet(targetIndex, doc.getLeft(), doc.getRight())
+                .setFetchSource(false).get();
+            if (!targetDoc.isExists() ||
+                    searchClient.prepareGet(alias, doc.getLeft(), doc.getRight()).setFetchSource(false).get().isExists()) {
+                continue;
+            }
+            try {
+                searchClient.prepareDelete(targetIndex, doc.getLeft(), doc.getRight())
+                    .setVersion(targetDoc.getVersion()).get();
+                deleted++;
+            }
+            catch (VersionConflictEngineException ex) {
+                logger.debug("{} {} in {} was rewritten, keeping it", doc.getLeft(), doc.getRight(), targetIndex);
+            }
+        }
+        logger.info("Re-applied {} live deletes to {}", deleted, targetIndex);
+    }
+
+    /**
+     * Sends all writes made to the given alias by the current thread to the target index only.
+     */
+    public void bindLoader(String alias, String targetIndex) {
+        loaderTargets.get().put(alias, targetIndex);
+    }
+
+    public void unbindLoader(String alias) {
+        loaderTargets.get().remove(alias);
+    }
+
+    /**
+     * Returns the indices that a write to the given alias should be applied to. Used for requests
+     * that cannot be included in a bulk request, e.g. delete by query.
+     *
+     * @param alias String
+     * @return String[]
+     */
+    public String[] getWriteIndices(String alias) {
+        String loaderTarget = loaderTargets.get().get(alias);
+        if (loaderTarget != null) {
+            return new String[]{loaderTarget};
+        }
+        String rebuildTarget = rebuildTargets.get(alias);
+        return (rebuildTarget != null) ? new String[]{alias, rebuildTarget} : new String[]{alias};
+    }
+
+    /**
+     * Redirects or copies the index and delete requests in the given bulk request according to the
+     * rebuilds that are in progress.
+     *
+     * @param bulkRequest BulkRequest
+     */
+    public void route(BulkRequest bulkRequest) {
+        Map<String, String> threadTargets = loaderTargets.get();
+        if (rebuildTargets.isEmpty() && threadTargets.isEmpty()) {
+            return;
+        }
+        List<ActionRequest> copies = new ArrayList<>();
+        for (ActionRequest request : bulkRequest.requests()) {
+            if (request instanceof IndexRequest) {
+                IndexRequest indexRequest = (IndexRequest) request;
+                if (threadTargets.containsKey(indexRequest.index())) {
+                    // Never overwrite a document that was copied from a live write
+                    indexRequest.index(threadTargets.get(indexRequest.index())).opType(IndexRequest.OpType.CREATE);
+                }
+                else if (rebuildTargets.containsKey(indexRequest.index())) {
+                    copies.add(new IndexRequest(indexRequest, indexRequest).index(rebuildTargets.get(indexRequest.index())));
+                }
+            }
+            else if (request instanceof DeleteRequest) {
+                DeleteRequest deleteRequest = (DeleteRequest) request;
+                if (threadTargets.containsKey(deleteRequest.index())) {
+                    deleteRequest.index(threadTargets.get(deleteRequest.index()));
+                }
+                else if (rebuildTargets.containsKey(deleteRequest.index())) {
+                    rebuildDeletes.computeIfAbsent(deleteRequest.index(), k -> ConcurrentHashMap.newKeySet())
+                        .add(Pair.of(deleteRequest.type(), deleteRequest.id()));
+                    copies.add(new DeleteRequest(deleteRequest, deleteRequest).index(rebuildTargets.get(deleteRequest.index())));
+                }
+            }
+        }
+        copies.forEach(bulkRequest::add);
+    }
+}
@@ -0,0 +1,114 @@
+package gov.nysenate.openleg.dao.base;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * A NamedParameterJdbcTemplate that records the execution time, row count and connection pool wait time of every
+ * statement in the {@link SqlQueryMetrics}.
+ *
+ * Only the methods that the other overloads delegate to are overridden so each statement is recorded exactly once.
+ * Row counts are not available for queries that use a ResultSetExtractor or a PreparedStatementCallback.
+ */
+public class InstrumentedNamedParameterJdbcTemplate extends NamedParameterJdbcTemplate
+{
+    private static final ToLongFunction<Object> UNKNOWN_ROWS = result -> -1;
+
+    private final SqlQueryMetrics metrics;
+
+    public InstrumentedNamedParameterJdbcTemplate(DataSource dataSource, SqlQueryMetrics metrics) {
+        super(dataSource);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <T> T execute(String sql, SqlParameterSource paramSource, PreparedStatementCallback<T> action)
+            throws DataAccessException {
+        return timed(sql, () -> super.execute(sql, paramSource, action), UNKNOWN_ROWS);
+    }
+
+    @Override
+    public <T> T query(String sql, SqlParameterSource paramSource, ResultSetExtractor<T> rse) throws DataAccessException {
+        return timed(sql, () -> super.query(sql, paramSource, rse), UNKNOWN_ROWS);
+    }
+
+    @Override
+    public void query(String sql, SqlParameterSource paramSource, RowCallbackHandler rch) throws DataAccessException {
+        long[] rows = new long[1];
+        timed(sql, () -> {
+            super.query(sql, paramSource, rs -> {
+                rows[0]++;
+                rch.processRow(rs);
+            });
+            return null;
+        }, result -> rows[0]);
+    }
+
+    @Override
+    public <T> List<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
+            throws DataAccessException {
+        return timed(sql, () -> super.query(sql, paramSource, rowMapper), List::size);
+    }
+
+    @Override
+    public <T> T queryForObject(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
+            throws DataAccessException {
+        return timed(sql, () -> super.queryForObject(sql, paramSource, rowMapper), result -> 1);
+    }
+
+    @Override
+    public SqlRowSet queryForRowSet(String sql, SqlParameterSource paramSource) throws DataAccessException {
+        return timed(sql, () -> super.queryForRowSet(sql, paramSource), UNKNOWN_ROWS);
+    }
+
+    @Override
+    public int update(String sql, SqlParameterSource paramSource) throws DataAccessException {
+        return timed(sql, () -> super.update(sql, paramSource), Integer::longValue);
+    }
+
+    @Override
+    public int update(String sql, SqlParameterSource paramSource, KeyHolder generatedKeyHolder, String[] keyColumnNames)
+            throws DataAccessException {
+        return timed(sql, () -> super.update(sql, paramSource, generatedKeyHolder, keyColumnNames), Integer::longValue);
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, SqlParameterSource[] batchArgs) {
+        // Drivers may report SUCCESS_NO_INFO (-2) instead of a row count
+        return timed(sql, () -> super.batchUpdate(sql, batchArgs),
+            counts -> Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum());
+    }
+
+    /** --- Internal --- */
+
+    private <T> T timed(String sql, Supplier<T> statement, ToLongFunction<? super T> rowCounter) {
+        long poolWaitStart = metrics.getThreadPoolWaitNanos();
+        long start = System.nanoTime();
+        boolean error = true;
+        T result = null;
+        try {
+            result = statement.get();
+            error = false;
+            return result;
+        }
+        finally {
+            long elapsed = System.nanoTime() - start;
+            long poolWait = metrics.getThreadPoolWaitNanos() - poolWaitStart;
+            long rows = error ? -1 : rowCounter.applyAsLong(result);
+            metrics.recordQuery(sql, elapsed, poolWait, rows, error);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package gov.nysenate.openleg.dao.base;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Wraps the pooled data source to record how long each connection checkout takes.
+ * Closing this data source closes the wrapped pool.
+ */
+public class PoolTimingDataSource extends DelegatingDataSource implements AutoCloseable
+{
+    private final SqlQueryMetrics metrics;
+
+    public PoolTimingDataSource(DataSource pool, SqlQueryMetrics metrics) {
+        super(pool);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection();
+        }
+        finally {
+            metrics.recordPoolWait(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return super.getConnection(username, password);
+        }
+        finally {
+            metrics.recordPoolWait(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Closes the wrapped data source if it can be closed, releasing its connections and helper threads.
+     */
+    @Override
+    public void close() throws Exception {
+        DataSource target = getTargetDataSource();
+        if (target instanceof AutoCloseable) {
+            ((AutoCloseable) target).close();
+        }
+    }
+}
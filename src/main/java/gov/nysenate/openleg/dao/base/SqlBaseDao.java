@@ -5,7 +5,9 @@ import com.google.common.collect.Range;
 import gov.nysenate.openleg.model.base.BaseLegislativeContent;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.util.DateUtils;
 import org.apache.commons.io.FileUtils;
@@ -27,6 +29,7 @@ import java.sql.SQLException;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -74,6 +77,18 @@ public abstract class SqlBaseDao
         params.addValue("lastFragmentId", (fragment != null) ? fragment.getFragmentId() : null);
     }
 
+    /**
+     * Returns a param source with a 'billIds' param containing a [printNo, sessionYear] pair for each
+     * of the given bill ids. Use it with a multi-column in clause, e.g.
+     * '(bill_print_no, bill_session_year) IN (:billIds)', to fetch rows for several bills at once.
+     */
+    protected static MapSqlParameterSource getBaseBillIdListParams(Collection<BaseBillId> billIds) {
+        List<Object[]> billIdPairs = billIds.stream()
+            .map(billId -> new Object[] {billId.getBasePrintNo(), billId.getSession().getYear()})
+            .collect(Collectors.toList());
+        return new MapSqlParameterSource("billIds", billIdPairs);
+    }
+
     /**
      * Adds parameters for a date time range
      */
@@ -82,6 +97,16 @@ public abstract class SqlBaseDao
         params.addValue("endDateTime", DateUtils.toDate(DateUtils.endOfDateTimeRange(dateTimeRange)));
     }
 
+    /**
+     * Applies the parameters used by {@link SqlQueryUtils#getUpdateCursorCondition}, if a cursor is given.
+     */
+    protected static void addUpdateCursorParams(MapSqlParameterSource params, UpdateCursor cursor) {
+        if (cursor != null) {
+            params.addValue("cursorDateTime", DateUtils.toDate(cursor.getDateTime()));
+            params.addValue("cursorChangeId", cursor.getChangeId());
+        }
+    }
+
     /**
      * Gets a new parameter map containing params for the given date time range
      */
@@ -209,6 +234,18 @@ public abstract class SqlBaseDao
         return dateColumn;
     }
 
+    /**
+     * Returns the ordering of a cursor paginated update query, see {@link UpdateCursor}.
+     * The selected rows must contain a 'change_id' column, as well as a 'content_type' column if
+     * multiple content types are selected.
+     */
+    protected OrderBy getCursorOrderByForUpdateType(UpdateType updateType, SortOrder sortOrder, boolean byContentType) {
+        String dateColumn = (updateType == UpdateType.PUBLISHED_DATE) ? "last_published_date_time" : "last_processed_date_time";
+        return byContentType
+                ? new OrderBy(dateColumn, sortOrder, "content_type", sortOrder, "change_id", sortOrder)
+                : new OrderBy(dateColumn, sortOrder, "change_id", sortOrder);
+    }
+
     protected OrderBy getOrderByForUpdateType(UpdateType updateType, SortOrder sortOrder) {
         OrderBy orderBy;
         if (updateType.equals(UpdateType.PROCESSED_DATE)) {
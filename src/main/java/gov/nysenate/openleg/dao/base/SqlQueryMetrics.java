@@ -0,0 +1,119 @@
+package gov.nysenate.openleg.dao.base;
+
+import com.mchange.v2.c3p0.PooledDataSource;
+import gov.nysenate.openleg.config.Environment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects execution statistics for each sql query that is run through the {@link InstrumentedNamedParameterJdbcTemplate}
+ * along with the time spent waiting on the connection pool. Queries are identified by the name of the
+ * {@link BasicSqlQuery} they were created from, see {@link SqlQueryRegistry}.
+ *
+ * The pool wait of a query only includes connection checkouts made while the query runs. Within a transaction the
+ * connection is checked out by the transaction manager when the transaction begins, so that wait is not attributed to
+ * any query. It is still included in the total pool wait time and checkout count.
+ */
+@Component
+public class SqlQueryMetrics
+{
+    private static final Logger logger = LoggerFactory.getLogger(SqlQueryMetrics.class);
+
+    @Autowired private Environment environment;
+
+    /** Set to false to stop recording query statistics. */
+    @Value("${sql.metrics.enabled:true}") private boolean enabled;
+
+    private final ConcurrentMap<String, SqlQueryStats> queryStats = new ConcurrentHashMap<>();
+
+    /** Total time spent waiting for a pooled connection by each thread. */
+    private final ThreadLocal<long[]> threadPoolWaitNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final LongAdder totalPoolWaitNanos = new LongAdder();
+    private final LongAdder connectionCheckouts = new LongAdder();
+
+    private PooledDataSource connectionPool;
+
+    @PostConstruct
+    public void init() {
+        int queryCount = SqlQueryRegistry.registerAll("gov.nysenate.openleg", environment.getSchema());
+        logger.info("Registered {} sql queries for schema {}", queryCount, environment.getSchema());
+    }
+
+    /**
+     * Records the execution of a sql statement.
+     *
+     * @param sql String - the executed sql
+     * @param elapsedNanos long - total execution time, including the pool wait time
+     * @param poolWaitNanos long - time spent waiting for a pooled connection
+     * @param rows long - number of rows returned or affected, negative if unknown
+     * @param error boolean - true if the execution failed
+     */
+    public void recordQuery(String sql, long elapsedNanos, long poolWaitNanos, long rows, boolean error) {
+        if (enabled) {
+            queryStats.computeIfAbsent(SqlQueryRegistry.getQueryName(sql), SqlQueryStats::new)
+                .record(elapsedNanos, poolWaitNanos, rows, error);
+        }
+    }
+
+    /**
+     * Records the time taken by the current thread to check out a connection from the pool.
+     */
+    public void recordPoolWait(long waitNanos) {
+        threadPoolWaitNanos.get()[0] += waitNanos;
+        totalPoolWaitNanos.add(waitNanos);
+        connectionCheckouts.increment();
+    }
+
+    /**
+     * @return long - the total time the current thread has spent waiting for pooled connections.
+     */
+    public long getThreadPoolWaitNanos() {
+        return threadPoolWaitNanos.get()[0];
+    }
+
+    /**
+     * @return List<SqlQueryStats> - the statistics of every query that has been run since the last reset.
+     */
+    public List<SqlQueryStats> getQueryStats() {
+        return new ArrayList<>(queryStats.values());
+    }
+
+    /**
+     * Clears all recorded query statistics.
+     */
+    public void reset() {
+        queryStats.clear();
+        totalPoolWaitNanos.reset();
+        connectionCheckouts.reset();
+    }
+
+    /** --- Basic Getters/Setters --- */
+
+    public long getTotalPoolWaitNanos() {
+        return totalPoolWaitNanos.sum();
+    }
+
+    public long getConnectionCheckouts() {
+        return connectionCheckouts.sum();
+    }
+
+    public Optional<PooledDataSource> getConnectionPool() {
+        return Optional.ofNullable(connectionPool);
+    }
+
+    public void setConnectionPool(PooledDataSource connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+}
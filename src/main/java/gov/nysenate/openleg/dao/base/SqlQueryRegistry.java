@@ -0,0 +1,121 @@
+package gov.nysenate.openleg.dao.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the resolved sql for each {@link BasicSqlQuery} enum constant so that the ${schema} placeholder only has to be
+ * substituted once per schema rather than every time a query is run. The resolved sql is also mapped back to the name
+ * of the query it came from, which is used to label the query metrics.
+ *
+ * Queries that are not enum constants are resolved on every call as before since they may be built dynamically.
+ */
+public final class SqlQueryRegistry
+{
+    private static final Logger logger = LoggerFactory.getLogger(SqlQueryRegistry.class);
+
+    /** Name used for sql that does not come from a registered query. */
+    public static final String UNREGISTERED = "UNREGISTERED";
+
+    /** Matches the limit/offset clause that may be appended to a registered query. */
+    private static final Pattern LIMIT_OFFSET_SUFFIX = Pattern.compile("( LIMIT \\d+)?( OFFSET \\d+)?$");
+
+    private static final String ORDER_BY_PREFIX = " ORDER BY ";
+
+    /** Resolved sql for each query, keyed by schema. */
+    private static final ConcurrentMap<String, ConcurrentMap<BasicSqlQuery, String>> resolvedSql =
+        new ConcurrentHashMap<>();
+
+    /** The name of the query that each resolved sql string was created from. */
+    private static final ConcurrentMap<String, String> queryNames = new ConcurrentHashMap<>();
+
+    private SqlQueryRegistry() {}
+
+    /**
+     * Gets the sql for the given query with the ${schema} placeholder replaced by the given schema.
+     *
+     * @param query BasicSqlQuery
+     * @param schema String
+     * @return String
+     */
+    public static String getSql(BasicSqlQuery query, String schema) {
+        if (!(query instanceof Enum) || schema == null) {
+            return SqlQueryUtils.getSqlWithSchema(query.getSql(), schema);
+        }
+        return resolvedSql.computeIfAbsent(schema, s -> new ConcurrentHashMap<>())
+            .computeIfAbsent(query, q -> resolve(q, schema));
+    }
+
+    /**
+     * Gets the name of the registered query that the given sql was created from. Order by and limit clauses that
+     * were appended to the query are ignored.
+     *
+     * @param sql String
+     * @return String - The query name, e.g. 'SqlBillQuery.SELECT_BILL' or {@link #UNREGISTERED}
+     */
+    public static String getQueryName(String sql) {
+        String name = queryNames.get(sql);
+        if (name != null) {
+            return name;
+        }
+        String baseSql = LIMIT_OFFSET_SUFFIX.matcher(sql).replaceFirst("");
+        name = queryNames.get(baseSql);
+        // The order by clause is appended last, but the query itself may also contain order by clauses
+        for (int i = baseSql.lastIndexOf(ORDER_BY_PREFIX); name == null && i >= 0;
+                i = baseSql.lastIndexOf(ORDER_BY_PREFIX, i - 1)) {
+            name = queryNames.get(baseSql.substring(0, i));
+        }
+        return name != null ? name : UNREGISTERED;
+    }
+
+    /**
+     * Resolves every {@link BasicSqlQuery} enum constant under the given base package for the given schema.
+     *
+     * @param basePackage String
+     * @param schema String
+     * @return int - the number of queries that were resolved
+     */
+    public static int registerAll(String basePackage, String schema) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isIndependent();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(BasicSqlQuery.class));
+        int count = 0;
+        for (BeanDefinition definition : scanner.findCandidateComponents(basePackage)) {
+            try {
+                Class<?> queryClass = ClassUtils.forName(definition.getBeanClassName(), SqlQueryRegistry.class.getClassLoader());
+                if (queryClass.isEnum()) {
+                    for (Object query : queryClass.getEnumConstants()) {
+                        getSql((BasicSqlQuery) query, schema);
+                        count++;
+                    }
+                }
+            }
+            catch (ClassNotFoundException | LinkageError ex) {
+                logger.warn("Could not load sql query class {}", definition.getBeanClassName(), ex);
+            }
+        }
+        return count;
+    }
+
+    /** --- Internal --- */
+
+    private static String resolve(BasicSqlQuery query, String schema) {
+        String sql = SqlQueryUtils.getSqlWithSchema(query.getSql(), schema);
+        Enum<?> queryEnum = (Enum<?>) query;
+        queryNames.putIfAbsent(sql, queryEnum.getDeclaringClass().getSimpleName() + "." + queryEnum.name());
+        return sql;
+    }
+}
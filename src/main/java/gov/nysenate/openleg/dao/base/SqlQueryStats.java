@@ -0,0 +1,109 @@
+package gov.nysenate.openleg.dao.base;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Running execution statistics for a single sql query.
+ * Execution times are also recorded in a histogram with fixed millisecond buckets.
+ */
+public class SqlQueryStats
+{
+    /** The upper bounds (inclusive) of the histogram buckets in milliseconds. The last bucket is unbounded. */
+    public static final List<Long> BUCKET_BOUNDS_MS = ImmutableList.of(1L, 5L, 10L, 50L, 100L, 500L, 1000L, 5000L);
+
+    private final String queryName;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder rowCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder poolWaitNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] buckets;
+
+    public SqlQueryStats(String queryName) {
+        this.queryName = queryName;
+        this.buckets = IntStream.rangeClosed(0, BUCKET_BOUNDS_MS.size())
+            .mapToObj(i -> new LongAdder())
+            .toArray(LongAdder[]::new);
+    }
+
+    /**
+     * Records a single execution of the query.
+     *
+     * @param elapsedNanos long - the total execution time
+     * @param poolWaitNanos long - the portion of the execution time spent waiting for a pooled connection
+     * @param rows long - the number of rows returned or affected, or a negative number if unknown
+     * @param error boolean - true if the query failed
+     */
+    public void record(long elapsedNanos, long poolWaitNanos, long rows, boolean error) {
+        count.increment();
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulate(elapsedNanos);
+        this.poolWaitNanos.add(poolWaitNanos);
+        if (rows > 0) {
+            rowCount.add(rows);
+        }
+        if (error) {
+            errorCount.increment();
+        }
+        buckets[getBucket(elapsedNanos)].increment();
+    }
+
+    /** --- Internal --- */
+
+    private static int getBucket(long elapsedNanos) {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MS.size() && elapsedMs > BUCKET_BOUNDS_MS.get(bucket)) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /** --- Getters --- */
+
+    public String getQueryName() {
+        return queryName;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public long getRowCount() {
+        return rowCount.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getPoolWaitNanos() {
+        return poolWaitNanos.sum();
+    }
+
+    /**
+     * @return List<Long> - The number of executions in each histogram bucket, see {@link #BUCKET_BOUNDS_MS}
+     */
+    public List<Long> getHistogram() {
+        return ImmutableList.copyOf(IntStream.range(0, buckets.length)
+            .mapToObj(i -> buckets[i].sum())
+            .collect(Collectors.toList()));
+    }
+}
@@ -1,6 +1,8 @@
 package gov.nysenate.openleg.dao.base;
 
 import com.google.common.collect.ImmutableMap;
+import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.text.StrSubstitutor;
 
@@ -108,4 +110,34 @@ public abstract class SqlQueryUtils
         }
         return clause;
     }
+
+    /**
+     * Returns a sql condition that matches the change log rows of the given content type that come after the given
+     * cursor in an update stream ordered by (update date time, content type, change id). Only the rows of the cursor's
+     * own content type need to be compared by id, so for other content types the condition is on the date alone.
+     * The condition references the named parameters :cursorDateTime and :cursorChangeId.
+     *
+     * @param cursor UpdateCursor - The position of the last row of the previous page. If null, an always true
+     *                              condition is returned.
+     * @param contentType UpdateContentType - The content type of the queried rows.
+     * @param dateExpr String - Expression for the update date time, e.g. 'action_date_time' or 'MAX(action_date_time)'
+     * @param idExpr String - Expression for the change id, e.g. 'id' or 'MAX(id)'
+     * @param order SortOrder - The order of the update stream.
+     * @return String
+     */
+    public static String getUpdateCursorCondition(UpdateCursor cursor, UpdateContentType contentType,
+                                                  String dateExpr, String idExpr, SortOrder order) {
+        if (cursor == null) {
+            return "1 = 1";
+        }
+        boolean desc = order == SortOrder.DESC;
+        String operator = desc ? "<" : ">";
+        int typeCompare = contentType.name().compareTo(cursor.getContentType().name());
+        if (typeCompare == 0) {
+            return String.format("(%s, %s) %s (:cursorDateTime, :cursorChangeId)", dateExpr, idExpr, operator);
+        }
+        // Rows with the same date time as the cursor come after it only if their content type sorts after it
+        boolean includeCursorDate = desc ? typeCompare < 0 : typeCompare > 0;
+        return String.format("%s %s%s :cursorDateTime", dateExpr, operator, includeCursorDate ? "=" : "");
+    }
 }
@@ -77,6 +77,8 @@ public enum SqlTable
 
     DATA_PROCESS_RUN             ("data_process_run"),
     DATA_PROCESS_UNIT            ("data_process_run_unit"),
+    DATA_PROCESS_STAGE           ("data_process_run_stage"),
+    DATA_PROCESS_QUEUE           ("data_process_run_queue"),
 
     DAYBREAK_REPORT              ("daybreak_report"),
     DAYBREAK_FILE                ("daybreak_file"),
@@ -105,6 +107,9 @@ public enum SqlTable
     PERSON                       ("person"),
     SESSION_MEMBER               ("session_member"),
 
+    SEARCH_INDEX_REBUILD         ("search_index_rebuild"),
+    SEARCH_INDEX_REBUILD_UNIT    ("search_index_rebuild_unit"),
+
     SOBI_FILE                    ("sobi_file"),
     SOBI_FRAGMENT                ("sobi_fragment"),
 
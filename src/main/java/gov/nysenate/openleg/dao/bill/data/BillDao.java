@@ -9,8 +9,10 @@ import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +31,17 @@ public interface BillDao
      */
     public Bill getBill(BillId billId) throws DataAccessException;
 
+    /**
+     * Retrieves full Bills for each of the given BaseBillIds. The bill data is fetched in batches,
+     * requiring a fixed number of queries per batch rather than a set of queries per bill.
+     * Bills are returned in the order of the given ids. Ids that do not match an existing bill are skipped.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return List<Bill>
+     * @throws DataAccessException
+     */
+    public List<Bill> getBills(Collection<BaseBillId> billIds) throws DataAccessException;
+
     /**
      * Retrieves a BillInfo for the given BillId. The query time for a BillInfo will be less than that
      * of a full bill retrieval because it has significantly fewer pieces of data to gather.
@@ -102,4 +115,14 @@ public interface BillDao
      * @throws DataAccessException - If there was an error while trying to save the Bill.
      */
     public void updateBill(Bill bill, SobiFragment sobiFragment) throws DataAccessException;
+
+    /**
+     * Updates or inserts each of the given bills along with the SobiFragment that triggered the update.
+     * This is intended for persisting large sets of bills, e.g. when flushing the ingest cache. The bills
+     * are saved within a single transaction.
+     *
+     * @param billUpdates Collection<Pair<Bill, SobiFragment>>
+     * @throws DataAccessException - If there was an error while trying to save the Bills.
+     */
+    public void updateBills(Collection<Pair<Bill, SobiFragment>> billUpdates) throws DataAccessException;
 }
@@ -6,11 +6,13 @@ import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillUpdateField;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface BillUpdatesDao
 {
@@ -34,6 +36,28 @@ public interface BillUpdatesDao
     public PaginatedList<UpdateDigest<BaseBillId>> getDetailedUpdates(
         Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter, SortOrder dateOrder, LimitOffset limOff);
 
+    /**
+     * Retrieves a page of the bills that were updated during a specified date/time range, continuing after the
+     * given cursor. Unlike {@link #getUpdates}, this does not count the total number of updates and the cost of a
+     * page does not depend on how many pages precede it.
+     *
+     * @param after UpdateCursor - The position of the last update of the previous page, null for the first page.
+     * @param limit int - The maximum number of updates to return, 0 for no limit.
+     * @see #getUpdates for other param details.
+     * @return List<UpdateToken<BaseBillId>>
+     */
+    public List<UpdateToken<BaseBillId>> getUpdatesAfter(
+        Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter, SortOrder dateOrder,
+        UpdateCursor after, int limit);
+
+    /**
+     * Retrieves a page of update digests during a given date range, continuing after the given cursor.
+     * @see #getUpdatesAfter for param details.
+     */
+    public List<UpdateDigest<BaseBillId>> getDetailedUpdatesAfter(
+        Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter, SortOrder dateOrder,
+        UpdateCursor after, int limit);
+
     /**
      * Returns a list of digests which contain all the information pertaining to a bill that have changed during the
      * specified date range.
@@ -14,7 +14,10 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Repository
 public class SqlApprovalDao extends SqlBaseDao implements ApprovalDao
@@ -35,6 +38,18 @@ public class SqlApprovalDao extends SqlBaseDao implements ApprovalDao
             SqlApprovalQuery.SELECT_APPROVAL_BY_BILL.getSql(schema()), params, new ApprovalMessageRowMapper());
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, ApprovalMessage> getApprovalMessages(Collection<BaseBillId> baseBillIds) throws DataAccessException {
+        Map<BaseBillId, ApprovalMessage> approvalMap = new HashMap<>();
+        if (!baseBillIds.isEmpty()) {
+            MapSqlParameterSource params = getBaseBillIdListParams(baseBillIds);
+            jdbcNamed.query(SqlApprovalQuery.SELECT_APPROVALS_BY_BILLS.getSql(schema()), params, new ApprovalMessageRowMapper())
+                .forEach(approvalMessage -> approvalMap.put(BaseBillId.of(approvalMessage.getBillId()), approvalMessage));
+        }
+        return approvalMap;
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<ApprovalMessage> getApprovalMessages(int year) throws DataAccessException {
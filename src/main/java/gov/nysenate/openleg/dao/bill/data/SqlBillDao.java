@@ -1,5 +1,9 @@
 package gov.nysenate.openleg.dao.bill.data;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.MapDifference;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
@@ -19,6 +23,7 @@ import gov.nysenate.openleg.service.bill.data.ApprovalNotFoundException;
 import gov.nysenate.openleg.service.bill.data.VetoDataService;
 import gov.nysenate.openleg.service.bill.data.VetoNotFoundException;
 import gov.nysenate.openleg.service.entity.member.data.MemberService;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,12 +34,14 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.util.CollectionUtils.difference;
 import static gov.nysenate.openleg.util.DateUtils.toDate;
@@ -44,6 +51,34 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
 {
     private static final Logger logger = LoggerFactory.getLogger(SqlBillDao.class);
 
+    /** The max number of bills to retrieve per batch in {@link #getBills(Collection)}.
+     *  Keeps the number of bind params in the batch queries well below the driver limit. */
+    private static final int BILL_BATCH_SIZE = 500;
+
+    /** The order in which the queued statements of a {@link BillUpdateBatch} are executed. */
+    private static final List<SqlBillQuery> EXECUTION_ORDER = ImmutableList.of(
+        // Deletes
+        SqlBillQuery.DELETE_BILL_SPONSOR, SqlBillQuery.DELETE_BILL_COSPONSOR, SqlBillQuery.DELETE_BILL_MULTISPONSOR,
+        SqlBillQuery.DELETE_BILL_VOTES_INFO, SqlBillQuery.DELETE_BILL_ACTION, SqlBillQuery.DELETE_SAME_AS,
+        SqlBillQuery.DELETE_BILL_COMMITTEE, SqlBillQuery.DELETE_BILL_PREVIOUS_VERSION, SqlBillQuery.DELETE_BILL_MILESTONES,
+        // Bill and amendment records
+        SqlBillQuery.UPDATE_BILL, SqlBillQuery.INSERT_BILL, SqlBillQuery.UPDATE_BILL_AMENDMENT, SqlBillQuery.INSERT_BILL_AMENDMENT,
+        // Child records
+        SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS, SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS,
+        SqlBillQuery.UPDATE_BILL_SPONSOR, SqlBillQuery.INSERT_BILL_SPONSOR,
+        SqlBillQuery.UPDATE_BILL_COSPONSOR, SqlBillQuery.INSERT_BILL_COSPONSOR,
+        SqlBillQuery.UPDATE_BILL_MULTISPONSOR, SqlBillQuery.INSERT_BILL_MULTISPONSOR,
+        SqlBillQuery.INSERT_BILL_VOTES_INFO, SqlBillQuery.INSERT_BILL_VOTES_ROLL, SqlBillQuery.INSERT_BILL_ACTION,
+        SqlBillQuery.INSERT_BILL_SAME_AS, SqlBillQuery.INSERT_BILL_COMMITTEE, SqlBillQuery.INSERT_BILL_PREVIOUS_VERSION,
+        SqlBillQuery.INSERT_BILL_MILESTONE
+    );
+
+    /** Used to group the rows of batch queries by the bill they belong to. */
+    private static final RowMapper<BaseBillId> baseBillIdMapper = (rs, rowNum) ->
+        new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"));
+    private static final RowMapper<BillId> billIdMapper = (rs, rowNum) ->
+        new BillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"), rs.getString("bill_amend_version"));
+
     @Autowired private MemberService memberService;
     @Autowired private VetoDataService vetoDataService;
     @Autowired private ApprovalDataService approvalDataService;
@@ -101,6 +136,21 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         return bill;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Rather than issuing the per amendment queries used by {@link #getBill(BillId)}, each child table
+     * is queried once for a whole batch of bills and the results are assembled into the Bill objects in memory.
+     */
+    @Override
+    public List<Bill> getBills(Collection<BaseBillId> billIds) throws DataAccessException {
+        List<Bill> bills = new ArrayList<>();
+        for (List<BaseBillId> batch : Iterables.partition(new LinkedHashSet<>(billIds), BILL_BATCH_SIZE)) {
+            bills.addAll(getBillBatch(batch));
+        }
+        return bills;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BillInfo getBillInfo(BillId billId) throws DataAccessException {
@@ -145,6 +195,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL.getSql(schema()), billParams) == 0) {
             jdbcNamed.update(SqlBillQuery.INSERT_BILL.getSql(schema()), billParams);
         }
+        BillUpdateBatch batch = new BillUpdateBatch();
         // Update the bill amendments
         for (BillAmendment amendment : bill.getAmendmentList()) {
             final ImmutableParams amendParams = ImmutableParams.from(getBillAmendmentParams(amendment, sobiFragment));
@@ -152,32 +203,93 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
                 jdbcNamed.update(SqlBillQuery.INSERT_BILL_AMENDMENT.getSql(schema()), amendParams);
             }
             // Update the same as bills
-            updateBillSameAs(amendment, sobiFragment, amendParams);
+            updateBillSameAs(amendment, getSameAsBills(amendParams), sobiFragment, batch);
             // Update the co-sponsors list
-            updateBillCosponsor(amendment, sobiFragment, amendParams);
+            updateBillCosponsor(amendment, getCoSponsors(amendParams), sobiFragment, batch);
             // Update the multi-sponsors list
-            updateBillMultiSponsor(amendment, sobiFragment, amendParams);
+            updateBillMultiSponsor(amendment, getMultiSponsors(amendParams), sobiFragment, batch);
             // Update votes
-            updateBillVotes(amendment, sobiFragment, amendParams);
+            updateBillVotes(amendment, getBillVotes(amendParams), sobiFragment, batch);
         }
         // Update the publish statuses of the amendments
-        updateBillAmendPublishStatus(bill, sobiFragment, billParams);
+        updateBillAmendPublishStatus(bill, getBillAmendPublishStatuses(billParams), sobiFragment, batch);
         // Update the sponsor
-        updateBillSponsor(bill, sobiFragment, billParams);
+        updateBillSponsor(bill, getBillSponsor(billParams), sobiFragment, batch);
         // Update the milestones
-        updateBillMilestones(bill, sobiFragment, billParams);
+        updateBillMilestones(bill, getBillMilestones(billParams), sobiFragment, batch);
         // Determine which actions need to be inserted/deleted. Individual actions are never updated.
-        updateActions(bill, sobiFragment, billParams);
+        updateActions(bill, getBillActions(billParams), sobiFragment, batch);
         // Determine if the previous versions have changed and insert accordingly.
-        updatePreviousBillVersions(bill, sobiFragment, billParams);
+        boolean prevVersionsChanged =
+            updatePreviousBillVersions(bill, getDirectPrevVersions(billParams), sobiFragment, batch);
         // Update associated committees
-        updateBillCommittees(bill, sobiFragment, billParams);
+        updateBillCommittees(bill, getBillCommittees(billParams), sobiFragment, batch);
+        batch.execute();
+        // Update the bill object to include any indirect previous versions resulting from the new prev version
+        if (prevVersionsChanged) {
+            bill.setAllPreviousVersions(getAllPreviousVersions(billParams));
+        }
         // Update veto messages
         updateVetoMessages(bill, sobiFragment);
         // Update approval message
         updateApprovalMessage(bill, sobiFragment);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The current state of the bills is fetched up front through {@link #getBillBatch(List)}. The changes
+     * to each table are then computed in memory against that snapshot and sent to the database as jdbc batches,
+     * so the number of statements per bill no longer depends on how many amendments and child records it has.
+     */
+    @Override
+    @Transactional
+    public void updateBills(Collection<Pair<Bill, SobiFragment>> billUpdates) {
+        for (List<Pair<Bill, SobiFragment>> updates : Iterables.partition(billUpdates, BILL_BATCH_SIZE)) {
+            logger.trace("Updating batch of {} bills in database...", updates.size());
+            List<BaseBillId> billIds = updates.stream()
+                .map(update -> update.getLeft().getBaseBillId())
+                .collect(Collectors.toList());
+            Map<BaseBillId, Bill> existingBills = new HashMap<>();
+            getBillBatch(billIds).forEach(bill -> existingBills.put(bill.getBaseBillId(), bill));
+            BillUpdateBatch batch = new BillUpdateBatch();
+            Set<BaseBillId> prevVersionsChanged = new HashSet<>();
+            for (Pair<Bill, SobiFragment> update : updates) {
+                Bill bill = update.getLeft();
+                if (addBillUpdates(bill, existingBills.get(bill.getBaseBillId()), update.getRight(), batch)) {
+                    prevVersionsChanged.add(bill.getBaseBillId());
+                }
+            }
+            batch.execute();
+            // Vetoes and approvals are persisted through their own services, only touch them if they are present
+            for (Pair<Bill, SobiFragment> update : updates) {
+                Bill bill = update.getLeft();
+                Bill existingBill = existingBills.get(bill.getBaseBillId());
+                if (!bill.getVetoMessages().isEmpty() ||
+                        (existingBill != null && !existingBill.getVetoMessages().isEmpty())) {
+                    updateVetoMessages(bill, update.getRight());
+                }
+                if (bill.getApprovalMessage() != null ||
+                        (existingBill != null && existingBill.getApprovalMessage() != null)) {
+                    updateApprovalMessage(bill, update.getRight());
+                }
+            }
+            // Update the bill objects to include any indirect previous versions resulting from new prev versions
+            if (!prevVersionsChanged.isEmpty()) {
+                ListMultimap<BaseBillId, BillId> allPrevVersions = queryBatch(
+                    SqlBillQuery.SELECT_ALL_BILL_PREVIOUS_VERSIONS_BATCH, null,
+                    ImmutableParams.from(getBaseBillIdListParams(prevVersionsChanged)),
+                    baseBillIdMapper, new BillPreviousVersionRowMapper());
+                updates.stream()
+                    .map(Pair::getLeft)
+                    .filter(bill -> prevVersionsChanged.contains(bill.getBaseBillId()))
+                    .forEach(bill -> bill.setAllPreviousVersions(new TreeSet<>(allPrevVersions.get(bill.getBaseBillId()))));
+            }
+            logger.debug("Saved {} bills using {} write statements sent in {} batches",
+                updates.size(), batch.getStatementCount(), batch.getBatchCount());
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<BaseBillId> getBillIds(SessionYear sessionYear, LimitOffset limOff, SortOrder billIdSort) throws DataAccessException {
@@ -223,6 +335,137 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
 
     /** --- Methods --- */
 
+    /**
+     * Retrieves full Bill objects for a batch of bill ids using one query per child table.
+     * The bills are returned in the same order as the given ids, skipping any that do not exist.
+     */
+    public List<Bill> getBillBatch(List<BaseBillId> billIds) {
+        logger.trace("Fetching batch of {} bills from database...", billIds.size());
+        final ImmutableParams batchParams = ImmutableParams.from(getBaseBillIdListParams(billIds));
+        Map<BaseBillId, Bill> billMap = new HashMap<>();
+        jdbcNamed.query(SqlBillQuery.SELECT_BILL_BATCH.getSql(schema()), batchParams, new BillRowMapper())
+            .forEach(bill -> billMap.put(bill.getBaseBillId(), bill));
+        if (billMap.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Fetch the amendments along with their same as bills, co/multi sponsors, and votes
+        ListMultimap<BaseBillId, BillAmendment> amendments =
+            queryBatch(SqlBillQuery.SELECT_BILL_AMENDMENTS_BATCH, null, batchParams, baseBillIdMapper, new BillAmendmentRowMapper());
+        ListMultimap<BillId, BillId> sameAs =
+            queryBatch(SqlBillQuery.SELECT_BILL_SAME_AS_BATCH, null, batchParams, billIdMapper, new BillSameAsRowMapper());
+        OrderBy seqOrderBy = new OrderBy("sequence_no", SortOrder.ASC);
+        ListMultimap<BillId, SessionMember> coSponsors = queryBatch(SqlBillQuery.SELECT_BILL_COSPONSORS_BATCH, seqOrderBy,
+            batchParams, billIdMapper, new BillMemberRowMapper(memberService));
+        ListMultimap<BillId, SessionMember> multiSponsors = queryBatch(SqlBillQuery.SELECT_BILL_MULTISPONSORS_BATCH, seqOrderBy,
+            batchParams, billIdMapper, new BillMemberRowMapper(memberService));
+        BillVoteRowHandler voteHandler = new BillVoteRowHandler(memberService);
+        jdbcNamed.query(SqlBillQuery.SELECT_BILL_VOTES_BATCH.getSql(schema()), batchParams, voteHandler);
+        ListMultimap<BillId, BillVote> votes = ArrayListMultimap.create();
+        voteHandler.getBillVotes().forEach(vote -> votes.put(vote.getVoteId().getBillId(), vote));
+        for (BillAmendment amendment : amendments.values()) {
+            amendment.setSameAs(new HashSet<>(sameAs.get(amendment.getBillId())));
+            amendment.setCoSponsors(new ArrayList<>(coSponsors.get(amendment.getBillId())));
+            amendment.setMultiSponsors(new ArrayList<>(multiSponsors.get(amendment.getBillId())));
+            amendment.setVotesMap(new ArrayList<>(votes.get(amendment.getBillId())));
+        }
+        // Fetch the remaining base bill level data
+        ListMultimap<BillId, PublishStatus> publishStatuses = queryBatch(SqlBillQuery.SELECT_BILL_AMEND_PUBLISH_STATUSES_BATCH,
+            null, batchParams, billIdMapper, new PublishStatusRowMapper());
+        ListMultimap<BaseBillId, BillSponsor> sponsors = queryBatch(SqlBillQuery.SELECT_BILL_SPONSOR_BATCH, null,
+            batchParams, baseBillIdMapper, new BillSponsorRowMapper(memberService));
+        ListMultimap<BaseBillId, SessionMember> additionalSponsors = queryBatch(SqlBillQuery.SELECT_ADDTL_BILL_SPONSORS_BATCH,
+            seqOrderBy, batchParams, baseBillIdMapper, new BillMemberRowMapper(memberService));
+        ListMultimap<BaseBillId, BillStatus> milestones = queryBatch(SqlBillQuery.GET_BILL_MILESTONES_BATCH,
+            new OrderBy("rank", SortOrder.ASC), batchParams, baseBillIdMapper, new BillMilestoneRowMapper());
+        ListMultimap<BaseBillId, BillAction> actions = queryBatch(SqlBillQuery.SELECT_BILL_ACTIONS_BATCH, seqOrderBy,
+            batchParams, baseBillIdMapper, new BillActionRowMapper());
+        ListMultimap<BaseBillId, BillId> directPrevVersions = queryBatch(SqlBillQuery.SELECT_BILL_PREVIOUS_VERSIONS_BATCH,
+            null, batchParams, baseBillIdMapper, new BillPreviousVersionRowMapper());
+        ListMultimap<BaseBillId, BillId> allPrevVersions = queryBatch(SqlBillQuery.SELECT_ALL_BILL_PREVIOUS_VERSIONS_BATCH,
+            null, batchParams, baseBillIdMapper, new BillPreviousVersionRowMapper());
+        ListMultimap<BaseBillId, CommitteeVersionId> committees = queryBatch(SqlBillQuery.SELECT_BILL_COMMITTEES_BATCH,
+            null, batchParams, baseBillIdMapper, new BillCommitteeRowMapper());
+        ListMultimap<BaseBillId, CommitteeAgendaId> agendas = queryBatch(SqlBillQuery.SELECT_COMM_AGENDA_IDS_BATCH,
+            new OrderBy("aic.meeting_date_time", SortOrder.ASC), batchParams, baseBillIdMapper, new CommitteeAgendaIdRowMapper());
+        ListMultimap<BaseBillId, CalendarId> calendars = queryBatch(SqlBillQuery.SELECT_CALENDAR_IDS_BATCH,
+            new OrderBy("cs.calendar_year", SortOrder.ASC, "cs.calendar_no", SortOrder.ASC), batchParams, baseBillIdMapper,
+            new CalendarIdRowMapper());
+        Map<BaseBillId, Map<VetoId, VetoMessage>> vetoes = vetoDataService.getBillVetoes(billMap.keySet());
+        Map<BaseBillId, ApprovalMessage> approvals = approvalDataService.getApprovalMessages(billMap.keySet());
+        // Assemble the bills
+        List<Bill> bills = new ArrayList<>();
+        for (BaseBillId billId : billIds) {
+            Bill bill = billMap.get(billId);
+            if (bill == null) {
+                continue;
+            }
+            bill.addAmendments(amendments.get(billId));
+            TreeMap<Version, PublishStatus> publishStatusMap = new TreeMap<>();
+            bill.getAmendmentIds().forEach(amendId -> {
+                if (!publishStatuses.get(amendId).isEmpty()) {
+                    publishStatusMap.put(amendId.getVersion(), publishStatuses.get(amendId).get(0));
+                }
+            });
+            bill.setPublishStatuses(publishStatusMap);
+            bill.setSponsor(sponsors.get(billId).isEmpty() ? null : sponsors.get(billId).get(0));
+            bill.setAdditionalSponsors(new ArrayList<>(additionalSponsors.get(billId)));
+            bill.setMilestones(new LinkedList<>(milestones.get(billId)));
+            bill.setActions(new ArrayList<>(actions.get(billId)));
+            bill.setDirectPreviousVersions(new TreeSet<>(directPrevVersions.get(billId)));
+            bill.setAllPreviousVersions(new TreeSet<>(allPrevVersions.get(billId)));
+            bill.setPastCommittees(new TreeSet<>(committees.get(billId)));
+            bill.setVetoMessages(vetoes.getOrDefault(billId, new HashMap<>()));
+            bill.setApprovalMessage(approvals.get(billId));
+            bill.setCommitteeAgendas(new ArrayList<>(agendas.get(billId)));
+            bill.setCalendars(new ArrayList<>(calendars.get(billId)));
+            bills.add(bill);
+        }
+        return bills;
+    }
+
+    /**
+     * Queues all the writes needed to bring the existing bill (null if it's a new bill) up to date with the given bill.
+     * Returns true if the direct previous versions of the bill were modified.
+     */
+    private boolean addBillUpdates(Bill bill, Bill existingBill, SobiFragment sobiFragment, BillUpdateBatch batch) {
+        boolean exists = existingBill != null;
+        batch.add(exists ? SqlBillQuery.UPDATE_BILL : SqlBillQuery.INSERT_BILL, getBillParams(bill, sobiFragment));
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            BillAmendment existingAmend = exists ? existingBill.getAmendmentMap().get(amendment.getVersion()) : null;
+            batch.add((existingAmend != null) ? SqlBillQuery.UPDATE_BILL_AMENDMENT : SqlBillQuery.INSERT_BILL_AMENDMENT,
+                      getBillAmendmentParams(amendment, sobiFragment));
+            updateBillSameAs(amendment,
+                (existingAmend != null) ? existingAmend.getSameAs() : new HashSet<>(), sobiFragment, batch);
+            updateBillCosponsor(amendment,
+                (existingAmend != null) ? existingAmend.getCoSponsors() : new ArrayList<>(), sobiFragment, batch);
+            updateBillMultiSponsor(amendment,
+                (existingAmend != null) ? existingAmend.getMultiSponsors() : new ArrayList<>(), sobiFragment, batch);
+            updateBillVotes(amendment,
+                (existingAmend != null) ? existingAmend.getVotesList() : new ArrayList<>(), sobiFragment, batch);
+        }
+        updateBillAmendPublishStatus(bill,
+            exists ? existingBill.getAmendPublishStatusMap() : new TreeMap<>(), sobiFragment, batch);
+        updateBillSponsor(bill, exists ? existingBill.getSponsor() : null, sobiFragment, batch);
+        updateBillMilestones(bill, exists ? existingBill.getMilestones() : new LinkedList<>(), sobiFragment, batch);
+        updateActions(bill, exists ? existingBill.getActions() : new ArrayList<>(), sobiFragment, batch);
+        updateBillCommittees(bill, exists ? existingBill.getPastCommittees() : new TreeSet<>(), sobiFragment, batch);
+        return updatePreviousBillVersions(bill,
+            exists ? existingBill.getDirectPreviousVersions() : new TreeSet<>(), sobiFragment, batch);
+    }
+
+    /**
+     * Runs a batch query and groups each mapped row value by the key mapped from the same row.
+     * The values for each key retain the order in which the rows were returned.
+     */
+    private <K, V> ListMultimap<K, V> queryBatch(SqlBillQuery query, OrderBy orderBy, ImmutableParams batchParams,
+                                                 RowMapper<K> keyMapper, RowMapper<V> valueMapper) {
+        ListMultimap<K, V> results = ArrayListMultimap.create();
+        String sql = (orderBy != null) ? query.getSql(schema(), orderBy, LimitOffset.ALL) : query.getSql(schema());
+        jdbcNamed.query(sql, batchParams, (RowCallbackHandler) (ResultSet rs) ->
+            results.put(keyMapper.mapRow(rs, rs.getRow()), valueMapper.mapRow(rs, rs.getRow())));
+        return results;
+    }
+
     /**
      * Get the base bill instance for the base bill id in the params.
      */
@@ -304,13 +547,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     public LinkedList<BillStatus> getBillMilestones(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("rank", SortOrder.ASC);
         return new LinkedList<>(jdbcNamed.query(SqlBillQuery.GET_BILL_MILESTONES.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-            (rs, rowNum) -> {
-                BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
-                status.setActionSequenceNo(rs.getInt("action_sequence_no"));
-                status.setCommitteeId(getCommitteeIdFromRs(rs));
-                status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
-                return status;
-            }));
+            new BillMilestoneRowMapper()));
     }
 
     /**
@@ -379,10 +616,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     public List<CommitteeAgendaId> getCommitteeAgendas(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("aic.meeting_date_time", SortOrder.ASC);
         return jdbcNamed.query(SqlBillQuery.SELECT_COMM_AGENDA_IDS.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-            (rs, rowNum) ->
-                new CommitteeAgendaId(new AgendaId(rs.getInt("agenda_no"), rs.getInt("year")),
-                                      new CommitteeId(Chamber.SENATE, rs.getString("committee_name")))
-            );
+            new CommitteeAgendaIdRowMapper());
     }
 
     /**
@@ -391,91 +625,79 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     public List<CalendarId> getCalendars(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("cs.calendar_year", SortOrder.ASC, "cs.calendar_no", SortOrder.ASC);
         return jdbcNamed.query(SqlBillQuery.SELECT_CALENDAR_IDS.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-            (rs, rowNum) -> {
-                return new CalendarId(rs.getInt("calendar_no"), rs.getInt("calendar_year"));
-            });
+            new CalendarIdRowMapper());
     }
 
     /**
      * Updates the bill's same as set.
      */
-    protected void updateBillSameAs(BillAmendment amendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        Set<BillId> existingSameAs = getSameAsBills(amendParams);
+    protected void updateBillSameAs(BillAmendment amendment, Set<BillId> existingSameAs, SobiFragment sobiFragment,
+                                    BillUpdateBatch batch) {
         if (!existingSameAs.equals(amendment.getSameAs())) {
             Set<BillId> newSameAs = new HashSet<>(amendment.getSameAs());
-            newSameAs.removeAll(existingSameAs);             // New same as bill ids to insert
-            existingSameAs.removeAll(amendment.getSameAs()); // Old same as bill ids to delete
-            existingSameAs.forEach(billId -> {
-                ImmutableParams sameAsParams = ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.DELETE_SAME_AS.getSql(schema()), sameAsParams);
-            });
-            newSameAs.forEach(billId -> {
-                ImmutableParams sameAsParams = ImmutableParams.from(getBillSameAsParams(amendment, billId, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_SAME_AS.getSql(schema()), sameAsParams);
-            });
+            Set<BillId> oldSameAs = new HashSet<>(existingSameAs);
+            newSameAs.removeAll(existingSameAs);        // New same as bill ids to insert
+            oldSameAs.removeAll(amendment.getSameAs()); // Old same as bill ids to delete
+            oldSameAs.forEach(billId ->
+                batch.add(SqlBillQuery.DELETE_SAME_AS, getBillSameAsParams(amendment, billId, sobiFragment)));
+            newSameAs.forEach(billId ->
+                batch.add(SqlBillQuery.INSERT_BILL_SAME_AS, getBillSameAsParams(amendment, billId, sobiFragment)));
         }
     }
 
     /**
      * Updates the bill's action list into the database.
      */
-    protected void updateActions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        List<BillAction> existingBillActions = getBillActions(billParams);
+    protected void updateActions(Bill bill, List<BillAction> existingActions, SobiFragment sobiFragment,
+                                 BillUpdateBatch batch) {
         List<BillAction> newBillActions = new ArrayList<>(bill.getActions());
-        newBillActions.removeAll(existingBillActions);    // New actions to insert
-        existingBillActions.removeAll(bill.getActions()); // Old actions to delete
+        List<BillAction> oldBillActions = new ArrayList<>(existingActions);
+        newBillActions.removeAll(existingActions);   // New actions to insert
+        oldBillActions.removeAll(bill.getActions()); // Old actions to delete
         // Delete actions that are not in the updated list
-        for (BillAction action : existingBillActions) {
-            MapSqlParameterSource actionParams = getBillActionParams(action, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_ACTION.getSql(schema()), actionParams);
+        for (BillAction action : oldBillActions) {
+            batch.add(SqlBillQuery.DELETE_BILL_ACTION, getBillActionParams(action, sobiFragment));
         }
         // Insert all new actions
         for (BillAction action : newBillActions) {
-            MapSqlParameterSource actionParams = getBillActionParams(action, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_ACTION.getSql(schema()), actionParams);
+            batch.add(SqlBillQuery.INSERT_BILL_ACTION, getBillActionParams(action, sobiFragment));
         }
     }
 
     /**
-     * Update the bill's previous version set.
+     * Update the bill's previous version set. Returns true if the set was modified, in which case the
+     * indirect previous versions of the bill should be refreshed once the batch has been executed.
      */
-    protected void updatePreviousBillVersions(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        Set<BillId> existingPrevBills = getDirectPrevVersions(billParams);
+    protected boolean updatePreviousBillVersions(Bill bill, Set<BillId> existingPrevBills, SobiFragment sobiFragment,
+                                                 BillUpdateBatch batch) {
         if (existingPrevBills.equals(bill.getDirectPreviousVersions())) {
-            return;
+            return false;
         }
         Set<BillId> newPrevBills = new HashSet<>(bill.getDirectPreviousVersions());
-        newPrevBills.removeAll(existingPrevBills);               // New prev bill ids to insert
-        existingPrevBills.removeAll(bill.getDirectPreviousVersions()); // Old prev bill ids to delete
-        existingPrevBills.forEach(billId -> {
-            ImmutableParams prevParams = ImmutableParams.from(getBillPrevVersionParams(bill, billId, sobiFragment));
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_PREVIOUS_VERSIONS.getSql(schema()), prevParams);
-        });
-        newPrevBills.forEach(billId -> {
-            ImmutableParams prevParams = ImmutableParams.from(getBillPrevVersionParams(bill, billId, sobiFragment));
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_PREVIOUS_VERSION.getSql(schema()), prevParams);
-        });
-        // Update the bill object to include any indirect previous versions resulting from the new prev version
-        bill.setAllPreviousVersions(getAllPreviousVersions(billParams));
+        Set<BillId> oldPrevBills = new HashSet<>(existingPrevBills);
+        newPrevBills.removeAll(existingPrevBills);                // New prev bill ids to insert
+        oldPrevBills.removeAll(bill.getDirectPreviousVersions()); // Old prev bill ids to delete
+        oldPrevBills.forEach(billId ->
+            batch.add(SqlBillQuery.DELETE_BILL_PREVIOUS_VERSION, getBillPrevVersionParams(bill, billId, sobiFragment)));
+        newPrevBills.forEach(billId ->
+            batch.add(SqlBillQuery.INSERT_BILL_PREVIOUS_VERSION, getBillPrevVersionParams(bill, billId, sobiFragment)));
+        return true;
     }
 
     /**
      * Update the bill's previous committee set.
      */
-    protected void updateBillCommittees(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        Set<CommitteeVersionId> existingComms = getBillCommittees(billParams);
+    protected void updateBillCommittees(Bill bill, Set<CommitteeVersionId> existingComms, SobiFragment sobiFragment,
+                                        BillUpdateBatch batch) {
         if (!existingComms.equals(bill.getPastCommittees())) {
             Set<CommitteeVersionId> newComms = new HashSet<>(bill.getPastCommittees());
-            newComms.removeAll(existingComms);                 // New committees to insert
-            existingComms.removeAll(bill.getPastCommittees()); // Old committees to delete
-            existingComms.forEach(cvid -> {
-                ImmutableParams commParams = ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_COMMITTEE.getSql(schema()), commParams);
-            });
-            newComms.forEach(cvid -> {
-                ImmutableParams commParams = ImmutableParams.from(getBillCommitteeParams(bill, cvid, sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_COMMITTEE.getSql(schema()), commParams);
-            });
+            Set<CommitteeVersionId> oldComms = new HashSet<>(existingComms);
+            newComms.removeAll(existingComms);            // New committees to insert
+            oldComms.removeAll(bill.getPastCommittees()); // Old committees to delete
+            oldComms.forEach(cvid ->
+                batch.add(SqlBillQuery.DELETE_BILL_COMMITTEE, getBillCommitteeParams(bill, cvid, sobiFragment)));
+            newComms.forEach(cvid ->
+                batch.add(SqlBillQuery.INSERT_BILL_COMMITTEE, getBillCommitteeParams(bill, cvid, sobiFragment)));
         }
     }
 
@@ -497,34 +719,36 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     }
 
     /**
-     * Update the bill's sponsor information.
+     * Update the bill's sponsor information. The existing sponsor should be null if there is no sponsor record.
      */
-    protected void updateBillSponsor(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
+    protected void updateBillSponsor(Bill bill, BillSponsor existingSponsor, SobiFragment sobiFragment,
+                                     BillUpdateBatch batch) {
         if (bill.getSponsor() != null) {
             MapSqlParameterSource params = getBillSponsorParams(bill, sobiFragment);
-            if (jdbcNamed.update(SqlBillQuery.UPDATE_BILL_SPONSOR.getSql(schema()), params) == 0) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_SPONSOR.getSql(schema()), params);
-            }
+            batch.add((existingSponsor != null) ? SqlBillQuery.UPDATE_BILL_SPONSOR : SqlBillQuery.INSERT_BILL_SPONSOR, params);
         }
-        else {
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_SPONSOR.getSql(schema()), billParams);
+        else if (existingSponsor != null) {
+            MapSqlParameterSource params = new MapSqlParameterSource();
+            addBillIdParams(bill, params);
+            batch.add(SqlBillQuery.DELETE_BILL_SPONSOR, params);
         }
     }
 
     /**
      * Update the bill milestones list.
      */
-    protected void updateBillMilestones(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        List<BillStatus> existingMilestones = getBillMilestones(billParams);
+    protected void updateBillMilestones(Bill bill, List<BillStatus> existingMilestones, SobiFragment sobiFragment,
+                                        BillUpdateBatch batch) {
         List<BillStatus> newMilestones = bill.getMilestones();
         // If old list is not the same as the new list, wipe the old and insert the new. We won't
         // need to keep track of updates for this, so no reason to be precise like cosponsors for example.
         if (!existingMilestones.equals(newMilestones)) {
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_MILESTONES.getSql(schema()), billParams);
+            MapSqlParameterSource params = new MapSqlParameterSource();
+            addBillIdParams(bill, params);
+            batch.add(SqlBillQuery.DELETE_BILL_MILESTONES, params);
             int rank = 1;
             for (BillStatus status : newMilestones) {
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_MILESTONE.getSql(schema()),
-                    getMilestoneParams(bill, status, rank++, sobiFragment));
+                batch.add(SqlBillQuery.INSERT_BILL_MILESTONE, getMilestoneParams(bill, status, rank++, sobiFragment));
             }
         }
     }
@@ -532,8 +756,8 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
     /**
      * Update the bill's amendment publish statuses.
      */
-    protected void updateBillAmendPublishStatus(Bill bill, SobiFragment sobiFragment, ImmutableParams billParams) {
-        Map<Version, PublishStatus> existingPubStatus = getBillAmendPublishStatuses(billParams);
+    protected void updateBillAmendPublishStatus(Bill bill, Map<Version, PublishStatus> existingPubStatus,
+                                                SobiFragment sobiFragment, BillUpdateBatch batch) {
         Map<Version, PublishStatus> newPubStatus = bill.getAmendPublishStatusMap();
         MapDifference<Version, PublishStatus> diff = Maps.difference(existingPubStatus, newPubStatus);
         // Old entries that do not show up in the new one should be marked as unpublished
@@ -543,105 +767,135 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
                                                                 : LocalDateTime.now();
                 PublishStatus unPubStatus = new PublishStatus(false, dateTime, false, "No longer referenced");
                 MapSqlParameterSource params = getBillPublishStatusParams(bill, version, unPubStatus, sobiFragment);
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+                batch.add(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS, params);
             }
         });
         // Update changed publish statuses if the existing is not an override
         diff.entriesDiffering().forEach((version,pubStatus) -> {
             if (!pubStatus.leftValue().isOverride()) {
                 MapSqlParameterSource params = getBillPublishStatusParams(bill, version, pubStatus.rightValue(), sobiFragment);
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+                batch.add(SqlBillQuery.UPDATE_BILL_AMEND_PUBLISH_STATUS, params);
             }
         });
         // Insert new publish statuses
         diff.entriesOnlyOnRight().forEach((version,pubStatus) -> {
             MapSqlParameterSource params = getBillPublishStatusParams(bill, version, pubStatus, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS.getSql(schema()), params);
+            batch.add(SqlBillQuery.INSERT_BILL_AMEND_PUBLISH_STATUS, params);
         });
     }
 
     /**
      * Update the bill's co sponsor list by deleting, inserting, and updating as needed.
      */
-    protected void updateBillCosponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        List<SessionMember> existingCoSponsors = getCoSponsors(amendParams);
-        if (!existingCoSponsors.equals(billAmendment.getCoSponsors())) {
-            MapDifference<SessionMember, Integer> diff = difference(existingCoSponsors, billAmendment.getCoSponsors(), 1);
-            // Delete old cosponsors
-            diff.entriesOnlyOnLeft().forEach((member,ordinal) -> {
-                ImmutableParams cspParams = amendParams.add(new MapSqlParameterSource("sessionMemberId", member.getSessionMemberId()));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_COSPONSOR.getSql(schema()), cspParams);
-            });
-            // Update re-ordered cosponsors
-            diff.entriesDiffering().forEach((member,ordinal) -> {
-                ImmutableParams cspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(),sobiFragment));
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_COSPONSOR.getSql(schema()), cspParams);
-            });
-            // Insert new cosponsors
-            diff.entriesOnlyOnRight().forEach((member,ordinal) -> {
-                ImmutableParams cspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal,sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_COSPONSOR.getSql(schema()), cspParams);
-            });
-        }
+    protected void updateBillCosponsor(BillAmendment billAmendment, List<SessionMember> existingCoSponsors,
+                                       SobiFragment sobiFragment, BillUpdateBatch batch) {
+        updateCoMultiSponsors(billAmendment, existingCoSponsors, billAmendment.getCoSponsors(), sobiFragment, batch,
+            SqlBillQuery.DELETE_BILL_COSPONSOR, SqlBillQuery.UPDATE_BILL_COSPONSOR, SqlBillQuery.INSERT_BILL_COSPONSOR);
     }
 
     /**
      * Update the bill's multi-sponsor list by deleting, inserting, and updating as needed.
      */
-    protected void updateBillMultiSponsor(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        List<SessionMember> existingMultiSponsors = getMultiSponsors(amendParams);
-        if (!existingMultiSponsors.equals(billAmendment.getMultiSponsors())) {
-            MapDifference<SessionMember, Integer> diff = difference(existingMultiSponsors, billAmendment.getMultiSponsors(), 1);
-            // Delete old multisponsors
-            diff.entriesOnlyOnLeft().forEach((member,ordinal) -> {
-                ImmutableParams mspParams = amendParams.add(new MapSqlParameterSource("sessionMemberId", member.getSessionMemberId()));
-                jdbcNamed.update(SqlBillQuery.DELETE_BILL_MULTISPONSOR.getSql(schema()), mspParams);
-            });
-            // Update re-ordered multisponsors
-            diff.entriesDiffering().forEach((member,ordinal) -> {
-                ImmutableParams mspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(),sobiFragment));
-                jdbcNamed.update(SqlBillQuery.UPDATE_BILL_MULTISPONSOR.getSql(schema()), mspParams);
-            });
-            // Insert new multisponsors
-            diff.entriesOnlyOnRight().forEach((member,ordinal) -> {
-                ImmutableParams mspParams = ImmutableParams.from(
-                    getCoMultiSponsorParams(billAmendment, member, ordinal,sobiFragment));
-                jdbcNamed.update(SqlBillQuery.INSERT_BILL_MULTISPONSOR.getSql(schema()), mspParams);
-            });
+    protected void updateBillMultiSponsor(BillAmendment billAmendment, List<SessionMember> existingMultiSponsors,
+                                          SobiFragment sobiFragment, BillUpdateBatch batch) {
+        updateCoMultiSponsors(billAmendment, existingMultiSponsors, billAmendment.getMultiSponsors(), sobiFragment, batch,
+            SqlBillQuery.DELETE_BILL_MULTISPONSOR, SqlBillQuery.UPDATE_BILL_MULTISPONSOR, SqlBillQuery.INSERT_BILL_MULTISPONSOR);
+    }
+
+    /**
+     * Co sponsors and multi sponsors are stored the same way, just in different tables.
+     */
+    private void updateCoMultiSponsors(BillAmendment billAmendment, List<SessionMember> existingSponsors,
+                                       List<SessionMember> newSponsors, SobiFragment sobiFragment, BillUpdateBatch batch,
+                                       SqlBillQuery deleteQuery, SqlBillQuery updateQuery, SqlBillQuery insertQuery) {
+        if (!existingSponsors.equals(newSponsors)) {
+            MapDifference<SessionMember, Integer> diff = difference(existingSponsors, newSponsors, 1);
+            // Delete old sponsors
+            diff.entriesOnlyOnLeft().forEach((member,ordinal) ->
+                batch.add(deleteQuery, getCoMultiSponsorParams(billAmendment, member, ordinal, sobiFragment)));
+            // Update re-ordered sponsors
+            diff.entriesDiffering().forEach((member,ordinal) ->
+                batch.add(updateQuery, getCoMultiSponsorParams(billAmendment, member, ordinal.rightValue(), sobiFragment)));
+            // Insert new sponsors
+            diff.entriesOnlyOnRight().forEach((member,ordinal) ->
+                batch.add(insertQuery, getCoMultiSponsorParams(billAmendment, member, ordinal, sobiFragment)));
         }
     }
 
     /**
      * Update the bill amendment's list of votes.
      */
-    protected void updateBillVotes(BillAmendment billAmendment, SobiFragment sobiFragment, ImmutableParams amendParams) {
-        List<BillVote> existingBillVotes = getBillVotes(amendParams);
+    protected void updateBillVotes(BillAmendment billAmendment, List<BillVote> existingBillVotes, SobiFragment sobiFragment,
+                                   BillUpdateBatch batch) {
         List<BillVote> newBillVotes = new ArrayList<>(billAmendment.getVotesList());
+        List<BillVote> oldBillVotes = new ArrayList<>(existingBillVotes);
         newBillVotes.removeAll(existingBillVotes);
-        existingBillVotes.removeAll(billAmendment.getVotesList());
+        oldBillVotes.removeAll(billAmendment.getVotesList());
         // Delete all outdated votes
-        for (BillVote billVote : existingBillVotes) {
-            MapSqlParameterSource voteInfoParams = getBillVoteInfoParams(billAmendment, billVote, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.DELETE_BILL_VOTES_INFO.getSql(schema()), voteInfoParams);
+        for (BillVote billVote : oldBillVotes) {
+            batch.add(SqlBillQuery.DELETE_BILL_VOTES_INFO, getBillVoteInfoParams(billAmendment, billVote, sobiFragment));
         }
         // Insert the new/updated votes
         for (BillVote billVote : newBillVotes) {
             MapSqlParameterSource voteParams = getBillVoteInfoParams(billAmendment, billVote, sobiFragment);
-            jdbcNamed.update(SqlBillQuery.INSERT_BILL_VOTES_INFO.getSql(schema()), voteParams);
+            batch.add(SqlBillQuery.INSERT_BILL_VOTES_INFO, voteParams);
             for (BillVoteCode voteCode : billVote.getMemberVotes().keySet()) {
-                voteParams.addValue("voteCode", voteCode.name().toLowerCase());
                 for (SessionMember member : billVote.getMembersByVote(voteCode)) {
-                    voteParams.addValue("sessionMemberId", member.getSessionMemberId());
-                    voteParams.addValue("memberShortName", member.getLbdcShortName());
-                    jdbcNamed.update(SqlBillQuery.INSERT_BILL_VOTES_ROLL.getSql(schema()), voteParams);
+                    MapSqlParameterSource rollParams = new MapSqlParameterSource(voteParams.getValues())
+                        .addValue("voteCode", voteCode.name().toLowerCase())
+                        .addValue("sessionMemberId", member.getSessionMemberId())
+                        .addValue("memberShortName", member.getLbdcShortName());
+                    batch.add(SqlBillQuery.INSERT_BILL_VOTES_ROLL, rollParams);
                 }
             }
         }
     }
 
+    /**
+     * Collects the write statements for one or more bills so that they can be sent to the database as jdbc batches
+     * instead of one statement at a time. Statements are grouped by query and executed in {@link #EXECUTION_ORDER},
+     * which runs all deletes first and writes parent rows before the rows that reference them.
+     */
+    protected class BillUpdateBatch
+    {
+        private final ListMultimap<SqlBillQuery, SqlParameterSource> statements = ArrayListMultimap.create();
+
+        private int statementCount = 0;
+        private int batchCount = 0;
+
+        public void add(SqlBillQuery query, SqlParameterSource params) {
+            if (!EXECUTION_ORDER.contains(query)) {
+                throw new IllegalArgumentException("No batch execution order has been defined for " + query);
+            }
+            statements.put(query, params);
+        }
+
+        /**
+         * Executes all queued statements and clears the batch.
+         */
+        public void execute() {
+            for (SqlBillQuery query : EXECUTION_ORDER) {
+                List<SqlParameterSource> params = statements.get(query);
+                if (!params.isEmpty()) {
+                    jdbcNamed.batchUpdate(query.getSql(schema()), params.toArray(new SqlParameterSource[params.size()]));
+                    statementCount += params.size();
+                    batchCount++;
+                }
+            }
+            statements.clear();
+        }
+
+        /** The number of statements executed so far. */
+        public int getStatementCount() {
+            return statementCount;
+        }
+
+        /** The number of jdbc batches (i.e. round trips) executed so far. */
+        public int getBatchCount() {
+            return batchCount;
+        }
+    }
+
     /** --- Helper Classes --- */
 
     private static class BillRowMapper implements RowMapper<Bill>
@@ -690,13 +944,12 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
 
     private static class BillAmendPublishStatusHandler implements RowCallbackHandler
     {
+        private static final PublishStatusRowMapper publishStatusRowMapper = new PublishStatusRowMapper();
         TreeMap<Version, PublishStatus> publishStatusMap = new TreeMap<>();
 
         @Override
         public void processRow(ResultSet rs) throws SQLException {
-            PublishStatus pubStatus = new PublishStatus(
-                rs.getBoolean("published"), getLocalDateTimeFromRs(rs, "effect_date_time"),
-                rs.getBoolean("override"), rs.getString("notes"));
+            PublishStatus pubStatus = publishStatusRowMapper.mapRow(rs, rs.getRow());
             publishStatusMap.put(Version.of(rs.getString("bill_amend_version")), pubStatus);
         }
 
@@ -705,6 +958,45 @@ public class SqlBillDao extends SqlBaseDao implements BillDao
         }
     }
 
+    private static class PublishStatusRowMapper implements RowMapper<PublishStatus>
+    {
+        @Override
+        public PublishStatus mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new PublishStatus(
+                rs.getBoolean("published"), getLocalDateTimeFromRs(rs, "effect_date_time"),
+                rs.getBoolean("override"), rs.getString("notes"));
+        }
+    }
+
+    private static class BillMilestoneRowMapper implements RowMapper<BillStatus>
+    {
+        @Override
+        public BillStatus mapRow(ResultSet rs, int rowNum) throws SQLException {
+            BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
+            status.setActionSequenceNo(rs.getInt("action_sequence_no"));
+            status.setCommitteeId(getCommitteeIdFromRs(rs));
+            status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
+            return status;
+        }
+    }
+
+    private static class CommitteeAgendaIdRowMapper implements RowMapper<CommitteeAgendaId>
+    {
+        @Override
+        public CommitteeAgendaId mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new CommitteeAgendaId(new AgendaId(rs.getInt("agenda_no"), rs.getInt("year")),
+                                         new CommitteeId(Chamber.SENATE, rs.getString("committee_name")));
+        }
+    }
+
+    private static class CalendarIdRowMapper implements RowMapper<CalendarId>
+    {
+        @Override
+        public CalendarId mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new CalendarId(rs.getInt("calendar_no"), rs.getInt("calendar_year"));
+        }
+    }
+
     private static class BillActionRowMapper implements RowMapper<BillAction>
     {
         @Override
@@ -5,6 +5,7 @@ import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillUpdateField;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -20,9 +21,7 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
-import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_BILL_UPDATE_DIGESTS;
-import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_BILL_UPDATE_TOKENS;
-import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_UPDATE_DIGESTS_FOR_SPECIFIC_BILL;
+import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.*;
 import static gov.nysenate.openleg.model.bill.BillUpdateField.*;
 
 @Repository
@@ -94,6 +93,32 @@ public class SqlBillUpdatesDao extends SqlBaseDao implements BillUpdatesDao
         return handler.getList();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<UpdateToken<BaseBillId>> getUpdatesAfter(Range<LocalDateTime> dateTimeRange, UpdateType type,
+                                                         BillUpdateField filter, SortOrder dateOrder,
+                                                         UpdateCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        addDateTimeRangeParams(params, dateTimeRange);
+        addUpdateCursorParams(params, after);
+
+        String sqlQuery = getCursorSqlQuery(false, type, filter, dateOrder, after, limit);
+        return jdbcNamed.query(sqlQuery, params, getBillUpdateTokenFromRs);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<UpdateDigest<BaseBillId>> getDetailedUpdatesAfter(Range<LocalDateTime> dateTimeRange, UpdateType type,
+                                                                  BillUpdateField filter, SortOrder dateOrder,
+                                                                  UpdateCursor after, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        addDateTimeRangeParams(params, dateTimeRange);
+        addUpdateCursorParams(params, after);
+
+        String sqlQuery = getCursorSqlQuery(true, type, filter, dateOrder, after, limit);
+        return jdbcNamed.query(sqlQuery, params, new BillUpdateDigestMapper(filter));
+    }
+
     /** {@inheritDoc} */
     @Override
     public PaginatedList<UpdateDigest<BaseBillId>> getDetailedUpdatesForBill(
@@ -132,6 +157,27 @@ public class SqlBillUpdatesDao extends SqlBaseDao implements BillUpdatesDao
         return sqlQuery;
     }
 
+    /**
+     * Generates the sql query for a cursor paginated request. The rows are ordered by (date column, id) which
+     * is backed by an index, so the query can seek directly to the rows following the cursor.
+     */
+    private String getCursorSqlQuery(boolean detail, UpdateType updateType, BillUpdateField fieldFilter,
+                                     SortOrder sortOrder, UpdateCursor after, int limit) {
+        String dateColumn = getDateColumnForUpdateType(updateType);
+        OrderBy orderBy = getCursorOrderByForUpdateType(updateType, sortOrder, false);
+        String sqlQuery = (detail)
+                ? SELECT_BILL_UPDATE_DIGESTS_AFTER.getSql(schema(), orderBy, new LimitOffset(limit))
+                : SELECT_BILL_UPDATE_TOKENS_AFTER.getSql(schema(), orderBy, new LimitOffset(limit));
+        String cursorFilter = (detail)
+                ? SqlQueryUtils.getUpdateCursorCondition(after, UpdateContentType.BILL, dateColumn, "id", sortOrder)
+                : SqlQueryUtils.getUpdateCursorCondition(after, UpdateContentType.BILL,
+                                                         "MAX(" + dateColumn + ")", "MAX(id)", sortOrder);
+        sqlQuery = queryReplace(sqlQuery, "cursorFilter", cursorFilter);
+        sqlQuery = queryReplace(sqlQuery, "dateColumn", dateColumn);
+        sqlQuery = queryReplace(sqlQuery, "updateFieldFilter", getUpdateFieldFilter(fieldFilter));
+        return sqlQuery;
+    }
+
     /**
      * Generates a sql fragment to be used in the 'where clause' based on the BillUpdateField.
      * E.g. given BillUpdateField.STATUS, it will return something like "table_name = 'bill' AND defined(data, 'status')"
@@ -156,10 +202,14 @@ public class SqlBillUpdatesDao extends SqlBaseDao implements BillUpdatesDao
 
     /** --- Row Mappers -- */
 
-    private static final RowMapper<UpdateToken<BaseBillId>> getBillUpdateTokenFromRs = (rs, rowNum) ->
-        new UpdateToken<>(new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year")), UpdateContentType.BILL,
-            rs.getString("last_fragment_id"), getLocalDateTimeFromRs(rs, "last_published_date_time"),
-            getLocalDateTimeFromRs(rs, "last_processed_date_time"));
+    private static final RowMapper<UpdateToken<BaseBillId>> getBillUpdateTokenFromRs = (rs, rowNum) -> {
+        UpdateToken<BaseBillId> token =
+            new UpdateToken<>(new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year")), UpdateContentType.BILL,
+                rs.getString("last_fragment_id"), getLocalDateTimeFromRs(rs, "last_published_date_time"),
+                getLocalDateTimeFromRs(rs, "last_processed_date_time"));
+        token.setChangeId(rs.getInt("change_id"));
+        return token;
+    };
 
     private static class BillUpdateDigestMapper implements RowMapper<UpdateDigest<BaseBillId>> {
 
@@ -15,16 +15,24 @@ public enum SqlBillUpdatesQuery implements BasicSqlQuery
         "%s"),  // GROUP BY clause if necessary
 
     SELECT_COLUMNS_FOR_DIGEST_FRAGMENT(
-        "sobi_fragment_id AS last_fragment_id, action_date_time AS last_processed_date_time, \n" +
-        "published_date_time AS last_published_date_time, COUNT(*) OVER () AS total_updated,\n" +
+        "id AS change_id, sobi_fragment_id AS last_fragment_id, action_date_time AS last_processed_date_time, \n" +
+        "published_date_time AS last_published_date_time,\n" +
         "table_name, action, hstore_to_array(data) AS data\n"
     ),
 
+    SELECT_COLUMNS_FOR_TOKEN_FRAGMENT(
+        "MAX(id) AS change_id, MAX(sobi_fragment_id) AS last_fragment_id, MAX(action_date_time) AS last_processed_date_time, \n" +
+        "MAX(published_date_time) AS last_published_date_time\n"
+    ),
+
+    SELECT_TOTAL_UPDATED_FRAGMENT(
+        ", COUNT(*) OVER () AS total_updated\n"
+    ),
+
     SELECT_BILL_UPDATE_TOKENS(
         String.format(SELECT_BILL_UPDATES_FRAGMENT.sql,
             // Select columns
-            "MAX(sobi_fragment_id) AS last_fragment_id, MAX(action_date_time) AS last_processed_date_time, \n" +
-            "MAX(published_date_time) AS last_published_date_time, COUNT(*) OVER () AS total_updated\n",
+            SELECT_COLUMNS_FOR_TOKEN_FRAGMENT.sql + SELECT_TOTAL_UPDATED_FRAGMENT.sql,
             // No extra where clause
             "",
             // Group by bill ids for update tokens
@@ -34,7 +42,7 @@ public enum SqlBillUpdatesQuery implements BasicSqlQuery
     SELECT_BILL_UPDATE_DIGESTS(
         String.format(SELECT_BILL_UPDATES_FRAGMENT.sql,
             // Select columns
-            SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
+            SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql + SELECT_TOTAL_UPDATED_FRAGMENT.sql,
             // No extra where clause
             "",
             // No group by needed for digests due to pagination/performance issues
@@ -44,11 +52,29 @@ public enum SqlBillUpdatesQuery implements BasicSqlQuery
     SELECT_UPDATE_DIGESTS_FOR_SPECIFIC_BILL(
         String.format(SELECT_BILL_UPDATES_FRAGMENT.sql,
             // Select columns
-            SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
+            SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql + SELECT_TOTAL_UPDATED_FRAGMENT.sql,
             // No extra where clause
             "AND bill_print_no = :printNo AND bill_session_year = :session\n",
             // No group by needed for digests due to pagination/performance issues
             "")
+    ),
+
+    /** --- Cursor Paginated Queries --- */
+    // These do not compute a total count, the ${cursorFilter} selects the rows that follow the previous page.
+
+    SELECT_BILL_UPDATE_TOKENS_AFTER(
+        String.format(SELECT_BILL_UPDATES_FRAGMENT.sql,
+            SELECT_COLUMNS_FOR_TOKEN_FRAGMENT.sql,
+            "",
+            "GROUP BY bill_print_no, bill_session_year\n" +
+            "HAVING ${cursorFilter}")
+    ),
+
+    SELECT_BILL_UPDATE_DIGESTS_AFTER(
+        String.format(SELECT_BILL_UPDATES_FRAGMENT.sql,
+            SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
+            "AND ${cursorFilter}\n",
+            "")
     );
 
     private String sql;
@@ -1,6 +1,5 @@
 package gov.nysenate.openleg.dao.bill.reference.senatesite;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.spotcheck.SpotCheckRefType;
@@ -21,7 +20,7 @@ import org.springframework.stereotype.Repository;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.regex.Pattern;
 
@@ -35,7 +34,6 @@ public class FsSenateSiteDao implements SenateSiteDao {
 
     @Autowired private Environment environment;
     @Autowired private SenateSiteDumpFragParser parser;
-    @Autowired private ObjectMapper objectMapper;
 
     public static final String SENSITE_DUMP_DIRNAME = "sensite-dump";
     private static final String DUMP_FRAG_FILENAME_PREFIX_TEMPL = "_dump-${fromDateTime}-${toDateTime}-";
@@ -71,12 +69,8 @@ public class FsSenateSiteDao implements SenateSiteDao {
     public void saveDumpFragment(SenateSiteDumpFragment fragment, String fragmentData) throws IOException {
         File fragmentFile = new File(getIncomingDumpDir(fragment.getDumpId().getRefType()), getDumpFragFilename(fragment));
         logger.info("saving senate site dump fragment {}", fragmentFile.getAbsolutePath());
-        FileUtils.write(fragmentFile, prettyPrintJson(fragmentData), Charset.forName("UTF-8"));
-    }
-
-    private String prettyPrintJson(String fragmentData) throws IOException {
-        Object json = objectMapper.readValue(fragmentData, Object.class);
-        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(json);
+        // The fragment was already validated when its metadata was parsed, so it is written out as received
+        FileUtils.write(fragmentFile, fragmentData, StandardCharsets.UTF_8);
     }
 
     @Override
@@ -97,10 +91,10 @@ public class FsSenateSiteDao implements SenateSiteDao {
     /** --- Internal Methods --- */
 
     /**
-     * Parse dump fragment metadata from a fragment json file
+     * Parse dump fragment metadata from a fragment json file, without reading the fragment data
      */
     private SenateSiteDumpFragment getFragmentFromFile(File fragFile, SpotCheckRefType refType) throws IOException {
-        SenateSiteDumpFragment fragment = parser.parseFragment(FileUtils.readFileToString(fragFile, "UTF-8"), refType);
+        SenateSiteDumpFragment fragment = parser.parseFragment(fragFile, refType);
         fragment.setFragmentFile(fragFile);
         return fragment;
     }
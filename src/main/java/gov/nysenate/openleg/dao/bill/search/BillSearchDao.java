@@ -49,4 +49,20 @@ public interface BillSearchDao
      * @param baseBillId BaseBillId
      */
     public void deleteBillFromIndex(BaseBillId baseBillId);
+
+    /**
+     * Queues index updates for the supplied bills. The updates are sent in bulk by a background worker,
+     * replacing any writes that are still pending for the same bills.
+     *
+     * @param bills Collection<Bill>
+     */
+    public void queueBillIndexUpdates(Collection<Bill> bills);
+
+    /**
+     * Queues the removal of the bills with the given ids from the search index, replacing any writes
+     * that are still pending for the same bills.
+     *
+     * @param baseBillIds Collection<BaseBillId>
+     */
+    public void queueBillIndexDeletes(Collection<BaseBillId> baseBillIds);
 }
\ No newline at end of file
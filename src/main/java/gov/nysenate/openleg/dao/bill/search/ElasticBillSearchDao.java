@@ -79,6 +79,25 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void queueBillIndexUpdates(Collection<Bill> bills) {
+        bills.stream().map(BillView::new).forEach(b ->
+            indexQueue.enqueue(getQueueKey(b.getSession(), b.getBasePrintNo()), Collections.singletonList(
+                searchClient.prepareIndex(billIndexName, Integer.toString(b.getSession()), b.getBasePrintNo())
+                            .setSource(OutputUtils.toJson(b)).request())));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void queueBillIndexDeletes(Collection<BaseBillId> baseBillIds) {
+        baseBillIds.forEach(id -> {
+            int session = id.getSession().getYear();
+            indexQueue.enqueue(getQueueKey(session, id.getBasePrintNo()), Collections.singletonList(
+                getDeleteRequest(billIndexName, Integer.toString(session), id.getBasePrintNo())));
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -90,4 +109,8 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
     protected BaseBillId getBaseBillIdFromHit(SearchHit hit) {
         return new BaseBillId(hit.getId(), Integer.parseInt(hit.getType()));
     }
+
+    private static String getQueueKey(int session, String basePrintNo) {
+        return billIndexName + "/" + session + "/" + basePrintNo;
+    }
 }
\ No newline at end of file
@@ -43,4 +43,12 @@ public interface CalendarSearchDao {
      * @param calId
      */
     public void deleteCalendarFromIndex(CalendarId calId);
+
+    /**
+     * Queues index updates for the given calendars. The updates are sent in bulk by a background worker,
+     * replacing any writes that are still pending for the same calendars.
+     *
+     * @param calendars
+     */
+    public void queueCalendarIndexUpdates(Collection<Calendar> calendars);
 }
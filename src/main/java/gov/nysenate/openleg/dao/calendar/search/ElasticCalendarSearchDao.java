@@ -24,6 +24,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -55,7 +56,7 @@ public class ElasticCalendarSearchDao extends ElasticBaseDao implements Calendar
         if (calendar != null) {
             BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
             addCalToBulkRequest(calendar, bulkRequest);
-            bulkRequest.execute().actionGet();
+            safeBulkRequestExecute(bulkRequest);
         }
     }
 
@@ -64,7 +65,7 @@ public class ElasticCalendarSearchDao extends ElasticBaseDao implements Calendar
     public void updateCalendarIndexBulk(Collection<Calendar> calendars) {
         BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
         calendars.forEach(cal -> addCalToBulkRequest(cal, bulkRequest));
-        bulkRequest.execute().actionGet();
+        safeBulkRequestExecute(bulkRequest);
     }
 
     /**{@inheritDoc}*/
@@ -72,7 +73,7 @@ public class ElasticCalendarSearchDao extends ElasticBaseDao implements Calendar
     public void deleteCalendarFromIndex(CalendarId calId) {
         if (calId != null) {
             DeleteByQueryRequestBuilder builder = new DeleteByQueryRequestBuilder(searchClient, DeleteByQueryAction.INSTANCE);
-            builder.setIndices(calIndexName)
+            builder.setIndices(indexRouter.getWriteIndices(calIndexName))
                     .setTypes(Integer.toString(calId.getYear()))
                     .setQuery(QueryBuilders.matchQuery("calendarNumber", Integer.toString(calId.getCalNo())))
                     .execute().actionGet();
@@ -83,6 +84,16 @@ public class ElasticCalendarSearchDao extends ElasticBaseDao implements Calendar
         }
     }
 
+    /**{@inheritDoc}*/
+    @Override
+    public void queueCalendarIndexUpdates(Collection<Calendar> calendars) {
+        calendars.forEach(calendar -> {
+            CalendarView calendarView = calendarViewFactory.getCalendarView(calendar);
+            indexQueue.enqueue(calIndexName + "/" + calendarView.getYear() + "/" + calendarView.getCalendarNumber(),
+                               Collections.singletonList(getCalendarIndexRequest(calendarView).request()));
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
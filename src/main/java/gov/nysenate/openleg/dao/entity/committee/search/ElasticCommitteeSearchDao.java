@@ -59,7 +59,7 @@ public class ElasticCommitteeSearchDao extends ElasticBaseDao implements Committ
         deleteCommitteeFromIndex(committeeSessionId);
         BulkRequestBuilder bulkRequest = searchClient.prepareBulk();
         committeeHistoryIndexBulkAdd(committeeSessionId, bulkRequest);
-        bulkRequest.execute().actionGet();
+        safeBulkRequestExecute(bulkRequest);
     }
 
     @Override
@@ -71,7 +71,7 @@ public class ElasticCommitteeSearchDao extends ElasticBaseDao implements Committ
         sessionIds.stream()
                 .peek(this::deleteCommitteeFromIndex)
                 .forEach(sessionId -> committeeHistoryIndexBulkAdd(sessionId, bulkRequest));
-        bulkRequest.execute().actionGet();
+        safeBulkRequestExecute(bulkRequest);
     }
 
     @Override
@@ -97,7 +97,7 @@ public class ElasticCommitteeSearchDao extends ElasticBaseDao implements Committ
      */
     protected DeleteByQueryRequestBuilder getCommitteeDeleteRequest(CommitteeSessionId committeeSessionId) {
         DeleteByQueryRequestBuilder builder = new DeleteByQueryRequestBuilder(searchClient, DeleteByQueryAction.INSTANCE);
-        builder.setIndices(committeeSearchIndexName)
+        builder.setIndices(indexRouter.getWriteIndices(committeeSearchIndexName))
                 .setTypes(Integer.toString(committeeSessionId.getSession().getYear()))
                 .setQuery(QueryBuilders.boolQuery().must(QueryBuilders.matchAllQuery())
                         .filter(
@@ -7,6 +7,7 @@ import gov.nysenate.openleg.model.law.LawTree;
 import org.springframework.dao.DataAccessException;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -85,12 +86,25 @@ public interface LawDataDao
      */
     public void updateLawDocument(LawFile lawFile, LawDocument lawDocument);
 
+    /**
+     * Updates or inserts a batch of law documents, see {@link #updateLawDocument(LawFile, LawDocument)}.
+     *
+     * @param lawFile LawFile - The law file source that triggered the update.
+     * @param lawDocuments Collection<LawDocument> - The law documents to persist.
+     */
+    public void updateLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments);
+
     /**
      * Updates or inserts the tree structure for the laws via the given LawTree. The law id and the published date
      * in the LawTree will be used as the unique identifiers for the tree.
      *
+     * When the previous tree is given, only the nodes that differ from it are written. A new published date starts
+     * out as a copy of the previous tree's rows.
+     *
      * @param lawFile LawFile - The law file source that triggered the update.
+     * @param previousTree LawTree - The most recent persisted tree on or before the new tree's published date,
+     *                               null to write the whole tree.
      * @param lawTree LawTree - The law tree to persist.
      */
-    public void updateLawTree(LawFile lawFile, LawTree lawTree);
+    public void updateLawTree(LawFile lawFile, LawTree previousTree, LawTree lawTree);
 }
\ No newline at end of file
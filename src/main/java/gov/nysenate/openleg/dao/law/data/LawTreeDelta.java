@@ -0,0 +1,178 @@
+package gov.nysenate.openleg.dao.law.data;
+
+import gov.nysenate.openleg.model.law.LawTree;
+import gov.nysenate.openleg.model.law.LawTreeNode;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The tree rows that have to be written to turn a persisted law tree into a newer version of it. Nodes are matched
+ * by document id. Inserting or removing a document shifts the sequence numbers of every node that follows it, so
+ * consecutive nodes whose only change is the same sequence number offset are grouped into a single
+ * {@link SequenceShift} rather than being updated one by one.
+ */
+public class LawTreeDelta
+{
+    /** Runs shorter than this are written as regular node updates. */
+    private static final int MIN_SHIFT_SIZE = 2;
+
+    /** Document ids of the nodes that are no longer in the tree. */
+    private final List<String> removedDocIds = new ArrayList<>();
+
+    /** Nodes that are new to the tree. */
+    private final List<LawTreeNode> addedNodes = new ArrayList<>();
+
+    /** Nodes whose row has to be rewritten. */
+    private final List<LawTreeNode> updatedNodes = new ArrayList<>();
+
+    /** Ranges of the previous sequence numbers that have moved by a fixed offset. */
+    private final List<SequenceShift> sequenceShifts = new ArrayList<>();
+
+    /**
+     * A range of sequence numbers in the previous tree, all of which are moved by the same offset.
+     */
+    public static class SequenceShift
+    {
+        private final int fromSequenceNo;
+        private final int toSequenceNo;
+        private final int offset;
+
+        public SequenceShift(int fromSequenceNo, int toSequenceNo, int offset) {
+            this.fromSequenceNo = fromSequenceNo;
+            this.toSequenceNo = toSequenceNo;
+            this.offset = offset;
+        }
+
+        public int getFromSequenceNo() {
+            return fromSequenceNo;
+        }
+
+        public int getToSequenceNo() {
+            return toSequenceNo;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+    }
+
+    /** --- Constructors --- */
+
+    private LawTreeDelta() {}
+
+    /**
+     * Computes the changes between two versions of a law tree.
+     *
+     * @param previousTree LawTree - The tree as it is currently persisted.
+     * @param lawTree LawTree - The new tree.
+     * @return LawTreeDelta
+     */
+    public static LawTreeDelta of(LawTree previousTree, LawTree lawTree) {
+        if (previousTree == null) throw new IllegalArgumentException("Cannot compute a delta from a null previousTree");
+        if (lawTree == null) throw new IllegalArgumentException("Cannot compute a delta to a null lawTree");
+        LawTreeDelta delta = new LawTreeDelta();
+        List<LawTreeNode> prevNodes = previousTree.getRootNode().getAllNodes();
+        prevNodes.sort(Comparator.comparingInt(LawTreeNode::getSequenceNo));
+        Map<String, LawTreeNode> nodes = lawTree.getRootNode().getAllNodes().stream()
+            .collect(Collectors.toMap(LawTreeNode::getDocumentId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+
+        // Nodes of the current run of consecutive sequence numbers that moved by the same offset
+        List<LawTreeNode> run = new ArrayList<>();
+        int runOffset = 0;
+        int runStart = 0;
+        for (int i = 0; i < prevNodes.size(); i++) {
+            LawTreeNode prevNode = prevNodes.get(i);
+            LawTreeNode node = nodes.get(prevNode.getDocumentId());
+            int offset = (node != null) ? node.getSequenceNo() - prevNode.getSequenceNo() : 0;
+            boolean shifted = node != null && offset != 0 && isSameRow(prevNode, node);
+            if (!run.isEmpty() && (!shifted || offset != runOffset)) {
+                delta.closeRun(prevNodes, runStart, i, run, runOffset);
+            }
+            if (node == null) {
+                delta.removedDocIds.add(prevNode.getDocumentId());
+            }
+            else if (shifted) {
+                if (run.isEmpty()) {
+                    runStart = i;
+                    runOffset = offset;
+                }
+                run.add(node);
+            }
+            else if (!isSameRow(prevNode, node)) {
+                delta.updatedNodes.add(node);
+            }
+            nodes.remove(prevNode.getDocumentId());
+        }
+        if (!run.isEmpty()) {
+            delta.closeRun(prevNodes, runStart, prevNodes.size(), run, runOffset);
+        }
+        delta.addedNodes.addAll(nodes.values());
+        return delta;
+    }
+
+    /** --- Methods --- */
+
+    public boolean isEmpty() {
+        return removedDocIds.isEmpty() && addedNodes.isEmpty() && updatedNodes.isEmpty() && sequenceShifts.isEmpty();
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Turns the run of previous nodes [start, end) into a sequence shift. The run is written as node updates instead
+     * if it is too short or if its sequence number range would also match a node outside of the run.
+     */
+    private void closeRun(List<LawTreeNode> prevNodes, int start, int end, List<LawTreeNode> run, int offset) {
+        int fromSeqNo = prevNodes.get(start).getSequenceNo();
+        int toSeqNo = prevNodes.get(end - 1).getSequenceNo();
+        boolean isolated = (start == 0 || prevNodes.get(start - 1).getSequenceNo() < fromSeqNo) &&
+                           (end == prevNodes.size() || prevNodes.get(end).getSequenceNo() > toSeqNo);
+        if (run.size() >= MIN_SHIFT_SIZE && isolated) {
+            sequenceShifts.add(new SequenceShift(fromSeqNo, toSeqNo, offset));
+        }
+        else {
+            updatedNodes.addAll(run);
+        }
+        run.clear();
+    }
+
+    /**
+     * Checks if two nodes would be persisted as the same tree row, ignoring the sequence number.
+     */
+    private static boolean isSameRow(LawTreeNode prevNode, LawTreeNode node) {
+        return Objects.equals(prevNode.getPublishDate(), node.getPublishDate()) &&
+               Objects.equals(prevNode.getRepealedDate(), node.getRepealedDate()) &&
+               prevNode.isRootNode() == node.isRootNode() &&
+               Objects.equals(getParentDocId(prevNode), getParentDocId(node)) &&
+               Objects.equals(getParentPublishDate(prevNode), getParentPublishDate(node));
+    }
+
+    private static String getParentDocId(LawTreeNode node) {
+        return (node.getParent() != null) ? node.getParent().getDocumentId() : null;
+    }
+
+    private static LocalDate getParentPublishDate(LawTreeNode node) {
+        return (node.getParent() != null) ? node.getParent().getPublishDate() : null;
+    }
+
+    /** --- Basic Getters --- */
+
+    public List<String> getRemovedDocIds() {
+        return removedDocIds;
+    }
+
+    public List<LawTreeNode> getAddedNodes() {
+        return addedNodes;
+    }
+
+    public List<LawTreeNode> getUpdatedNodes() {
+        return updatedNodes;
+    }
+
+    public List<SequenceShift> getSequenceShifts() {
+        return sequenceShifts;
+    }
+}
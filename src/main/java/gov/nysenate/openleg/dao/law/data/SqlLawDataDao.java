@@ -17,11 +17,14 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static gov.nysenate.openleg.dao.law.data.SqlLawDataQuery.*;
 import static gov.nysenate.openleg.util.DateUtils.toDate;
@@ -103,20 +106,90 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
 
     /** {@inheritDoc} */
     @Override
-    public void updateLawTree(LawFile lawFile, LawTree lawTree) {
+    public void updateLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+        MapSqlParameterSource[] lawDocParams = lawDocuments.stream()
+            .map(doc -> getLawDocumentParams(lawFile, doc))
+            .toArray(MapSqlParameterSource[]::new);
+        int[] updated = jdbcNamed.batchUpdate(SqlLawDataQuery.UPDATE_LAW_DOCUMENT.getSql(schema()), lawDocParams);
+        MapSqlParameterSource[] insertParams = IntStream.range(0, updated.length)
+            .filter(i -> updated[i] == 0)
+            .mapToObj(i -> lawDocParams[i])
+            .toArray(MapSqlParameterSource[]::new);
+        if (insertParams.length > 0) {
+            jdbcNamed.batchUpdate(SqlLawDataQuery.INSERT_LAW_DOCUMENT.getSql(schema()), insertParams);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void updateLawTree(LawFile lawFile, LawTree previousTree, LawTree lawTree) {
         ImmutableParams lawInfoParams = ImmutableParams.from(getLawInfoParams(lawTree.getLawInfo()));
         // Update the law info or insert it
         if (jdbcNamed.update(SqlLawDataQuery.UPDATE_LAW_INFO.getSql(schema()), lawInfoParams) == 0) {
             jdbcNamed.update(SqlLawDataQuery.INSERT_LAW_INFO.getSql(schema()), lawInfoParams);
         }
         ImmutableParams treeIdParams = ImmutableParams.from(getLawTreeParams(lawTree));
-        // Delete the existing tree if it exists
-        jdbcNamed.update(SqlLawDataQuery.DELETE_TREE.getSql(schema()), treeIdParams);
-        // Insert all the nodes in the tree
-        lawTree.getRootNode().getAllNodes().forEach(n -> {
-            ImmutableParams treeNodeParams = ImmutableParams.from(getLawTreeNodeParams(lawFile, lawTree, n));
-            jdbcNamed.update(SqlLawDataQuery.INSERT_LAW_TREE.getSql(schema()), treeNodeParams);
-        });
+        if (previousTree == null) {
+            // Delete the existing tree if it exists and insert all the nodes in the tree
+            jdbcNamed.update(SqlLawDataQuery.DELETE_TREE.getSql(schema()), treeIdParams);
+            batchUpdateNodes(SqlLawDataQuery.INSERT_LAW_TREE, lawFile, lawTree, lawTree.getRootNode().getAllNodes());
+            return;
+        }
+        if (!previousTree.getPublishedDate().equals(lawTree.getPublishedDate())) {
+            // Start the new version of the tree off as a copy of the previous one
+            jdbcNamed.update(SqlLawDataQuery.COPY_TREE_VERSION.getSql(schema()), ImmutableParams.from(
+                getLawTreeParams(lawTree)
+                    .addValue("prevPublishedDate", toDate(previousTree.getPublishedDate()))
+                    .addValue("lawFileName", lawFile.getFileName())));
+        }
+        LawTreeDelta delta = LawTreeDelta.of(previousTree, lawTree);
+        if (!delta.getRemovedDocIds().isEmpty()) {
+            jdbcNamed.batchUpdate(SqlLawDataQuery.DELETE_TREE_NODE.getSql(schema()), delta.getRemovedDocIds().stream()
+                .map(docId -> getLawTreeParams(lawTree).addValue("docId", docId))
+                .toArray(MapSqlParameterSource[]::new));
+        }
+        if (!delta.getSequenceShifts().isEmpty()) {
+            shiftSequenceNos(lawFile, lawTree, delta.getSequenceShifts());
+        }
+        batchUpdateNodes(SqlLawDataQuery.UPDATE_LAW_TREE_NODE, lawFile, lawTree, delta.getUpdatedNodes());
+        batchUpdateNodes(SqlLawDataQuery.INSERT_LAW_TREE, lawFile, lawTree, delta.getAddedNodes());
+        logger.debug("Wrote {} law tree delta: {} removed, {} shifted ranges, {} updated, {} added",
+            lawTree.getLawVersionId(), delta.getRemovedDocIds().size(), delta.getSequenceShifts().size(),
+            delta.getUpdatedNodes().size(), delta.getAddedNodes().size());
+    }
+
+    /**
+     * Runs the given node query for each of the nodes in a single batch.
+     */
+    private void batchUpdateNodes(SqlLawDataQuery query, LawFile lawFile, LawTree lawTree, List<LawTreeNode> nodes) {
+        if (!nodes.isEmpty()) {
+            jdbcNamed.batchUpdate(query.getSql(schema()), nodes.stream()
+                .map(n -> getLawTreeNodeParams(lawFile, lawTree, n))
+                .toArray(MapSqlParameterSource[]::new));
+        }
+    }
+
+    /**
+     * Applies all the sequence number shifts with a single update. Each row is matched against the shift ranges
+     * using its sequence number from before the update, so overlapping old and new ranges do not interfere.
+     */
+    private void shiftSequenceNos(LawFile lawFile, LawTree lawTree, List<LawTreeDelta.SequenceShift> shifts) {
+        MapSqlParameterSource params = getLawTreeParams(lawTree).addValue("lawFileName", lawFile.getFileName());
+        StringBuilder cases = new StringBuilder();
+        List<String> ranges = new ArrayList<>();
+        for (int i = 0; i < shifts.size(); i++) {
+            LawTreeDelta.SequenceShift shift = shifts.get(i);
+            String range = "sequence_no BETWEEN :shiftFrom" + i + " AND :shiftTo" + i;
+            cases.append("WHEN ").append(range).append(" THEN :shiftOffset").append(i).append(" ");
+            ranges.add(range);
+            params.addValue("shiftFrom" + i, shift.getFromSequenceNo())
+                  .addValue("shiftTo" + i, shift.getToSequenceNo())
+                  .addValue("shiftOffset" + i, shift.getOffset());
+        }
+        String sql = SqlLawDataQuery.SHIFT_LAW_TREE_SEQUENCES.getSql(schema());
+        sql = queryReplace(sql, "sequenceShiftCases", cases.toString());
+        sql = queryReplace(sql, "sequenceShiftRanges", String.join(" OR ", ranges));
+        jdbcNamed.update(sql, ImmutableParams.from(params));
     }
 
     /**
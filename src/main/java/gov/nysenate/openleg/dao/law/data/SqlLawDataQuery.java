@@ -81,6 +81,31 @@ public enum SqlLawDataQuery implements BasicSqlQuery
         "DELETE FROM ${schema}." + SqlTable.LAW_TREE + "\n" +
         "WHERE law_id = :lawId AND published_date = :publishedDate"
     ),
+    COPY_TREE_VERSION(
+        "INSERT INTO ${schema}." + SqlTable.LAW_TREE + "\n" +
+        "(law_id, published_date, doc_id, doc_published_date, parent_doc_id, parent_doc_published_date, is_root, " +
+        " sequence_no, repealed_date, law_file)\n" +
+        "SELECT law_id, :publishedDate, doc_id, doc_published_date, parent_doc_id, parent_doc_published_date, is_root, " +
+        "       sequence_no, repealed_date, :lawFileName\n" +
+        "FROM ${schema}." + SqlTable.LAW_TREE + "\n" +
+        "WHERE law_id = :lawId AND published_date = :prevPublishedDate"
+    ),
+    UPDATE_LAW_TREE_NODE(
+        "UPDATE ${schema}." + SqlTable.LAW_TREE + "\n" +
+        "SET doc_published_date = :docPublishedDate, parent_doc_id = :parentDocId, " +
+        "    parent_doc_published_date = :parentDocPublishedDate, is_root = :isRoot, sequence_no = :sequenceNo, " +
+        "    repealed_date = :repealedDate, law_file = :lawFileName \n" +
+        "WHERE law_id = :lawId AND published_date = :publishedDate AND doc_id = :docId"
+    ),
+    SHIFT_LAW_TREE_SEQUENCES(
+        "UPDATE ${schema}." + SqlTable.LAW_TREE + "\n" +
+        "SET sequence_no = sequence_no + CASE ${sequenceShiftCases} END, law_file = :lawFileName \n" +
+        "WHERE law_id = :lawId AND published_date = :publishedDate AND (${sequenceShiftRanges})"
+    ),
+    DELETE_TREE_NODE(
+        "DELETE FROM ${schema}." + SqlTable.LAW_TREE + "\n" +
+        "WHERE law_id = :lawId AND published_date = :publishedDate AND doc_id = :docId"
+    ),
 
     /** --- Law Chapters --- */
 
@@ -40,4 +40,13 @@ public interface ApiLogDao
      * @throws DataAccessException
      */
     void saveApiResponse(ApiResponse res) throws DataAccessException;
+
+    /**
+     * Save a batch of ApiResponses into the persistence layer using batched inserts within one transaction.
+     * The request ids are set on the passed in ApiResponses.
+     *
+     * @param responses List<ApiResponse>
+     * @throws DataAccessException
+     */
+    void saveApiResponses(List<ApiResponse> responses) throws DataAccessException;
 }
@@ -10,7 +10,9 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -55,6 +57,7 @@ public class SqlApiLogDao extends SqlBaseDao implements ApiLogDao
 
     private static ImmutableParams getApiRequestParams(ApiRequest req) {
         return ImmutableParams.from(new MapSqlParameterSource()
+            .addValue("reqId", req.getRequestId())
             .addValue("ipAddress", req.getIpAddress().getHostAddress())
             .addValue("requestTime", toDate(req.getRequestTime()))
             .addValue("url", req.getUrl())
@@ -104,4 +107,26 @@ public class SqlApiLogDao extends SqlBaseDao implements ApiLogDao
                     getApiResponseParams(response));
         }
      }
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional
+    public void saveApiResponses(List<ApiResponse> responses) throws DataAccessException {
+        if (responses.isEmpty()) {
+            return;
+        }
+        // Reserve the request ids up front so that requests and responses can each be written in one batch
+        List<Integer> requestIds = jdbcNamed.query(ApiRequestResponseQuery.SELECT_NEXT_REQUEST_IDS.getSql(schema()),
+                new MapSqlParameterSource("count", responses.size()), new SingleColumnRowMapper<>(Integer.class));
+        SqlParameterSource[] requestParams = new SqlParameterSource[responses.size()];
+        SqlParameterSource[] responseParams = new SqlParameterSource[responses.size()];
+        for (int i = 0; i < responses.size(); i++) {
+            ApiResponse response = responses.get(i);
+            response.getBaseRequest().setRequestId(requestIds.get(i));
+            requestParams[i] = getApiRequestParams(response.getBaseRequest());
+            responseParams[i] = getApiResponseParams(response);
+        }
+        jdbcNamed.batchUpdate(ApiRequestResponseQuery.INSERT_REQUEST_WITH_ID.getSql(schema()), requestParams);
+        jdbcNamed.batchUpdate(ApiRequestResponseQuery.INSERT_RESPONSE.getSql(schema()), responseParams);
+    }
 }
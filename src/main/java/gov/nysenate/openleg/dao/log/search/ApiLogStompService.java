@@ -2,15 +2,20 @@ package gov.nysenate.openleg.dao.log.search;
 
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.RateLimiter;
+import gov.nysenate.openleg.service.log.event.ApiLogBatchEvent;
 import gov.nysenate.openleg.service.log.event.ApiLogEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class ApiLogStompService
@@ -25,23 +30,36 @@ public class ApiLogStompService
         private String brokerName = "/event/apiLogs";
 
         @Async
-        public void broadcast(ApiLogEvent apiLogEvent) {
-            messagingTemplate.convertAndSend(brokerName, apiLogEvent);
+        public void broadcast(List<ApiLogEvent> apiLogEvents) {
+            apiLogEvents.forEach(apiLogEvent -> messagingTemplate.convertAndSend(brokerName, apiLogEvent));
         }
     }
 
     @Autowired private EventBus eventBus;
     @Autowired private AsyncApiLogStomper asyncStomper;
 
+    /** The maximum number of api log events that are broadcast per second, the rest are skipped. */
+    @Value("${api.log.stomp.max.rate:50}") private double maxRate;
+
+    private RateLimiter rateLimiter;
+
     @PostConstruct
     private void init() {
+        this.rateLimiter = RateLimiter.create(maxRate);
         this.eventBus.register(this);
     }
 
     @Subscribe
-    public void handleApiLogEvent(ApiLogEvent apiLogEvent) {
-        if (apiLogEvent != null && apiLogEvent.getApiResponse() != null) {
-            asyncStomper.broadcast(apiLogEvent);
+    public void handleApiLogBatchEvent(ApiLogBatchEvent batchEvent) {
+        List<ApiLogEvent> sampled = batchEvent.getApiLogEvents().stream()
+                .filter(apiLogEvent -> apiLogEvent.getApiResponse() != null)
+                .filter(apiLogEvent -> rateLimiter.tryAcquire())
+                .collect(Collectors.toList());
+        if (sampled.size() < batchEvent.getApiLogEvents().size()) {
+            logger.debug("Skipped broadcast of {} api log events", batchEvent.getApiLogEvents().size() - sampled.size());
+        }
+        if (!sampled.isEmpty()) {
+            asyncStomper.broadcast(sampled);
         }
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.model.process.DataProcessMetrics;
 import gov.nysenate.openleg.model.process.DataProcessRun;
 import gov.nysenate.openleg.model.process.DataProcessUnit;
 import org.apache.commons.lang3.tuple.Pair;
@@ -78,4 +79,19 @@ public interface DataProcessLogDao
      * @param run DataProcessRun
      */
     public void updateRun(DataProcessRun run);
+
+    /**
+     * Fetch the stage timings and queue depths that were recorded for the given process run.
+     *
+     * @param processId int - The id of the associated DataProcessRun
+     * @return DataProcessMetrics - empty if no metrics were recorded for the run.
+     */
+    public DataProcessMetrics getMetrics(int processId);
+
+    /**
+     * Replaces the stage timings and queue depths of the given run with those currently recorded in the run.
+     *
+     * @param run DataProcessRun
+     */
+    public void updateMetrics(DataProcessRun run);
 }
@@ -2,16 +2,16 @@ package gov.nysenate.openleg.dao.process;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.*;
-import gov.nysenate.openleg.model.process.DataProcessAction;
-import gov.nysenate.openleg.model.process.DataProcessRun;
-import gov.nysenate.openleg.model.process.DataProcessUnit;
+import gov.nysenate.openleg.model.process.*;
 import org.apache.shiro.dao.DataAccessException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -81,6 +81,36 @@ public class SqlDataProcessLogDao extends SqlBaseDao implements DataProcessLogDa
         jdbcNamed.update(UPDATE_DATA_PROCESS_RUN.getSql(schema()), getDataProcessRunParams(run));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public DataProcessMetrics getMetrics(int processId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("processId", processId);
+        return new DataProcessMetrics(
+            jdbcNamed.query(SELECT_PROCESS_STAGES.getSql(schema()), params, processStageRowMapper),
+            jdbcNamed.query(SELECT_PROCESS_QUEUES.getSql(schema()), params, processQueueRowMapper));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional
+    public void updateMetrics(DataProcessRun run) {
+        MapSqlParameterSource params = new MapSqlParameterSource("processId", run.getProcessId());
+        jdbcNamed.update(DELETE_PROCESS_STAGES.getSql(schema()), params);
+        jdbcNamed.update(DELETE_PROCESS_QUEUES.getSql(schema()), params);
+        SqlParameterSource[] stageParams = run.getMetrics().getStageMetrics().stream()
+            .map(metric -> getProcessStageParams(run.getProcessId(), metric))
+            .toArray(SqlParameterSource[]::new);
+        SqlParameterSource[] queueParams = run.getMetrics().getQueueMetrics().stream()
+            .map(metric -> getProcessQueueParams(run.getProcessId(), metric))
+            .toArray(SqlParameterSource[]::new);
+        if (stageParams.length > 0) {
+            jdbcNamed.batchUpdate(INSERT_PROCESS_STAGE.getSql(schema()), stageParams);
+        }
+        if (queueParams.length > 0) {
+            jdbcNamed.batchUpdate(INSERT_PROCESS_QUEUE.getSql(schema()), queueParams);
+        }
+    }
+
     /** --- Internal --- */
 
     private static final RowMapper<DataProcessRun> processRunRowMapper = (rs, rowNum) -> {
@@ -101,6 +131,14 @@ public class SqlDataProcessLogDao extends SqlBaseDao implements DataProcessLogDa
         return unit;
     };
 
+    private static final RowMapper<DataProcessStageMetric> processStageRowMapper = (rs, rowNum) ->
+        new DataProcessStageMetric(rs.getString("stage"), rs.getLong("count"), rs.getLong("items"),
+            rs.getLong("total_time_ns"), rs.getLong("max_time_ns"));
+
+    private static final RowMapper<DataProcessQueueMetric> processQueueRowMapper = (rs, rowNum) ->
+        new DataProcessQueueMetric(rs.getString("queue"), rs.getLong("samples"), rs.getLong("last_depth"),
+            rs.getLong("peak_depth"));
+
     private MapSqlParameterSource getDataProcessRunParams(DataProcessRun run) {
         return new MapSqlParameterSource()
             .addValue("id", run.getProcessId())
@@ -120,4 +158,21 @@ public class SqlDataProcessLogDao extends SqlBaseDao implements DataProcessLogDa
             .addValue("messages", unit.getMessages())
             .addValue("errors", unit.getErrorsBuilder());
     }
+
+    private MapSqlParameterSource getProcessStageParams(int processId, DataProcessStageMetric metric) {
+        return new MapSqlParameterSource("processId", processId)
+            .addValue("stage", metric.getStage())
+            .addValue("count", metric.getCount())
+            .addValue("items", metric.getItems())
+            .addValue("totalTime", metric.getTotalNanos())
+            .addValue("maxTime", metric.getMaxNanos());
+    }
+
+    private MapSqlParameterSource getProcessQueueParams(int processId, DataProcessQueueMetric metric) {
+        return new MapSqlParameterSource("processId", processId)
+            .addValue("queue", metric.getQueue())
+            .addValue("samples", metric.getSamples())
+            .addValue("lastDepth", metric.getLastDepth())
+            .addValue("peakDepth", metric.getPeakDepth());
+    }
 }
@@ -63,6 +63,35 @@ public enum SqlDataProcessLogQuery implements BasicSqlQuery
         "INSERT INTO ${schema}." + SqlTable.DATA_PROCESS_UNIT + "\n" +
         "(process_id, source_type, source_id, action, start_date_time, end_date_time, messages, errors)\n" +
         "VALUES (:processId, :sourceType, :sourceId, :action, :startDateTime, :endDateTime, :messages, :errors)"
+    ),
+
+    SELECT_PROCESS_STAGES(
+        "SELECT stage, count, items, total_time_ns, max_time_ns\n" +
+        "FROM ${schema}." + SqlTable.DATA_PROCESS_STAGE + "\n" +
+        "WHERE process_id = :processId"
+    ),
+    SELECT_PROCESS_QUEUES(
+        "SELECT queue, samples, last_depth, peak_depth\n" +
+        "FROM ${schema}." + SqlTable.DATA_PROCESS_QUEUE + "\n" +
+        "WHERE process_id = :processId"
+    ),
+    DELETE_PROCESS_STAGES(
+        "DELETE FROM ${schema}." + SqlTable.DATA_PROCESS_STAGE + "\n" +
+        "WHERE process_id = :processId"
+    ),
+    DELETE_PROCESS_QUEUES(
+        "DELETE FROM ${schema}." + SqlTable.DATA_PROCESS_QUEUE + "\n" +
+        "WHERE process_id = :processId"
+    ),
+    INSERT_PROCESS_STAGE(
+        "INSERT INTO ${schema}." + SqlTable.DATA_PROCESS_STAGE + "\n" +
+        "(process_id, stage, count, items, total_time_ns, max_time_ns)\n" +
+        "VALUES (:processId, :stage, :count, :items, :totalTime, :maxTime)"
+    ),
+    INSERT_PROCESS_QUEUE(
+        "INSERT INTO ${schema}." + SqlTable.DATA_PROCESS_QUEUE + "\n" +
+        "(process_id, queue, samples, last_depth, peak_depth)\n" +
+        "VALUES (:processId, :queue, :samples, :lastDepth, :peakDepth)"
     )
     ;
     private String sql;
@@ -0,0 +1,49 @@
+package gov.nysenate.openleg.dao.search;
+
+import gov.nysenate.openleg.dao.base.SearchIndex;
+import gov.nysenate.openleg.model.search.IndexRebuildCheckpoint;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DAO interface for persisting the progress of search index rebuilds.
+ */
+public interface SearchIndexRebuildDao
+{
+    /**
+     * Retrieves the checkpoint of the in-progress rebuild for the given index.
+     *
+     * @param searchIndex SearchIndex
+     * @return Optional<IndexRebuildCheckpoint> - empty if the index is not being rebuilt
+     */
+    public Optional<IndexRebuildCheckpoint> getCheckpoint(SearchIndex searchIndex);
+
+    /**
+     * @return List<IndexRebuildCheckpoint> - The checkpoints of all in-progress rebuilds.
+     */
+    public List<IndexRebuildCheckpoint> getCheckpoints();
+
+    /**
+     * Starts tracking a rebuild of the given index into the target index.
+     *
+     * @param searchIndex SearchIndex
+     * @param targetIndex String - name of the versioned index that is being written to
+     */
+    public void insertCheckpoint(SearchIndex searchIndex, String targetIndex);
+
+    /**
+     * Records that all documents for the given unit of work have been written to the target index.
+     *
+     * @param searchIndex SearchIndex
+     * @param unit String
+     */
+    public void insertCompletedUnit(SearchIndex searchIndex, String unit);
+
+    /**
+     * Removes the checkpoint and completed units for the given index.
+     *
+     * @param searchIndex SearchIndex
+     */
+    public void deleteCheckpoint(SearchIndex searchIndex);
+}
@@ -0,0 +1,71 @@
+package gov.nysenate.openleg.dao.search;
+
+import gov.nysenate.openleg.dao.base.SearchIndex;
+import gov.nysenate.openleg.dao.base.SqlBaseDao;
+import gov.nysenate.openleg.model.search.IndexRebuildCheckpoint;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static gov.nysenate.openleg.dao.search.SqlSearchIndexRebuildQuery.*;
+
+@Repository
+public class SqlSearchIndexRebuildDao extends SqlBaseDao implements SearchIndexRebuildDao
+{
+    /** {@inheritDoc} */
+    @Override
+    public Optional<IndexRebuildCheckpoint> getCheckpoint(SearchIndex searchIndex) {
+        MapSqlParameterSource params = new MapSqlParameterSource("searchIndex", searchIndex.name());
+        List<IndexRebuildCheckpoint> checkpoints =
+            jdbcNamed.query(SELECT_CHECKPOINT.getSql(schema()), params, checkpointRowMapper);
+        checkpoints.forEach(this::setCompletedUnits);
+        return checkpoints.stream().findFirst();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<IndexRebuildCheckpoint> getCheckpoints() {
+        List<IndexRebuildCheckpoint> checkpoints = jdbcNamed.query(SELECT_CHECKPOINTS.getSql(schema()), checkpointRowMapper);
+        checkpoints.forEach(this::setCompletedUnits);
+        return checkpoints;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void insertCheckpoint(SearchIndex searchIndex, String targetIndex) {
+        MapSqlParameterSource params = new MapSqlParameterSource("searchIndex", searchIndex.name())
+            .addValue("targetIndex", targetIndex);
+        jdbcNamed.update(INSERT_CHECKPOINT.getSql(schema()), params);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void insertCompletedUnit(SearchIndex searchIndex, String unit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("searchIndex", searchIndex.name())
+            .addValue("unit", unit);
+        jdbcNamed.update(INSERT_COMPLETED_UNIT.getSql(schema()), params);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void deleteCheckpoint(SearchIndex searchIndex) {
+        MapSqlParameterSource params = new MapSqlParameterSource("searchIndex", searchIndex.name());
+        jdbcNamed.update(DELETE_CHECKPOINT.getSql(schema()), params);
+    }
+
+    /** --- Internal Methods --- */
+
+    private void setCompletedUnits(IndexRebuildCheckpoint checkpoint) {
+        MapSqlParameterSource params = new MapSqlParameterSource("searchIndex", checkpoint.getSearchIndex().name());
+        checkpoint.setCompletedUnits(new HashSet<>(
+            jdbcNamed.queryForList(SELECT_COMPLETED_UNITS.getSql(schema()), params, String.class)));
+    }
+
+    private static final RowMapper<IndexRebuildCheckpoint> checkpointRowMapper = (rs, rowNum) ->
+        new IndexRebuildCheckpoint(SearchIndex.valueOf(rs.getString("search_index")), rs.getString("target_index"),
+                                   getLocalDateTimeFromRs(rs, "started_date_time"));
+}
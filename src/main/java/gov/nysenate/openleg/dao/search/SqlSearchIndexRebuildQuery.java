@@ -0,0 +1,45 @@
+package gov.nysenate.openleg.dao.search;
+
+import gov.nysenate.openleg.dao.base.BasicSqlQuery;
+import gov.nysenate.openleg.dao.base.SqlTable;
+
+public enum SqlSearchIndexRebuildQuery implements BasicSqlQuery
+{
+    SELECT_CHECKPOINTS(
+        "SELECT search_index, target_index, started_date_time\n" +
+        "FROM ${schema}." + SqlTable.SEARCH_INDEX_REBUILD
+    ),
+    SELECT_CHECKPOINT(
+        SELECT_CHECKPOINTS.sql + "\n" +
+        "WHERE search_index = :searchIndex"
+    ),
+    SELECT_COMPLETED_UNITS(
+        "SELECT unit FROM ${schema}." + SqlTable.SEARCH_INDEX_REBUILD_UNIT + "\n" +
+        "WHERE search_index = :searchIndex"
+    ),
+    INSERT_CHECKPOINT(
+        "INSERT INTO ${schema}." + SqlTable.SEARCH_INDEX_REBUILD + " (search_index, target_index)\n" +
+        "VALUES (:searchIndex, :targetIndex)"
+    ),
+    INSERT_COMPLETED_UNIT(
+        "INSERT INTO ${schema}." + SqlTable.SEARCH_INDEX_REBUILD_UNIT + " (search_index, unit)\n" +
+        "SELECT :searchIndex, :unit\n" +
+        "WHERE NOT EXISTS (SELECT 1 FROM ${schema}." + SqlTable.SEARCH_INDEX_REBUILD_UNIT + "\n" +
+        "                  WHERE search_index = :searchIndex AND unit = :unit)"
+    ),
+    DELETE_CHECKPOINT(
+        "DELETE FROM ${schema}." + SqlTable.SEARCH_INDEX_REBUILD + "\n" +
+        "WHERE search_index = :searchIndex"
+    );
+
+    private String sql;
+
+    SqlSearchIndexRebuildQuery(String sql) {
+        this.sql = sql;
+    }
+
+    @Override
+    public String getSql() {
+        return this.sql;
+    }
+}
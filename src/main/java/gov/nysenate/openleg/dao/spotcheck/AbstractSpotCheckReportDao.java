@@ -6,6 +6,7 @@ import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.spotcheck.*;
 import gov.nysenate.openleg.service.spotcheck.base.MismatchNotFoundEx;
 import gov.nysenate.openleg.service.spotcheck.base.MismatchUtils;
+import gov.nysenate.openleg.util.MismatchDiffUtils;
 import gov.nysenate.openleg.util.SpotCheckReportUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -15,6 +16,7 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -88,7 +90,8 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
                 .addValue("fromDate", query.getStartDateTime())
                 .addValue("ignoreStatuses", query.getIgnoredStatuses().stream().map(Enum::name).collect(Collectors.toSet()))
                 .addValue("mismatchTypes", extractEnumSetParams(query.getMismatchTypes()));
-        String sql = SqlSpotCheckReportQuery.GET_MISMATCHES.getSql(schema(), query.getOrderBy(), limitOffset);
+        SqlSpotCheckReportQuery mismatchQuery = isCurrent(query.getReportDate()) ? GET_CURRENT_MISMATCHES : GET_MISMATCHES;
+        String sql = mismatchQuery.getSql(schema(), query.getOrderBy(), limitOffset);
         PaginatedRowHandler<DeNormSpotCheckMismatch> handler = new PaginatedRowHandler<>(limitOffset, "total_rows", new MismatchMapper());
         jdbcNamed.query(sql, params, handler);
         return handler.getList();
@@ -104,7 +107,9 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
                 .addValue("datasource", datasource.name())
                 .addValue("reportStartDateTime", SpotCheckReportUtils.getReportStartDateTime(reportDate))
                 .addValue("reportEndDateTime", SpotCheckReportUtils.getReportEndDateTime(reportDate));
-        String sql = SqlSpotCheckReportQuery.MISMATCH_STATUS_SUMMARY.getSql(schema());
+        SqlSpotCheckReportQuery summaryQuery =
+                isCurrent(reportDate) ? CURRENT_MISMATCH_STATUS_SUMMARY : MISMATCH_STATUS_SUMMARY;
+        String sql = summaryQuery.getSql(schema());
         MismatchStatusSummaryHandler summaryHandler = new MismatchStatusSummaryHandler();
         jdbcNamed.query(sql, params, summaryHandler);
         return summaryHandler.getSummary();
@@ -121,7 +126,9 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
                 .addValue("statusStartDateTime", mismatchStatus.getStartDateTime(reportDate))
                 .addValue("statusEndDateTime", mismatchStatus.getEndDateTime(reportDate))
                 .addValue("state", mismatchStatus.getState().name());
-        String sql = SqlSpotCheckReportQuery.MISMATCH_TYPE_SUMMARY.getSql(schema());
+        SqlSpotCheckReportQuery summaryQuery =
+                isCurrent(reportDate) ? CURRENT_MISMATCH_TYPE_SUMMARY : MISMATCH_TYPE_SUMMARY;
+        String sql = summaryQuery.getSql(schema());
         MismatchTypeSummaryHandler summaryHandler = new MismatchTypeSummaryHandler();
         jdbcNamed.query(sql, params, summaryHandler);
         return summaryHandler.getSummary();
@@ -140,7 +147,9 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
                   .addValue("statusEndDateTime", mismatchStatus.getEndDateTime(reportDate))
                   .addValue("state", mismatchStatus.getState().name())
                   .addValue("mismatchTypes", extractEnumSetParams(mismatchTypes));
-        String sql = SqlSpotCheckReportQuery.MISMATCH_CONTENT_TYPE_SUMMARY.getSql(schema());
+        SqlSpotCheckReportQuery summaryQuery =
+                isCurrent(reportDate) ? CURRENT_MISMATCH_CONTENT_TYPE_SUMMARY : MISMATCH_CONTENT_TYPE_SUMMARY;
+        String sql = summaryQuery.getSql(schema());
         MismatchContentTypeSummaryHandler summaryHandler = new MismatchContentTypeSummaryHandler();
         jdbcNamed.query(sql, params, summaryHandler);
         return summaryHandler.getSummary();
@@ -198,13 +207,27 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
     }
 
     private void insertMismatches(List<DeNormSpotCheckMismatch> mismatches) {
+        // Diffs are computed once here so that they don't have to be recomputed whenever a mismatch is viewed
+        mismatches.parallelStream()
+                .filter(mismatch -> mismatch.getEncodedDiff() == null)
+                .forEach(mismatch -> mismatch.setEncodedDiff(
+                        MismatchDiffUtils.encodeDiff(mismatch.getReferenceData(), mismatch.getObservedData())));
         List<MapSqlParameterSource> params = mismatches.stream()
                 .map(this::mismatchParams)
                 .collect(Collectors.toList());
-        String sql = INSERT_MISMATCH.getSql(schema());
+        // Each mismatch is also upserted into the current mismatch table, which backs the summary and listing queries
+        String sql = INSERT_CURRENT_MISMATCH.getSql(schema());
         jdbcNamed.batchUpdate(sql, params.stream().toArray(MapSqlParameterSource[]::new));
     }
 
+    /**
+     * The current mismatch table only holds the most recent mismatches, so it can only be used to answer
+     * queries for the present day. Queries for past report dates go against the full mismatch history.
+     */
+    private boolean isCurrent(LocalDate reportDate) {
+        return !reportDate.isBefore(LocalDate.now());
+    }
+
     /**
      * Parameters used in the {@link SqlSpotCheckReportQuery} ACTIVE_MISMATCHES query.
      */
@@ -227,6 +250,7 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
                 .addValue("referenceData", mismatch.getReferenceData())
                 .addValue("observedData", mismatch.getObservedData())
                 .addValue("notes", mismatch.getNotes())
+                .addValue("diff", mismatch.getEncodedDiff())
                 .addValue("issueIds", toPostgresArray(mismatch.getIssueIds()))
                 .addValue("ignoreLevel", mismatch.getIgnoreStatus().name())
                 .addValue("reportDateTime", mismatch.getReportDateTime())
@@ -259,6 +283,7 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
                 mismatch.setReferenceData(m.getReferenceData());
                 mismatch.setObservedData(m.getObservedData());
                 mismatch.setNotes(m.getNotes());
+                mismatch.setEncodedDiff(m.getEncodedDiff());
                 mismatch.setObservedDateTime(ob.getObservedDateTime());
                 mismatch.setReportDateTime(report.getReportDateTime());
                 if (m.getIgnoreStatus() != null)
@@ -274,6 +299,7 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
      * {@inheritDoc}
      */
     @Override
+    @Transactional
     public void setMismatchIgnoreStatus(int mismatchId, SpotCheckMismatchIgnore ignoreStatus) {
         if (ignoreStatus == null) {
             throw new IllegalArgumentException("Cannot set mismatch ignore state to null.");
@@ -281,8 +307,8 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
         MapSqlParameterSource params = new MapSqlParameterSource()
                 .addValue("mismatchId", mismatchId)
                 .addValue("ignoreStatus", ignoreStatus.name());
-        String sql = SqlSpotCheckReportQuery.UPDATE_MISMATCH_IGNORE.getSql(schema());
-        jdbcNamed.update(sql, params);
+        jdbcNamed.update(UPDATE_MISMATCH_IGNORE.getSql(schema()), params);
+        jdbcNamed.update(UPDATE_CURRENT_MISMATCH_IGNORE.getSql(schema()), params);
     }
 
     /**
@@ -360,6 +386,7 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
             mismatch.setObservedDateTime(getLocalDateTimeFromRs(rs, "observed_date_time"));
             mismatch.setFirstSeenDateTime(getLocalDateTimeFromRs(rs, "first_seen_date_time"));
             mismatch.setNotes(rs.getString("notes"));
+            mismatch.setEncodedDiff(rs.getString("diff"));
             mismatch.setIgnoreStatus(SpotCheckMismatchIgnore.valueOf(rs.getString("ignore_status")));
             String[] issue_idss = getArrayFromPgRs(rs, "issue_ids");
             mismatch.setIssueIds(Sets.newHashSet(issue_idss));
@@ -0,0 +1,37 @@
+package gov.nysenate.openleg.dao.spotcheck;
+
+import gov.nysenate.openleg.model.spotcheck.SpotCheckMismatch;
+import gov.nysenate.openleg.service.spotcheck.base.MismatchNotFoundEx;
+import org.springframework.dao.DataAccessException;
+
+import java.util.List;
+
+/**
+ * Dao interface for maintaining the stored diffs of spot check mismatches, regardless of their content key.
+ */
+public interface SpotCheckMismatchDiffDao
+{
+    /**
+     * Get a single mismatch with its stored diff.
+     *
+     * @param mismatchId int
+     * @return SpotCheckMismatch - The mismatch with its id, type, reference data, observed data and encoded diff set.
+     * @throws MismatchNotFoundEx if no mismatch exists with the given id.
+     */
+    SpotCheckMismatch getMismatch(int mismatchId) throws DataAccessException;
+
+    /**
+     * Get mismatches that do not have a stored diff yet, most recent first.
+     *
+     * @param limit int - The maximum number of mismatches to return.
+     * @return List<SpotCheckMismatch> - Mismatches with their id, type, reference and observed data set.
+     */
+    List<SpotCheckMismatch> getMismatchesWithoutDiff(int limit) throws DataAccessException;
+
+    /**
+     * Stores the encoded diffs of the given mismatches.
+     *
+     * @param mismatches List<SpotCheckMismatch> - Mismatches with their id and encoded diff set.
+     */
+    void updateDiffs(List<SpotCheckMismatch> mismatches) throws DataAccessException;
+}
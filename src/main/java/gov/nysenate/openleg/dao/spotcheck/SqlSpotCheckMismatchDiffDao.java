@@ -0,0 +1,58 @@
+package gov.nysenate.openleg.dao.spotcheck;
+
+import gov.nysenate.openleg.dao.base.SqlBaseDao;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckMismatch;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckMismatchType;
+import gov.nysenate.openleg.service.spotcheck.base.MismatchNotFoundEx;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+import static gov.nysenate.openleg.dao.spotcheck.SqlSpotCheckReportQuery.SELECT_MISMATCHES_WITHOUT_DIFF;
+import static gov.nysenate.openleg.dao.spotcheck.SqlSpotCheckReportQuery.SELECT_MISMATCH_DIFF;
+import static gov.nysenate.openleg.dao.spotcheck.SqlSpotCheckReportQuery.UPDATE_MISMATCH_DIFF;
+
+@Repository
+public class SqlSpotCheckMismatchDiffDao extends SqlBaseDao implements SpotCheckMismatchDiffDao
+{
+    /** {@inheritDoc} */
+    @Override
+    public SpotCheckMismatch getMismatch(int mismatchId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("mismatchId", mismatchId);
+        List<SpotCheckMismatch> results = jdbcNamed.query(SELECT_MISMATCH_DIFF.getSql(schema()), params, mismatchDiffMapper);
+        if (results.isEmpty()) {
+            throw new MismatchNotFoundEx(mismatchId);
+        }
+        return results.get(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<SpotCheckMismatch> getMismatchesWithoutDiff(int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+        return jdbcNamed.query(SELECT_MISMATCHES_WITHOUT_DIFF.getSql(schema()), params, mismatchDiffMapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void updateDiffs(List<SpotCheckMismatch> mismatches) {
+        MapSqlParameterSource[] params = mismatches.stream()
+                .map(mismatch -> new MapSqlParameterSource()
+                        .addValue("mismatchId", mismatch.getMismatchId())
+                        .addValue("diff", mismatch.getEncodedDiff()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbcNamed.batchUpdate(UPDATE_MISMATCH_DIFF.getSql(schema()), params);
+    }
+
+    /** --- Row Mappers --- */
+
+    private static final RowMapper<SpotCheckMismatch> mismatchDiffMapper = (rs, rowNum) -> {
+        SpotCheckMismatch mismatch = new SpotCheckMismatch(SpotCheckMismatchType.valueOf(rs.getString("type")),
+                rs.getString("observed_data"), rs.getString("reference_data"));
+        mismatch.setMismatchId(rs.getInt("mismatch_id"));
+        mismatch.setEncodedDiff(rs.getString("diff"));
+        return mismatch;
+    };
+}
@@ -4,14 +4,33 @@ import gov.nysenate.openleg.dao.base.*;
 
 public enum SqlSpotCheckReportQuery implements BasicSqlQuery
 {
-    /** Partial query used to get all the most recent mismatches as of :reportEndDateTime. */
+    /**
+     * Partial query used to get all the most recent mismatches as of :reportEndDateTime.
+     * The ignore status filter applies to the most recent mismatch of each key and type, as in GET_MISMATCHES,
+     * so a key whose most recent mismatch is ignored is not counted by an earlier mismatch that was not.
+     */
     ACTIVE_MISMATCHES(
-            "SELECT DISTINCT ON (key, type) * \n" +
-            "FROM ${schema}.spotcheck_mismatch \n" +
+            "SELECT * FROM \n" +
+            "  (SELECT DISTINCT ON (key, type) * \n" +
+            "  FROM ${schema}.spotcheck_mismatch \n" +
+            "  WHERE reference_active_date_time BETWEEN :sessionStartDateTime AND :reportEndDateTime \n" +
+            "    AND datasource = :datasource \n" +
+            "  ORDER BY key, type, reference_active_date_time desc \n" +
+            "  ) latest_mismatches \n" +
+            "WHERE ignore_status IN (:ignoreStatuses)"
+    ),
+
+    /**
+     * Partial query used to get all the most recent mismatches from the current mismatch table.
+     * Equivalent to ACTIVE_MISMATCHES when :reportEndDateTime is not in the past, the current mismatch table
+     * only holds the most recent mismatch of each key and type, so the ignore status filter applies to it.
+     */
+    CURRENT_ACTIVE_MISMATCHES(
+            "SELECT * \n" +
+            "FROM ${schema}.spotcheck_current_mismatch \n" +
             "WHERE reference_active_date_time BETWEEN :sessionStartDateTime AND :reportEndDateTime \n" +
             "  AND datasource = :datasource \n" +
-            "  AND ignore_status IN (:ignoreStatuses)\n" +
-            "ORDER BY key, type, reference_active_date_time desc"
+            "  AND ignore_status IN (:ignoreStatuses)"
     ),
 
     INSERT_REPORT(
@@ -22,7 +41,7 @@ public enum SqlSpotCheckReportQuery implements BasicSqlQuery
     GET_MISMATCH(
         "SELECT m.mismatch_id, m.report_id, m.key as key, m.type, m.state, \n" +
         "m.datasource, m.content_type, m.reference_type, m.reference_active_date_time, m.reference_data, m.observed_data, m.notes, \n" +
-        "m.observed_date_time, m.report_date_time, m.ignore_status, m.issue_ids \n" +
+        "m.diff, m.observed_date_time, m.report_date_time, m.ignore_status, m.issue_ids \n" +
         "  FROM ${schema}.spotcheck_mismatch m \n" +
         "  WHERE m.mismatch_id = :mismatchId \n"
     ),
@@ -31,7 +50,7 @@ public enum SqlSpotCheckReportQuery implements BasicSqlQuery
         "SELECT *, count(*) OVER() as total_rows FROM \n" +
         "  (SELECT DISTINCT ON (m.key, m.type) m.mismatch_id, m.report_id, m.key as key, m.type, m.state, \n" +
         "  m.datasource, m.content_type, m.reference_type, m.reference_active_date_time, m.reference_data, m.observed_data, m.notes, \n" +
-        "  m.observed_date_time, m.first_seen_date_time, m.report_date_time, m.ignore_status, m.issue_ids \n" +
+        "  m.diff, m.observed_date_time, m.first_seen_date_time, m.report_date_time, m.ignore_status, m.issue_ids \n" +
         "    FROM ${schema}.spotcheck_mismatch m \n" +
         "    WHERE m.first_seen_date_time BETWEEN :fromDate AND :toDate \n" +
         "      AND m.datasource = :datasource \n" +
@@ -42,49 +61,83 @@ public enum SqlSpotCheckReportQuery implements BasicSqlQuery
         "AND ignore_status IN (:ignoreStatuses) AND type IN (:mismatchTypes)"
     ),
 
+    /** Gets the most recent mismatches using the current mismatch table rather than the full mismatch history. */
+    GET_CURRENT_MISMATCHES(
+        "SELECT *, count(*) OVER() as total_rows FROM \n" +
+        "  (SELECT m.mismatch_id, m.report_id, m.key as key, m.type, m.state, \n" +
+        "  m.datasource, m.content_type, m.reference_type, m.reference_active_date_time, m.reference_data, m.observed_data, m.notes, \n" +
+        "  m.diff, m.observed_date_time, m.first_seen_date_time, m.report_date_time, m.ignore_status, m.issue_ids \n" +
+        "    FROM ${schema}.spotcheck_current_mismatch c \n" +
+        "    JOIN ${schema}.spotcheck_mismatch m ON m.mismatch_id = c.mismatch_id \n" +
+        "    WHERE c.first_seen_date_time BETWEEN :fromDate AND :toDate \n" +
+        "      AND c.datasource = :datasource \n" +
+        "      AND c.content_type IN (:contentTypes) \n" +
+        "      AND c.state = :state \n" +
+        "      AND c.ignore_status IN (:ignoreStatuses) AND c.type IN (:mismatchTypes) \n" +
+        "  ) current_mismatches"
+    ),
+
     INSERT_MISMATCH(
         "INSERT INTO ${schema}.spotcheck_mismatch\n" +
         "(key, type, report_id, datasource, content_type, reference_type,\n" +
-        "state, reference_data, observed_data, notes, issue_ids, ignore_status,\n" +
+        "state, reference_data, observed_data, notes, diff, issue_ids, ignore_status,\n" +
         "report_date_time, observed_date_time, reference_active_date_time, first_seen_date_time)\n" +
         "VALUES\n" +
         "(:key::hstore, :mismatchType, :reportId, :datasource, :contentType, :referenceType, \n" +
-        ":mismatchStatus, :referenceData, :observedData, :notes, :issueIds::text[], :ignoreLevel, \n" +
+        ":mismatchStatus, :referenceData, :observedData, :notes, :diff, :issueIds::text[], :ignoreLevel, \n" +
         ":reportDateTime, :observedDateTime, :referenceActiveDateTime, :firstSeenDateTime)\n"
     ),
 
-    MISMATCH_STATUS_SUMMARY(
-            "SELECT 'NEW' as status, count(*) as count \n" +
-            "FROM (" + ACTIVE_MISMATCHES.getSql() + ") active_mismatches \n" +
-            "WHERE first_seen_date_time BETWEEN :reportStartDateTime AND :reportEndDateTime \n" +
-            "AND state = 'OPEN'\n" +
-            "UNION ALL \n" +
-            "SELECT 'RESOLVED', count(*) \n" +
-            "FROM (" + ACTIVE_MISMATCHES.getSql() + ") active_mismatches \n" +
-            "WHERE observed_date_time BETWEEN :reportStartDateTime AND :reportEndDateTime \n" +
-            "AND state = 'CLOSED'\n" +
-            "UNION ALL \n" +
-            "SELECT 'EXISTING', count(*) \n" +
-            "FROM (" + ACTIVE_MISMATCHES.getSql() + ") active_mismatches \n" +
-            "WHERE first_seen_date_time BETWEEN :sessionStartDateTime AND :reportStartDateTime \n" +
-            "AND state = 'OPEN'\n"
-    ),
-
-    MISMATCH_TYPE_SUMMARY(
-            "SELECT type, count(*) as count \n" +
-            "FROM (" + ACTIVE_MISMATCHES.getSql() + ") active_mismatches \n" +
-            "WHERE first_seen_date_time BETWEEN :statusStartDateTime AND :statusEndDateTime \n" +
-            "AND state = :state \n" +
-            "GROUP BY type"
-    ),
-
-    MISMATCH_CONTENT_TYPE_SUMMARY(
-            "SELECT content_type, count(*) as count \n" +
-            "FROM (" + ACTIVE_MISMATCHES.getSql() + ") active_mismatches \n" +
-            "WHERE first_seen_date_time BETWEEN :statusStartDateTime AND :statusEndDateTime \n" +
-            "AND state = :state \n" +
-            "AND type IN (:mismatchTypes) \n" +
-            "GROUP BY content_type"
+    /**
+     * Inserts a mismatch and makes it the current mismatch for its key, type and datasource
+     * unless the current mismatch has a more recent reference date.
+     */
+    INSERT_CURRENT_MISMATCH(
+        "WITH mismatch AS (\n" + INSERT_MISMATCH.getSql() + "RETURNING *\n" +
+        ")\n" +
+        "INSERT INTO ${schema}.spotcheck_current_mismatch AS c\n" +
+        "(key, type, datasource, content_type, mismatch_id, state, ignore_status,\n" +
+        "reference_active_date_time, observed_date_time, first_seen_date_time)\n" +
+        "SELECT key, type, datasource, content_type, mismatch_id, state, ignore_status,\n" +
+        "reference_active_date_time, observed_date_time, first_seen_date_time\n" +
+        "FROM mismatch\n" +
+        "ON CONFLICT (key, type, datasource) DO UPDATE\n" +
+        "SET content_type = excluded.content_type, mismatch_id = excluded.mismatch_id, state = excluded.state,\n" +
+        "    ignore_status = excluded.ignore_status, reference_active_date_time = excluded.reference_active_date_time,\n" +
+        "    observed_date_time = excluded.observed_date_time, first_seen_date_time = excluded.first_seen_date_time\n" +
+        "WHERE c.reference_active_date_time <= excluded.reference_active_date_time\n"
+    ),
+
+    MISMATCH_STATUS_SUMMARY(statusSummarySql(ACTIVE_MISMATCHES.getSql())),
+
+    CURRENT_MISMATCH_STATUS_SUMMARY(statusSummarySql(CURRENT_ACTIVE_MISMATCHES.getSql())),
+
+    MISMATCH_TYPE_SUMMARY(typeSummarySql(ACTIVE_MISMATCHES.getSql())),
+
+    CURRENT_MISMATCH_TYPE_SUMMARY(typeSummarySql(CURRENT_ACTIVE_MISMATCHES.getSql())),
+
+    MISMATCH_CONTENT_TYPE_SUMMARY(contentTypeSummarySql(ACTIVE_MISMATCHES.getSql())),
+
+    CURRENT_MISMATCH_CONTENT_TYPE_SUMMARY(contentTypeSummarySql(CURRENT_ACTIVE_MISMATCHES.getSql())),
+
+    SELECT_MISMATCH_DIFF(
+        "SELECT mismatch_id, type, reference_data, observed_data, diff\n" +
+        "FROM ${schema}.spotcheck_mismatch\n" +
+        "WHERE mismatch_id = :mismatchId"
+    ),
+
+    SELECT_MISMATCHES_WITHOUT_DIFF(
+        "SELECT mismatch_id, type, reference_data, observed_data, diff\n" +
+        "FROM ${schema}.spotcheck_mismatch\n" +
+        "WHERE diff IS NULL\n" +
+        "ORDER BY mismatch_id DESC\n" +
+        "LIMIT :limit"
+    ),
+
+    UPDATE_MISMATCH_DIFF(
+        "UPDATE ${schema}.spotcheck_mismatch\n" +
+        "SET diff = :diff\n" +
+        "WHERE mismatch_id = :mismatchId\n"
     ),
 
     UPDATE_MISMATCH_IGNORE(
@@ -93,6 +146,12 @@ public enum SqlSpotCheckReportQuery implements BasicSqlQuery
         "WHERE mismatch_id = :mismatchId\n"
     ),
 
+    UPDATE_CURRENT_MISMATCH_IGNORE(
+        "UPDATE ${schema}.spotcheck_current_mismatch\n" +
+        "SET ignore_status = :ignoreStatus\n" +
+        "WHERE mismatch_id = :mismatchId\n"
+    ),
+
     UPDATE_ISSUE_ID(
         "UPDATE ${schema}.spotcheck_mismatch\n" +
         "SET issue_ids = string_to_array(:issueId::text, ',')\n" +
@@ -117,7 +176,6 @@ public enum SqlSpotCheckReportQuery implements BasicSqlQuery
                     "WHERE mismatch_id = :mismatchId\n"
     )
     ;
-    ;
 
     private String sql;
 
@@ -130,4 +188,40 @@ public enum SqlSpotCheckReportQuery implements BasicSqlQuery
         return this.sql;
     }
 
+    /** --- Summary Queries --- */
+
+    private static String statusSummarySql(String activeMismatches) {
+        return "SELECT 'NEW' as status, count(*) as count \n" +
+               "FROM (" + activeMismatches + ") active_mismatches \n" +
+               "WHERE first_seen_date_time BETWEEN :reportStartDateTime AND :reportEndDateTime \n" +
+               "AND state = 'OPEN'\n" +
+               "UNION ALL \n" +
+               "SELECT 'RESOLVED', count(*) \n" +
+               "FROM (" + activeMismatches + ") active_mismatches \n" +
+               "WHERE observed_date_time BETWEEN :reportStartDateTime AND :reportEndDateTime \n" +
+               "AND state = 'CLOSED'\n" +
+               "UNION ALL \n" +
+               "SELECT 'EXISTING', count(*) \n" +
+               "FROM (" + activeMismatches + ") active_mismatches \n" +
+               "WHERE first_seen_date_time BETWEEN :sessionStartDateTime AND :reportStartDateTime \n" +
+               "AND state = 'OPEN'\n";
+    }
+
+    private static String typeSummarySql(String activeMismatches) {
+        return "SELECT type, count(*) as count \n" +
+               "FROM (" + activeMismatches + ") active_mismatches \n" +
+               "WHERE first_seen_date_time BETWEEN :statusStartDateTime AND :statusEndDateTime \n" +
+               "AND state = :state \n" +
+               "GROUP BY type";
+    }
+
+    private static String contentTypeSummarySql(String activeMismatches) {
+        return "SELECT content_type, count(*) as count \n" +
+               "FROM (" + activeMismatches + ") active_mismatches \n" +
+               "WHERE first_seen_date_time BETWEEN :statusStartDateTime AND :statusEndDateTime \n" +
+               "AND state = :state \n" +
+               "AND type IN (:mismatchTypes) \n" +
+               "GROUP BY content_type";
+    }
+
 }
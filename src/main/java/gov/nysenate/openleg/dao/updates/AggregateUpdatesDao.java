@@ -5,11 +5,13 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -49,6 +51,31 @@ public interface AggregateUpdatesDao {
                                                                              SortOrder order, LimitOffset limitOffset,
                                                                              boolean detail);
 
+    /**
+     * Gets a page of update tokens, continuing after the given cursor. Unlike {@link #getUpdateTokens}, the total
+     *  number of updates is not counted and the cost of a page does not depend on how many pages precede it.
+     *
+     * @param after UpdateCursor - The position of the last update of the previous page, null for the first page
+     * @param limit int - The maximum number of updates to return, 0 for no limit
+     * @see #getUpdateTokens for other param details
+     * @return List<UpdateToken<Map<String, String>>>
+     */
+    public List<UpdateToken<Map<String, String>>> getUpdateTokensAfter(Range<LocalDateTime> dateTimeRange,
+                                                                       Set<UpdateContentType> types, UpdateType updateType,
+                                                                       SortOrder order, UpdateCursor after, int limit);
+
+    /**
+     * Gets a page of update digests, continuing after the given cursor.
+     *
+     * @see #getUpdateTokensAfter
+     * @see #getUpdateDigests
+     * @return List<UpdateDigest<Map<String, String>>>
+     */
+    public List<UpdateDigest<Map<String, String>>> getUpdateDigestsAfter(Range<LocalDateTime> dateTimeRange,
+                                                                         Set<UpdateContentType> types, UpdateType updateType,
+                                                                         SortOrder order, UpdateCursor after, int limit,
+                                                                         boolean detail);
+
     /**
      * An override of getUpdateDigests that does not return detailed digests
      * @see #getUpdateDigests
@@ -5,10 +5,12 @@ import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.updates.*;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -42,12 +44,39 @@ public class SqlAggregateUpdatesDao extends SqlBaseDao implements AggregateUpdat
         return rowHandler.getList();
     }
 
-    protected static final RowMapper<UpdateToken<Map<String, String>>> aggregateUpdateTokenRowMapper = (rs, num) ->
-            new UpdateToken<>(getHstoreMap(rs, "id"),
-                    UpdateContentType.getValue(rs.getString("content_type")),
-                    rs.getString("last_source_id"),
-                    getLocalDateTimeFromRs(rs, "last_published_date_time"),
-                    getLocalDateTimeFromRs(rs, "last_processed_date_time"));
+    /** {@inheritDoc} */
+    @Override
+    public List<UpdateToken<Map<String, String>>> getUpdateTokensAfter(Range<LocalDateTime> dateTimeRange,
+                                                                       Set<UpdateContentType> types, UpdateType updateType,
+                                                                       SortOrder order, UpdateCursor after, int limit) {
+        String query = buildCursorQuery(schema(), order, types, UpdateReturnType.TOKEN, updateType, after, limit);
+        MapSqlParameterSource params = getDateTimeRangeParams(dateTimeRange);
+        addUpdateCursorParams(params, after);
+        return jdbcNamed.query(query, params, aggregateUpdateTokenRowMapper);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<UpdateDigest<Map<String, String>>> getUpdateDigestsAfter(Range<LocalDateTime> dateTimeRange,
+                                                                         Set<UpdateContentType> types, UpdateType updateType,
+                                                                         SortOrder order, UpdateCursor after, int limit,
+                                                                         boolean detail) {
+        String query = buildCursorQuery(schema(), order, types,
+                detail ? UpdateReturnType.DETAIL_DIGEST : UpdateReturnType.DIGEST, updateType, after, limit);
+        MapSqlParameterSource params = getDateTimeRangeParams(dateTimeRange);
+        addUpdateCursorParams(params, after);
+        return jdbcNamed.query(query, params, aggregateUpdateDigestRowMapper);
+    }
+
+    protected static final RowMapper<UpdateToken<Map<String, String>>> aggregateUpdateTokenRowMapper = (rs, num) -> {
+        UpdateToken<Map<String, String>> token = new UpdateToken<>(getHstoreMap(rs, "id"),
+                UpdateContentType.getValue(rs.getString("content_type")),
+                rs.getString("last_source_id"),
+                getLocalDateTimeFromRs(rs, "last_published_date_time"),
+                getLocalDateTimeFromRs(rs, "last_processed_date_time"));
+        token.setChangeId(rs.getInt("change_id"));
+        return token;
+    };
 
 
     protected static final RowMapper<UpdateDigest<Map<String, String>>> aggregateUpdateDigestRowMapper = (rs, num) -> {
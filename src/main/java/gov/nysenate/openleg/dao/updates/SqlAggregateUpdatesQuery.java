@@ -3,6 +3,7 @@ package gov.nysenate.openleg.dao.updates;
 import com.google.common.collect.ImmutableMap;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateReturnType;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import org.apache.commons.lang3.text.StrSubstitutor;
@@ -18,6 +19,12 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
             "%s\n" +
         ") AS aggregate_query\n"
     ),
+    SELECT_AGGREGATE_UPDATES_AFTER(
+        "SELECT *\n" +
+        "FROM (\n" +
+            "%s\n" +
+        ") AS aggregate_query\n"
+    ),
 
     /** --- Standard Table Templates --- */
 
@@ -28,12 +35,12 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         "\tWHERE ${dateColumn} BETWEEN :startDateTime AND :endDateTime"
     ),
     STANDARD_DIGEST_COLUMNS(
-        "%s AS last_source_id, action_date_time AS last_processed_date_time, \n" +
+        "id AS change_id, %s AS last_source_id, action_date_time AS last_processed_date_time, \n" +
         "\t\tpublished_date_time AS last_published_date_time,\n" +
         "\t\ttable_name, action"
     ),
     STANDARD_TOKEN_COLUMNS(
-        "MAX(%s) AS last_source_id, MAX(action_date_time) AS last_processed_date_time, \n" +
+        "MAX(id) AS change_id, MAX(%s) AS last_source_id, MAX(action_date_time) AS last_processed_date_time, \n" +
         "\t\tMAX(published_date_time) AS last_published_date_time"
     ),
     SOBI_DIGEST_COLUMNS(
@@ -139,6 +146,54 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         return aggregateQuery;
     }
 
+    /**
+     * Generates a cursor paginated query string. Rather than counting and skipping preceding rows, only the rows
+     * that follow the cursor are selected. Each content type's subquery is ordered and limited on its own so that
+     * it can be answered by an index range scan on its change log, and the union of these is merged into a page.
+     * The query references the named parameters from {@link SqlBaseDao#addUpdateCursorParams}.
+     *
+     * @param schema String - The name of the master schema
+     * @param order SortOrder - Ordering for the query
+     * @param contentTypes Set<UpdateContentType> - The update content types to be retrieved
+     * @param returnType UpdateReturnType - The desired update return type
+     * @param updateType UpdateType - Determines which date column is used in the query
+     * @param after UpdateCursor - The position of the last row of the previous page, null for the first page
+     * @param limit int - The maximum number of rows to return, 0 for no limit
+     * @return String - An aggregate updates query string
+     */
+    public static String buildCursorQuery(String schema, SortOrder order, Set<UpdateContentType> contentTypes,
+                                          UpdateReturnType returnType, UpdateType updateType,
+                                          UpdateCursor after, int limit) {
+        String dateColumn = updateType == UpdateType.PROCESSED_DATE ? "action_date_time" : "published_date_time";
+        String dateAlias = updateType == UpdateType.PROCESSED_DATE ? "last_processed_date_time" : "last_published_date_time";
+        boolean token = returnType == UpdateReturnType.TOKEN;
+        LimitOffset limitOffset = new LimitOffset(limit);
+        StringBuilder subqueryBuilder = new StringBuilder();
+        for (UpdateContentType contentType : contentTypes) {
+            if (subqueryBuilder.length() > 0) {
+                subqueryBuilder.append("\nUNION ALL\n");
+            }
+            String cursorCondition = (token)
+                    ? "\n\tHAVING " + SqlQueryUtils.getUpdateCursorCondition(after, contentType,
+                                                        "MAX(" + dateColumn + ")", "MAX(id)", order)
+                    : "\n\tAND " + SqlQueryUtils.getUpdateCursorCondition(after, contentType, dateColumn, "id", order);
+            subqueryBuilder.append("(")
+                    .append(getSubquery(contentType, returnType, schema))
+                    .append(cursorCondition)
+                    .append(SqlQueryUtils.getOrderByClause(new OrderBy(dateAlias, order, "change_id", order)))
+                    .append(SqlQueryUtils.getLimitOffsetClause(limitOffset))
+                    .append(")");
+        }
+        OrderBy orderBy = new OrderBy(dateAlias, order, "content_type", order, "change_id", order);
+        String aggregateQuery = String.format(
+                SELECT_AGGREGATE_UPDATES_AFTER.getSql(schema, orderBy, limitOffset), subqueryBuilder.toString());
+        Map<String, String> replaceMap = ImmutableMap.<String, String>builder()
+                .putAll(getColumnReplaceMap(returnType))
+                .put("dateColumn", dateColumn)
+                .build();
+        return StrSubstitutor.replace(aggregateQuery, replaceMap);
+    }
+
     /**
      * Generates a subquery containing the union of updates queries for each represented content type
      */
@@ -148,36 +203,29 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         for (UpdateContentType contentType : contentTypes) {
             if (first) { first = false; }
             else { subqueryBuilder.append("\nUNION ALL\n"); }
-            switch (contentType) {
-                case AGENDA:
-                    if (returnType == UpdateReturnType.TOKEN) {
-                        subqueryBuilder.append(AGENDA_UPDATE_TOKEN_SUBQUERY.getSql(schema));
-                    } else {
-                        subqueryBuilder.append(AGENDA_UPDATE_SUBQUERY.getSql(schema));
-                    } break;
-                case BILL:
-                    if (returnType == UpdateReturnType.TOKEN) {
-                        subqueryBuilder.append(BILL_UPDATE_TOKEN_SUBQUERY.getSql(schema));
-                    } else {
-                        subqueryBuilder.append(BILL_UPDATE_SUBQUERY.getSql(schema));
-                    } break;
-                case CALENDAR:
-                    if (returnType == UpdateReturnType.TOKEN) {
-                        subqueryBuilder.append(CALENDAR_UPDATE_TOKEN_SUBQUERY.getSql(schema));
-                    } else {
-                        subqueryBuilder.append(CALENDAR_UPDATE_SUBQUERY.getSql(schema));
-                    } break;
-                case LAW:
-                    if (returnType == UpdateReturnType.TOKEN) {
-                        subqueryBuilder.append(LAW_UPDATE_TOKEN_SUBQUERY.getSql(schema));
-                    } else {
-                        subqueryBuilder.append(LAW_UPDATE_SUBQUERY.getSql(schema));
-                    } break;
-            }
+            subqueryBuilder.append(getSubquery(contentType, returnType, schema));
         }
         return subqueryBuilder.toString();
     }
 
+    /**
+     * Returns the updates query for a single content type
+     */
+    private static String getSubquery(UpdateContentType contentType, UpdateReturnType returnType, String schema) {
+        boolean token = returnType == UpdateReturnType.TOKEN;
+        switch (contentType) {
+            case AGENDA:
+                return (token ? AGENDA_UPDATE_TOKEN_SUBQUERY : AGENDA_UPDATE_SUBQUERY).getSql(schema);
+            case BILL:
+                return (token ? BILL_UPDATE_TOKEN_SUBQUERY : BILL_UPDATE_SUBQUERY).getSql(schema);
+            case CALENDAR:
+                return (token ? CALENDAR_UPDATE_TOKEN_SUBQUERY : CALENDAR_UPDATE_SUBQUERY).getSql(schema);
+            case LAW:
+                return (token ? LAW_UPDATE_TOKEN_SUBQUERY : LAW_UPDATE_SUBQUERY).getSql(schema);
+        }
+        throw new IllegalArgumentException("Unsupported update content type: " + contentType);
+    }
+
     /**
      * Returns a string subsitution map that can substitute in the correct columns based on the desired return type
      */
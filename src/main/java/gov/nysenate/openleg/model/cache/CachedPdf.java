@@ -0,0 +1,58 @@
+package gov.nysenate.openleg.model.cache;
+
+import java.nio.file.Path;
+
+/**
+ * A rendered PDF that is held either in memory or in a file on disk.
+ */
+public class CachedPdf
+{
+    private final String eTag;
+    private final long length;
+
+    /** The PDF content if it is held in memory, null otherwise. */
+    private final byte[] bytes;
+
+    /** The file containing the PDF if it is not held in memory, null otherwise. */
+    private final Path file;
+
+    /** --- Constructors --- */
+
+    public CachedPdf(String eTag, byte[] bytes) {
+        this.eTag = eTag;
+        this.length = bytes.length;
+        this.bytes = bytes;
+        this.file = null;
+    }
+
+    public CachedPdf(String eTag, Path file, long length) {
+        this.eTag = eTag;
+        this.length = length;
+        this.bytes = null;
+        this.file = file;
+    }
+
+    /** --- Functional Getters --- */
+
+    public boolean isInMemory() {
+        return bytes != null;
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+}
@@ -0,0 +1,43 @@
+package gov.nysenate.openleg.model.cache;
+
+/**
+ * A serialized api response, along with a gzip compressed copy if it is worth compressing.
+ */
+public class CachedResponse
+{
+    private final String eTag;
+
+    /** The UTF-8 encoded json response. */
+    private final byte[] bytes;
+
+    /** The gzip compressed response, null if the response is not compressed. */
+    private final byte[] gzipBytes;
+
+    /** --- Constructors --- */
+
+    public CachedResponse(String eTag, byte[] bytes, byte[] gzipBytes) {
+        this.eTag = eTag;
+        this.bytes = bytes;
+        this.gzipBytes = gzipBytes;
+    }
+
+    /** --- Functional Getters --- */
+
+    public boolean isCompressed() {
+        return gzipBytes != null;
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public byte[] getGzipBytes() {
+        return gzipBytes;
+    }
+}
@@ -11,6 +11,7 @@ public enum ContentCache
 {
     BILL,
     BILL_INFO,
+    BILL_TEXT,
     AGENDA,
     CALENDAR,
     LAW,
@@ -18,7 +19,9 @@ public enum ContentCache
     MEMBER,
     APIUSER,
     SHIRO,
-    NOTIFICATION_SUBSCRIPTION;
+    NOTIFICATION_SUBSCRIPTION,
+    PDF,
+    RESPONSE;
 
     private static final ImmutableSet<ContentCache> allContentCaches = ImmutableSet.copyOf(ContentCache.values());
 
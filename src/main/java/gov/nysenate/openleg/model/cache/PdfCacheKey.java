@@ -0,0 +1,115 @@
+package gov.nysenate.openleg.model.cache;
+
+import com.google.common.hash.Hashing;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.hearing.PublicHearingId;
+import gov.nysenate.openleg.model.transcript.TranscriptId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Identifies a rendered PDF by the content it was rendered from and the time that content was last modified.
+ * Any change to the content yields a different key, so a cached PDF never needs to be revalidated.
+ */
+public class PdfCacheKey
+{
+    /** Groups all PDFs rendered from the same piece of content, e.g. 'bills/2017/S1234'. */
+    private final String contentPath;
+
+    /** Distinguishes PDFs of the same content, e.g. the amendment version of a bill. */
+    private final String variant;
+
+    /** The last modified date time of the content, if known. */
+    private final LocalDateTime modifiedDateTime;
+
+    private final String eTag;
+
+    /** --- Constructors --- */
+
+    public PdfCacheKey(String contentPath, String variant, LocalDateTime modifiedDateTime) {
+        this.contentPath = contentPath;
+        this.variant = variant;
+        this.modifiedDateTime = modifiedDateTime;
+        this.eTag = Hashing.sha1()
+            .hashString(contentPath + "/" + variant + "@" + modifiedDateTime, StandardCharsets.UTF_8)
+            .toString();
+    }
+
+    public static PdfCacheKey of(BillId billId, LocalDateTime modifiedDateTime) {
+        return new PdfCacheKey(getContentPath(BaseBillId.of(billId)), billId.getVersion().name(), modifiedDateTime);
+    }
+
+    public static PdfCacheKey of(TranscriptId transcriptId, LocalDateTime modifiedDateTime) {
+        return new PdfCacheKey(getContentPath(transcriptId), "", modifiedDateTime);
+    }
+
+    public static PdfCacheKey of(PublicHearingId publicHearingId, LocalDateTime modifiedDateTime) {
+        return new PdfCacheKey(getContentPath(publicHearingId), "", modifiedDateTime);
+    }
+
+    /** --- Functional Getters --- */
+
+    public static String getContentPath(BaseBillId baseBillId) {
+        return "bills/" + baseBillId.getSession().getYear() + "/" + sanitize(baseBillId.getBasePrintNo());
+    }
+
+    public static String getContentPath(TranscriptId transcriptId) {
+        return "transcripts/" + sanitize(transcriptId.getFilename());
+    }
+
+    public static String getContentPath(PublicHearingId publicHearingId) {
+        return "hearings/" + sanitize(publicHearingId.getFileName());
+    }
+
+    /**
+     * @return String - A hash of this key that identifies the rendered PDF, used as the file name and ETag.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PdfCacheKey that = (PdfCacheKey) o;
+        return Objects.equals(contentPath, that.contentPath) &&
+               Objects.equals(variant, that.variant) &&
+               Objects.equals(modifiedDateTime, that.modifiedDateTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(contentPath, variant, modifiedDateTime);
+    }
+
+    @Override
+    public String toString() {
+        return contentPath + "/" + variant + "@" + modifiedDateTime;
+    }
+
+    /** --- Internal Methods --- */
+
+    private static String sanitize(String pathElement) {
+        return pathElement.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getContentPath() {
+        return contentPath;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public LocalDateTime getModifiedDateTime() {
+        return modifiedDateTime;
+    }
+}
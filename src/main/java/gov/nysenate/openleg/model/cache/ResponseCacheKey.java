@@ -0,0 +1,123 @@
+package gov.nysenate.openleg.model.cache;
+
+import com.google.common.hash.Hashing;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.calendar.CalendarId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Identifies a serialized api response by the content it was built from, the variant of the response
+ * (endpoint, view level and any options that change the output) and the version of the content.
+ * Any change to the content yields a different key, so a cached response never needs to be revalidated.
+ */
+public class ResponseCacheKey
+{
+    /** Groups all responses built from the same piece of content, e.g. 'bills/2017/S1234'. */
+    private final String contentPath;
+
+    /** Distinguishes responses built from the same content, e.g. 'bill?view=NO_FULLTEXT'. */
+    private final String variant;
+
+    /** The last modified date time of the content, if known. */
+    private final LocalDateTime modifiedDateTime;
+
+    private final String eTag;
+
+    /** --- Constructors --- */
+
+    public ResponseCacheKey(String contentPath, String variant, LocalDateTime modifiedDateTime) {
+        this.contentPath = contentPath;
+        this.variant = variant;
+        this.modifiedDateTime = modifiedDateTime;
+        this.eTag = Hashing.sha1()
+            .hashString(contentPath + "/" + variant + "@" + modifiedDateTime, StandardCharsets.UTF_8)
+            .toString();
+    }
+
+    public static ResponseCacheKey of(BaseBillId baseBillId, String variant, LocalDateTime modifiedDateTime) {
+        return new ResponseCacheKey(getContentPath(baseBillId), variant, modifiedDateTime);
+    }
+
+    public static ResponseCacheKey of(CalendarId calendarId, String variant, LocalDateTime modifiedDateTime) {
+        return new ResponseCacheKey(getContentPath(calendarId), variant, modifiedDateTime);
+    }
+
+    public static ResponseCacheKey ofLaw(String lawId, String variant, LocalDateTime modifiedDateTime) {
+        return new ResponseCacheKey(getLawContentPath(lawId), variant, modifiedDateTime);
+    }
+
+    /** --- Functional Getters --- */
+
+    public static String getContentPath(BaseBillId baseBillId) {
+        return "bills/" + baseBillId.getSession().getYear() + "/" + baseBillId.getBasePrintNo();
+    }
+
+    public static String getContentPath(CalendarId calendarId) {
+        return "calendars/" + calendarId.getYear() + "/" + calendarId.getCalNo();
+    }
+
+    public static String getLawContentPath(String lawId) {
+        return "laws/" + lawId.toUpperCase();
+    }
+
+    /**
+     * @return ResponseCacheKey - The key of the compact (non-indented) serialization of this response.
+     */
+    public ResponseCacheKey compact() {
+        return new ResponseCacheKey(contentPath, variant + "&compact", modifiedDateTime);
+    }
+
+    /**
+     * @return String - The key of the response within the cache, prefixed by the content path so that
+     *                  all responses for a piece of content can be evicted together.
+     */
+    public String getCacheKey() {
+        return contentPath + "/" + eTag;
+    }
+
+    /**
+     * @return String - A hash of this key that identifies the serialized response, used as the ETag.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ResponseCacheKey that = (ResponseCacheKey) o;
+        return Objects.equals(contentPath, that.contentPath) &&
+               Objects.equals(variant, that.variant) &&
+               Objects.equals(modifiedDateTime, that.modifiedDateTime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(contentPath, variant, modifiedDateTime);
+    }
+
+    @Override
+    public String toString() {
+        return contentPath + "/" + variant + "@" + modifiedDateTime;
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getContentPath() {
+        return contentPath;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public LocalDateTime getModifiedDateTime() {
+        return modifiedDateTime;
+    }
+}
@@ -5,6 +5,7 @@ import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.calendar.spotcheck.CalendarEntryListId;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,8 +18,10 @@ import java.util.stream.Collectors;
  * that have been reported for consideration, split into sections based on their type and
  * status information.
  */
-public class Calendar extends BaseLegislativeContent
+public class Calendar extends BaseLegislativeContent implements Serializable
 {
+    private static final long serialVersionUID = -2213012318727433561L;
+
     /** The calendar id */
     private CalendarId id;
 
@@ -7,6 +7,8 @@ import com.google.common.base.Objects;
  */
 public class Member extends Person {
 
+    private static final long serialVersionUID = -1364817279281657026L;
+
     /** Unique member id generated by the persistence layer. */
     protected int memberId;
 
@@ -1,6 +1,7 @@
 package gov.nysenate.openleg.model.law;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +55,17 @@ public class LawTree
         return Optional.ofNullable(this.nodeLookupMap.get(documentId));
     }
 
+    /**
+     * Returns a deep copy of this tree that can be modified without affecting this instance.
+     *
+     * @return LawTree
+     */
+    public LawTree copy() {
+        LawTree copy = new LawTree(this.lawVersionId, this.rootNode.copy(), this.lawInfo);
+        copy.setPublishedDates(new ArrayList<>(this.publishedDates));
+        return copy;
+    }
+
     /** --- Delegates --- */
 
     public String getLawId() {
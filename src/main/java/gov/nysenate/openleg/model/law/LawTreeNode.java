@@ -51,6 +51,18 @@ public class LawTreeNode implements Comparable<LawTreeNode>
         children.put(node.lawDocInfo.documentId, node);
     }
 
+    /**
+     * Returns a deep copy of this node and all of its descendants. The copied node has no parent.
+     *
+     * @return LawTreeNode
+     */
+    public LawTreeNode copy() {
+        LawTreeNode copy = new LawTreeNode(new LawDocInfo(this.lawDocInfo), this.sequenceNo);
+        copy.setRepealedDate(this.repealedDate);
+        this.children.values().forEach(child -> copy.addChild(child.copy()));
+        return copy;
+    }
+
     /**
      * Returns a range of the sections that span the range of this node. For example if this is an article node,
      * this method will return the start and end sections contained under this article.
@@ -0,0 +1,125 @@
+package gov.nysenate.openleg.model.process;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Collects the stage timings and queue depths of a single data process run. Stages may be recorded concurrently
+ * by the threads that process fragment partitions, so all of the counters are thread safe.
+ */
+public class DataProcessMetrics
+{
+    private final ConcurrentMap<String, StageCounter> stages = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, QueueCounter> queues = new ConcurrentHashMap<>();
+
+    /** --- Constructors --- */
+
+    public DataProcessMetrics() {}
+
+    /**
+     * Creates metrics that start off with previously recorded values, e.g. those of a run loaded from the backing store.
+     */
+    public DataProcessMetrics(List<DataProcessStageMetric> stageMetrics, List<DataProcessQueueMetric> queueMetrics) {
+        stageMetrics.forEach(metric -> {
+            StageCounter counter = getStageCounter(metric.getStage());
+            counter.count.add(metric.getCount());
+            counter.items.add(metric.getItems());
+            counter.totalNanos.add(metric.getTotalNanos());
+            counter.maxNanos.accumulate(metric.getMaxNanos());
+        });
+        queueMetrics.forEach(metric -> {
+            QueueCounter counter = getQueueCounter(metric.getQueue());
+            counter.samples.add(metric.getSamples());
+            counter.lastDepth.set(metric.getLastDepth());
+            counter.peakDepth.accumulate(metric.getPeakDepth());
+        });
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Records a single timing of a stage.
+     *
+     * @param stage String - The name of the stage
+     * @param elapsedNanos long - The time spent in the stage
+     * @param items long - The number of items that were handled
+     */
+    public void record(String stage, long elapsedNanos, long items) {
+        StageCounter counter = getStageCounter(stage);
+        counter.count.increment();
+        counter.items.add(items);
+        counter.totalNanos.add(elapsedNanos);
+        counter.maxNanos.accumulate(elapsedNanos);
+    }
+
+    /**
+     * Records a sample of the depth of a queue.
+     *
+     * @param queue String - The name of the queue
+     * @param depth long - The number of items waiting in the queue
+     */
+    public void recordQueueDepth(String queue, long depth) {
+        QueueCounter counter = getQueueCounter(queue);
+        counter.samples.increment();
+        counter.lastDepth.set(depth);
+        counter.peakDepth.accumulate(depth);
+    }
+
+    /**
+     * @return List<DataProcessStageMetric> - A snapshot of every recorded stage, ordered by stage name.
+     */
+    public List<DataProcessStageMetric> getStageMetrics() {
+        return stages.entrySet().stream()
+            .map(entry -> new DataProcessStageMetric(entry.getKey(), entry.getValue().count.sum(),
+                entry.getValue().items.sum(), entry.getValue().totalNanos.sum(), entry.getValue().maxNanos.get()))
+            .sorted(Comparator.comparing(DataProcessStageMetric::getStage))
+            .collect(toList());
+    }
+
+    /**
+     * @return List<DataProcessQueueMetric> - A snapshot of every sampled queue, ordered by queue name.
+     */
+    public List<DataProcessQueueMetric> getQueueMetrics() {
+        return queues.entrySet().stream()
+            .map(entry -> new DataProcessQueueMetric(entry.getKey(), entry.getValue().samples.sum(),
+                entry.getValue().lastDepth.get(), entry.getValue().peakDepth.get()))
+            .sorted(Comparator.comparing(DataProcessQueueMetric::getQueue))
+            .collect(toList());
+    }
+
+    public boolean isEmpty() {
+        return stages.isEmpty() && queues.isEmpty();
+    }
+
+    /** --- Internal --- */
+
+    private StageCounter getStageCounter(String stage) {
+        return stages.computeIfAbsent(stage, s -> new StageCounter());
+    }
+
+    private QueueCounter getQueueCounter(String queue) {
+        return queues.computeIfAbsent(queue, q -> new QueueCounter());
+    }
+
+    private static class StageCounter
+    {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder items = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    private static class QueueCounter
+    {
+        private final LongAdder samples = new LongAdder();
+        private final AtomicLong lastDepth = new AtomicLong();
+        private final LongAccumulator peakDepth = new LongAccumulator(Math::max, 0);
+    }
+}
@@ -0,0 +1,46 @@
+package gov.nysenate.openleg.model.process;
+
+/**
+ * The depth of a work queue, e.g. the search index queue, as sampled over the course of a data process run.
+ */
+public class DataProcessQueueMetric
+{
+    /** The name of the queue. */
+    private final String queue;
+
+    /** The number of times the queue depth was sampled. */
+    private final long samples;
+
+    /** The depth of the queue when it was last sampled. */
+    private final long lastDepth;
+
+    /** The largest sampled depth of the queue. */
+    private final long peakDepth;
+
+    /** --- Constructors --- */
+
+    public DataProcessQueueMetric(String queue, long samples, long lastDepth, long peakDepth) {
+        this.queue = queue;
+        this.samples = samples;
+        this.lastDepth = lastDepth;
+        this.peakDepth = peakDepth;
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getQueue() {
+        return queue;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public long getLastDepth() {
+        return lastDepth;
+    }
+
+    public long getPeakDepth() {
+        return peakDepth;
+    }
+}
@@ -26,6 +26,9 @@ public class DataProcessRun
     /** Preserve any exception messages here. */
     private StringBuilder exceptions = new StringBuilder();
 
+    /** Timings of each processing stage and the depths of the work queues during this run. */
+    private DataProcessMetrics metrics = new DataProcessMetrics();
+
     /** --- Constructors --- */
 
     public DataProcessRun() {}
@@ -89,4 +92,12 @@ public class DataProcessRun
     public StringBuilder getExceptions() {
         return exceptions;
     }
+
+    public DataProcessMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(DataProcessMetrics metrics) {
+        this.metrics = metrics;
+    }
 }
\ No newline at end of file
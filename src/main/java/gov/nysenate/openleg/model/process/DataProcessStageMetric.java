@@ -0,0 +1,66 @@
+package gov.nysenate.openleg.model.process;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timing of a single stage of a data process run, e.g. the collation of sobi files or the flushing of bills.
+ * A stage may be timed many times within a run, each time handling some number of items.
+ */
+public class DataProcessStageMetric
+{
+    /** The name of the stage, e.g. 'sobi.fragment.BILL' */
+    private final String stage;
+
+    /** The number of times the stage was timed. */
+    private final long count;
+
+    /** The total number of items (fragments, bills, etc.) that were handled by the stage. */
+    private final long items;
+
+    /** The total time spent in the stage. Stages that run on several threads at once sum the time of each thread. */
+    private final long totalNanos;
+
+    /** The longest single timing of the stage. */
+    private final long maxNanos;
+
+    /** --- Constructors --- */
+
+    public DataProcessStageMetric(String stage, long count, long items, long totalNanos, long maxNanos) {
+        this.stage = stage;
+        this.count = count;
+        this.items = items;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @return double - The number of items handled per second of time spent in the stage, 0 if nothing was timed.
+     */
+    public double getItemsPerSecond() {
+        return (totalNanos > 0) ? (double) items * TimeUnit.SECONDS.toNanos(1) / totalNanos : 0;
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getStage() {
+        return stage;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getItems() {
+        return items;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+}
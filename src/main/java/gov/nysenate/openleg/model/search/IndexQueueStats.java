@@ -0,0 +1,92 @@
+package gov.nysenate.openleg.model.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * A snapshot of the state of the search index write queue.
+ */
+public class IndexQueueStats
+{
+    /** The number of distinct documents that are waiting to be sent to the index. */
+    private final int pendingCount;
+
+    /** The maximum number of pending documents before writers are blocked. */
+    private final int capacity;
+
+    /** How long the oldest pending document has been waiting, in milliseconds. */
+    private final long lagMillis;
+
+    /** Running totals since startup. */
+    private final long queuedCount;
+    private final long coalescedCount;
+    private final long blockedCount;
+    private final long sentCount;
+    private final long failedCount;
+    private final long bulkRequestCount;
+
+    /** The time and duration of the last bulk request. */
+    private final LocalDateTime lastFlushDateTime;
+    private final long lastFlushMillis;
+
+    public IndexQueueStats(int pendingCount, int capacity, long lagMillis, long queuedCount, long coalescedCount,
+                           long blockedCount, long sentCount, long failedCount, long bulkRequestCount,
+                           LocalDateTime lastFlushDateTime, long lastFlushMillis) {
+        this.pendingCount = pendingCount;
+        this.capacity = capacity;
+        this.lagMillis = lagMillis;
+        this.queuedCount = queuedCount;
+        this.coalescedCount = coalescedCount;
+        this.blockedCount = blockedCount;
+        this.sentCount = sentCount;
+        this.failedCount = failedCount;
+        this.bulkRequestCount = bulkRequestCount;
+        this.lastFlushDateTime = lastFlushDateTime;
+        this.lastFlushMillis = lastFlushMillis;
+    }
+
+    /** --- Basic Getters --- */
+
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public long getQueuedCount() {
+        return queuedCount;
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    public long getBlockedCount() {
+        return blockedCount;
+    }
+
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public long getBulkRequestCount() {
+        return bulkRequestCount;
+    }
+
+    public LocalDateTime getLastFlushDateTime() {
+        return lastFlushDateTime;
+    }
+
+    public long getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+}
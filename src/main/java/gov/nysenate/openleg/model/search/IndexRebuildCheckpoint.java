@@ -0,0 +1,55 @@
+package gov.nysenate.openleg.model.search;
+
+import gov.nysenate.openleg.dao.base.SearchIndex;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tracks the progress of a search index rebuild so that it can be resumed if it is interrupted.
+ */
+public class IndexRebuildCheckpoint
+{
+    /** The search index that is being rebuilt. */
+    private SearchIndex searchIndex;
+
+    /** The name of the new versioned index that is being written to. */
+    private String targetIndex;
+
+    /** When the rebuild was first started. */
+    private LocalDateTime startedDateTime;
+
+    /** The units of work that have already been written to the target index. */
+    private Set<String> completedUnits = new HashSet<>();
+
+    /** --- Constructors --- */
+
+    public IndexRebuildCheckpoint(SearchIndex searchIndex, String targetIndex, LocalDateTime startedDateTime) {
+        this.searchIndex = searchIndex;
+        this.targetIndex = targetIndex;
+        this.startedDateTime = startedDateTime;
+    }
+
+    /** --- Basic Getters/Setters --- */
+
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    public String getTargetIndex() {
+        return targetIndex;
+    }
+
+    public LocalDateTime getStartedDateTime() {
+        return startedDateTime;
+    }
+
+    public Set<String> getCompletedUnits() {
+        return completedUnits;
+    }
+
+    public void setCompletedUnits(Set<String> completedUnits) {
+        this.completedUnits = completedUnits;
+    }
+}
@@ -1,5 +1,7 @@
 package gov.nysenate.openleg.model.sobi;
 
+import java.util.regex.Pattern;
+
 /**
  * SOBIFragments are constructed to delineate a SOBI file into components based on a
  * common entity type. The SobiFragmentType enum lists all the available entities
@@ -35,6 +37,10 @@ public enum SobiFragmentType
     String startPattern;
     String endPattern;
 
+    /** Compiled versions of the start/end patterns to avoid recompiling them for every line. */
+    Pattern startRegex;
+    Pattern endRegex;
+
     SobiFragmentType(boolean isXml) {
         this.isXml = isXml;
     }
@@ -43,6 +49,8 @@ public enum SobiFragmentType
         this.isXml = isXml;
         this.startPattern = startPattern;
         this.endPattern = endPattern;
+        this.startRegex = Pattern.compile(startPattern);
+        this.endRegex = Pattern.compile(endPattern);
     }
 
     public boolean isXml() {
@@ -56,4 +64,12 @@ public enum SobiFragmentType
     public String getEndPattern() {
         return endPattern;
     }
+
+    public Pattern getStartRegex() {
+        return startRegex;
+    }
+
+    public Pattern getEndRegex() {
+        return endRegex;
+    }
 }
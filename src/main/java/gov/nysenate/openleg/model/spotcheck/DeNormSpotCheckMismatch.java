@@ -38,6 +38,9 @@ public class DeNormSpotCheckMismatch<ContentKey> {
     /** Any details about this mismatch. (Optional) */
     private String notes;
 
+    /** The diff between the reference and observed data, encoded as a delta. */
+    private String encodedDiff;
+
     /** The datetime this observation was made. */
     private LocalDateTime observedDateTime;
 
@@ -179,6 +182,14 @@ public class DeNormSpotCheckMismatch<ContentKey> {
         return notes;
     }
 
+    public String getEncodedDiff() {
+        return encodedDiff;
+    }
+
+    public void setEncodedDiff(String encodedDiff) {
+        this.encodedDiff = encodedDiff;
+    }
+
     public LocalDateTime getObservedDateTime() {
         return observedDateTime;
     }
@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.model.spotcheck;
 
+import gov.nysenate.openleg.util.MismatchDiffUtils;
 import gov.nysenate.openleg.util.StringDiffer;
 
 import java.util.*;
@@ -28,6 +29,9 @@ public class SpotCheckMismatch
     /** Any details about this mismatch. (Optional) */
     protected String notes;
 
+    /** The diff between the reference and observed data, encoded as a delta. (Optional) */
+    protected String encodedDiff;
+
     /** The ignore status of this mismatch. (Optional) */
     protected SpotCheckMismatchIgnore ignoreStatus;
 
@@ -54,18 +58,14 @@ public class SpotCheckMismatch
     /** --- Methods --- */
 
     /**
-     * Computes the difference between the reference and target data.
+     * Gets the difference between the reference and target data.
+     * The stored encoded diff is used if it is set, otherwise the diff is computed.
      *
      * @param simple boolean - Set to true to make the results of the diff less granular.
      * @return LinkedList<StringDiffer.Diff>
      */
     public LinkedList<StringDiffer.Diff> getDiff(boolean simple) {
-        StringDiffer stringDiffer = new StringDiffer();
-        LinkedList<StringDiffer.Diff> diffs = stringDiffer.diff_main(referenceData, observedData);
-        if (simple) {
-            stringDiffer.diff_cleanupSemantic(diffs);
-        }
-        return diffs;
+        return MismatchDiffUtils.getDiff(referenceData, observedData, encodedDiff, simple);
     }
 
     /** --- Functional Getters / Setters --- */
@@ -135,6 +135,14 @@ public class SpotCheckMismatch
         return notes;
     }
 
+    public String getEncodedDiff() {
+        return encodedDiff;
+    }
+
+    public void setEncodedDiff(String encodedDiff) {
+        this.encodedDiff = encodedDiff;
+    }
+
     public SpotCheckMismatchIgnore getIgnoreStatus() {
         return ignoreStatus;
     }
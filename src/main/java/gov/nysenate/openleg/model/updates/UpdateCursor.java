@@ -0,0 +1,117 @@
+package gov.nysenate.openleg.model.updates;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Marks a position within an ordered stream of updates so that the next page can be retrieved by seeking past it,
+ * rather than by counting and skipping the preceding rows. Updates are ordered by their update date time,
+ * content type and change log id, which together identify a single position.
+ *
+ * Cursors are handed to api clients as an opaque string, see {@link #encode()} and {@link #decode(String)}.
+ */
+public class UpdateCursor
+{
+    private static final String SEPARATOR = "|";
+
+    /** The update (published or processed) date time of the last returned update. */
+    private final LocalDateTime dateTime;
+
+    /** The content type of the last returned update. */
+    private final UpdateContentType contentType;
+
+    /** The change log id of the last returned update. */
+    private final int changeId;
+
+    /** --- Constructors --- */
+
+    public UpdateCursor(LocalDateTime dateTime, UpdateContentType contentType, int changeId) {
+        this.dateTime = Objects.requireNonNull(dateTime);
+        this.contentType = Objects.requireNonNull(contentType);
+        this.changeId = changeId;
+    }
+
+    /**
+     * Creates a cursor that points to the given update.
+     *
+     * @param token UpdateToken - The last update of a page.
+     * @param updateType UpdateType - The update type used to order the updates.
+     * @return UpdateCursor
+     */
+    public static UpdateCursor of(UpdateToken<?> token, UpdateType updateType) {
+        LocalDateTime dateTime = (updateType == UpdateType.PUBLISHED_DATE)
+                ? token.getSourceDateTime() : token.getProcessedDateTime();
+        return new UpdateCursor(dateTime, token.getContentType(), token.getChangeId());
+    }
+
+    /**
+     * Parses a cursor string that was produced by {@link #encode()}.
+     *
+     * @param cursor String
+     * @return UpdateCursor
+     * @throws IllegalArgumentException if the string is not a valid cursor.
+     */
+    public static UpdateCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\" + SEPARATOR);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed update cursor: " + cursor);
+            }
+            return new UpdateCursor(LocalDateTime.parse(parts[0]), UpdateContentType.valueOf(parts[1]),
+                                    Integer.parseInt(parts[2]));
+        }
+        catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Malformed update cursor: " + cursor, ex);
+        }
+    }
+
+    /** --- Functional Getters --- */
+
+    /**
+     * @return String - An opaque, url safe representation of this cursor.
+     */
+    public String encode() {
+        String raw = dateTime + SEPARATOR + contentType.name() + SEPARATOR + changeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UpdateCursor that = (UpdateCursor) o;
+        return changeId == that.changeId &&
+               Objects.equals(dateTime, that.dateTime) &&
+               contentType == that.contentType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dateTime, contentType, changeId);
+    }
+
+    @Override
+    public String toString() {
+        return dateTime + SEPARATOR + contentType + SEPARATOR + changeId;
+    }
+
+    /** --- Basic Getters --- */
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public UpdateContentType getContentType() {
+        return contentType;
+    }
+
+    public int getChangeId() {
+        return changeId;
+    }
+}
@@ -13,6 +13,7 @@ public class UpdateDigest<ContentId> extends UpdateToken<ContentId> {
 
     public UpdateDigest(UpdateToken<ContentId> token) {
         super(token.id, token.contentType, token.sourceId, token.sourceDateTime, token.processedDateTime);
+        this.changeId = token.changeId;
     }
 
     public UpdateDigest(ContentId id, UpdateContentType contentType, String sourceId, LocalDateTime sourceDateTime, LocalDateTime processedDateTime) {
@@ -14,6 +14,9 @@ public class UpdateToken<ContentId>
     protected LocalDateTime processedDateTime;
     protected UpdateContentType contentType;
 
+    /** The change log id of the (latest) change this token represents, used to paginate by cursor. */
+    protected Integer changeId;
+
     /** --- Constructors --- */
 
     public UpdateToken(ContentId id, UpdateContentType contentType, String sourceId,
@@ -66,4 +69,12 @@ public class UpdateToken<ContentId>
     public void setProcessedDateTime(LocalDateTime processedDateTime) {
         this.processedDateTime = processedDateTime;
     }
+
+    public Integer getChangeId() {
+        return changeId;
+    }
+
+    public void setChangeId(Integer changeId) {
+        this.changeId = changeId;
+    }
 }
@@ -11,6 +11,7 @@ import gov.nysenate.openleg.processor.law.LawProcessService;
 import gov.nysenate.openleg.processor.sobi.SobiProcessService;
 import gov.nysenate.openleg.processor.transcript.TranscriptProcessService;
 import gov.nysenate.openleg.service.process.DataProcessLogService;
+import gov.nysenate.openleg.service.process.DataProcessMetricsService;
 import gov.nysenate.openleg.service.spotcheck.agenda.AgendaSpotcheckProcessService;
 import gov.nysenate.openleg.service.spotcheck.base.BaseSpotcheckProcessService;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -39,6 +40,7 @@ public class DataProcessor
     @Autowired private Environment env;
     @Autowired private EventBus eventBus;
     @Autowired private DataProcessLogService processLogService;
+    @Autowired private DataProcessMetricsService processMetricsService;
 
     @Autowired private SobiProcessService sobiProcessService;
     @Autowired private TranscriptProcessService transcriptProcessService;
@@ -74,6 +76,7 @@ public class DataProcessor
         if (env.isProcessingEnabled()) {
             logger.info("Starting data processor...");
             currentRun = processLogService.startNewRun(LocalDateTime.now(), invoker);
+            processMetricsService.startRun(currentRun);
             try {
                 collate();
                 ingest();
@@ -82,6 +85,7 @@ public class DataProcessor
                 eventBus.post(new DataProcessErrorEvent("Unexpected Processing Error", ex, currentRun.getProcessId()));
                 logger.error("Unexpected Processing Error:\n{}", ExceptionUtils.getStackTrace(ex));
             }
+            processMetricsService.finishRun(currentRun);
             processLogService.finishRun(currentRun);
             DataProcessRun finishedRun = currentRun;
             currentRun = null;
@@ -138,7 +142,10 @@ public class DataProcessor
         Map<String, Integer> collatedCounts = new LinkedHashMap<>();
         for (ProcessService processor : processServices) {
             if (env.isProcessingEnabled()) {
+                long start = System.nanoTime();
                 int collatedCount = processor.collate();
+                processMetricsService.record("collate." + processor.getCollateType(), System.nanoTime() - start, collatedCount);
+                processMetricsService.sampleQueues();
                 if (collatedCount > 0) {
                     collatedCounts.put(processor.getCollateType(), collatedCount);
                 }
@@ -159,7 +166,10 @@ public class DataProcessor
         Map<String, Integer> ingestedCounts = new LinkedHashMap<>();
         for (ProcessService processor : processServices) {
             if (env.isProcessingEnabled()) {
+                long start = System.nanoTime();
                 int ingestedCount = processor.ingest();
+                processMetricsService.record("ingest." + processor.getIngestType(), System.nanoTime() - start, ingestedCount);
+                processMetricsService.sampleQueues();
                 if (ingestedCount > 0) {
                     ingestedCounts.put(processor.getIngestType(), ingestedCount);
                 }
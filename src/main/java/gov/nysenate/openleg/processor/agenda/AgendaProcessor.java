@@ -124,7 +124,7 @@ public class AgendaProcessor extends AbstractDataProcessor implements SobiProces
         // Notify the data processor that an agenda fragment has finished processing
         postDataUnitEvent(unit);
 
-        if (!env.isSobiBatchEnabled() || agendaIngestCache.exceedsCapacity()) {
+        if (!env.isSobiBatchEnabled() || getAgendaIngestCache().exceedsCapacity()) {
             flushAllUpdates(); // Flush all the things
         }
     }
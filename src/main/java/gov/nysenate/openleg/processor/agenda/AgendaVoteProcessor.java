@@ -158,7 +158,7 @@ public class AgendaVoteProcessor extends AbstractDataProcessor implements SobiPr
         // Notify the data processor that an agenda vote fragment has finished processing
         postDataUnitEvent(unit);
 
-        if (!env.isSobiBatchEnabled() || agendaIngestCache.exceedsCapacity()) {
+        if (!env.isSobiBatchEnabled() || getAgendaIngestCache().exceedsCapacity()) {
             flushAllUpdates(); // Flush all the things
         }
     }
@@ -30,11 +30,11 @@ import gov.nysenate.openleg.service.calendar.data.CalendarNotFoundEx;
 import gov.nysenate.openleg.service.calendar.event.BulkCalendarUpdateEvent;
 import gov.nysenate.openleg.service.entity.committee.data.CommitteeDataService;
 import gov.nysenate.openleg.service.entity.member.data.MemberService;
+import gov.nysenate.openleg.service.process.DataProcessMetricsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
-import javax.annotation.Resource;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -64,11 +64,13 @@ public abstract class AbstractDataProcessor
 
     @Autowired protected EventBus eventBus;
 
+    /** --- Metrics --- */
+
+    @Autowired protected DataProcessMetricsService processMetricsService;
+
     /** --- Ingest Caches --- */
 
-    @Resource(name = "agendaIngestCache") protected IngestCache<AgendaId, Agenda, SobiFragment> agendaIngestCache;
-    @Resource(name = "billIngestCache") protected IngestCache<BaseBillId, Bill, SobiFragment> billIngestCache;
-    @Resource(name = "calendarIngestCache") protected IngestCache<CalendarId, Calendar, SobiFragment> calendarIngestCache;
+    @Autowired protected IngestCacheManager ingestCacheManager;
 
     public abstract void init();
 
@@ -78,6 +80,22 @@ public abstract class AbstractDataProcessor
 
     /** --- Common Methods --- */
 
+    /**
+     * The ingest caches are resolved through the {@link IngestCacheManager} so that each ingest partition
+     * operates on its own caches when fragments are processed in parallel.
+     */
+    protected IngestCache<BaseBillId, Bill, SobiFragment> getBillIngestCache() {
+        return ingestCacheManager.getCurrentCaches().getBillIngestCache();
+    }
+
+    protected IngestCache<AgendaId, Agenda, SobiFragment> getAgendaIngestCache() {
+        return ingestCacheManager.getCurrentCaches().getAgendaIngestCache();
+    }
+
+    protected IngestCache<CalendarId, Calendar, SobiFragment> getCalendarIngestCache() {
+        return ingestCacheManager.getCurrentCaches().getCalendarIngestCache();
+    }
+
     protected DataProcessUnit createProcessUnit(SobiFragment sobiFragment) {
         return new DataProcessUnit("SOBI-" + sobiFragment.getType().name(), sobiFragment.getFragmentId(),
             LocalDateTime.now(), DataProcessAction.INGEST);
@@ -107,6 +125,7 @@ public abstract class AbstractDataProcessor
     protected  final Bill getOrCreateBaseBill(LocalDateTime publishDate, BillId billId, SobiFragment fragment) {
         boolean isBaseVersion = BillId.isBaseVersion(billId.getVersion());
         BaseBillId baseBillId = BillId.getBaseId(billId);
+        IngestCache<BaseBillId, Bill, SobiFragment> billIngestCache = getBillIngestCache();
         Bill baseBill;
         // Check the cache, or hit the data service otherwise
         if (billIngestCache.has(baseBillId)) {
@@ -164,10 +183,18 @@ public abstract class AbstractDataProcessor
      * Flushes all bills stored in the cache to the persistence layer and clears the cache.
      */
     protected void flushBillUpdates() {
+        IngestCache<BaseBillId, Bill, SobiFragment> billIngestCache = getBillIngestCache();
         if (billIngestCache.getSize() > 0) {
             logger.info("Flushing {} bills", billIngestCache.getSize());
-            billIngestCache.getCurrentCache().forEach(entry ->
-                billDataService.saveBill(entry.getLeft(), entry.getRight(), false));
+            processMetricsService.time("flush.bills", billIngestCache.getSize(), () -> {
+                if (env.isBillBatchPersistEnabled()) {
+                    billDataService.saveBills(billIngestCache.getCurrentCache(), false);
+                }
+                else {
+                    billIngestCache.getCurrentCache().forEach(entry ->
+                        billDataService.saveBill(entry.getLeft(), entry.getRight(), false));
+                }
+            });
             logger.debug("Broadcasting bill updates...");
             List<Bill> bills =
                 billIngestCache.getCurrentCache().stream().map(entry -> entry.getLeft()).collect(Collectors.toList());
@@ -195,13 +222,14 @@ public abstract class AbstractDataProcessor
      * @return Agenda
      */
     protected final Agenda getOrCreateAgenda(AgendaId agendaId, SobiFragment fragment) {
+        IngestCache<AgendaId, Agenda, SobiFragment> agendaIngestCache = getAgendaIngestCache();
         Agenda agenda;
         try {
             if (agendaIngestCache.has(agendaId)) {
                 return agendaIngestCache.get(agendaId).getLeft();
             }
             else {
-                agenda = agendaDataService.getAgenda(agendaId);
+                agenda = agendaDataService.getAgendaForUpdate(agendaId);
             }
         }
         catch (AgendaNotFoundEx ex) {
@@ -217,10 +245,12 @@ public abstract class AbstractDataProcessor
      * Flushes all agendas stored in the cache to the persistence layer and clears the cache.
      */
     protected void flushAgendaUpdates() {
+        IngestCache<AgendaId, Agenda, SobiFragment> agendaIngestCache = getAgendaIngestCache();
         if (agendaIngestCache.getSize() > 0) {
             logger.info("Flushing {} agendas", agendaIngestCache.getSize());
-            agendaIngestCache.getCurrentCache().forEach(
-                entry -> agendaDataService.saveAgenda(entry.getLeft(), entry.getRight(), false));
+            processMetricsService.time("flush.agendas", agendaIngestCache.getSize(), () ->
+                agendaIngestCache.getCurrentCache().forEach(
+                    entry -> agendaDataService.saveAgenda(entry.getLeft(), entry.getRight(), false)));
             List<Agenda> agendas =
                 agendaIngestCache.getCurrentCache().stream().map(entry -> entry.getLeft()).collect(Collectors.toList());
             eventBus.post(new BulkAgendaUpdateEvent(agendas, LocalDateTime.now()));
@@ -238,13 +268,14 @@ public abstract class AbstractDataProcessor
      * @return Calendar
      */
     protected final Calendar getOrCreateCalendar(CalendarId calendarId, SobiFragment fragment) {
+        IngestCache<CalendarId, Calendar, SobiFragment> calendarIngestCache = getCalendarIngestCache();
         Calendar calendar;
         try {
             if (calendarIngestCache.has(calendarId)) {
                 return calendarIngestCache.get(calendarId).getLeft();
             }
             else {
-                calendar = calendarDataService.getCalendar(calendarId);
+                calendar = calendarDataService.getCalendarForUpdate(calendarId);
             }
         }
         catch (CalendarNotFoundEx ex) {
@@ -260,10 +291,12 @@ public abstract class AbstractDataProcessor
      * Flushes all calendars stored in the cache to the persistence layer and clears the cache.
      */
     protected void flushCalendarUpdates() {
+        IngestCache<CalendarId, Calendar, SobiFragment> calendarIngestCache = getCalendarIngestCache();
         if (calendarIngestCache.getSize() > 0) {
             logger.info("Flushing {} calendars", calendarIngestCache.getSize());
-            calendarIngestCache.getCurrentCache().forEach(
-                entry -> calendarDataService.saveCalendar(entry.getLeft(), entry.getRight(), false));
+            processMetricsService.time("flush.calendars", calendarIngestCache.getSize(), () ->
+                calendarIngestCache.getCurrentCache().forEach(
+                    entry -> calendarDataService.saveCalendar(entry.getLeft(), entry.getRight(), false)));
             List<Calendar> calendars =
                 calendarIngestCache.getCurrentCache().stream().map(entry -> entry.getLeft()).collect(Collectors.toList());
             eventBus.post(new BulkCalendarUpdateEvent(calendars, LocalDateTime.now()));
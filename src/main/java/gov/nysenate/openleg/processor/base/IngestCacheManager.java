@@ -0,0 +1,70 @@
+package gov.nysenate.openleg.processor.base;
+
+import gov.nysenate.openleg.config.Environment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * Supplies the data processors with the ingest caches they should use on the current thread.
+ *
+ * By default every processor shares a single {@link IngestCacheSet}, which is what sequential processing relies on.
+ * When fragments are processed in parallel, each worker binds the cache set of the partition it is working on
+ * via {@link #bindCaches(IngestCacheSet)} so that the partitions stay isolated from one another.
+ */
+@Component
+public class IngestCacheManager
+{
+    private static final int AGENDA_CACHE_CAPACITY = 100;
+    private static final int CALENDAR_CACHE_CAPACITY = 100;
+
+    @Autowired private Environment env;
+
+    /** The cache set used when no partition caches are bound to the current thread. */
+    private IngestCacheSet defaultCaches;
+
+    /** Cache sets bound to worker threads during partitioned processing. */
+    private final ThreadLocal<IngestCacheSet> boundCaches = new ThreadLocal<>();
+
+    @PostConstruct
+    public void init() {
+        defaultCaches = newCacheSet();
+    }
+
+    /**
+     * Creates a new, empty set of ingest caches sized according to the environment settings.
+     *
+     * @return IngestCacheSet
+     */
+    public IngestCacheSet newCacheSet() {
+        return new IngestCacheSet(env.getSobiBatchSize(), AGENDA_CACHE_CAPACITY, CALENDAR_CACHE_CAPACITY);
+    }
+
+    /**
+     * Returns the cache set bound to the current thread, or the shared default cache set if there is none.
+     *
+     * @return IngestCacheSet
+     */
+    public IngestCacheSet getCurrentCaches() {
+        IngestCacheSet caches = boundCaches.get();
+        return (caches != null) ? caches : defaultCaches;
+    }
+
+    /**
+     * Binds the given cache set to the current thread. Must be followed by a call to {@link #unbindCaches()}
+     * once the thread is done processing.
+     *
+     * @param caches IngestCacheSet
+     */
+    public void bindCaches(IngestCacheSet caches) {
+        boundCaches.set(caches);
+    }
+
+    /**
+     * Removes any cache set bound to the current thread.
+     */
+    public void unbindCaches() {
+        boundCaches.remove();
+    }
+}
@@ -0,0 +1,45 @@
+package gov.nysenate.openleg.processor.base;
+
+import gov.nysenate.openleg.model.agenda.Agenda;
+import gov.nysenate.openleg.model.agenda.AgendaId;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.calendar.Calendar;
+import gov.nysenate.openleg.model.calendar.CalendarId;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+
+/**
+ * Groups together the bill, agenda, and calendar ingest caches that the data processors write to
+ * while processing sobi fragments. A separate set is created for each ingest partition so that
+ * partitions never share cached entities.
+ *
+ * @see IngestCacheManager
+ */
+public class IngestCacheSet
+{
+    private final IngestCache<BaseBillId, Bill, SobiFragment> billIngestCache;
+    private final IngestCache<AgendaId, Agenda, SobiFragment> agendaIngestCache;
+    private final IngestCache<CalendarId, Calendar, SobiFragment> calendarIngestCache;
+
+    /** --- Constructors --- */
+
+    public IngestCacheSet(int billCapacity, int agendaCapacity, int calendarCapacity) {
+        this.billIngestCache = new IngestCache<>(billCapacity);
+        this.agendaIngestCache = new IngestCache<>(agendaCapacity);
+        this.calendarIngestCache = new IngestCache<>(calendarCapacity);
+    }
+
+    /** --- Basic Getters --- */
+
+    public IngestCache<BaseBillId, Bill, SobiFragment> getBillIngestCache() {
+        return billIngestCache;
+    }
+
+    public IngestCache<AgendaId, Agenda, SobiFragment> getAgendaIngestCache() {
+        return agendaIngestCache;
+    }
+
+    public IngestCache<CalendarId, Calendar, SobiFragment> getCalendarIngestCache() {
+        return calendarIngestCache;
+    }
+}
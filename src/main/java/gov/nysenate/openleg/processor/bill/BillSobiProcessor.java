@@ -54,7 +54,7 @@ public class BillSobiProcessor extends AbstractDataProcessor implements SobiProc
     protected static final Pattern votePattern = Pattern.compile("(Aye|Nay|Abs|Exc|Abd) (.{1,16})");
 
     /** The expected format for SameAs [5] block data. Same as Uni A 372, S 210 */
-    protected static final Pattern sameAsPattern =
+    public static final Pattern sameAsPattern =
         Pattern.compile("Same as( Uni\\.)? (([A-Z] ?[0-9]{1,5}-?[A-Z]?(, *)?)+)");
 
     /** The expected format for Bill Info [1] block data. */
@@ -136,10 +136,10 @@ public class BillSobiProcessor extends AbstractDataProcessor implements SobiProc
                 logger.error("Bill Processing Parse Error!", ex);
                 unit.addException("Bill Processing Parse Error",  ex);
             }
-            billIngestCache.set(baseBill.getBaseBillId(), baseBill, sobiFragment);
+            getBillIngestCache().set(baseBill.getBaseBillId(), baseBill, sobiFragment);
 
-            if (billIngestCache.exceedsCapacity()) {
-                logger.info("Flushing bill ingest cache with {} bills!", billIngestCache.getSize());
+            if (getBillIngestCache().exceedsCapacity()) {
+                logger.info("Flushing bill ingest cache with {} bills!", getBillIngestCache().getSize());
                 flushBillUpdates();
             }
         }
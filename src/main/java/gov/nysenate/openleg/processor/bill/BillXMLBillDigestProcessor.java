@@ -59,10 +59,9 @@ public class BillXMLBillDigestProcessor extends AbstractDataProcessor implements
                 String oldamd = xmlHelper.getString("digestsummary/oldbill/oldamd["+i+"]",doc).replaceAll("\n","");;
                 baseBill.addDirectPreviousVersion(new BillId(oldhse+oldno, SessionYear.of(sess),Version.of(oldamd)));
             }
-            billIngestCache.set(baseBill.getBaseBillId(), baseBill, sobiFragment);
-            System.out.println("abc");
+            getBillIngestCache().set(baseBill.getBaseBillId(), baseBill, sobiFragment);
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to process bill digest fragment {}", sobiFragment.getFragmentId(), e);
         }
     }
 
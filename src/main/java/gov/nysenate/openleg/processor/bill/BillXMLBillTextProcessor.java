@@ -61,10 +61,9 @@ public class BillXMLBillTextProcessor extends AbstractDataProcessor implements S
             final Version version = Version.of(senamd.isEmpty() ? asmamd:senamd);
             final Bill baseBill = getOrCreateBaseBill(sobiFragment.getPublishedDateTime(), new BillId(senhse.isEmpty() ? asmhse+asmno : senhse+senno, new SessionYear(sessionYear),version) ,sobiFragment);
             baseBill.getAmendment(version).setFullText(billText);
-            billIngestCache.set(baseBill.getBaseBillId(), baseBill, sobiFragment);
-            System.out.println("abc");
+            getBillIngestCache().set(baseBill.getBaseBillId(), baseBill, sobiFragment);
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to process bill text fragment {}", sobiFragment.getFragmentId(), e);
         }
     }
 
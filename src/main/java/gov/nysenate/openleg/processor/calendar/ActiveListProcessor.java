@@ -101,7 +101,7 @@ public class ActiveListProcessor extends AbstractDataProcessor implements SobiPr
         // Notify the data processor that a calendar active list fragment has finished processing
         postDataUnitEvent(unit);
 
-        if (!env.isSobiBatchEnabled() || calendarIngestCache.exceedsCapacity()) {
+        if (!env.isSobiBatchEnabled() || getCalendarIngestCache().exceedsCapacity()) {
             flushCalendarUpdates();
         }
     }
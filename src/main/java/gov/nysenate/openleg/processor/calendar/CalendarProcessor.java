@@ -110,7 +110,7 @@ public class CalendarProcessor extends AbstractDataProcessor implements SobiProc
         // Notify the data processor that a calendar fragment has finished processing
         postDataUnitEvent(unit);
 
-        if (!env.isSobiBatchEnabled() || calendarIngestCache.exceedsCapacity()) {
+        if (!env.isSobiBatchEnabled() || getCalendarIngestCache().exceedsCapacity()) {
             flushCalendarUpdates();
         }
     }
@@ -0,0 +1,139 @@
+package gov.nysenate.openleg.processor.law;
+
+import gov.nysenate.openleg.model.law.LawFile;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the LawBlocks from a LawFile one at a time. Each block represents all the meta data and text for each
+ * document section in the law file (delineated by the ..SO DOC header). Only the block that is currently being
+ * read is held in memory, so law files of any size can be read with a fixed amount of heap.
+ */
+public class LawBlockReader implements Iterator<LawBlock>, Closeable
+{
+    /** The law files are most likely sent in CP850 encoding. */
+    protected static Charset LAWFILE_CHARSET = Charset.forName("CP850");
+
+    /** Pattern for law doc headers.  */
+    protected static Pattern lawHeader =
+        Pattern.compile("\\.\\.SO DOC ((\\w{3})(.{13}))(.{8}) (.{15}) (?:LAWS\\(((?:UN)?CONSOLIDATED)\\))");
+
+    private final LawFile lawFile;
+    private final BufferedReader reader;
+
+    /** The header line of the next block, which has already been read. */
+    private String nextHeader;
+
+    /** The next block to return, null if it has not been read yet. */
+    private LawBlock nextBlock;
+
+    /** --- Constructors --- */
+
+    public LawBlockReader(LawFile lawFile) throws IOException {
+        this.lawFile = lawFile;
+        this.reader = Files.newBufferedReader(lawFile.getFile().toPath(), LAWFILE_CHARSET);
+    }
+
+    /** --- Iterator implementation --- */
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException - If there was an error reading the law file.
+     * @throws LawParseException - If there is text before the first doc header.
+     */
+    @Override
+    public boolean hasNext() {
+        try {
+            while (nextBlock == null) {
+                LawBlock block = readBlock();
+                if (block == null) {
+                    return false;
+                }
+                if (!LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
+                    nextBlock = block;
+                }
+            }
+            return true;
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public LawBlock next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        LawBlock block = nextBlock;
+        nextBlock = null;
+        return block;
+    }
+
+    /** --- Closeable implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Reads the next block from the file, including the blocks that should be ignored.
+     *
+     * @return LawBlock, null if the end of the file has been reached.
+     * @throws IOException
+     */
+    private LawBlock readBlock() throws IOException {
+        String line;
+        while (nextHeader == null && (line = reader.readLine()) != null) {
+            if (lawHeader.matcher(line).matches()) {
+                nextHeader = line;
+            }
+            else {
+                throw new LawParseException("No doc header received prior to line: " + line);
+            }
+        }
+        if (nextHeader == null) {
+            return null;
+        }
+        LawBlock block = createBlock(nextHeader);
+        nextHeader = null;
+        while ((line = reader.readLine()) != null) {
+            if (lawHeader.matcher(line).matches()) {
+                nextHeader = line;
+                break;
+            }
+            block.getText().append(line).append("\\n");
+        }
+        return block;
+    }
+
+    private LawBlock createBlock(String header) {
+        Matcher headerMatcher = lawHeader.matcher(header);
+        headerMatcher.matches();
+        LawBlock block = new LawBlock();
+        block.setHeader(header);
+        block.setLawId(headerMatcher.group(2).trim());
+        block.setPublishedDate(lawFile.getPublishedDate());
+        block.setDocumentId(
+            LawDocIdFixer.applyReplacement(headerMatcher.group(1).trim(), lawFile.getPublishedDate()));
+        block.setLocationId(block.getDocumentId().substring(3));
+        block.setMethod(headerMatcher.group(4).trim());
+        block.setConsolidated(headerMatcher.group(6).equals("CONSOLIDATED"));
+        return block;
+    }
+}
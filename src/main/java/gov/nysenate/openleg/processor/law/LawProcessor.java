@@ -1,6 +1,8 @@
 package gov.nysenate.openleg.processor.law;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.law.LawDocumentType;
 import gov.nysenate.openleg.model.law.LawFile;
 import gov.nysenate.openleg.model.law.LawTree;
@@ -15,13 +17,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import static gov.nysenate.openleg.model.law.LawDocumentType.*;
 
@@ -33,13 +31,6 @@ public class LawProcessor extends AbstractDataProcessor
 {
     private static final Logger logger = LoggerFactory.getLogger(LawProcessor.class);
 
-    /** The law files are most likely sent in CP850 encoding. */
-    protected static Charset LAWFILE_CHARSET = Charset.forName("CP850");
-
-    /** Pattern for law doc headers.  */
-    protected static Pattern lawHeader =
-        Pattern.compile("\\.\\.SO DOC ((\\w{3})(.{13}))(.{8}) (.{15}) (?:LAWS\\(((?:UN)?CONSOLIDATED)\\))");
-
     /** Hints about the law hierarchy for certain laws that have inconsistent doc id naming. */
     protected static Map<String, List<LawDocumentType>> expectedLawOrdering = new HashMap<>();
     static {
@@ -68,9 +59,8 @@ public class LawProcessor extends AbstractDataProcessor
     public void process(final LawFile lawFile) {
         boolean isInitial = lawFile.isInitialDump();
         DataProcessUnit unit = createDataProcessUnit(lawFile);
-        try {
-            logger.info("Processing law file {}", lawFile);
-            List<LawBlock> lawBlocks = getLawBlocks(lawFile);
+        logger.info("Processing law file {}", lawFile);
+        try (LawBlockReader lawBlocks = new LawBlockReader(lawFile)) {
             if (isInitial) {
                 processInitialLaws(lawFile, lawBlocks, unit);
             }
@@ -78,7 +68,7 @@ public class LawProcessor extends AbstractDataProcessor
                 processLawUpdates(lawFile, lawBlocks, unit);
             }
         }
-        catch (IOException ex) {
+        catch (IOException | UncheckedIOException ex) {
             logger.error("Unexpected IOException during LawFile processing", ex);
             unit.addException("Unexpected IOException: " + ex.getMessage());
         }
@@ -110,26 +100,47 @@ public class LawProcessor extends AbstractDataProcessor
 
     /**
      * The initial laws are parsed such that the order of the documents indicates the structure of the laws
-     * (i.e. there are no master documents).
+     * (i.e. there are no master documents). The documents of each law are contiguous within the initial dumps,
+     * so a law is persisted as soon as the documents of the next law start, and only one law is held in memory
+     * at a time.
      *
      * @param lawFile LawFile
-     * @param lawBlocks List<LawBlock>
+     * @param lawBlocks Iterator<LawBlock>
      */
-    protected void processInitialLaws(LawFile lawFile, List<LawBlock> lawBlocks, DataProcessUnit unit) {
-        Map<String, LawBuilder> lawBuilders = new HashMap<>();
-        for (LawBlock block : lawBlocks) {
+    protected void processInitialLaws(LawFile lawFile, Iterator<LawBlock> lawBlocks, DataProcessUnit unit) {
+        Set<String> persistedLawIds = new HashSet<>();
+        String lawId = null;
+        LawBuilder lawBuilder = null;
+        while (lawBlocks.hasNext()) {
+            LawBlock block = lawBlocks.next();
             if (!shouldProcessLaw(block)) continue;
-            // Create the law builder for the law id if it doesn't already exist.
-            if (!lawBuilders.containsKey(block.getLawId())) {
-                LawBuilder lawBuilder = createLawBuilder(new LawVersionId(block.getLawId(), block.getPublishedDate()), null);
-                lawBuilders.put(block.getLawId(), lawBuilder);
-                unit.addMessage("Processing initial docs for " + block.getLawId());
+            if (!block.getLawId().equals(lawId)) {
+                // The previous law is complete
+                if (lawBuilder != null) {
+                    persist(lawFile, lawId, lawBuilder);
+                    persistedLawIds.add(lawId);
+                }
+                lawId = block.getLawId();
+                if (persistedLawIds.contains(lawId)) {
+                    // Building on the persisted tree would break its document ordering
+                    unit.addException("Initial docs for " + lawId + " are not contiguous, skipping docs starting at "
+                                      + block.getDocumentId(), logger);
+                    lawBuilder = null;
+                }
+                else {
+                    lawBuilder = createLawBuilder(new LawVersionId(lawId, block.getPublishedDate()), null);
+                    unit.addMessage("Processing initial docs for " + lawId);
+                }
             }
             // Process the initial block
-            lawBuilders.get(block.getLawId()).addInitialBlock(block, true);
+            if (lawBuilder != null) {
+                lawBuilder.addInitialBlock(block, true);
+            }
+        }
+        // Persist the last law
+        if (lawBuilder != null) {
+            persist(lawFile, lawId, lawBuilder);
         }
-        // Persist the results
-        persist(lawFile, lawBuilders);
     }
 
     /**
@@ -138,19 +149,20 @@ public class LawProcessor extends AbstractDataProcessor
      * and REPEALED but we have not encountered those as of yet.
      *
      * @param lawFile LawFile
-     * @param lawBlocks List<LawBlock>
+     * @param lawBlocks Iterator<LawBlock>
      */
-    protected void processLawUpdates(LawFile lawFile, List<LawBlock> lawBlocks, DataProcessUnit unit) {
+    protected void processLawUpdates(LawFile lawFile, Iterator<LawBlock> lawBlocks, DataProcessUnit unit) {
         Map<String, LawBuilder> lawBuilders = new HashMap<>();
         Map<String, LawTree> lawTrees = new HashMap<>();
-        for (LawBlock block : lawBlocks) {
+        while (lawBlocks.hasNext()) {
+            LawBlock block = lawBlocks.next();
             if (!shouldProcessLaw(block)) continue;
             LawVersionId lawVersionId = new LawVersionId(block.getLawId(), block.getPublishedDate());
             logger.debug("Processing law version id: {}", lawVersionId);
             // Retrieve the existing law tree if it exists.
             if (!lawTrees.containsKey(block.getLawId())) {
                 try {
-                    LawTree lawTree = lawDataService.getLawTree(block.getLawId(), block.getPublishedDate());
+                    LawTree lawTree = lawDataService.getLawTreeForUpdate(block.getLawId(), block.getPublishedDate());
                     lawTrees.put(block.getLawId(), lawTree);
                 }
                 catch (LawTreeNotFoundEx ex) {
@@ -166,68 +178,25 @@ public class LawProcessor extends AbstractDataProcessor
             // Process the update block
             lawBuilders.get(block.getLawId()).addUpdateBlock(block);
         }
-        persist(lawFile, lawBuilders);
+        lawBuilders.forEach((lawId, lawBuilder) -> persist(lawFile, lawId, lawBuilder));
     }
 
     /**
-     * Iterates over the law builders and persists the processed output.
+     * Persists the processed output of a law builder. The documents are saved and indexed in batches.
      *
      * @param lawFile LawFile - Used to keep track of the source
-     * @param lawBuilders Map<String, LawBuilder>
+     * @param lawId String
+     * @param lawBuilder LawBuilder
      */
-    private void persist(LawFile lawFile, Map<String, LawBuilder> lawBuilders) {
-        // Persist the results
-        lawBuilders.forEach((lawId, lawBuilder) ->{
-            logger.info("Persisting law documents for {}", lawId);
-            eventBus.post(new BulkLawUpdateEvent(lawBuilder.getProcessedLawDocuments()));
-            lawBuilder.getProcessedLawDocuments().forEach(d -> lawDataService.saveLawDocument(lawFile, d));
-            logger.info("Persisting law tree for {}", lawId);
-            lawDataService.saveLawTree(lawFile, lawBuilder.getProcessedLawTree());
-        });
-    }
-
-    /**
-     * Extracts a collection of LawBlocks from the given LawFile. Each block is represents all the meta data and
-     * text for each document section in the law file (delineated by the ..SO DOC header). The LawBlock is just
-     * a helper object that should be used to construct LawDocuments.
-     *
-     * @param lawFile LawFile - The LawFile to extract the blocks from.
-     * @return List<ListBlock>
-     * @throws IOException
-     */
-    protected List<LawBlock> getLawBlocks(LawFile lawFile) throws IOException {
-        List<LawBlock> rawDocList = new ArrayList<>();
-        logger.debug("Extracting law blocks...");
-        File file = lawFile.getFile();
-        Iterator<String> fileItr = Files.lines(file.toPath(), LAWFILE_CHARSET).iterator();
-        LawBlock block = null;
-        Matcher headerMatcher;
-        while (fileItr.hasNext()) {
-            String line = fileItr.next();
-            headerMatcher = lawHeader.matcher(line);
-            if (headerMatcher.matches()) {
-                if (block != null && !LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
-                    rawDocList.add(block);
-                }
-                block = new LawBlock();
-                block.setHeader(line);
-                block.setLawId(headerMatcher.group(2).trim());
-                block.setPublishedDate(lawFile.getPublishedDate());
-                block.setDocumentId(
-                    LawDocIdFixer.applyReplacement(headerMatcher.group(1).trim(), lawFile.getPublishedDate()));
-                block.setLocationId(block.getDocumentId().substring(3));
-                block.setMethod(headerMatcher.group(4).trim());
-                block.setConsolidated(headerMatcher.group(6).equals("CONSOLIDATED"));
-            }
-            else {
-                if (block == null) throw new LawParseException("No doc header received prior to line: " + line);
-                block.getText().append(line).append("\\n");
-            }
-        }
-        if (block != null && !LawDocIdFixer.ignoreDocument(block.getDocumentId(), block.getPublishedDate())) {
-            rawDocList.add(block);
+    private void persist(LawFile lawFile, String lawId, LawBuilder lawBuilder) {
+        List<LawDocument> lawDocuments = lawBuilder.getProcessedLawDocuments();
+        logger.info("Persisting {} law documents for {}", lawDocuments.size(), lawId);
+        for (List<LawDocument> batch : Lists.partition(lawDocuments, env.getLawPersistBatchSize())) {
+            eventBus.post(new BulkLawUpdateEvent(batch));
+            lawDataService.saveLawDocuments(lawFile, batch);
         }
-        return rawDocList;
+        logger.info("Persisting law tree for {}", lawId);
+        lawDataService.saveLawTree(lawFile, lawBuilder.getProcessedLawTree());
     }
 
     protected boolean shouldProcessLaw(LawBlock block) {
@@ -18,7 +18,10 @@ import gov.nysenate.openleg.processor.bill.BillXMLBillDigestProcessor;
 import gov.nysenate.openleg.processor.bill.BillXMLBillTextProcessor;
 import gov.nysenate.openleg.processor.calendar.ActiveListProcessor;
 import gov.nysenate.openleg.processor.calendar.CalendarProcessor;
+import gov.nysenate.openleg.processor.base.IngestCacheManager;
 import gov.nysenate.openleg.processor.entity.CommitteeProcessor;
+import gov.nysenate.openleg.service.process.DataProcessMetricsService;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,14 +30,16 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This SobiProcessService implementation processes every type of sobi fragment.
@@ -44,11 +49,12 @@ public class ManagedSobiProcessService implements SobiProcessService
 {
     private static final Logger logger = LoggerFactory.getLogger(ManagedSobiProcessService.class);
 
-    private static final Pattern patchTagPattern = Pattern.compile("^\\s*</?PATCH>\\s*$");
-
     @Autowired private SobiDao sobiDao;
     @Autowired private EventBus eventBus;
     @Autowired private Environment env;
+    @Autowired private IngestCacheManager ingestCacheManager;
+    @Autowired private SobiFragmentPartitioner fragmentPartitioner;
+    @Autowired private DataProcessMetricsService processMetricsService;
 
     /** --- Processor Dependencies --- */
 
@@ -64,9 +70,15 @@ public class ManagedSobiProcessService implements SobiProcessService
     /** Register processors to handle a specific SobiFragment via this mapping. */
     private ImmutableMap<SobiFragmentType, SobiProcessor> processorMap;
 
+    /** Worker pool used to process fragment partitions when parallel processing is enabled. */
+    private ThreadPoolExecutor ingestExecutor;
+
     @PostConstruct
     protected void init() {
         eventBus.register(this);
+        ingestExecutor = new ThreadPoolExecutor(env.getSobiParallelThreads(), env.getSobiParallelThreads(),
+            0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new OpenlegThreadFactory("sobi-ingest"));
+        processMetricsService.registerQueue("sobi.ingest.partitions", () -> ingestExecutor.getQueue().size());
         processorMap = ImmutableMap.<SobiFragmentType, SobiProcessor>builder()
             .put(SobiFragmentType.AGENDA, agendaProcessor)
             .put(SobiFragmentType.AGENDA_VOTE, agendaVoteProcessor)
@@ -79,6 +91,11 @@ public class ManagedSobiProcessService implements SobiProcessService
             .build();
     }
 
+    @PreDestroy
+    protected void shutdown() {
+        ingestExecutor.shutdownNow();
+    }
+
     /** --- Implemented Methods --- */
 
     /** {@inheritDoc} */
@@ -117,7 +134,7 @@ public class ManagedSobiProcessService implements SobiProcessService
                 for (SobiFile sobiFile : newSobis) {
                     DataProcessUnit unit =
                         new DataProcessUnit("SOBI-FILE", sobiFile.getFileName(), LocalDateTime.now(), DataProcessAction.COLLATE);
-                    List<SobiFragment> fragments = createFragments(sobiFile);
+                    List<SobiFragment> fragments = SobiFileCollator.collate(sobiFile);
                     // Record the sobi file in the backing store.
                     sobiDao.updateSobiFile(sobiFile);
                     // Save the extracted fragments. They will be marked as pending processing.
@@ -154,24 +171,28 @@ public class ManagedSobiProcessService implements SobiProcessService
     public int processFragments(List<SobiFragment> fragments, SobiProcessOptions options) {
         logger.debug((fragments.isEmpty()) ? "No more fragments to process"
                                           : "Iterating through {} fragments", fragments.size());
-        for (SobiFragment fragment : fragments) {
-            // Hand off processing to specific implementations based on fragment type.
-            if (processorMap.containsKey(fragment.getType())) {
-                processorMap.get(fragment.getType()).process(fragment);
-            }
-            else {
-                logger.error("No processors have been registered to handle: " + fragment);
+        if (env.isSobiParallelEnabled() && fragments.size() > 1) {
+            processPartitions(fragmentPartitioner.partition(fragments));
+            fragments.forEach(fragment -> {
+                fragment.setProcessedCount(fragment.getProcessedCount() + 1);
+                fragment.setProcessedDateTime(LocalDateTime.now());
+            });
+        }
+        else {
+            for (SobiFragment fragment : fragments) {
+                processFragment(fragment);
+                fragment.setProcessedCount(fragment.getProcessedCount() + 1);
+                fragment.setProcessedDateTime(LocalDateTime.now());
             }
-            fragment.setProcessedCount(fragment.getProcessedCount() + 1);
-            fragment.setProcessedDateTime(LocalDateTime.now());
+            // Perform any necessary post-processing/cleanup
+            processorMap.values().forEach(p -> p.postProcess());
         }
-        // Perform any necessary post-processing/cleanup
-        processorMap.values().forEach(p -> p.postProcess());
         // Set the fragments as processed and update
-        fragments.forEach(f -> {
-            f.setPendingProcessing(false);
-            sobiDao.updateSobiFragment(f);
-        });
+        processMetricsService.time("sobi.fragment.update", fragments.size(), () ->
+            fragments.forEach(f -> {
+                f.setPendingProcessing(false);
+                sobiDao.updateSobiFragment(f);
+            }));
 
         return fragments.size();
     }
@@ -211,142 +232,61 @@ public class ManagedSobiProcessService implements SobiProcessService
     /** --- Internal Methods --- */
 
     /**
-     * Extracts a list of SobiFragments from the given SobiFile.
+     * Hand off processing to specific implementations based on fragment type.
      */
-    private List<SobiFragment> createFragments(SobiFile sobiFile) throws IOException {
-        List<SobiFragment> sobiFragments = new ArrayList<>();
-        StringBuilder billBuffer = new StringBuilder();
-
-        boolean isPatch = false;
-        StringBuilder patchMessage = new StringBuilder();
-
-        // Incrementing sequenceNo maintains the order in which the sobi fragments were
-        // found in the source sobiFile. However the sequence number for the bill fragment
-        // is always set to 0 to ensure that they are always processed first.
-        int sequenceNo = 1;
-
-        // Replace the null characters with spaces and split by newline.
-        List<String> lines = Arrays.asList(sobiFile.getText().replace('\0', ' ').split("\\r?\\n"));
-        Iterator<String> lineIterator = lines.iterator();
-        while (lineIterator.hasNext()) {
-            String line = lineIterator.next();
-            // Check for a patch tag indicating a manual fix
-            if (patchTagPattern.matcher(line).matches()) {
-                isPatch = true;
-                extractPatchMessage(lineIterator, patchMessage);
-            }
-            SobiFragmentType fragmentType = getFragmentTypeFromLine(line);
-            if (fragmentType != null) {
-                // Bill fragments are in the sobi format and appended into a single buffer
-                if (fragmentType.equals(SobiFragmentType.BILL)) {
-                    // Memos need to be converted to latin1 encoding
-                    if (line.charAt(11) == SobiLineType.SPONSOR_MEMO.getTypeCode()) {
-                        line = new String(line.getBytes(sobiFile.getEncoding()), "latin1");
-                    }
-                    line = line.replace((char)193, '°');
-                    billBuffer.append(line).append("\n");
-                }
-                // Other fragment types are in XML format. The iterator moves past the closing xml
-                // tag and the xml text is stored in the fragment.
-                else {
-                    String xmlText = extractXmlText(fragmentType, line, lineIterator);
-                    SobiFragment fragment = new SobiFragment(sobiFile, fragmentType, xmlText, sequenceNo++);
-                    sobiFragments.add(fragment);
-                }
-            }
-        }
-        // Convert the billBuffer into a single bill fragment (if applicable) with sequence no set to 0.
-        if (billBuffer.length() > 0) {
-            SobiFragment billFragment = new SobiFragment(sobiFile, SobiFragmentType.BILL, billBuffer.toString(), 0);
-            sobiFragments.add(billFragment);
+    private void processFragment(SobiFragment fragment) {
+        if (processorMap.containsKey(fragment.getType())) {
+            processMetricsService.time("sobi.fragment." + fragment.getType().name(), 1,
+                () -> processorMap.get(fragment.getType()).process(fragment));
         }
-        // Set manual fix flag and add notes if this file was a patch
-        if (isPatch) {
-            String notes = patchMessage.toString();
-            sobiFragments.forEach(fragment -> {
-                fragment.setManualFix(true);
-                fragment.setManualFixNotes(notes);
-            });
+        else {
+            logger.error("No processors have been registered to handle: " + fragment);
         }
-        return sobiFragments;
     }
 
     /**
-     * Check the given SOBI line to determine if it matches the start of a SOBI Fragment type.
+     * Processes each partition of fragments on the ingest worker pool and waits for all of them to complete.
+     * The fragments within a partition are processed in order using ingest caches that belong to the partition.
      *
-     * @param line String
-     * @return SobiFragmentType or null if no match
+     * @throws IllegalStateException if the processing of any partition failed or was interrupted.
      */
-    private SobiFragmentType getFragmentTypeFromLine(String line) {
-        for (SobiFragmentType fragmentType : SobiFragmentType.values()) {
-            if (line.matches(fragmentType.getStartPattern())) {
-                return fragmentType;
-            }
+    private void processPartitions(List<List<SobiFragment>> partitions) {
+        logger.info("Processing {} fragment partitions using {} threads", partitions.size(), env.getSobiParallelThreads());
+        List<Future<?>> results = new ArrayList<>();
+        for (List<SobiFragment> partition : partitions) {
+            results.add(ingestExecutor.submit(() -> processPartition(partition)));
         }
-        return null;
-    }
-
-    /**
-     * Gets a patch sobi message from within a set of patch tags, appending it to the given string builder
-     * @param lineIterator Iterator<String>
-     * @param patchMessage StringBuilder
-     */
-    private void extractPatchMessage(Iterator<String> lineIterator, StringBuilder patchMessage) {
-        while(lineIterator.hasNext()) {
-            String line = lineIterator.next();
-            if (patchTagPattern.matcher(line).matches()) {
-                return;
+        Throwable failure = null;
+        for (Future<?> result : results) {
+            try {
+                result.get();
             }
-            if (patchMessage.length() > 0) {
-                patchMessage.append("\n");
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while processing sobi fragment partitions", ex);
             }
-            patchMessage.append(line.trim());
-        }
-    }
-
-    /**
-     * Extracts a well formed XML document from the lines and writes it to the given
-     * file. This depends strongly on escape sequences being on their own line; otherwise
-     * we'll get malformed XML docs.
-     *
-     * @param fragmentType SobiFragmentType
-     * @param line String - The starting line of the document
-     * @param iterator Iterator<String> - Current iterator from the sobi file's text body
-     *
-     * @return String - The resulting XML string.
-     * @throws java.io.IOException
-     */
-    private String extractXmlText(SobiFragmentType fragmentType, String line, Iterator<String> iterator) throws IOException {
-        String endPattern = fragmentType.getEndPattern();
-        StringBuffer xmlBuffer = new StringBuffer(
-            "<?xml version='1.0' encoding='UTF-8'?>&newl;" +
-                "<SENATEDATA>&newl;" + line + "&newl;"
-        );
-        String in = null;
-        while (iterator.hasNext()) {
-            in = iterator.next();
-            xmlBuffer.append(in.replaceAll("\\xb9", "&sect;")).append("&newl;");
-            if (in.matches(endPattern)) {
-                break;
+            catch (ExecutionException ex) {
+                logger.error("Failed to process sobi fragment partition", ex.getCause());
+                if (failure == null) {
+                    failure = ex.getCause();
+                }
             }
         }
-        if (in == null) {
-            // This is bad, but don't throw an exception. If the resulting XML document
-            // is malformed we'll throw the exception during ingest.
-            logger.error("Unterminated XML document: " + line);
+        if (failure != null) {
+            throw new IllegalStateException("Failed to process all sobi fragment partitions", failure);
         }
-        String xmlString = xmlBuffer.append("</SENATEDATA>").toString();
+    }
 
-        // TODO: Figure out this magic.
-        xmlBuffer = new StringBuffer();
-        Matcher m = Pattern.compile("<\\!\\[CDATA\\[(.*?)\\]\\]>").matcher(xmlString);
-        while(m.find()) {
-            m.appendReplacement(xmlBuffer, Matcher.quoteReplacement(m.group(0).replaceAll("&newl;", "").replaceAll("\\\\n","\n")));
+    private void processPartition(List<SobiFragment> partition) {
+        ingestCacheManager.bindCaches(ingestCacheManager.newCacheSet());
+        try {
+            processMetricsService.runAsIngest(() -> {
+                partition.forEach(this::processFragment);
+                processorMap.values().forEach(SobiProcessor::postProcess);
+            });
+        }
+        finally {
+            ingestCacheManager.unbindCaches();
         }
-        m.appendTail(xmlBuffer);
-
-        // TODO: Figure out this magic as well.
-        xmlString = xmlBuffer.toString().replaceAll("&newl;", "\n").replaceAll("(?!\n)\\p{Cntrl}","").replaceAll("(?!\\.{2})[ ]{2,}"," ");
-        return xmlString;
     }
 }
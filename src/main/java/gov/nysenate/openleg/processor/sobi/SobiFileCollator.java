@@ -0,0 +1,357 @@
+package gov.nysenate.openleg.processor.sobi;
+
+import gov.nysenate.openleg.model.sobi.SobiFile;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sobi.SobiFragmentType;
+import gov.nysenate.openleg.model.sobi.SobiLineType;
+import gov.nysenate.openleg.model.sobi.UnreadableSobiEx;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Splits a SobiFile into SobiFragments by streaming through the file one line at a time, so the file's text
+ * never has to be held in memory as a whole.
+ *
+ * Lines are dispatched on their first character before any start pattern is checked since bill lines always
+ * begin with the session year and xml documents always begin with a tag. Xml fragments are created as soon as
+ * their closing line is read. The bill lines of the file are combined into a single bill fragment with sequence
+ * no 0 which is created once the end of the file is reached.
+ */
+public class SobiFileCollator
+{
+    private static final Logger logger = LoggerFactory.getLogger(SobiFileCollator.class);
+
+    private static final Pattern patchTagPattern = Pattern.compile("^\\s*</?PATCH>\\s*$");
+
+    /** The xml fragment types in the order that their start patterns should be checked. */
+    private static final List<SobiFragmentType> xmlFragmentTypes = Arrays.stream(SobiFragmentType.values())
+        .filter(SobiFragmentType::isXml)
+        .collect(Collectors.toList());
+
+    private static final int readBufferSize = 64 * 1024;
+
+    private static final String xmlHeader = "<?xml version='1.0' encoding='UTF-8'?>\n<SENATEDATA>\n";
+    private static final String cdataStart = "<![CDATA[";
+    private static final String cdataEnd = "]]>";
+
+    private final SobiFile sobiFile;
+
+    /** The fragments that have been extracted so far. */
+    private final List<SobiFragment> fragments = new ArrayList<>();
+
+    private boolean isPatch = false;
+    private final StringBuilder patchMessage = new StringBuilder();
+
+    private SobiFileCollator(SobiFile sobiFile) {
+        this.sobiFile = sobiFile;
+    }
+
+    /**
+     * Extracts the fragments from the given sobi file. If the file contains a patch block, all of its fragments
+     * are marked as manual fixes, including those that were read before the patch block.
+     *
+     * @param sobiFile SobiFile
+     * @return List<SobiFragment> - All the extracted fragments in the order they were read.
+     * @throws UnreadableSobiEx if the file could not be read.
+     */
+    public static List<SobiFragment> collate(SobiFile sobiFile) {
+        SobiFileCollator collator = new SobiFileCollator(sobiFile);
+        try (LineReader reader = new LineReader(
+                new InputStreamReader(new FileInputStream(sobiFile.getFile()), sobiFile.getEncoding()))) {
+            collator.collate(reader);
+        }
+        catch (IOException ex) {
+            throw new UnreadableSobiEx(sobiFile, ex);
+        }
+        return collator.fragments;
+    }
+
+    /** --- Internal Methods --- */
+
+    private void collate(LineReader reader) throws IOException {
+        StringBuilder billBuffer = new StringBuilder();
+        // Incrementing sequenceNo maintains the order in which the sobi fragments were
+        // found in the source sobiFile. However the sequence number for the bill fragment
+        // is always set to 0 to ensure that they are always processed first.
+        int sequenceNo = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            // Check for a patch tag indicating a manual fix
+            if (isPatchTag(line)) {
+                isPatch = true;
+                extractPatchMessage(reader);
+            }
+            SobiFragmentType fragmentType = getFragmentTypeFromLine(line);
+            if (fragmentType != null) {
+                // Bill fragments are in the sobi format and appended into a single buffer
+                if (fragmentType.equals(SobiFragmentType.BILL)) {
+                    // Memos need to be converted to latin1 encoding
+                    if (line.charAt(11) == SobiLineType.SPONSOR_MEMO.getTypeCode()) {
+                        line = new String(line.getBytes(sobiFile.getEncoding()), "latin1");
+                    }
+                    line = line.replace((char)193, '°');
+                    billBuffer.append(line).append("\n");
+                }
+                // Other fragment types are in XML format. The reader moves past the closing xml
+                // tag and the xml text is stored in the fragment.
+                else {
+                    String xmlText = extractXmlText(fragmentType, line, reader);
+                    fragments.add(new SobiFragment(sobiFile, fragmentType, xmlText, sequenceNo++));
+                }
+            }
+        }
+        // Convert the billBuffer into a single bill fragment (if applicable) with sequence no set to 0.
+        if (billBuffer.length() > 0) {
+            fragments.add(new SobiFragment(sobiFile, SobiFragmentType.BILL, billBuffer.toString(), 0));
+        }
+        // Set manual fix flag and add notes if this file was a patch
+        if (isPatch) {
+            String notes = patchMessage.toString();
+            fragments.forEach(fragment -> {
+                fragment.setManualFix(true);
+                fragment.setManualFixNotes(notes);
+            });
+        }
+    }
+
+    private static boolean isPatchTag(String line) {
+        return line.contains("PATCH>") && patchTagPattern.matcher(line).matches();
+    }
+
+    /**
+     * Check the given SOBI line to determine if it matches the start of a SOBI Fragment type.
+     *
+     * @param line String
+     * @return SobiFragmentType or null if no match
+     */
+    private static SobiFragmentType getFragmentTypeFromLine(String line) {
+        if (line.isEmpty()) {
+            return null;
+        }
+        char firstChar = line.charAt(0);
+        if (firstChar == '<') {
+            for (SobiFragmentType fragmentType : xmlFragmentTypes) {
+                if (fragmentType.getStartRegex().matcher(line).matches()) {
+                    return fragmentType;
+                }
+            }
+        }
+        else if (Character.isDigit(firstChar) && SobiFragmentType.BILL.getStartRegex().matcher(line).matches()) {
+            return SobiFragmentType.BILL;
+        }
+        return null;
+    }
+
+    /**
+     * Reads a patch message up to the closing patch tag, appending it to the patch message.
+     */
+    private void extractPatchMessage(LineReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (isPatchTag(line)) {
+                return;
+            }
+            if (patchMessage.length() > 0) {
+                patchMessage.append("\n");
+            }
+            patchMessage.append(line.trim());
+        }
+    }
+
+    /**
+     * Reads a well formed XML document up to the line matching the end pattern of the fragment type.
+     * This depends strongly on escape sequences being on their own line; otherwise we'll get malformed XML docs.
+     *
+     * @param fragmentType SobiFragmentType
+     * @param line String - The starting line of the document
+     * @param reader LineReader - Reader positioned on the line after the starting line
+     * @return String - The resulting XML string.
+     */
+    private static String extractXmlText(SobiFragmentType fragmentType, String line, LineReader reader) throws IOException {
+        StringBuilder xmlBuffer = new StringBuilder(xmlHeader).append(line).append('\n');
+        boolean readLine = false;
+        String in;
+        while ((in = reader.readLine()) != null) {
+            readLine = true;
+            for (int i = 0; i < in.length(); i++) {
+                char c = in.charAt(i);
+                if (c == '\u00b9') {
+                    xmlBuffer.append("&sect;");
+                }
+                else {
+                    xmlBuffer.append(c);
+                }
+            }
+            xmlBuffer.append('\n');
+            if (fragmentType.getEndRegex().matcher(in).matches()) {
+                break;
+            }
+        }
+        if (!readLine) {
+            // This is bad, but don't throw an exception. If the resulting XML document
+            // is malformed we'll throw the exception during ingest.
+            logger.error("Unterminated XML document: " + line);
+        }
+        xmlBuffer.append("</SENATEDATA>");
+        return cleanXmlText(xmlBuffer);
+    }
+
+    /**
+     * Cleans up the raw xml text in a single pass. Line breaks within CDATA sections are dropped and escaped
+     * newlines ('\n' literals) within them are unescaped. Control characters other than newlines are removed
+     * and runs of spaces are collapsed into a single space.
+     */
+    private static String cleanXmlText(CharSequence xmlText) {
+        StringBuilder cleanText = new StringBuilder(xmlText.length());
+        boolean cdataTerminated = true;
+        int i = 0;
+        while (i < xmlText.length()) {
+            if (cdataTerminated && startsWith(xmlText, cdataStart, i)) {
+                int end = indexOf(xmlText, cdataEnd, i + cdataStart.length());
+                if (end >= 0) {
+                    end += cdataEnd.length();
+                    StringBuilder cdata = new StringBuilder(end - i);
+                    for (int j = i; j < end; j++) {
+                        if (xmlText.charAt(j) != '\n') {
+                            cdata.append(xmlText.charAt(j));
+                        }
+                    }
+                    for (int j = 0; j < cdata.length(); j++) {
+                        if (cdata.charAt(j) == '\\' && j + 1 < cdata.length() && cdata.charAt(j + 1) == 'n') {
+                            appendCleanChar(cleanText, '\n');
+                            j++;
+                        }
+                        else {
+                            appendCleanChar(cleanText, cdata.charAt(j));
+                        }
+                    }
+                    i = end;
+                    continue;
+                }
+                // No further CDATA section can be terminated either
+                cdataTerminated = false;
+            }
+            appendCleanChar(cleanText, xmlText.charAt(i++));
+        }
+        return cleanText.toString();
+    }
+
+    private static void appendCleanChar(StringBuilder cleanText, char c) {
+        if (c != '\n' && (c < 0x20 || c == 0x7f)) {
+            return;
+        }
+        if (c == ' ' && cleanText.length() > 0 && cleanText.charAt(cleanText.length() - 1) == ' ') {
+            return;
+        }
+        cleanText.append(c);
+    }
+
+    private static boolean startsWith(CharSequence text, String prefix, int offset) {
+        if (offset + prefix.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(offset + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence text, String str, int fromIndex) {
+        for (int i = fromIndex; i <= text.length() - str.length(); i++) {
+            if (startsWith(text, str, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads lines separated by '\n' (with an optional preceding '\r'), replacing null characters with spaces.
+     * Empty lines at the end of the input are skipped.
+     */
+    private static class LineReader implements Closeable
+    {
+        private final Reader reader;
+        private final char[] readBuffer = new char[readBufferSize];
+        private int readPos = 0;
+        private int readLimit = 0;
+        private final StringBuilder lineBuffer = new StringBuilder();
+        private int pendingEmptyLines = 0;
+        private String nextLine = null;
+
+        LineReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        String readLine() throws IOException {
+            if (pendingEmptyLines > 0) {
+                pendingEmptyLines--;
+                return "";
+            }
+            if (nextLine != null) {
+                String line = nextLine;
+                nextLine = null;
+                return line;
+            }
+            String line = readRawLine();
+            if (line == null || !line.isEmpty()) {
+                return line;
+            }
+            // Only return the empty lines if there is a non-empty line following them
+            int emptyLines = 1;
+            while ((line = readRawLine()) != null && line.isEmpty()) {
+                emptyLines++;
+            }
+            if (line == null) {
+                return null;
+            }
+            nextLine = line;
+            pendingEmptyLines = emptyLines - 1;
+            return "";
+        }
+
+        private String readRawLine() throws IOException {
+            lineBuffer.setLength(0);
+            while (true) {
+                if (readPos == readLimit) {
+                    readLimit = reader.read(readBuffer, 0, readBuffer.length);
+                    readPos = 0;
+                    if (readLimit <= 0) {
+                        readLimit = 0;
+                        return (lineBuffer.length() > 0) ? lineBuffer.toString() : null;
+                    }
+                }
+                int start = readPos;
+                while (readPos < readLimit && readBuffer[readPos] != '\n') {
+                    if (readBuffer[readPos] == '\0') {
+                        readBuffer[readPos] = ' ';
+                    }
+                    readPos++;
+                }
+                lineBuffer.append(readBuffer, start, readPos - start);
+                if (readPos < readLimit) {
+                    readPos++; // Skip past the newline
+                    int last = lineBuffer.length() - 1;
+                    if (last >= 0 && lineBuffer.charAt(last) == '\r') {
+                        lineBuffer.setLength(last);
+                    }
+                    return lineBuffer.toString();
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
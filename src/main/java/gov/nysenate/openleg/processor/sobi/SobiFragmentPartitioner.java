@@ -0,0 +1,258 @@
+package gov.nysenate.openleg.processor.sobi;
+
+import gov.nysenate.openleg.model.agenda.AgendaId;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.calendar.CalendarId;
+import gov.nysenate.openleg.model.sobi.SobiBlock;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sobi.SobiFragmentType;
+import gov.nysenate.openleg.model.sobi.SobiLineType;
+import gov.nysenate.openleg.processor.bill.BillSobiProcessor;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.util.XmlHelper;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.util.*;
+import java.util.regex.Matcher;
+
+/**
+ * Splits a list of sobi fragments into partitions that can be processed independently of one another.
+ *
+ * Each fragment is associated with the keys of the entities it modifies (BaseBillId, AgendaId, CalendarId).
+ * Bill fragments typically touch hundreds of bills so they are split up into one sub-fragment per bill. Work that
+ * shares a key, either directly or through other work, is placed into the same partition in its original order.
+ * Fragments whose keys cannot be determined all go into a single shared partition.
+ *
+ * Bill text lines for a uni-bill are copied to the counterpart bill. Whether a bill is a uni-bill is usually set by
+ * an earlier fragment, so the persisted same as ids of bills that receive text are added to their keys as well.
+ */
+@Service
+public class SobiFragmentPartitioner
+{
+    private static final Logger logger = LoggerFactory.getLogger(SobiFragmentPartitioner.class);
+
+    /** Key used for fragments whose modified entities could not be determined. */
+    private static final String SHARED_KEY = "SHARED";
+
+    /** Committee fragments update the memberships of many committees at once so they share a single key. */
+    private static final String COMMITTEE_KEY = "COMMITTEE";
+
+    /** Xml fragment types whose modified entities are read from the fragment. */
+    private static final Set<SobiFragmentType> keyedXmlTypes = EnumSet.of(
+        SobiFragmentType.AGENDA, SobiFragmentType.AGENDA_VOTE, SobiFragmentType.CALENDAR,
+        SobiFragmentType.CALENDAR_ACTIVE, SobiFragmentType.BILLTEXT, SobiFragmentType.LDSUMM);
+
+    @Autowired private XmlHelper xml;
+    @Autowired private BillDataService billDataService;
+
+    /**
+     * Partitions the given fragments. The fragments should be ordered as they would be for sequential processing.
+     *
+     * @param fragments List<SobiFragment>
+     * @return List<List<SobiFragment>> - Partitions of fragments, each in the original processing order. Bill
+     *                                    fragments are replaced by per-bill sub-fragments that share the same id.
+     */
+    public List<List<SobiFragment>> partition(List<SobiFragment> fragments) {
+        Map<SobiFragment, Set<Object>> workKeys = new LinkedHashMap<>();
+        Set<BaseBillId> textBillIds = new LinkedHashSet<>();
+        for (SobiFragment fragment : fragments) {
+            if (fragment.getType().equals(SobiFragmentType.BILL)) {
+                workKeys.putAll(splitBillFragment(fragment, textBillIds));
+            }
+            else {
+                workKeys.put(fragment, getFragmentKeys(fragment));
+            }
+        }
+        addPersistedUniBillKeys(workKeys, textBillIds);
+        // Merge the keys that are modified together
+        Map<Object, Object> keyParents = new HashMap<>();
+        workKeys.values().forEach(keys -> {
+            Object root = findRoot(keyParents, keys.iterator().next());
+            keys.forEach(key -> keyParents.put(findRoot(keyParents, key), root));
+        });
+        Map<Object, List<SobiFragment>> partitions = new LinkedHashMap<>();
+        workKeys.forEach((fragment, keys) ->
+            partitions.computeIfAbsent(findRoot(keyParents, keys.iterator().next()), k -> new ArrayList<>())
+                      .add(fragment));
+        logger.debug("Split {} fragments into {} partitions", fragments.size(), partitions.size());
+        return new ArrayList<>(partitions.values());
+    }
+
+    /** --- Internal Methods --- */
+
+    private static Object findRoot(Map<Object, Object> keyParents, Object key) {
+        Object parent = keyParents.getOrDefault(key, key);
+        if (parent.equals(key)) {
+            return key;
+        }
+        Object root = findRoot(keyParents, parent);
+        keyParents.put(key, root);
+        return root;
+    }
+
+    /**
+     * Splits the bill fragment into sub-fragments that each contain the lines for a single bill. Uni-bill same as
+     * lines also modify the counterpart bill, so those bills are added to the keys of the sub-fragment. The ids of
+     * bills that have text lines are added to textBillIds.
+     */
+    private Map<SobiFragment, Set<Object>> splitBillFragment(SobiFragment fragment, Set<BaseBillId> textBillIds) {
+        Map<BaseBillId, StringBuilder> billLines = new LinkedHashMap<>();
+        Map<BaseBillId, Set<Object>> billKeys = new HashMap<>();
+        BaseBillId currentBillId = null;
+        try {
+            for (String line : fragment.getText().split("\\r?\\n")) {
+                String cleanLine = line.replace('\0', ' ');
+                if (SobiBlock.blockPattern.matcher(cleanLine).find()) {
+                    int session = Integer.parseInt(cleanLine.substring(0, 4));
+                    BaseBillId billId = new BaseBillId(cleanLine.substring(4, 10), session);
+                    StringBuilder lines = billLines.computeIfAbsent(billId, id -> new StringBuilder());
+                    // Keep the blocks of a bill from merging when lines for other bills were between them.
+                    if (currentBillId != null && !billId.equals(currentBillId) && lines.length() > 0) {
+                        lines.append("\n");
+                    }
+                    lines.append(line).append("\n");
+                    billKeys.computeIfAbsent(billId, id -> new HashSet<>(Collections.singleton(id)))
+                            .addAll(getUniBillIds(cleanLine, session));
+                    if (isTextLine(cleanLine)) {
+                        textBillIds.add(billId);
+                    }
+                    currentBillId = billId;
+                }
+                else if (currentBillId != null) {
+                    billLines.get(currentBillId).append(line).append("\n");
+                }
+            }
+        }
+        catch (RuntimeException ex) {
+            logger.warn("Could not split bill fragment {}, it will be processed as a whole", fragment.getFragmentId(), ex);
+            return Collections.singletonMap(fragment, Collections.singleton(SHARED_KEY));
+        }
+        Map<SobiFragment, Set<Object>> subFragments = new LinkedHashMap<>();
+        billLines.forEach((billId, lines) -> {
+            SobiFragment subFragment = new SobiFragment(fragment.getFragmentId(), fragment.getParentSobiFile(),
+                fragment.getType(), lines.toString(), fragment.getSequenceNo());
+            subFragment.setManualFix(fragment.isManualFix());
+            subFragment.setManualFixNotes(fragment.getManualFixNotes());
+            subFragments.put(subFragment, billKeys.get(billId));
+        });
+        return subFragments;
+    }
+
+    /**
+     * Adds the persisted uni-bill counterparts of the given bills to the keys of the work that modifies them.
+     */
+    private void addPersistedUniBillKeys(Map<SobiFragment, Set<Object>> workKeys, Set<BaseBillId> textBillIds) {
+        if (textBillIds.isEmpty()) {
+            return;
+        }
+        Map<BaseBillId, Set<BaseBillId>> uniBillIds = new HashMap<>();
+        for (Bill bill : billDataService.getBills(textBillIds)) {
+            for (BillAmendment amendment : bill.getAmendmentList()) {
+                if (amendment.isUniBill()) {
+                    amendment.getSameAs().forEach(sameAs -> uniBillIds
+                        .computeIfAbsent(bill.getBaseBillId(), id -> new HashSet<>()).add(BaseBillId.of(sameAs)));
+                }
+            }
+        }
+        if (!uniBillIds.isEmpty()) {
+            workKeys.replaceAll((fragment, keys) -> {
+                Set<Object> allKeys = new HashSet<>(keys);
+                keys.stream().filter(uniBillIds::containsKey).forEach(key -> allKeys.addAll(uniBillIds.get(key)));
+                return allKeys;
+            });
+        }
+    }
+
+    private static boolean isTextLine(String line) {
+        char lineType = line.charAt(11);
+        return lineType == SobiLineType.TEXT.getTypeCode() || lineType == SobiLineType.RESOLUTION_TEXT.getTypeCode();
+    }
+
+    /**
+     * Returns the counterpart bill ids if the given line is a uni-bill same as line.
+     */
+    private Set<BaseBillId> getUniBillIds(String line, int session) {
+        if (line.charAt(11) != SobiLineType.SAME_AS.getTypeCode()) {
+            return Collections.emptySet();
+        }
+        Matcher sameAsMatcher = BillSobiProcessor.sameAsPattern.matcher(line.substring(12));
+        if (!sameAsMatcher.find() || StringUtils.isEmpty(sameAsMatcher.group(1))) {
+            return Collections.emptySet();
+        }
+        Set<BaseBillId> uniBillIds = new HashSet<>();
+        for (String sameAs : sameAsMatcher.group(2).split(", ")) {
+            uniBillIds.add(new BaseBillId(sameAs.replace("-", "").replace(" ", ""), session));
+        }
+        return uniBillIds;
+    }
+
+    /**
+     * Determines the keys of the entities that are modified by the given xml fragment.
+     */
+    private Set<Object> getFragmentKeys(SobiFragment fragment) {
+        if (fragment.getType().equals(SobiFragmentType.COMMITTEE)) {
+            return Collections.singleton(COMMITTEE_KEY);
+        }
+        if (!keyedXmlTypes.contains(fragment.getType())) {
+            return Collections.singleton(SHARED_KEY);
+        }
+        try {
+            Document doc = xml.parse(fragment.getText());
+            switch (fragment.getType()) {
+                case AGENDA: {
+                    Node xmlAgenda = xml.getNode("SENATEDATA/senagenda", doc);
+                    return Collections.singleton(
+                        new AgendaId(xml.getInteger("@no", xmlAgenda), xml.getInteger("@year", xmlAgenda)));
+                }
+                case AGENDA_VOTE: {
+                    Node xmlAgendaVote = xml.getNode("SENATEDATA/senagendavote", doc);
+                    Set<Object> keys = new HashSet<>();
+                    keys.add(new AgendaId(xml.getInteger("@no", xmlAgendaVote), xml.getInteger("@year", xmlAgendaVote)));
+                    int session = xml.getInteger("@sessyr", xmlAgendaVote);
+                    NodeList xmlBills = xml.getNodeList("addendum/committees/committee/bills/bill", xmlAgendaVote);
+                    for (int i = 0; i < xmlBills.getLength(); i++) {
+                        keys.add(new BaseBillId(xml.getString("@no", xmlBills.item(i)), session));
+                    }
+                    return keys;
+                }
+                case CALENDAR:
+                case CALENDAR_ACTIVE: {
+                    String rootPath = (fragment.getType().equals(SobiFragmentType.CALENDAR))
+                        ? "SENATEDATA/sencalendar" : "SENATEDATA/sencalendaractive";
+                    Node xmlCalendar = xml.getNode(rootPath, doc);
+                    return Collections.singleton(
+                        new CalendarId(xml.getInteger("@no", xmlCalendar), xml.getInteger("@year", xmlCalendar)));
+                }
+                case BILLTEXT: {
+                    Node billTextNode = xml.getNode("billtext_html", doc);
+                    String senhse = xml.getString("@senhse", billTextNode).replaceAll("\n", "");
+                    String printNo = (senhse.isEmpty())
+                        ? xml.getString("@asmhse", billTextNode) + xml.getString("@asmno", billTextNode)
+                        : senhse + xml.getString("@senno", billTextNode);
+                    return Collections.singleton(
+                        new BaseBillId(printNo.replaceAll("\n", ""), xml.getInteger("@sessyr", billTextNode)));
+                }
+                case LDSUMM: {
+                    Node digestNode = xml.getNode("digestsummary", doc);
+                    String printNo = xml.getString("@billhse", digestNode) + xml.getString("@billno", digestNode);
+                    return Collections.singleton(new BaseBillId(printNo, xml.getInteger("@sessyr", digestNode)));
+                }
+                default:
+                    return Collections.singleton(SHARED_KEY);
+            }
+        }
+        catch (Exception ex) {
+            logger.warn("Could not determine the entities modified by {}", fragment.getFragmentId(), ex);
+            return Collections.singleton(SHARED_KEY);
+        }
+    }
+}
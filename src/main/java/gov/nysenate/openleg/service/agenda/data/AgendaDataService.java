@@ -13,7 +13,8 @@ import java.util.List;
 public interface AgendaDataService
 {
     /**
-     * Retrieves an Agenda via the agenda id.
+     * Retrieves an Agenda via the agenda id. The returned agenda may be shared with other readers and
+     * must not be modified, use {@link #getAgendaForUpdate(AgendaId)} instead.
      *
      * @param agendaId AgendaId
      * @return Agenda
@@ -21,6 +22,16 @@ public interface AgendaDataService
      */
     public Agenda getAgenda(AgendaId agendaId) throws AgendaNotFoundEx;
 
+    /**
+     * Retrieves a private copy of an Agenda that can be modified and then saved. Modifications are not
+     * visible to readers of {@link #getAgenda(AgendaId)} until the agenda is saved.
+     *
+     * @param agendaId AgendaId
+     * @return Agenda
+     * @throws AgendaNotFoundEx - If an agenda with the given agendaId could not be found.
+     */
+    public Agenda getAgendaForUpdate(AgendaId agendaId) throws AgendaNotFoundEx;
+
     /**
      * Retreives an agenda for the week of a date
      * @param weekOf - LocalDate
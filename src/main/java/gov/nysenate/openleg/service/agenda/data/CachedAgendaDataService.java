@@ -19,6 +19,7 @@ import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.MemoryUnit;
+import org.apache.commons.lang3.SerializationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +35,11 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Data service layer for retrieving and updating agendas. Cached agendas are treated as immutable
+ * snapshots: readers share the cached instance, while writers modify a copy of it which replaces the
+ * snapshot once it has been saved.
+ */
 @Service
 public class CachedAgendaDataService implements AgendaDataService, CachingService<AgendaId>
 {
@@ -144,6 +150,12 @@ public class CachedAgendaDataService implements AgendaDataService, CachingServic
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Agenda getAgendaForUpdate(AgendaId agendaId) throws AgendaNotFoundEx {
+        return SerializationUtils.clone(getAgenda(agendaId));
+    }
+
     /** {@inheritDoc} */
     @Override
     public Agenda getAgenda(LocalDate weekOf) throws AgendaNotFoundEx {
@@ -168,7 +180,8 @@ public class CachedAgendaDataService implements AgendaDataService, CachingServic
         }
         logger.debug("Persisting agenda {}", agenda.getId());
         agendaDao.updateAgenda(agenda, sobiFragment);
-        agendaCache.put(agenda.getId(), agenda);
+        // The caller may keep modifying its instance, so a copy of it becomes the cached snapshot.
+        agendaCache.put(agenda.getId(), SerializationUtils.clone(agenda));
         if (postUpdateEvent) {
             eventBus.post(new AgendaUpdateEvent(agenda, LocalDateTime.now()));
         }
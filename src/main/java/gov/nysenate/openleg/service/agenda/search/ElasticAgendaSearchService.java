@@ -17,6 +17,7 @@ import gov.nysenate.openleg.service.agenda.event.AgendaUpdateEvent;
 import gov.nysenate.openleg.service.agenda.event.BulkAgendaUpdateEvent;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuildService;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
@@ -29,7 +30,9 @@ import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static java.util.stream.Collectors.toList;
 
@@ -42,6 +45,7 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
     @Autowired private EventBus eventBus;
     @Autowired private ElasticAgendaSearchDao agendaSearchDao;
     @Autowired private AgendaDataService agendaDataService;
+    @Autowired private SearchIndexRebuildService rebuildService;
 
     @PostConstruct
     protected void init() {
@@ -102,13 +106,15 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
-        for (int year = 2009; year <= LocalDate.now().getYear(); year++) {
-            List<AgendaId> agendaIds = agendaDataService.getAgendaIds(year, SortOrder.ASC);
+        List<String> years = IntStream.rangeClosed(2009, LocalDate.now().getYear())
+            .mapToObj(Integer::toString)
+            .collect(toList());
+        rebuildService.rebuild(SearchIndex.AGENDA, agendaSearchDao, years, year -> {
+            List<AgendaId> agendaIds = agendaDataService.getAgendaIds(Integer.parseInt(year), SortOrder.ASC);
             List<Agenda> agendas = agendaIds.stream().map(aid -> agendaDataService.getAgenda(aid)).collect(toList());
             logger.info("Reindexing {} agendas from {}", agendas.size(), year);
             agendaSearchDao.updateAgendaIndex(agendas);
-        }
+        });
     }
 
     /** {@inheritDoc} */
@@ -140,7 +146,7 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
     @Override
     public synchronized void handleAgendaUpdateEvent(AgendaUpdateEvent agendaUpdateEvent) {
         if (agendaUpdateEvent != null && agendaUpdateEvent.getAgenda() != null) {
-            updateIndex(agendaUpdateEvent.getAgenda());
+            queueIndexUpdates(Collections.singletonList(agendaUpdateEvent.getAgenda()));
         }
     }
 
@@ -149,12 +155,22 @@ public class ElasticAgendaSearchService implements AgendaSearchService, IndexedS
     @Override
     public synchronized void handleBulkAgendaUpdateEvent(BulkAgendaUpdateEvent bulkAgendaUpdateEvent) {
         if (bulkAgendaUpdateEvent != null && !bulkAgendaUpdateEvent.getAgendas().isEmpty()) {
-            updateIndex(bulkAgendaUpdateEvent.getAgendas());
+            queueIndexUpdates(bulkAgendaUpdateEvent.getAgendas());
         }
     }
 
     /** --- Internal Methods --- */
 
+    /**
+     * Queues index writes for the given agendas so that the caller is not held up by elastic search.
+     */
+    private void queueIndexUpdates(Collection<Agenda> agendas) {
+        if (env.isElasticIndexing()) {
+            logger.info("Queueing {} agendas for indexing into elastic search.", agendas.size());
+            agendaSearchDao.queueAgendaIndexUpdates(agendas);
+        }
+    }
+
     private SearchResults<CommitteeAgendaId> searchCommitteeAgendas(QueryBuilder query, QueryBuilder postFilter,
                                                       String sort, LimitOffset limitOffset) throws SearchException {
         if (limitOffset == null) {
@@ -0,0 +1,54 @@
+package gov.nysenate.openleg.service.base.data;
+
+import gov.nysenate.openleg.util.CompactSerializer;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.pool.Size;
+import net.sf.ehcache.pool.SizeOfEngine;
+import net.sf.ehcache.pool.SizeOfEngineFactory;
+import net.sf.ehcache.pool.impl.DefaultSizeOfEngine;
+
+/**
+ * Sizes cache entries whose value is a byte array, e.g. the compact form produced by {@link CompactSerializer},
+ * by the length of the array plus a fixed overhead for the key and the element, instead of walking the entry
+ * with the default engine. All other entries are sized by the default engine.
+ *
+ * Ehcache picks this engine up for every size bounded cache through the {@link Factory} service registration
+ * in META-INF/services.
+ */
+public class CompactSizeOfEngine implements SizeOfEngine
+{
+    /** Approximate heap size of a cache element, its key and the store's reference to it, in bytes. */
+    public static final long ENTRY_OVERHEAD = 256;
+
+    private final SizeOfEngine defaultEngine;
+
+    /** --- Constructors --- */
+
+    public CompactSizeOfEngine(SizeOfEngine defaultEngine) {
+        this.defaultEngine = defaultEngine;
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public Size sizeOf(Object key, Object value, Object container) {
+        if (value instanceof Element && ((Element) value).getObjectValue() instanceof byte[]) {
+            return new Size(ENTRY_OVERHEAD + ((byte[]) ((Element) value).getObjectValue()).length, false);
+        }
+        return defaultEngine.sizeOf(key, value, container);
+    }
+
+    @Override
+    public SizeOfEngine copyWith(int maxDepth, boolean abortWhenMaxDepthExceeded) {
+        return new CompactSizeOfEngine(defaultEngine.copyWith(maxDepth, abortWhenMaxDepthExceeded));
+    }
+
+    /** Creates a {@link CompactSizeOfEngine} for each size bounded cache. */
+    public static class Factory implements SizeOfEngineFactory
+    {
+        @Override
+        public SizeOfEngine createSizeOfEngine(int maxObjectCount, boolean abort, boolean silent) {
+            return new CompactSizeOfEngine(new DefaultSizeOfEngine(maxObjectCount, abort, silent));
+        }
+    }
+}
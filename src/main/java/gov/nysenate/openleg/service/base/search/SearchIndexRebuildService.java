@@ -0,0 +1,150 @@
+package gov.nysenate.openleg.service.base.search;
+
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.dao.base.ElasticBaseDao;
+import gov.nysenate.openleg.dao.base.ElasticIndexRouter;
+import gov.nysenate.openleg.dao.base.SearchIndex;
+import gov.nysenate.openleg.dao.search.SearchIndexRebuildDao;
+import gov.nysenate.openleg.model.search.IndexRebuildCheckpoint;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds search indices without taking them offline.
+ *
+ * A rebuild writes into a new versioned index using a pool of loader threads, one unit of work (e.g. a session
+ * year) at a time. Once every unit has been written, the index alias is swapped over to the new index. The units
+ * that have been completed are checkpointed in the database, so a rebuild that is interrupted will pick up where
+ * it left off the next time the index is rebuilt.
+ */
+@Service
+public class SearchIndexRebuildService
+{
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexRebuildService.class);
+
+    @Autowired private Environment env;
+    @Autowired private SearchIndexRebuildDao rebuildDao;
+    @Autowired private ElasticIndexRouter indexRouter;
+
+    private ExecutorService loaderExecutor;
+
+    /** Indices that are currently being rebuilt by this instance. */
+    private final Set<SearchIndex> activeRebuilds = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    protected void init() {
+        loaderExecutor = Executors.newFixedThreadPool(env.getElasticRebuildThreads(), new OpenlegThreadFactory("index-rebuild"));
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        loaderExecutor.shutdownNow();
+    }
+
+    /**
+     * Rebuilds the given search index into a new versioned index and swaps it in once all units are written.
+     *
+     * @param searchIndex SearchIndex - The index to rebuild.
+     * @param searchDao ElasticBaseDao - The dao that manages the index.
+     * @param units Collection<String> - Identifies portions of the data that can be loaded independently.
+     * @param unitLoader Consumer<String> - Loads the data for a unit and writes it using the dao's update methods.
+     * @throws IllegalStateException if the index is already being rebuilt or any of the units failed to load.
+     */
+    public void rebuild(SearchIndex searchIndex, ElasticBaseDao searchDao, Collection<String> units,
+                        Consumer<String> unitLoader) {
+        if (!activeRebuilds.add(searchIndex)) {
+            throw new IllegalStateException("The " + searchIndex + " index is already being rebuilt");
+        }
+        try {
+            String alias = searchIndex.getIndexName();
+            IndexRebuildCheckpoint checkpoint = getCheckpoint(searchIndex, searchDao);
+            String targetIndex = checkpoint.getTargetIndex();
+            indexRouter.addRebuildTarget(alias, targetIndex);
+
+            List<String> remainingUnits = new ArrayList<>(units);
+            remainingUnits.removeAll(checkpoint.getCompletedUnits());
+            logger.info("Rebuilding {} into {}, {} of {} units remaining",
+                alias, targetIndex, remainingUnits.size(), units.size());
+            loadUnits(searchIndex, targetIndex, remainingUnits, unitLoader);
+            indexRouter.reapplyRebuildDeletes(alias);
+
+            searchDao.swapIndex(alias, targetIndex);
+            indexRouter.removeRebuildTarget(alias);
+            rebuildDao.deleteCheckpoint(searchIndex);
+            logger.info("Finished rebuilding {}", alias);
+        }
+        finally {
+            activeRebuilds.remove(searchIndex);
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Returns the checkpoint of an unfinished rebuild if its target index still exists, otherwise a new
+     * target index is created and checkpointed.
+     */
+    private IndexRebuildCheckpoint getCheckpoint(SearchIndex searchIndex, ElasticBaseDao searchDao) {
+        Optional<IndexRebuildCheckpoint> checkpoint = rebuildDao.getCheckpoint(searchIndex);
+        if (checkpoint.isPresent() && searchDao.indexExists(checkpoint.get().getTargetIndex())) {
+            logger.info("Resuming rebuild of {} started at {}", searchIndex, checkpoint.get().getStartedDateTime());
+            return checkpoint.get();
+        }
+        rebuildDao.deleteCheckpoint(searchIndex);
+        String targetIndex = searchDao.createRebuildIndex(searchIndex.getIndexName());
+        rebuildDao.insertCheckpoint(searchIndex, targetIndex);
+        return rebuildDao.getCheckpoint(searchIndex)
+            .orElseThrow(() -> new IllegalStateException("Could not checkpoint rebuild of " + searchIndex));
+    }
+
+    /**
+     * Loads each unit on the loader threads, checkpointing units as they complete.
+     */
+    private void loadUnits(SearchIndex searchIndex, String targetIndex, List<String> units,
+                           Consumer<String> unitLoader) {
+        String alias = searchIndex.getIndexName();
+        List<Future<?>> results = new ArrayList<>();
+        for (String unit : units) {
+            results.add(loaderExecutor.submit(() -> {
+                indexRouter.bindLoader(alias, targetIndex);
+                try {
+                    unitLoader.accept(unit);
+                }
+                finally {
+                    indexRouter.unbindLoader(alias);
+                }
+                rebuildDao.insertCompletedUnit(searchIndex, unit);
+                logger.info("Finished loading {} into {}", unit, targetIndex);
+            }));
+        }
+        Throwable failure = null;
+        for (Future<?> result : results) {
+            try {
+                result.get();
+            }
+            catch (ExecutionException ex) {
+                logger.error("Failed to load a unit of the {} rebuild", alias, ex.getCause());
+                failure = ex.getCause();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                failure = ex;
+                break;
+            }
+        }
+        if (failure != null) {
+            results.forEach(result -> result.cancel(true));
+            throw new IllegalStateException("Rebuild of " + alias + " is incomplete, it will resume on the next rebuild",
+                                            failure);
+        }
+    }
+}
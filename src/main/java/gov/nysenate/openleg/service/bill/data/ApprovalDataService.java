@@ -5,7 +5,9 @@ import gov.nysenate.openleg.model.bill.ApprovalMessage;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ApprovalDataService
 {
@@ -25,6 +27,14 @@ public interface ApprovalDataService
      */
     public ApprovalMessage getApprovalMessage(BaseBillId baseBillId) throws ApprovalNotFoundException;
 
+    /**
+     * Retrieves the approval messages for each of the given base bills. Bills that
+     * were not approved will not have an entry in the returned map.
+     * @param baseBillIds
+     * @return
+     */
+    public Map<BaseBillId, ApprovalMessage> getApprovalMessages(Collection<BaseBillId> baseBillIds);
+
     /**
      * Retrieves all approval messages for a given year ordered by approval id number
      * @param year
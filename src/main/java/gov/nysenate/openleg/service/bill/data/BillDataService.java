@@ -8,8 +8,10 @@ import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +32,16 @@ public interface BillDataService
      */
     public Bill getBill(BaseBillId billId) throws BillNotFoundEx;
 
+    /**
+     * Retrieve Bill instances for each of the given BillIds. This is considerably cheaper than
+     * calling {@link #getBill(BaseBillId)} for each id when many bills need to be loaded.
+     * Bills are returned in the order of the given ids, any ids without a matching Bill are skipped.
+     *
+     * @param billIds Collection<BaseBillId>
+     * @return List<Bill>
+     */
+    public List<Bill> getBills(Collection<BaseBillId> billIds);
+
     /**
      * Retrieve a BillInfo instance for the matching BillId. This contains
      * less information that the Bill for purposes of displaying in listings.
@@ -83,6 +95,16 @@ public interface BillDataService
      */
     public void saveBill(Bill bill, SobiFragment fragment, boolean postUpdateEvent);
 
+    /**
+     * Saves a collection of Bills in the persistence layer using batched writes. This should be preferred
+     * over repeated calls to {@link #saveBill(Bill, SobiFragment, boolean)} when persisting many bills at once.
+     *
+     * @param bills Collection<Pair<Bill, SobiFragment>> - The bills along with the fragments that modified them
+     * @param postUpdateEvent boolean - Set to true if this method should post a BulkBillUpdateEvent
+     *                                  to the event bus indicating to subscribers that the bills may have changed.
+     */
+    public void saveBills(Collection<Pair<Bill, SobiFragment>> bills, boolean postUpdateEvent);
+
     /**
      * Returns a closed Range containing the session years for which bill data exists.
      * If there are no bills in the database, an empty Optional will be returned instead.
@@ -1,8 +1,10 @@
 package gov.nysenate.openleg.service.bill.data;
 
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.Striped;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.bill.data.BillDao;
@@ -10,6 +12,7 @@ import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.cache.CacheEvictIdEvent;
@@ -19,12 +22,17 @@ import gov.nysenate.openleg.model.cache.CacheWarmEvent;
 import gov.nysenate.openleg.service.base.data.CachingService;
 import gov.nysenate.openleg.model.cache.ContentCache;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.util.CompactSerializer;
 import gov.nysenate.openleg.util.OutputUtils;
 import net.sf.ehcache.*;
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.MemoryUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,14 +43,23 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.io.Serializable;
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.stream.Collectors;
 
 /**
  * Data service layer for retrieving and updating bill data. This implementation makes use of
  * in-memory caches to reduce the number of database queries involved in retrieving bill data.
+ *
+ * Cached bills and bill infos are stored in the compact form produced by {@link CompactSerializer}
+ * and are only decoded when they are read. Each entry is sized by its byte length, see
+ * {@link gov.nysenate.openleg.service.base.data.CompactSizeOfEngine}. The bill info of every cached bill
+ * is cached as well, so that listings never decode a full bill. The full text and memo of each amendment
+ * are kept in a separate bill text cache, so that a bill can be read from the caches without querying
+ * the database.
  */
 @Service
 public class CachedBillDataService implements BillDataService, CachingService<BaseBillId>
@@ -53,11 +70,19 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     @Autowired private BillDao billDao;
     @Autowired private EventBus eventBus;
 
+    /** Number of bills to load per query batch when warming the bill cache. */
+    private static final int WARM_BATCH_SIZE = 1000;
+
     @Value("${bill.cache.size}") private long billCacheSizeMb;
     @Value("${bill-info.cache.size}") private long billInfoCacheSizeMb;
+    @Value("${bill-text.cache.size:200}") private long billTextCacheSizeMb;
 
     private Cache billCache;
     private Cache billInfoCache;
+    private Cache billTextCache;
+
+    /** Keeps a read from combining a stripped bill and text that were cached by different updates. */
+    private final Striped<ReadWriteLock> billLocks = Striped.readWriteLock(64);
 
     @PostConstruct
     private void init() {
@@ -70,6 +95,7 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         evictCaches();
         cacheManager.removeCache(ContentCache.BILL.name());
         cacheManager.removeCache(ContentCache.BILL_INFO.name());
+        cacheManager.removeCache(ContentCache.BILL_TEXT.name());
     }
 
     /** --- CachingService implementation --- */
@@ -77,13 +103,13 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     /** {@inheritDoc} */
     @Override
     public List<Ehcache> getCaches() {
-        return Arrays.asList(billCache, billInfoCache);
+        return Arrays.asList(billCache, billInfoCache, billTextCache);
     }
 
     /** {@inheritDoc} */
     @Override
     public void setupCaches() {
-        // Partial bill cache will store Bill instances with the full text fields stripped to save space.
+        // Partial bill cache will store serialized Bill instances with the full text fields stripped to save space.
         this.billCache = new Cache(new CacheConfiguration().name(ContentCache.BILL.name())
             .eternal(true)
             .maxBytesLocalHeap(billCacheSizeMb, MemoryUnit.MEGABYTES)
@@ -92,19 +118,25 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         // This can only be called after the cache is added to the cache manager.
         this.billCache.setMemoryStoreEvictionPolicy(new BillCacheEvictionPolicy());
 
-        // Bill Info cache will store BillInfo instances to speed up search and listings.
-        // If a bill is already stored in the billCache, it's BillInfo does not need to be stored here.
+        // Bill Info cache will store serialized BillInfo instances to speed up search and listings.
+        // The BillInfo of each bill in the billCache is stored here too, so it can be read without decoding the bill.
         this.billInfoCache = new Cache(new CacheConfiguration().name(ContentCache.BILL_INFO.name())
             .eternal(true)
             .maxBytesLocalHeap(billInfoCacheSizeMb, MemoryUnit.MEGABYTES)
             .sizeOfPolicy(defaultSizeOfPolicy()));
         cacheManager.addCache(this.billInfoCache);
+
+        // Bill Text cache will store the serialized full text and memo of each bill amendment.
+        this.billTextCache = new Cache(new CacheConfiguration().name(ContentCache.BILL_TEXT.name())
+            .eternal(true)
+            .maxBytesLocalHeap(billTextCacheSizeMb, MemoryUnit.MEGABYTES)
+            .sizeOfPolicy(defaultSizeOfPolicy()));
+        cacheManager.addCache(this.billTextCache);
     }
 
     /**
-     * Pre-load the bill caches by clearing out each of their contents and then loading:
-     * Bill Cache - Current session year bills only
-     * Bill Info Cache - Bill Infos from all available session years.
+     * Pre-load the bill caches by clearing out their contents and then loading the bills from the current
+     * session year and the bill infos from all other active session years.
      */
     public void warmCaches() {
         evictCaches();
@@ -115,23 +147,26 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
             while (sessionYear.compareTo(sessionRange.get().upperEndpoint()) <= 0) {
                 if (sessionYear.equals(SessionYear.current())) {
                     logger.info("Caching Bill instances for current session year: {}", sessionYear);
-                    getBillIds(sessionYear, LimitOffset.ALL).forEach(id -> getBill(id));
+                    Iterables.partition(getBillIds(sessionYear, LimitOffset.ALL), WARM_BATCH_SIZE)
+                        .forEach(this::getBills);
                 }
                 else {
                     logger.info("Caching Bill Info instances for session year: {}", sessionYear);
-                    getBillIds(sessionYear, LimitOffset.ALL).forEach(id -> getBillInfo(id));
+                    getBillIds(sessionYear, LimitOffset.ALL).forEach(this::getBillInfo);
                 }
                 sessionYear = sessionYear.next();
             }
         }
-        logger.info("Done warming up bill cache.");
+        logger.info("Done warming up bill cache. {} bills cached using {}",
+            billCache.getSize(), FileUtils.byteCountToDisplaySize(billCache.getStatistics().getLocalHeapSizeInBytes()));
     }
 
     /** {@inheritDoc} */
     @Override
     @Subscribe
     public synchronized void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
-        if (evictEvent.affects(ContentCache.BILL) || evictEvent.affects(ContentCache.BILL_INFO)) {
+        if (evictEvent.affects(ContentCache.BILL) || evictEvent.affects(ContentCache.BILL_INFO)
+                || evictEvent.affects(ContentCache.BILL_TEXT)) {
             evictCaches();
         }
     }
@@ -140,7 +175,8 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     @Subscribe
     @Override
     public void handleCacheEvictIdEvent(CacheEvictIdEvent<BaseBillId> evictIdEvent) {
-        if (evictIdEvent.affects(ContentCache.BILL) || evictIdEvent.affects(ContentCache.BILL_INFO)) {
+        if (evictIdEvent.affects(ContentCache.BILL) || evictIdEvent.affects(ContentCache.BILL_INFO)
+                || evictIdEvent.affects(ContentCache.BILL_TEXT)) {
             evictContent(evictIdEvent.getContentId());
         }
     }
@@ -149,8 +185,16 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     @Override
     public void evictContent(BaseBillId baseBillId) {
         logger.debug("evicting {}", baseBillId);
-        billInfoCache.remove(baseBillId);
-        billCache.remove(baseBillId);
+        Lock writeLock = billLocks.get(baseBillId).writeLock();
+        writeLock.lock();
+        try {
+            billInfoCache.remove(baseBillId);
+            billCache.remove(baseBillId);
+            evictText(baseBillId);
+        }
+        finally {
+            writeLock.unlock();
+        }
     }
 
     /** {@inheritDoc} */
@@ -170,24 +214,50 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
             throw new IllegalArgumentException("BillId cannot be null");
         }
         try {
-            Bill bill;
-            if (billCache.get(billId) != null) {
-                bill = constructBillFromCache(billId);
+            Bill bill = constructBillFromCache(billId);
+            if (bill != null) {
                 logger.debug("Cache hit for bill {}", bill);
             }
             else {
                 logger.debug("Fetching bill {}..", billId);
                 bill = billDao.getBill(billId);
-                putStrippedBillInCache(bill);
+                putBillInCache(bill);
             }
             return bill;
         }
         catch (EmptyResultDataAccessException ex) {
             throw new BillNotFoundEx(billId, ex);
         }
-        catch (CloneNotSupportedException e) {
-            throw new CacheException("Failed to cache retrieved Bill: " + e.getMessage());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Bill> getBills(Collection<BaseBillId> billIds) {
+        if (billIds == null) {
+            throw new IllegalArgumentException("BillIds cannot be null");
+        }
+        Map<BaseBillId, Bill> billMap = new HashMap<>();
+        List<BaseBillId> uncachedIds = new ArrayList<>();
+        for (BaseBillId billId : billIds) {
+            Bill cachedBill = constructBillFromCache(billId);
+            if (cachedBill != null) {
+                billMap.put(billId, cachedBill);
+            }
+            else {
+                uncachedIds.add(billId);
+            }
+        }
+        if (!uncachedIds.isEmpty()) {
+            logger.debug("Fetching {} uncached bills..", uncachedIds.size());
+            for (Bill bill : billDao.getBills(uncachedIds)) {
+                putBillInCache(bill);
+                billMap.put(bill.getBaseBillId(), bill);
+            }
         }
+        return billIds.stream()
+            .map(billMap::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
 
     /** {@inheritDoc} */
@@ -197,15 +267,13 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         if (billId == null) {
             throw new IllegalArgumentException("BillId cannot be null");
         }
-        if (billCache.get(billId) != null) {
-            return new BillInfo((Bill) billCache.get(billId).getObjectValue());
-        }
-        if (billInfoCache.get(billId) != null) {
-            return (BillInfo) billInfoCache.get(billId).getObjectValue();
+        Element billInfoElement = billInfoCache.get(billId);
+        if (billInfoElement != null) {
+            return CompactSerializer.deserialize((byte[]) billInfoElement.getObjectValue(), BillInfo.class);
         }
         try {
             BillInfo billInfo = billDao.getBillInfo(billId);
-            billInfoCache.put(new Element(billId, billInfo));
+            billInfoCache.put(new Element(billId, CompactSerializer.serialize(billInfo)));
             return billInfo;
         }
         catch (EmptyResultDataAccessException ex) {
@@ -254,12 +322,24 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     public synchronized void saveBill(Bill bill, SobiFragment fragment, boolean postUpdateEvent) {
         logger.debug("Persisting bill {}", bill);
         billDao.updateBill(bill, fragment);
-        putStrippedBillInCache(bill);
+        putBillInCache(bill);
         if (postUpdateEvent) {
             eventBus.post(new BillUpdateEvent(bill, LocalDateTime.now()));
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void saveBills(Collection<Pair<Bill, SobiFragment>> bills, boolean postUpdateEvent) {
+        logger.debug("Persisting {} bills", bills.size());
+        billDao.updateBills(bills);
+        bills.forEach(entry -> putBillInCache(entry.getLeft()));
+        if (postUpdateEvent) {
+            List<Bill> updatedBills = bills.stream().map(Pair::getLeft).collect(Collectors.toList());
+            eventBus.post(new BulkBillUpdateEvent(updatedBills, LocalDateTime.now()));
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Optional<Range<SessionYear>> activeSessionRange() {
@@ -285,23 +365,95 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
     /** --- Internal Methods --- */
 
     /**
-     * Retrieves the bill from the cache. You must check that the bill exists prior to calling this
-     * method. The fulltext and memo are put back into a copy of the cached bill.
+     * Retrieves the bill from the cache if it is present. The cached bill is decoded into a new instance
+     * and the fulltext and memo are put back into it.
      *
      * @param billId BaseBillId
-     * @return Bill
-     * @throws CloneNotSupportedException
+     * @return Bill - null if the bill is not cached
+     */
+    private Bill constructBillFromCache(BaseBillId billId) {
+        Lock readLock = billLocks.get(billId).readLock();
+        readLock.lock();
+        try {
+            Element element = billCache.get(billId);
+            if (element == null) {
+                return null;
+            }
+            Bill cachedBill = CompactSerializer.deserialize((byte[]) element.getObjectValue(), Bill.class);
+            applyText(cachedBill);
+            return cachedBill;
+        }
+        finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Caches the stripped bill and replaces its cached text as a single update, so that a concurrent read
+     * never sees the new bill with the old text or the other way around.
+     *
+     * @param bill Bill
+     */
+    private void putBillInCache(Bill bill) {
+        Lock writeLock = billLocks.get(bill.getBaseBillId()).writeLock();
+        writeLock.lock();
+        try {
+            putStrippedBillInCache(bill);
+            replaceTextInCache(bill);
+        }
+        finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Puts the fulltext and memo back into each amendment of a stripped bill. The text is read from the
+     * bill text cache, if the text of any amendment is not cached, it is fetched and cached for all of them.
+     *
+     * @param strippedBill Bill
+     */
+    private void applyText(Bill strippedBill) {
+        Map<BillAmendment, AmendmentText> cachedText = new HashMap<>();
+        for (BillAmendment amendment : strippedBill.getAmendmentList()) {
+            Element element = billTextCache.get(amendment.getBillId());
+            if (element == null) {
+                billDao.applyText(strippedBill);
+                putTextInCache(strippedBill);
+                return;
+            }
+            cachedText.put(amendment, CompactSerializer.deserialize((byte[]) element.getObjectValue(), AmendmentText.class));
+        }
+        cachedText.forEach((amendment, text) -> {
+            amendment.setMemo(text.memo);
+            amendment.setFullText(text.fullText);
+        });
+    }
+
+    private void putTextInCache(Bill bill) {
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            AmendmentText text = new AmendmentText(amendment.getMemo(), amendment.getFullText());
+            billTextCache.put(new Element(amendment.getBillId(), CompactSerializer.serialize(text)));
+        }
+    }
+
+    /**
+     * Replaces the cached text of a bill that was just saved, so that the cache never holds text that is older
+     * than the stripped bill it is applied to. Saving does not always post an update event.
      */
-    private Bill constructBillFromCache(BaseBillId billId) throws CloneNotSupportedException {
-        Bill cachedBill = (Bill) billCache.get(billId).getObjectValue();
-        cachedBill = cachedBill.shallowClone();
-        billDao.applyText(cachedBill);
-        return cachedBill;
+    private void replaceTextInCache(Bill bill) {
+        evictText(bill.getBaseBillId());
+        putTextInCache(bill);
+    }
+
+    private void evictText(BaseBillId baseBillId) {
+        for (Version version : Version.values()) {
+            billTextCache.remove(new BillId(baseBillId, version));
+        }
     }
 
     /**
      * In order to cache bills effectively, we strip out the memos and full text from the bill first
-     * to save some heap space.
+     * and store it in its serialized form to save some heap space.
      * @param bill Bill
      */
     private void putStrippedBillInCache(final Bill bill) {
@@ -312,13 +464,26 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
                     ba.setMemo("");
                     ba.setFullText("");
                 });
-                this.billCache.put(new Element(cacheBill.getBaseBillId(), cacheBill));
-                // Remove entry from the bill info cache if it exists
-                this.billInfoCache.remove(cacheBill.getBaseBillId());
+                this.billCache.put(new Element(cacheBill.getBaseBillId(), CompactSerializer.serialize(cacheBill)));
+                this.billInfoCache.put(new Element(cacheBill.getBaseBillId(), CompactSerializer.serialize(new BillInfo(bill))));
             }
-            catch (CloneNotSupportedException e) {
+            catch (CloneNotSupportedException | SerializationException e) {
                 logger.error("Failed to cache bill!", e);
             }
         }
     }
-}
\ No newline at end of file
+
+    /** The fulltext and memo of a bill amendment, as stored in the bill text cache. */
+    private static class AmendmentText implements Serializable
+    {
+        private static final long serialVersionUID = -6140517637423786553L;
+
+        private final String memo;
+        private final String fullText;
+
+        private AmendmentText(String memo, String fullText) {
+            this.memo = memo;
+            this.fullText = fullText;
+        }
+    }
+}
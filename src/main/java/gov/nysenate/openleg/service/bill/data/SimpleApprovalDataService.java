@@ -11,7 +11,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class SimpleApprovalDataService implements ApprovalDataService
@@ -43,6 +45,15 @@ public class SimpleApprovalDataService implements ApprovalDataService
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, ApprovalMessage> getApprovalMessages(Collection<BaseBillId> baseBillIds) {
+        if (baseBillIds == null) {
+            throw new IllegalArgumentException("baseBillIds cannot be null!");
+        }
+        return approvalDao.getApprovalMessages(baseBillIds);
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<ApprovalMessage> getApprovalMessages(int year) throws ApprovalNotFoundException {
@@ -5,6 +5,7 @@ import gov.nysenate.openleg.model.bill.VetoId;
 import gov.nysenate.openleg.model.bill.VetoMessage;
 import gov.nysenate.openleg.model.sobi.SobiFragment;
 
+import java.util.Collection;
 import java.util.Map;
 
 public interface VetoDataService
@@ -27,6 +28,15 @@ public interface VetoDataService
      */
     public Map<VetoId,VetoMessage> getBillVetoes(BaseBillId baseBillId) throws VetoNotFoundException;
 
+    /**
+     * Retrieves the vetoes for each of the given bills. Bills without any vetoes
+     * will not have an entry in the returned map.
+     *
+     * @param baseBillIds
+     * @return Map<BaseBillId, Map<VetoId,VetoMessage>>
+     */
+    public Map<BaseBillId, Map<VetoId,VetoMessage>> getBillVetoes(Collection<BaseBillId> baseBillIds);
+
     /**
      * Updates or inserts the given vetoMessage
      *
@@ -14,6 +14,7 @@ import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuildService;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
 import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
@@ -28,11 +29,10 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.time.LocalDate;
-import java.util.Collection;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.regex.Matcher;
 
+import static java.util.stream.Collectors.partitioningBy;
 import static java.util.stream.Collectors.toList;
 
 @Service
@@ -44,6 +44,7 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     @Autowired protected EventBus eventBus;
     @Autowired protected ElasticBillSearchDao billSearchDao;
     @Autowired protected BillDataService billDataService;
+    @Autowired protected SearchIndexRebuildService rebuildService;
 
     @PostConstruct
     protected void init() {
@@ -117,7 +118,7 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     @Subscribe
     public void handleBillUpdate(BillUpdateEvent billUpdateEvent) {
         if (billUpdateEvent.getBill() != null) {
-            updateIndex(billUpdateEvent.getBill());
+            queueIndexUpdates(Collections.singletonList(billUpdateEvent.getBill()));
         }
     }
 
@@ -126,7 +127,7 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     @Subscribe
     public void handleBulkBillUpdate(BulkBillUpdateEvent bulkBillUpdateEvent) {
         if (bulkBillUpdateEvent.getBills() != null) {
-            updateIndex(bulkBillUpdateEvent.getBills());
+            queueIndexUpdates(bulkBillUpdateEvent.getBills());
         }
     }
 
@@ -169,6 +170,25 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
         }
     }
 
+    /**
+     * Queues index writes for the given bills so that the caller is not held up by elastic search.
+     * Bills that no longer meet the indexing criteria are queued for removal instead.
+     *
+     * @param bills Collection<Bill>
+     */
+    protected void queueIndexUpdates(Collection<Bill> bills) {
+        if (env.isElasticIndexing() && !bills.isEmpty()) {
+            Map<Boolean, List<Bill>> billsByIndexable = bills.stream()
+                .filter(Objects::nonNull)
+                .collect(partitioningBy(this::isBillIndexable));
+            logger.info("Queueing {} valid bills for indexing into elastic search.", billsByIndexable.get(true).size());
+            billSearchDao.queueBillIndexUpdates(billsByIndexable.get(true));
+            billSearchDao.queueBillIndexDeletes(billsByIndexable.get(false).stream()
+                .map(Bill::getBaseBillId)
+                .collect(toList()));
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void clearIndex() {
@@ -179,21 +199,16 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
         Optional<Range<SessionYear>> sessions = billDataService.activeSessionRange();
         if (sessions.isPresent()) {
+            List<String> sessionYears = new ArrayList<>();
             SessionYear session = sessions.get().lowerEndpoint();
             while (session.getSessionStartYear() <= LocalDate.now().getYear()) {
-                LimitOffset limOff = LimitOffset.THOUSAND;
-                List<BaseBillId> billIds = billDataService.getBillIds(session, limOff);
-                while (!billIds.isEmpty()) {
-                    logger.info("Indexing {} bills starting from {}", billIds.size(), billIds.get(0));
-                    updateIndex(billIds.stream().map(id -> billDataService.getBill(id)).collect(toList()));
-                    limOff = limOff.next();
-                    billIds = billDataService.getBillIds(session, limOff);
-                }
+                sessionYears.add(Integer.toString(session.getYear()));
                 session = session.next();
             }
+            rebuildService.rebuild(SearchIndex.BILL, billSearchDao, sessionYears,
+                                   year -> indexSession(SessionYear.of(Integer.parseInt(year))));
         }
         else {
             logger.info("Can't rebuild the bill search index because there are no bills. Clearing it instead!");
@@ -227,6 +242,24 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
 
     /** --- Internal --- */
 
+    /**
+     * Indexes all of the indexable bills from the given session.
+     *
+     * @param session SessionYear
+     */
+    protected void indexSession(SessionYear session) {
+        LimitOffset limOff = LimitOffset.THOUSAND;
+        List<BaseBillId> billIds = billDataService.getBillIds(session, limOff);
+        while (!billIds.isEmpty()) {
+            logger.info("Indexing {} bills starting from {}", billIds.size(), billIds.get(0));
+            billSearchDao.updateBillIndex(billDataService.getBills(billIds).stream()
+                .filter(this::isBillIndexable)
+                .collect(toList()));
+            limOff = limOff.next();
+            billIds = billDataService.getBillIds(session, limOff);
+        }
+    }
+
     /**
      * Returns true if the given bill meets the criteria for being indexed in the search layer.
      *
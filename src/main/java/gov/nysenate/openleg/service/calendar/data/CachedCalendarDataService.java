@@ -20,6 +20,7 @@ import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.MemoryUnit;
+import org.apache.commons.lang3.SerializationUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,6 +37,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Data service layer for retrieving and updating calendars. Cached calendars are treated as immutable
+ * snapshots: readers share the cached instance, while writers modify a copy of it which replaces the
+ * snapshot once it has been saved.
+ */
 @Service
 public class CachedCalendarDataService implements CalendarDataService, CachingService<CalendarId>
 {
@@ -120,7 +126,7 @@ public class CachedCalendarDataService implements CalendarDataService, CachingSe
     /** {@inheritDoc} */
     @Subscribe
     @Override
-    public synchronized void handleCacheWarmEvent(CacheWarmEvent warmEvent) {
+    public void handleCacheWarmEvent(CacheWarmEvent warmEvent) {
         if (warmEvent.affects(ContentCache.CALENDAR)) {
             warmCaches();
         }
@@ -151,6 +157,12 @@ public class CachedCalendarDataService implements CalendarDataService, CachingSe
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Calendar getCalendarForUpdate(CalendarId calendarId) throws CalendarNotFoundEx {
+        return SerializationUtils.clone(getCalendar(calendarId));
+    }
+
     /** {@inheritDoc} */
     @Override
     public CalendarActiveList getActiveList(CalendarActiveListId activeListId) throws CalendarNotFoundEx {
@@ -260,7 +272,8 @@ public class CachedCalendarDataService implements CalendarDataService, CachingSe
     public void saveCalendar(Calendar calendar, SobiFragment sobiFragment, boolean postUpdateEvent) {
         logger.debug("Persisting {}", calendar);
         calendarDao.updateCalendar(calendar, sobiFragment);
-        calendarCache.put(new Element(calendar.getId(), calendar));
+        // The caller may keep modifying its instance, so a copy of it becomes the cached snapshot.
+        calendarCache.put(new Element(calendar.getId(), SerializationUtils.clone(calendar)));
         if (postUpdateEvent) {
             eventBus.post(new CalendarUpdateEvent(calendar));
         }
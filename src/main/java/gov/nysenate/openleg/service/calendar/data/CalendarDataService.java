@@ -15,7 +15,8 @@ import java.util.Optional;
 public interface CalendarDataService
 {
     /**
-     * Retrieve calendar instances based on the calendar no and year.
+     * Retrieve calendar instances based on the calendar no and year. The returned calendar may be shared
+     * with other readers and must not be modified, use {@link #getCalendarForUpdate(CalendarId)} instead.
      *
      * @param calendarId CalendarId
      * @return Calendar
@@ -23,6 +24,16 @@ public interface CalendarDataService
      */
     public Calendar getCalendar(CalendarId calendarId) throws CalendarNotFoundEx;
 
+    /**
+     * Retrieve a private copy of a calendar that can be modified and then saved. Modifications are not
+     * visible to readers of {@link #getCalendar(CalendarId)} until the calendar is saved.
+     *
+     * @param calendarId CalendarId
+     * @return Calendar
+     * @throws CalendarNotFoundEx - If no Calendar was matched via the given id.
+     */
+    public Calendar getCalendarForUpdate(CalendarId calendarId) throws CalendarNotFoundEx;
+
     /**
      * Retrieves an active list corresponding to the given active list id
      *
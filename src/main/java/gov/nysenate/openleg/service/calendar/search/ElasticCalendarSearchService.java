@@ -12,6 +12,7 @@ import gov.nysenate.openleg.model.calendar.Calendar;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuildService;
 import gov.nysenate.openleg.service.calendar.data.CalendarDataService;
 import gov.nysenate.openleg.service.calendar.event.BulkCalendarUpdateEvent;
 import gov.nysenate.openleg.service.calendar.event.CalendarUpdateEvent;
@@ -25,8 +26,12 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 public class ElasticCalendarSearchService implements CalendarSearchService {
@@ -35,6 +40,7 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
 
     @Autowired private ElasticCalendarSearchDao calendarSearchDao;
     @Autowired private CalendarDataService calendarDataService;
+    @Autowired private SearchIndexRebuildService rebuildService;
     @Autowired private Environment env;
     @Autowired private EventBus eventBus;
 
@@ -60,15 +66,14 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
     @Subscribe
     @Override
     public synchronized void handleCalendarUpdateEvent(CalendarUpdateEvent calendarUpdateEvent) {
-
-        updateIndex(calendarUpdateEvent.getCalendar());
+        queueIndexUpdates(Collections.singletonList(calendarUpdateEvent.getCalendar()));
     }
 
     /** {@inheritDoc} */
     @Subscribe
     @Override
     public void handleBulkCalendarUpdateEvent(BulkCalendarUpdateEvent bulkCalendarUpdateEvent) {
-        updateIndex(bulkCalendarUpdateEvent.getCalendars());
+        queueIndexUpdates(bulkCalendarUpdateEvent.getCalendars());
     }
 
     /** {@inheritDoc} */
@@ -99,13 +104,18 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
         Optional<Range<Integer>> calendarYearRange =  calendarDataService.getCalendarYearRange();
         if (calendarYearRange.isPresent()) {
-            for (int year = calendarYearRange.get().lowerEndpoint();
-                 year <= calendarYearRange.get().upperEndpoint(); year++) {
-                updateIndex(calendarDataService.getCalendars(year, SortOrder.NONE, LimitOffset.ALL));
-            }
+            List<String> years = IntStream.rangeClosed(calendarYearRange.get().lowerEndpoint(),
+                                                       calendarYearRange.get().upperEndpoint())
+                .mapToObj(Integer::toString)
+                .collect(Collectors.toList());
+            rebuildService.rebuild(SearchIndex.CALENDAR, calendarSearchDao, years, year ->
+                calendarSearchDao.updateCalendarIndexBulk(
+                    calendarDataService.getCalendars(Integer.parseInt(year), SortOrder.NONE, LimitOffset.ALL)));
+        }
+        else {
+            clearIndex();
         }
     }
 
@@ -129,6 +139,18 @@ public class ElasticCalendarSearchService implements CalendarSearchService {
 
     /** --- Helper Methods --- */
 
+    /**
+     * Queues index writes for the given calendars so that the caller is not held up by elastic search.
+     *
+     * @param calendars
+     */
+    private void queueIndexUpdates(Collection<Calendar> calendars) {
+        if (env.isElasticIndexing()) {
+            logger.info("Queueing {} calendars for indexing into elastic search", calendars.size());
+            calendarSearchDao.queueCalendarIndexUpdates(calendars);
+        }
+    }
+
     /**
      * Returns a query that can be used for all calendar types that matches calendars for the given year
      * in addition to the criteria specified by the given query string
@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.service.entity.committee.data;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
@@ -35,6 +36,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Committee data service backed by an in memory index of each committee's session history.
+ *
+ * Each cache entry holds an immutable {@link CommitteeSessionHistory} for a single committee session, which allows
+ * committee versions to be resolved in logarithmic time. Entries are replaced as a whole when a committee is saved,
+ * so readers always see either the complete previous index or the complete new one. The list of committee ids is
+ * kept in memory as well, so committee listings are served without any database calls once the cache is warm.
+ */
 @Service
 public class CachedCommitteeDataService implements CommitteeDataService, CachingService<CommitteeSessionId> {
 
@@ -48,6 +57,9 @@ public class CachedCommitteeDataService implements CommitteeDataService, Caching
 
     private Cache committeeCache;
 
+    /** The ids of all committees, null until they are first requested. */
+    private volatile ImmutableList<CommitteeId> committeeIds;
+
     @PostConstruct
     private void init() {
         setupCaches();
@@ -84,7 +96,14 @@ public class CachedCommitteeDataService implements CommitteeDataService, Caching
     /** {@inheritDoc} */
     @Override
     public void evictContent(CommitteeSessionId committeeSessionId) {
-        committeeCache.remove(committeeSessionId);
+        committeeCache.remove(toSessionId(committeeSessionId));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictCaches() {
+        CachingService.super.evictCaches();
+        resetCommitteeIds();
     }
 
     /** {@inheritDoc} */
@@ -146,15 +165,9 @@ public class CachedCommitteeDataService implements CommitteeDataService, Caching
         if (committeeVersionId == null) {
             throw new IllegalArgumentException("committeeVersionId cannot be null!");
         }
-        LocalDateTime refDate = committeeVersionId.getReferenceDate();
-        for (Committee committee : getCommitteeHistory(committeeVersionId)) {
-            if ( committee.getCreated().equals(refDate) ||
-                     committee.getCreated().isBefore(refDate)  &&
-                    (committee.getReformed()==null || committee.getReformed().isAfter(refDate)) ) {
-                return committee;
-            }
-        }
-        throw new CommitteeNotFoundEx(committeeVersionId, null);
+        return getSessionHistory(committeeVersionId)
+                .getVersion(committeeVersionId.getReferenceDate())
+                .orElseThrow(() -> new CommitteeNotFoundEx(committeeVersionId, null));
     }
 
     /**
@@ -162,7 +175,16 @@ public class CachedCommitteeDataService implements CommitteeDataService, Caching
      */
     @Override
     public List<CommitteeId> getCommitteeIds() {
-        return committeeDao.getCommitteeList();
+        ImmutableList<CommitteeId> ids = committeeIds;
+        if (ids == null) {
+            synchronized (this) {
+                if (committeeIds == null) {
+                    committeeIds = ImmutableList.copyOf(committeeDao.getCommitteeList());
+                }
+                ids = committeeIds;
+            }
+        }
+        return ids;
     }
 
     @Override
@@ -202,7 +224,6 @@ public class CachedCommitteeDataService implements CommitteeDataService, Caching
     }
 
     /** {@inheritDoc} */
-    @SuppressWarnings("unchecked")
     @Override
     public List<Committee> getCommitteeHistory(CommitteeSessionId committeeSessionId,
                                                LimitOffset limitOffset, SortOrder order) throws CommitteeNotFoundEx {
@@ -210,23 +231,7 @@ public class CachedCommitteeDataService implements CommitteeDataService, Caching
             throw new IllegalArgumentException("CommitteeSessionId cannot be null!");
         }
 
-        List<Committee> committeeHistory;
-
-        Element element = committeeCache.get(committeeSessionId);
-        if (element != null) {
-            logger.debug("Committee cache hit for {}", committeeSessionId);
-            committeeHistory = (List<Committee>) element.getObjectValue();
-        }
-        else {
-            try {
-                committeeHistory = committeeDao.getCommitteeHistory(committeeSessionId);
-                committeeCache.put(new Element(committeeSessionId, committeeHistory));
-                logger.debug("Added committee history {} to cache", committeeSessionId);
-            }
-            catch (EmptyResultDataAccessException ex){
-                throw new CommitteeNotFoundEx(committeeSessionId, ex);
-            }
-        }
+        List<Committee> committeeHistory = getSessionHistory(committeeSessionId).getHistory();
 
         // The dao provides the result already in DESC order by created date
         if (order != null && order.equals(SortOrder.ASC)) {
@@ -256,7 +261,11 @@ public class CachedCommitteeDataService implements CommitteeDataService, Caching
             throw new IllegalArgumentException("Committee cannot be null.");
         }
         committeeDao.updateCommittee(committee, sobiFragment);
-        committeeCache.remove(committee.getSessionId());
+        loadSessionHistory(committee.getSessionId());
+        ImmutableList<CommitteeId> ids = committeeIds;
+        if (ids != null && !ids.contains(committee.getId())) {
+            resetCommitteeIds();
+        }
         eventBus.post(new CommitteeUpdateEvent(committee, LocalDateTime.now()));
     }
 
@@ -267,5 +276,73 @@ public class CachedCommitteeDataService implements CommitteeDataService, Caching
             throw new IllegalArgumentException("CommitteeId cannot be null!");
         }
         committeeDao.deleteCommittee(committeeId);
+        resetCommitteeIds();
+        CommitteeId deletedId = new CommitteeId(committeeId.getChamber(), committeeId.getName());
+        for (Object key : committeeCache.getKeys()) {
+            CommitteeSessionId sessionId = (CommitteeSessionId) key;
+            if (deletedId.equals(new CommitteeId(sessionId.getChamber(), sessionId.getName()))) {
+                committeeCache.remove(key);
+            }
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Gets the indexed history of a committee session, loading it from the database if it is not cached.
+     *
+     * @throws CommitteeNotFoundEx - If the committee has no versions in the session.
+     */
+    private CommitteeSessionHistory getSessionHistory(CommitteeSessionId committeeSessionId) throws CommitteeNotFoundEx {
+        CommitteeSessionId sessionId = toSessionId(committeeSessionId);
+        CommitteeSessionHistory sessionHistory;
+        Element element = committeeCache.get(sessionId);
+        if (element != null) {
+            logger.debug("Committee cache hit for {}", sessionId);
+            sessionHistory = (CommitteeSessionHistory) element.getObjectValue();
+        }
+        else {
+            sessionHistory = loadSessionHistory(sessionId);
+        }
+        if (sessionHistory.isEmpty()) {
+            throw new CommitteeNotFoundEx(sessionId, null);
+        }
+        return sessionHistory;
+    }
+
+    /**
+     * Loads the history of a committee session from the database and replaces its cached index.
+     * Sessions without any committee versions are cached as well so that they are not queried repeatedly.
+     */
+    private CommitteeSessionHistory loadSessionHistory(CommitteeSessionId committeeSessionId) {
+        CommitteeSessionId sessionId = toSessionId(committeeSessionId);
+        CommitteeSessionHistory sessionHistory;
+        try {
+            sessionHistory = CommitteeSessionHistory.of(committeeDao.getCommitteeHistory(sessionId));
+        }
+        catch (EmptyResultDataAccessException ex) {
+            sessionHistory = CommitteeSessionHistory.empty();
+        }
+        committeeCache.put(new Element(sessionId, sessionHistory));
+        logger.debug("Added committee history {} to cache", sessionId);
+        return sessionHistory;
+    }
+
+    /**
+     * Clears the committee ids so that they are reloaded on the next request.
+     * This waits for any load that is in progress, which could otherwise restore an outdated list.
+     */
+    private synchronized void resetCommitteeIds() {
+        committeeIds = null;
+    }
+
+    /**
+     * Version ids are reduced to plain session ids so that every version of a session shares one cache entry.
+     */
+    private static CommitteeSessionId toSessionId(CommitteeSessionId committeeSessionId) {
+        return committeeSessionId.getClass() == CommitteeSessionId.class
+                ? committeeSessionId
+                : new CommitteeSessionId(committeeSessionId.getChamber(), committeeSessionId.getName(),
+                                         committeeSessionId.getSession());
     }
 }
@@ -0,0 +1,89 @@
+package gov.nysenate.openleg.service.entity.committee.data;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import gov.nysenate.openleg.model.entity.Committee;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * An immutable index over the versions of a single committee within a session.
+ *
+ * Each version of a committee is in effect from its created date time up until its reformed date time. The versions
+ * are indexed by their created date time so that the version in effect at any given time can be found with a
+ * single floor lookup rather than by scanning the history.
+ */
+public final class CommitteeSessionHistory
+{
+    private static final CommitteeSessionHistory EMPTY =
+        new CommitteeSessionHistory(ImmutableList.of(), ImmutableSortedMap.of());
+
+    /** All versions of the committee, ordered by created date time, most recent first. */
+    private final ImmutableList<Committee> history;
+
+    /** The versions of the committee keyed by their created date time. */
+    private final ImmutableSortedMap<LocalDateTime, Committee> versions;
+
+    /** --- Constructors --- */
+
+    private CommitteeSessionHistory(ImmutableList<Committee> history,
+                                    ImmutableSortedMap<LocalDateTime, Committee> versions) {
+        this.history = history;
+        this.versions = versions;
+    }
+
+    /**
+     * Creates an index from a committee history.
+     *
+     * @param history List<Committee> - The committee versions in descending order of created date time.
+     * @return CommitteeSessionHistory
+     */
+    public static CommitteeSessionHistory of(List<Committee> history) {
+        if (history == null || history.isEmpty()) {
+            return EMPTY;
+        }
+        NavigableMap<LocalDateTime, Committee> versions = new TreeMap<>();
+        // If two versions share a created date time, the first one in the history takes precedence
+        history.forEach(committee -> versions.putIfAbsent(committee.getCreated(), committee));
+        return new CommitteeSessionHistory(ImmutableList.copyOf(history), ImmutableSortedMap.copyOfSorted(versions));
+    }
+
+    /**
+     * @return CommitteeSessionHistory - An index for a committee that has no versions in the session.
+     */
+    public static CommitteeSessionHistory empty() {
+        return EMPTY;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Gets the version of the committee that was in effect at the given date time.
+     *
+     * @param referenceDate LocalDateTime
+     * @return Optional<Committee> - empty if no version was in effect at that time.
+     */
+    public Optional<Committee> getVersion(LocalDateTime referenceDate) {
+        Map.Entry<LocalDateTime, Committee> entry = versions.floorEntry(referenceDate);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        Committee committee = entry.getValue();
+        if (committee.getCreated().equals(referenceDate) ||
+                committee.getReformed() == null || committee.getReformed().isAfter(referenceDate)) {
+            return Optional.of(committee);
+        }
+        return Optional.empty();
+    }
+
+    public boolean isEmpty() {
+        return history.isEmpty();
+    }
+
+    /** --- Basic Getters --- */
+
+    public ImmutableList<Committee> getHistory() {
+        return history;
+    }
+}
@@ -10,6 +10,7 @@ import gov.nysenate.openleg.model.entity.CommitteeSessionId;
 import gov.nysenate.openleg.model.entity.CommitteeVersionId;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuildService;
 import gov.nysenate.openleg.service.entity.committee.data.CommitteeDataService;
 import gov.nysenate.openleg.service.entity.committee.event.CommitteeUpdateEvent;
 import org.elasticsearch.ElasticsearchException;
@@ -21,6 +22,9 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class ElasticCommitteeSearchService implements CommitteeSearchService
@@ -34,6 +38,9 @@ public class ElasticCommitteeSearchService implements CommitteeSearchService
     @Autowired
     EventBus eventBus;
 
+    @Autowired
+    SearchIndexRebuildService rebuildService;
+
     @PostConstruct
     private void init() {
         eventBus.register(this);
@@ -114,9 +121,10 @@ public class ElasticCommitteeSearchService implements CommitteeSearchService
      */
     @Override
     public void rebuildIndex() {
-        clearIndex();
-
-        committeeSearchDao.updateCommitteeIndexBulk(committeeDataService.getAllCommitteeSessionIds());
+        Map<String, List<CommitteeSessionId>> sessionIdsByYear = committeeDataService.getAllCommitteeSessionIds().stream()
+                .collect(Collectors.groupingBy(sessionId -> Integer.toString(sessionId.getSession().getYear())));
+        rebuildService.rebuild(SearchIndex.COMMITTEE, committeeSearchDao, sessionIdsByYear.keySet(),
+                year -> committeeSearchDao.updateCommitteeIndexBulk(sessionIdsByYear.get(year)));
     }
 
     /**
@@ -22,6 +22,7 @@ import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
 import net.sf.ehcache.config.CacheConfiguration;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +35,7 @@ import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -42,11 +44,17 @@ public class CachedMemberService implements MemberService, CachingService<Intege
 {
     private static final Logger logger = LoggerFactory.getLogger(CachedMemberService.class);
 
+    /** Short names are matched on this many leading characters, the same as the member dao. */
+    private static final int SHORT_NAME_MATCH_LENGTH = 15;
+
     @Autowired
     private EventBus eventBus;
 
     private Cache memberCache;
 
+    /** Resolves (short name, session year, chamber) keys to session members without a database query. */
+    private volatile Map<SimpleKey, SessionMember> shortNameIndex = new ConcurrentHashMap<>();
+
     @Autowired
     private CacheManager cacheManager;
 
@@ -107,11 +115,28 @@ public class CachedMemberService implements MemberService, CachingService<Intege
 
     /** {@inheritDoc} */
     @Override
+    public void evictCaches() {
+        CachingService.super.evictCaches();
+        shortNameIndex.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The short name index is rebuilt from the same members and swapped in once it is complete, so that
+     * lookups made while the cache is warming are still resolved.
+     */
+    @Override
     public void warmCaches() {
-        evictCaches();
+        memberCache.removeAll();
         logger.info("Warming up member cache");
-        memberDao.getAllMembers(SortOrder.ASC, LimitOffset.ALL).stream().forEach(this::putMemberInCache);
-        logger.info("Done warming up member cache");
+        Map<SimpleKey, SessionMember> newShortNameIndex = new ConcurrentHashMap<>();
+        memberDao.getAllMembers(SortOrder.ASC, LimitOffset.ALL).forEach(member -> {
+            putMemberInCache(member);
+            putMemberInShortNameIndex(newShortNameIndex, member);
+        });
+        shortNameIndex = newShortNameIndex;
+        logger.info("Done warming up member cache, indexed {} short names", newShortNameIndex.size());
     }
 
     /** {@inheritDoc} */
@@ -174,8 +199,15 @@ public class CachedMemberService implements MemberService, CachingService<Intege
         if (lbdcShortName == null || chamber == null) {
             throw new IllegalArgumentException("Shortname and/or chamber cannot be null.");
         }
+        // The member dao trims the requested short name, but not the stored ones
+        SessionMember indexedMember = shortNameIndex.get(getShortNameKey(lbdcShortName.trim(), sessionYear, chamber));
+        if (indexedMember != null) {
+            return indexedMember;
+        }
         try {
-            return memberDao.getMemberByShortName(lbdcShortName, sessionYear, chamber);
+            SessionMember member = memberDao.getMemberByShortName(lbdcShortName, sessionYear, chamber);
+            putMemberInShortNameIndex(shortNameIndex, member);
+            return member;
         }
         catch (EmptyResultDataAccessException ex) {
             throw new MemberNotFoundEx(lbdcShortName, sessionYear, chamber);
@@ -188,11 +220,26 @@ public class CachedMemberService implements MemberService, CachingService<Intege
         try {
             return getMemberByShortName(lbdcShortName, sessionYear, chamber);
         }
+        catch (MemberNotFoundEx ex) {
+            return createMakeshiftMember(lbdcShortName, sessionYear, chamber);
+        }
+    }
+
+    /**
+     * Creates and persists a makeshift member for an unknown short name. Synchronized so that concurrent
+     * processors do not create duplicate entries for the same short name.
+     */
+    private synchronized SessionMember createMakeshiftMember(String lbdcShortName, SessionYear sessionYear,
+                                                             Chamber chamber) throws ParseError {
+        try {
+            return getMemberByShortName(lbdcShortName, sessionYear, chamber);
+        }
         catch (MemberNotFoundEx ex) {
             SessionMember member = SessionMember.newMakeshiftMember(lbdcShortName, sessionYear, chamber);
             memberDao.updatePerson(member);
             memberDao.updateMember(member);
             memberDao.updateSessionMember(member);
+            putMemberInShortNameIndex(shortNameIndex, member);
             eventBus.post(new UnverifiedMemberEvent(member, LocalDateTime.now()));
             return member;
         }
@@ -230,6 +277,7 @@ public class CachedMemberService implements MemberService, CachingService<Intege
         sessionMembers.forEach(memberDao::updateSessionMember);
 
         memberDao.clearOrphans();
+        shortNameIndex.clear();
 
         // We need to rebuild cache and search index to account for session members that were
         //      tangentially modified via a person or member update
@@ -243,4 +291,24 @@ public class CachedMemberService implements MemberService, CachingService<Intege
     private void putMemberInCache(SessionMember member) {
         memberCache.put(new Element(new SimpleKey(member.getSessionMemberId()), member, true));
     }
+
+    /**
+     * Adds the member to the given short name index. A member's primary short name takes precedence
+     * over an alternate short name that matches the same key.
+     */
+    private static void putMemberInShortNameIndex(Map<SimpleKey, SessionMember> index, SessionMember member) {
+        if (member.getLbdcShortName() == null || member.getChamber() == null) {
+            return;
+        }
+        index.merge(getShortNameKey(member.getLbdcShortName(), member.getSessionYear(), member.getChamber()), member,
+            (existing, added) -> (existing.isAlternate() && !added.isAlternate()) ? added : existing);
+    }
+
+    /**
+     * Short names are compared the same way as the member dao's case insensitive match on their leading characters.
+     */
+    private static SimpleKey getShortNameKey(String lbdcShortName, SessionYear sessionYear, Chamber chamber) {
+        String shortName = StringUtils.left(lbdcShortName, SHORT_NAME_MATCH_LENGTH).toLowerCase(Locale.ROOT);
+        return new SimpleKey(shortName, sessionYear, chamber);
+    }
 }
\ No newline at end of file
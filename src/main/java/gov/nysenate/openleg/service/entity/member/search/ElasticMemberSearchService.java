@@ -13,6 +13,7 @@ import gov.nysenate.openleg.model.entity.SessionMember;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuildService;
 import gov.nysenate.openleg.service.entity.member.data.MemberService;
 import gov.nysenate.openleg.service.entity.member.event.BulkMemberUpdateEvent;
 import gov.nysenate.openleg.service.entity.member.event.MemberUpdateEvent;
@@ -27,6 +28,7 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -39,6 +41,7 @@ public class ElasticMemberSearchService implements MemberSearchService, IndexedS
     @Autowired protected EventBus eventBus;
     @Autowired protected ElasticMemberSearchDao memberSearchDao;
     @Autowired protected MemberService memberDataService;
+    @Autowired protected SearchIndexRebuildService rebuildService;
 
     @PostConstruct
     protected void init() {
@@ -120,18 +123,19 @@ public class ElasticMemberSearchService implements MemberSearchService, IndexedS
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
-        LimitOffset limOff = LimitOffset.HUNDRED;
-        SortOrder sortOrder = SortOrder.ASC;
-        List<SessionMember> members;
-        do {
-            members = memberDataService.getAllMembers(sortOrder, limOff);
-            logger.info("Indexing {} members", members.size());
-            updateIndex(members);
-            limOff = limOff.next();
-            members = memberDataService.getAllMembers(sortOrder, limOff);
-        }
-        while(!members.isEmpty());
+        rebuildService.rebuild(SearchIndex.MEMBER, memberSearchDao, Collections.singletonList("all"), unit -> {
+            LimitOffset limOff = LimitOffset.HUNDRED;
+            SortOrder sortOrder = SortOrder.ASC;
+            List<SessionMember> members;
+            do {
+                members = memberDataService.getAllMembers(sortOrder, limOff);
+                logger.info("Indexing {} members", members.size());
+                updateIndex(members);
+                limOff = limOff.next();
+                members = memberDataService.getAllMembers(sortOrder, limOff);
+            }
+            while(!members.isEmpty());
+        });
     }
 
     /** {@inheritDoc} */
@@ -12,6 +12,7 @@ import gov.nysenate.openleg.model.hearing.PublicHearingId;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuildService;
 import gov.nysenate.openleg.service.hearing.event.BulkPublicHearingUpdateEvent;
 import gov.nysenate.openleg.service.hearing.event.PublicHearingUpdateEvent;
 import gov.nysenate.openleg.service.hearing.data.PublicHearingDataService;
@@ -26,6 +27,7 @@ import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -38,6 +40,7 @@ public class ElasticPublicHearingSearchService implements PublicHearingSearchSer
     @Autowired protected EventBus eventBus;
     @Autowired protected ElasticPublicHearingSearchDao publicHearingSearchDao;
     @Autowired protected PublicHearingDataService publicHearingDataService;
+    @Autowired protected SearchIndexRebuildService rebuildService;
 
     @PostConstruct
     protected void init() {
@@ -143,18 +146,17 @@ public class ElasticPublicHearingSearchService implements PublicHearingSearchSer
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
-        for (int year = 2011; year <= LocalDate.now().getYear(); year++) {
+        rebuildService.rebuild(SearchIndex.HEARING, publicHearingSearchDao, Collections.singletonList("all"), unit -> {
             LimitOffset limitOffset = LimitOffset.TWENTY_FIVE;
             List<PublicHearingId> publicHearingIds = publicHearingDataService.getPublicHearingIds(SortOrder.DESC, limitOffset);
             while (!publicHearingIds.isEmpty()) {
-                logger.info("Indexing {} public hearings starting from {}.", publicHearingIds.size(), year);
+                logger.info("Indexing {} public hearings starting from {}.", publicHearingIds.size(), publicHearingIds.get(0));
                 List<PublicHearing> publicHearings = publicHearingIds.stream().map(publicHearingDataService::getPublicHearing).collect(Collectors.toList());
                 updateIndex(publicHearings);
                 limitOffset = limitOffset.next();
                 publicHearingIds = publicHearingDataService.getPublicHearingIds(SortOrder.DESC, limitOffset);
             }
-        }
+        });
     }
 
     /** {@inheritDoc} */
@@ -27,6 +27,7 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.stream.Collectors.toList;
 
@@ -46,13 +47,14 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
 
     private EhCacheCache lawTreeCache;
 
-    private Map<String, LocalDate> maxPubDates = new HashMap<>();
+    /** The most recent tree published date for each law id. */
+    private final Map<String, LocalDate> maxPubDates = new ConcurrentHashMap<>();
 
     @PostConstruct
     private void init() {
         eventBus.register(this);
         setupCaches();
-        maxPubDates = lawDataDao.getLastPublishedMap();
+        maxPubDates.putAll(lawDataDao.getLastPublishedMap());
     }
 
     @PreDestroy
@@ -104,7 +106,7 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     @Override
     public void evictContent(LawVersionId lawVersionId) {
         lawTreeCache.evict(lawVersionId);
-        maxPubDates.clear();
+        maxPubDates.remove(lawVersionId.getLawId());
     }
 
     /** {@inheritDoc} */
@@ -143,8 +145,8 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         if (lawId == null) throw new IllegalArgumentException("Supplied lawId cannot be null");
         try {
             if (endPublishedDate == null) {
-                if (maxPubDates.isEmpty()) {
-                    maxPubDates = lawDataDao.getLastPublishedMap();
+                if (!maxPubDates.containsKey(lawId)) {
+                    maxPubDates.putAll(lawDataDao.getLastPublishedMap());
                 }
                 endPublishedDate = maxPubDates.get(lawId);
             }
@@ -164,6 +166,12 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public LawTree getLawTreeForUpdate(String lawId, LocalDate endPublishedDate) throws LawTreeNotFoundEx {
+        return getLawTree(lawId, endPublishedDate).copy();
+    }
+
     /** {@inheritDoc} */
     @Override
     public LawDocInfo getLawDocInfo(String documentId, LocalDate endPublishedDate) throws LawDocumentNotFoundEx {
@@ -205,9 +213,23 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     @Override
     public void saveLawTree(LawFile lawFile, LawTree lawTree) {
         if (lawTree == null) throw new IllegalArgumentException("Supplied lawTree cannot be null");
-        lawDataDao.updateLawTree(lawFile, lawTree);
-        lawTreeCache.put(lawTree.getLawVersionId(), lawTree);
-        maxPubDates.clear();
+        LawTree previousTree;
+        try {
+            previousTree = getLawTree(lawTree.getLawId(), lawTree.getPublishedDate());
+        }
+        catch (LawTreeNotFoundEx ex) {
+            previousTree = null;
+        }
+        lawDataDao.updateLawTree(lawFile, previousTree, lawTree);
+        LawTree snapshot = lawTree.copy();
+        if (previousTree != null) {
+            TreeSet<LocalDate> publishedDates = new TreeSet<>(previousTree.getPublishedDates());
+            publishedDates.add(lawTree.getPublishedDate());
+            snapshot.setPublishedDates(new ArrayList<>(publishedDates));
+        }
+        lawTreeCache.put(snapshot.getLawVersionId(), snapshot);
+        maxPubDates.merge(lawTree.getLawId(), lawTree.getPublishedDate(),
+            (oldDate, newDate) -> (newDate.isAfter(oldDate)) ? newDate : oldDate);
     }
 
     /** {@inheritDoc} */
@@ -217,4 +239,14 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         if (lawFile == null) throw new IllegalArgumentException("Supplied lawFile cannot be null");
         lawDataDao.updateLawDocument(lawFile, lawDocument);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public void saveLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+        if (lawDocuments == null) throw new IllegalArgumentException("Supplied lawDocuments cannot be null");
+        if (lawFile == null) throw new IllegalArgumentException("Supplied lawFile cannot be null");
+        if (!lawDocuments.isEmpty()) {
+            lawDataDao.updateLawDocuments(lawFile, lawDocuments);
+        }
+    }
 }
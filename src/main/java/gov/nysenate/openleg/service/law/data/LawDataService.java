@@ -3,6 +3,7 @@ package gov.nysenate.openleg.service.law.data;
 import gov.nysenate.openleg.model.law.*;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -18,7 +19,8 @@ public interface LawDataService
     /**
      * Retrieves the LawTree from the backing store given the law id and an endPublishedDate. The most recent law tree
      * with a published date prior to or on 'endPublishedDate' will be returned. Otherwise a LawTreeNotFoundEx will
-     * be thrown.
+     * be thrown. The returned tree may be shared with other readers and must not be modified, use
+     * {@link #getLawTreeForUpdate(String, LocalDate)} instead.
      *
      * @param lawId String - Three letter law id
      * @param endPublishedDate - LocalDate - The upper bound for published date
@@ -27,6 +29,17 @@ public interface LawDataService
      */
     public LawTree getLawTree(String lawId, LocalDate endPublishedDate) throws LawTreeNotFoundEx;
 
+    /**
+     * Retrieve a private copy of a law tree that can be modified and then saved. Modifications are not
+     * visible to readers of {@link #getLawTree(String, LocalDate)} until the tree is saved.
+     *
+     * @param lawId String - Three letter law id
+     * @param endPublishedDate - LocalDate - The upper bound for published date
+     * @return LawTree
+     * @throws LawTreeNotFoundEx - If there is no law tree that meets the given criteria.
+     */
+    public LawTree getLawTreeForUpdate(String lawId, LocalDate endPublishedDate) throws LawTreeNotFoundEx;
+
     /**
      * Retrieves the LawDocument from the backing store given the document id and an endPublishedDate. The most recent
      * law document with a published date prior to or on 'endPublishedDate' will be returned. Otherwise a
@@ -61,6 +74,7 @@ public interface LawDataService
 
     /**
      * Persists the LawTree into the backing store with LawFile used as a reference to the source data.
+     * Only the nodes that differ from the most recent tree on or before its published date are written.
      *
      * @param lawFile LawFile - The LawFile instance that represents the source data.
      * @param lawTree LawTree - The LawTree to persist.
@@ -74,4 +88,12 @@ public interface LawDataService
      * @param lawDocument LawDocument - The LawDocument to persist.
      */
     public void saveLawDocument(LawFile lawFile, LawDocument lawDocument);
+
+    /**
+     * Persists a batch of LawDocuments into the backing store with LawFile used as a reference to the source data.
+     *
+     * @param lawFile LawFile - The LawFile instance that represents the source data.
+     * @param lawDocuments Collection<LawDocument> - The LawDocuments to persist.
+     */
+    public void saveLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments);
 }
@@ -9,9 +9,11 @@ import gov.nysenate.openleg.dao.law.data.LawDataDao;
 import gov.nysenate.openleg.dao.law.search.ElasticLawSearchDao;
 import gov.nysenate.openleg.model.law.LawDocId;
 import gov.nysenate.openleg.model.law.LawDocument;
+import gov.nysenate.openleg.model.law.LawInfo;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuildService;
 import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
 import gov.nysenate.openleg.service.law.event.LawUpdateEvent;
 import org.elasticsearch.ElasticsearchException;
@@ -27,6 +29,7 @@ import javax.annotation.PostConstruct;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,6 +41,7 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
     @Autowired private Environment env;
     @Autowired private ElasticLawSearchDao lawSearchDao;
     @Autowired private LawDataDao lawDataDao;
+    @Autowired private SearchIndexRebuildService rebuildService;
 
     @PostConstruct
     private void init() {
@@ -116,9 +120,9 @@ public class ElasticLawSearchService implements LawSearchService, IndexedSearchS
     @Override
     public void rebuildIndex() {
         logger.info("Handling law search re-indexing");
-        clearIndex();
-        lawDataDao.getLawInfos().stream().forEach(lawInfo ->
-            updateIndex(lawDataDao.getLawDocuments(lawInfo.getLawId(), LocalDate.now()).entrySet().stream()
+        List<String> lawIds = lawDataDao.getLawInfos().stream().map(LawInfo::getLawId).collect(Collectors.toList());
+        rebuildService.rebuild(SearchIndex.LAW, lawSearchDao, lawIds, lawId ->
+            updateIndex(lawDataDao.getLawDocuments(lawId, LocalDate.now()).entrySet().stream()
                 .map(doc -> doc.getValue()).collect(Collectors.toList())));
     }
 
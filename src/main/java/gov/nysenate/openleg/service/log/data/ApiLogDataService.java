@@ -22,10 +22,34 @@ public interface ApiLogDataService
     List<ApiResponse> getResponses(Range<LocalDateTime> dateTimeRange, LimitOffset limOff, SortOrder order);
 
     /**
-     * Persist ApiLogEvent into the data store asynchronously.
+     * Queue an ApiLogEvent to be persisted with the next batch. This never blocks, if the queue is full
+     * the event is dropped and counted instead.
      *
      * @param apiLogEvent ApiLogEvent
-     * @param emitSearchEvent boolean - set to true if a ApiLogIndexEvent should fire upon persisting.
+     * @return boolean - true if the event was queued, false if it was dropped.
      */
-    void saveApiResponseAsync(ApiLogEvent apiLogEvent, boolean emitSearchEvent);
+    boolean queueApiLogEvent(ApiLogEvent apiLogEvent);
+
+    /**
+     * Persist all queued ApiLogEvents into the data store in batches. An ApiLogBatchEvent is fired for
+     * each persisted batch.
+     *
+     * @return int - The number of events that were persisted.
+     */
+    int flushApiLogEvents();
+
+    /**
+     * @return long - The number of ApiLogEvents that were dropped because the queue was full.
+     */
+    long getDroppedCount();
+
+    /**
+     * @return int - The number of ApiLogEvents that are waiting to be persisted.
+     */
+    int getQueuedCount();
+
+    /**
+     * @return int - The maximum number of ApiLogEvents that can be waiting to be persisted.
+     */
+    int getQueueCapacity();
 }
@@ -2,23 +2,38 @@ package gov.nysenate.openleg.service.log.data;
 
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.service.auth.ApiUserService;
 import gov.nysenate.openleg.service.log.event.ApiLogEvent;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.log.data.ApiLogDao;
+import gov.nysenate.openleg.model.auth.ApiRequest;
 import gov.nysenate.openleg.model.auth.ApiResponse;
-import gov.nysenate.openleg.service.log.event.ApiLogIndexEvent;
+import gov.nysenate.openleg.service.log.event.ApiLogBatchEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
+/**
+ * Api log events are queued by the request threads and written to the database in batches by a scheduled flush.
+ * The queue is lock free and bounded, so logging never blocks or slows down a request. When the database cannot
+ * keep up and the queue fills, new events are dropped and counted.
+ */
 @Service
 public class SqlApiLogDataService implements ApiLogDataService
 {
@@ -26,28 +41,85 @@ public class SqlApiLogDataService implements ApiLogDataService
 
     @Autowired protected EventBus eventBus;
     @Autowired protected ApiLogDao apiLogDao;
+    @Autowired protected ApiUserService apiUserService;
+
+    /** The maximum number of events that can be waiting to be persisted. */
+    @Value("${api.log.queue.size:50000}") private int queueSize;
+
+    /** The maximum number of events that are persisted in a single batch. */
+    @Value("${api.log.batch.size:1000}") private int batchSize;
+
+    private final Queue<ApiLogEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicLong droppedCount = new AtomicLong();
 
     @PostConstruct
     public void init() {
         this.eventBus.register(this);
     }
 
+    @PreDestroy
+    public void destroy() {
+        flushApiLogEvents();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean queueApiLogEvent(ApiLogEvent apiLogEvent) {
+        if (apiLogEvent == null) {
+            return false;
+        }
+        if (queuedCount.incrementAndGet() > queueSize) {
+            queuedCount.decrementAndGet();
+            if (droppedCount.incrementAndGet() % 1000 == 1) {
+                logger.warn("Api log queue is full, {} api log events have been dropped so far", droppedCount.get());
+            }
+            return false;
+        }
+        queue.offer(apiLogEvent);
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
-    @Async
-    public void saveApiResponseAsync(ApiLogEvent apiLogEvent, boolean emitSearchEvent) {
-        try {
-            if (apiLogEvent != null) {
-                ApiResponse apiResponse = apiLogEvent.getApiResponse();
-                apiLogDao.saveApiResponse(apiResponse);
-                if (emitSearchEvent) {
-                    // This event should be picked up by the log indexer
-                    eventBus.post(new ApiLogIndexEvent(apiResponse));
-                }
+    @Scheduled(fixedDelayString = "${api.log.flush.interval:1000}")
+    public synchronized int flushApiLogEvents() {
+        int flushed = 0;
+        List<ApiLogEvent> batch;
+        while (!(batch = pollBatch()).isEmpty()) {
+            try {
+                List<ApiResponse> responses = batch.stream()
+                        .map(ApiLogEvent::getApiResponse)
+                        .collect(Collectors.toList());
+                responses.forEach(this::setApiUser);
+                apiLogDao.saveApiResponses(responses);
+                flushed += batch.size();
+                // This event should be picked up by the log indexer and broadcaster
+                eventBus.post(new ApiLogBatchEvent(batch));
+            }
+            catch (DataAccessException ex) {
+                logger.error("Error while saving a batch of {} api req/res logs.", batch.size(), ex);
             }
-        } catch (DataAccessException ex) {
-            logger.error("Error while saving api req/res log.", ex);
         }
+        return flushed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getQueueCapacity() {
+        return queueSize;
     }
 
     /** {@inheritDoc} */
@@ -55,4 +127,24 @@ public class SqlApiLogDataService implements ApiLogDataService
     public List<ApiResponse> getResponses(Range<LocalDateTime> dateTimeRange, LimitOffset limOff, SortOrder order) {
         return apiLogDao.getResponses(dateTimeRange, limOff, order);
     }
-}
\ No newline at end of file
+
+    /** --- Internal Methods --- */
+
+    private List<ApiLogEvent> pollBatch() {
+        List<ApiLogEvent> batch = new ArrayList<>();
+        ApiLogEvent event;
+        while (batch.size() < batchSize && (event = queue.poll()) != null) {
+            queuedCount.decrementAndGet();
+            batch.add(event);
+        }
+        return batch;
+    }
+
+    /**
+     * The api user is resolved here rather than on the request thread.
+     */
+    private void setApiUser(ApiResponse apiResponse) {
+        ApiRequest apiRequest = apiResponse.getBaseRequest();
+        apiUserService.getUserByKey(apiRequest.getApiKey()).ifPresent(apiRequest::setApiUser);
+    }
+}
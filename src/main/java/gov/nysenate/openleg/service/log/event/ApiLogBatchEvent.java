@@ -0,0 +1,37 @@
+package gov.nysenate.openleg.service.log.event;
+
+import com.google.common.collect.ImmutableList;
+import gov.nysenate.openleg.model.auth.ApiResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Fired once a batch of api log events has been persisted. This is intercepted by the log search indexing
+ * service and the api log broadcaster.
+ */
+public class ApiLogBatchEvent
+{
+    protected ImmutableList<ApiLogEvent> apiLogEvents;
+
+    /** --- Constructors --- */
+
+    public ApiLogBatchEvent(Collection<ApiLogEvent> apiLogEvents) {
+        this.apiLogEvents = ImmutableList.copyOf(apiLogEvents);
+    }
+
+    /** --- Functional Getters --- */
+
+    public List<ApiResponse> getApiResponses() {
+        return apiLogEvents.stream()
+                .map(ApiLogEvent::getApiResponse)
+                .collect(Collectors.toList());
+    }
+
+    /** --- Basic Getters --- */
+
+    public ImmutableList<ApiLogEvent> getApiLogEvents() {
+        return apiLogEvents;
+    }
+}
@@ -14,7 +14,8 @@ import gov.nysenate.openleg.model.search.RebuildIndexEvent;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
-import gov.nysenate.openleg.service.log.event.ApiLogIndexEvent;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuildService;
+import gov.nysenate.openleg.service.log.event.ApiLogBatchEvent;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchParseException;
@@ -25,6 +26,7 @@ import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -35,6 +37,7 @@ public class ElasticApiLogSearchService implements ApiLogSearchService
     @Autowired private EventBus eventBus;
     @Autowired private ApiLogDao apiLogDao;
     @Autowired private ElasticApiLogSearchDao apiLogSearchDao;
+    @Autowired private SearchIndexRebuildService rebuildService;
 
     @PostConstruct
     public void init() {
@@ -66,9 +69,9 @@ public class ElasticApiLogSearchService implements ApiLogSearchService
     }
 
     @Subscribe
-    public void handleUpdateIndexEvent(ApiLogIndexEvent apiLogIndexEvent) {
-        if (apiLogIndexEvent != null) {
-            apiLogSearchDao.updateLogIndex(apiLogIndexEvent.getApiResponse());
+    public void handleApiLogBatchEvent(ApiLogBatchEvent apiLogBatchEvent) {
+        if (apiLogBatchEvent != null) {
+            apiLogSearchDao.updateLogIndex(apiLogBatchEvent.getApiResponses());
         }
     }
 
@@ -80,14 +83,15 @@ public class ElasticApiLogSearchService implements ApiLogSearchService
 
     @Override
     public void rebuildIndex() {
-        clearIndex();
-        LimitOffset limOff = LimitOffset.THOUSAND;
-        List<ApiResponse> responses;
-        while (!(responses = apiLogDao.getResponses(limOff, SortOrder.ASC)).isEmpty()) {
-            logger.info("Indexing logs, batch {} - {}", limOff.getOffsetStart(), limOff.getOffsetEnd());
-            apiLogSearchDao.updateLogIndex(responses);
-            limOff = limOff.next();
-        }
+        rebuildService.rebuild(SearchIndex.API_LOG, apiLogSearchDao, Collections.singletonList("all"), unit -> {
+            LimitOffset limOff = LimitOffset.THOUSAND;
+            List<ApiResponse> responses;
+            while (!(responses = apiLogDao.getResponses(limOff, SortOrder.ASC)).isEmpty()) {
+                logger.info("Indexing logs, batch {} - {}", limOff.getOffsetStart(), limOff.getOffsetEnd());
+                apiLogSearchDao.updateLogIndex(responses);
+                limOff = limOff.next();
+            }
+        });
     }
 
     @Override
@@ -0,0 +1,459 @@
+package gov.nysenate.openleg.service.pdf;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.Striped;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.cache.*;
+import gov.nysenate.openleg.model.hearing.PublicHearing;
+import gov.nysenate.openleg.model.transcript.Transcript;
+import gov.nysenate.openleg.service.base.data.CachingService;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.hearing.event.BulkPublicHearingUpdateEvent;
+import gov.nysenate.openleg.service.hearing.event.PublicHearingUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.BulkTranscriptUpdateEvent;
+import gov.nysenate.openleg.service.transcript.event.TranscriptUpdateEvent;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.MemoryUnit;
+import org.apache.pdfbox.exceptions.COSVisitorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Caches rendered PDFs so that bills, transcripts and hearings are only rendered once per modification.
+ *
+ * Every rendered PDF is written to a file under the pdf cache directory, bounded by a total size on disk and
+ * evicted in least recently used order. PDFs that are small enough are also kept in an in-memory cache. PDFs are
+ * keyed by their content and its last modified date time (see {@link PdfCacheKey}), which also serves as the
+ * ETag of the response. The cached PDFs of a piece of content are evicted when that content is updated.
+ *
+ * A PDF file that is being served is pinned until the response has been written. Evicting a pinned file removes it
+ * from the cache right away but only deletes it from disk once the last response reading it releases it.
+ */
+@Service
+public class CachedPdfService implements CachingService<String>
+{
+    private static final Logger logger = LoggerFactory.getLogger(CachedPdfService.class);
+
+    /** PDFs larger than this are only served from disk. */
+    private static final long MAX_MEMORY_ENTRY_BYTES = 1024 * 1024;
+
+    @Autowired private CacheManager cacheManager;
+    @Autowired private EventBus eventBus;
+    @Autowired private Environment env;
+
+    @Value("${pdf.cache.size:50}") private long pdfCacheSizeMb;
+    @Value("${pdf.cache.disk.size:1024}") private long pdfDiskCacheSizeMb;
+
+    private Cache pdfCache;
+
+    private Path cacheDir;
+    private long maxDiskBytes;
+
+    /** Sizes of the cached PDF files, in least recently used order. Guarded by 'this'. */
+    private final LinkedHashMap<Path, Long> diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskBytes = 0;
+
+    /** The number of requests currently reading each PDF file. Guarded by 'this'. */
+    private final Map<Path, Integer> pinCounts = new HashMap<>();
+
+    /** Files that were evicted while pinned and are deleted once they are released. Guarded by 'this'. */
+    private final Set<Path> pendingDeletes = new HashSet<>();
+
+    /** Prevents concurrent requests for the same uncached PDF from rendering it more than once. */
+    private final Striped<Lock> renderLocks = Striped.lock(64);
+
+    @PostConstruct
+    protected void init() throws IOException {
+        cacheDir = new File(env.getBaseDir(), "pdf-cache").toPath();
+        maxDiskBytes = pdfDiskCacheSizeMb * 1024 * 1024;
+        Files.createDirectories(cacheDir);
+        loadDiskEntries();
+        setupCaches();
+        eventBus.register(this);
+    }
+
+    @PreDestroy
+    protected void cleanUp() {
+        cacheManager.removeCache(ContentCache.PDF.name());
+    }
+
+    /** --- CachingService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public void setupCaches() {
+        this.pdfCache = new Cache(new CacheConfiguration().name(ContentCache.PDF.name())
+            .eternal(true)
+            .maxBytesLocalHeap(pdfCacheSizeMb, MemoryUnit.MEGABYTES)
+            .sizeOfPolicy(defaultSizeOfPolicy()));
+        cacheManager.addCache(this.pdfCache);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Ehcache> getCaches() {
+        return Collections.singletonList(pdfCache);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Deletes the cached PDF files as well.
+     */
+    @Override
+    public synchronized void evictCaches() {
+        CachingService.super.evictCaches();
+        new ArrayList<>(diskEntries.keySet()).forEach(this::deleteDiskEntry);
+    }
+
+    /**
+     * Evicts all PDFs rendered from the content at the given content path.
+     *
+     * @param contentPath String - e.g. {@link PdfCacheKey#getContentPath(gov.nysenate.openleg.model.bill.BaseBillId)}
+     */
+    @Override
+    public synchronized void evictContent(String contentPath) {
+        Path contentDir = cacheDir.resolve(contentPath);
+        if (Files.isDirectory(contentDir)) {
+            try (Stream<Path> files = Files.list(contentDir)) {
+                files.collect(Collectors.toList()).forEach(this::deleteDiskEntry);
+            }
+            catch (IOException ex) {
+                logger.warn("Could not evict cached pdfs in {}", contentDir, ex);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
+        if (evictEvent.affects(ContentCache.PDF)) {
+            evictCaches();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictIdEvent(CacheEvictIdEvent<String> evictIdEvent) {
+        if (evictIdEvent.affects(ContentCache.PDF)) {
+            evictContent(evictIdEvent.getContentId());
+        }
+    }
+
+    /**
+     * PDFs are cached as they are requested, there is nothing to pre-load.
+     */
+    @Override
+    public void warmCaches() {}
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheWarmEvent(CacheWarmEvent warmEvent) {
+        if (warmEvent.affects(ContentCache.PDF)) {
+            warmCaches();
+        }
+    }
+
+    /** --- Content update handlers --- */
+
+    @Subscribe
+    public void handleBillUpdateEvent(BillUpdateEvent billUpdateEvent) {
+        evictBill(billUpdateEvent.getBill());
+    }
+
+    @Subscribe
+    public void handleBulkBillUpdateEvent(BulkBillUpdateEvent bulkBillUpdateEvent) {
+        bulkBillUpdateEvent.getBills().forEach(this::evictBill);
+    }
+
+    @Subscribe
+    public void handleTranscriptUpdateEvent(TranscriptUpdateEvent transcriptUpdateEvent) {
+        evictTranscript(transcriptUpdateEvent.getTranscript());
+    }
+
+    @Subscribe
+    public void handleBulkTranscriptUpdateEvent(BulkTranscriptUpdateEvent bulkTranscriptUpdateEvent) {
+        bulkTranscriptUpdateEvent.getTranscripts().forEach(this::evictTranscript);
+    }
+
+    @Subscribe
+    public void handlePublicHearingUpdateEvent(PublicHearingUpdateEvent publicHearingUpdateEvent) {
+        evictPublicHearing(publicHearingUpdateEvent.getPublicHearing());
+    }
+
+    @Subscribe
+    public void handleBulkPublicHearingUpdateEvent(BulkPublicHearingUpdateEvent bulkPublicHearingUpdateEvent) {
+        bulkPublicHearingUpdateEvent.getPublicHearings().forEach(this::evictPublicHearing);
+    }
+
+    /** --- Public Methods --- */
+
+    /**
+     * Writes the PDF identified by the given key to the response, rendering it only if it is not cached.
+     * Responds with 304 Not Modified if the request's If-None-Match header matches the key's ETag.
+     *
+     * @param key PdfCacheKey
+     * @param renderer PdfRenderer - Renders the PDF if it is not cached.
+     */
+    public void writePdf(PdfCacheKey key, PdfRenderer renderer, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException, COSVisitorException {
+        if (new ServletWebRequest(request, response).checkNotModified(key.getETag())) {
+            return;
+        }
+        CachedPdf pdf = getPdf(key, renderer);
+        try {
+            writePdf(pdf, response);
+            return;
+        }
+        catch (NoSuchFileException ex) {
+            // The file was removed from outside of the cache
+            logger.warn("Cached pdf {} is missing, rendering it again", pdf.getFile());
+            deleteDiskEntry(pdf.getFile());
+        }
+        finally {
+            release(pdf);
+        }
+        CachedPdf renderedPdf = getPdf(key, renderer);
+        try {
+            writePdf(renderedPdf, response);
+        }
+        finally {
+            release(renderedPdf);
+        }
+    }
+
+    /**
+     * Retrieves a PDF from the cache, rendering and caching it if it is not present.
+     * A PDF that is returned as a file is pinned so that it cannot be deleted until it is passed to
+     * {@link #release(CachedPdf)}.
+     *
+     * @param key PdfCacheKey
+     * @param renderer PdfRenderer - Renders the PDF if it is not cached.
+     * @return CachedPdf
+     */
+    public CachedPdf getPdf(PdfCacheKey key, PdfRenderer renderer) throws IOException, COSVisitorException {
+        String eTag = key.getETag();
+        Element element = pdfCache.get(eTag);
+        if (element != null) {
+            return new CachedPdf(eTag, (byte[]) element.getObjectValue());
+        }
+        Lock renderLock = renderLocks.get(eTag);
+        renderLock.lock();
+        Path file = cacheDir.resolve(key.getContentPath()).resolve(eTag + ".pdf");
+        boolean keepPinned = false;
+        try {
+            Long length = pin(file);
+            if (length == null) {
+                logger.debug("Rendering pdf {}", key);
+                length = render(file, renderer);
+            }
+            if (length <= MAX_MEMORY_ENTRY_BYTES) {
+                byte[] bytes = Files.readAllBytes(file);
+                pdfCache.put(new Element(eTag, bytes));
+                return new CachedPdf(eTag, bytes);
+            }
+            keepPinned = true;
+            return new CachedPdf(eTag, file, length);
+        }
+        finally {
+            if (!keepPinned) {
+                unpin(file);
+            }
+            renderLock.unlock();
+        }
+    }
+
+    /**
+     * Releases a PDF returned by {@link #getPdf(PdfCacheKey, PdfRenderer)} once it is no longer being read.
+     *
+     * @param pdf CachedPdf
+     */
+    public void release(CachedPdf pdf) {
+        if (!pdf.isInMemory()) {
+            unpin(pdf.getFile());
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Writes the content of the given PDF to the response.
+     */
+    void writePdf(CachedPdf pdf, HttpServletResponse response) throws IOException {
+        if (pdf.isInMemory()) {
+            response.setContentType("application/pdf");
+            response.setContentLengthLong(pdf.getLength());
+            response.getOutputStream().write(pdf.getBytes());
+            return;
+        }
+        try (FileChannel fileChannel = FileChannel.open(pdf.getFile())) {
+            response.setContentType("application/pdf");
+            response.setContentLengthLong(pdf.getLength());
+            WritableByteChannel responseChannel = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < pdf.getLength()) {
+                position += fileChannel.transferTo(position, pdf.getLength() - position, responseChannel);
+            }
+        }
+    }
+
+    /**
+     * Renders the PDF into a temporary file which is then moved into place.
+     *
+     * @return long - The size of the rendered file.
+     */
+    private long render(Path file, PdfRenderer renderer) throws IOException, COSVisitorException {
+        Files.createDirectories(file.getParent());
+        Path tempFile = Files.createTempFile(file.getParent(), "render", ".tmp");
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                renderer.write(outputStream);
+            }
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally {
+            Files.deleteIfExists(tempFile);
+        }
+        long length = Files.size(file);
+        addDiskEntry(file, length);
+        return length;
+    }
+
+    /**
+     * Registers the cached PDF files left over from a previous run, oldest first, and removes incomplete renders.
+     */
+    private synchronized void loadDiskEntries() throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(cacheDir)) {
+            files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        Map<Path, FileTime> modifiedTimes = new HashMap<>();
+        for (Path file : files) {
+            if (file.toString().endsWith(".pdf")) {
+                modifiedTimes.put(file, Files.getLastModifiedTime(file));
+            }
+            else {
+                Files.deleteIfExists(file);
+            }
+        }
+        for (Path file : modifiedTimes.keySet().stream()
+                .sorted(Comparator.comparing(modifiedTimes::get)).collect(Collectors.toList())) {
+            addDiskEntry(file, Files.size(file));
+        }
+        logger.info("Found {} cached pdfs using {} bytes in {}", diskEntries.size(), diskBytes, cacheDir);
+    }
+
+    /**
+     * Pins the given file so that it is not deleted until it is unpinned.
+     *
+     * @return Long - The size of the file if it is cached, null otherwise.
+     */
+    private synchronized Long pin(Path file) {
+        pinCounts.merge(file, 1, Integer::sum);
+        return diskEntries.get(file);
+    }
+
+    /**
+     * Unpins the given file, deleting it if it was evicted while pinned and has not been cached again since.
+     */
+    private synchronized void unpin(Path file) {
+        Integer count = pinCounts.get(file);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            pinCounts.put(file, count - 1);
+        }
+        else {
+            pinCounts.remove(file);
+            if (pendingDeletes.remove(file) && !diskEntries.containsKey(file)) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    /**
+     * Adds a file to the disk cache, deleting the least recently used files while the cache is over its size.
+     */
+    private synchronized void addDiskEntry(Path file, long length) {
+        Long previousLength = diskEntries.put(file, length);
+        pendingDeletes.remove(file);
+        diskBytes += length - ((previousLength != null) ? previousLength : 0);
+        Iterator<Path> eldest = diskEntries.keySet().iterator();
+        while (diskBytes > maxDiskBytes && diskEntries.size() > 1) {
+            deleteFile(eldest.next());
+            eldest = diskEntries.keySet().iterator();
+        }
+    }
+
+    private synchronized void deleteDiskEntry(Path file) {
+        if (diskEntries.containsKey(file)) {
+            deleteFile(file);
+        }
+    }
+
+    private void deleteFile(Path file) {
+        diskBytes -= diskEntries.remove(file);
+        String fileName = file.getFileName().toString();
+        pdfCache.remove(fileName.substring(0, fileName.length() - ".pdf".length()));
+        if (pinCounts.containsKey(file)) {
+            pendingDeletes.add(file);
+        }
+        else {
+            deleteQuietly(file);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException ex) {
+            logger.warn("Could not delete cached pdf {}", file, ex);
+        }
+    }
+
+    private void evictBill(Bill bill) {
+        evictContent(PdfCacheKey.getContentPath(bill.getBaseBillId()));
+    }
+
+    private void evictTranscript(Transcript transcript) {
+        evictContent(PdfCacheKey.getContentPath(transcript.getTranscriptId()));
+    }
+
+    private void evictPublicHearing(PublicHearing publicHearing) {
+        evictContent(PdfCacheKey.getContentPath(publicHearing.getId()));
+    }
+}
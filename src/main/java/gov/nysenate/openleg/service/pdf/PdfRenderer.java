@@ -0,0 +1,15 @@
+package gov.nysenate.openleg.service.pdf;
+
+import org.apache.pdfbox.exceptions.COSVisitorException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a PDF document to an output stream, e.g. {@link gov.nysenate.openleg.client.view.bill.BillPdfView}.
+ */
+@FunctionalInterface
+public interface PdfRenderer
+{
+    void write(OutputStream outputStream) throws IOException, COSVisitorException;
+}
@@ -3,6 +3,7 @@ package gov.nysenate.openleg.service.process;
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
+import gov.nysenate.openleg.model.process.DataProcessMetrics;
 import gov.nysenate.openleg.model.process.DataProcessRun;
 import gov.nysenate.openleg.model.process.DataProcessRunInfo;
 import gov.nysenate.openleg.model.process.DataProcessUnit;
@@ -52,6 +53,14 @@ public interface DataProcessLogService
      */
     public PaginatedList<DataProcessUnit> getUnits(int processId, LimitOffset limOff);
 
+    /**
+     * Returns the stage timings and queue depths that were recorded for the given process run id.
+     *
+     * @param processId int
+     * @return DataProcessMetrics - empty if no metrics were recorded for the run.
+     */
+    public DataProcessMetrics getMetrics(int processId);
+
     /**
      * Registers and returns a new data processing run.
      *
@@ -71,7 +80,7 @@ public interface DataProcessLogService
 
     /**
      * Marks the given run as completed by setting the end date/time and
-     * updates the run in the backing store.
+     * updates the run and its metrics in the backing store.
      *
      * @param run DataProcessRun
      */
@@ -0,0 +1,197 @@
+package gov.nysenate.openleg.service.process;
+
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.client.view.process.DataProcessMetricsView;
+import gov.nysenate.openleg.dao.base.ElasticIndexQueue;
+import gov.nysenate.openleg.model.process.DataProcessRun;
+import gov.nysenate.openleg.util.TimedEventBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Records the stage timings and queue depths of the data process run that is currently in progress.
+ *
+ * The processors time their stages through this service, which adds them to the metrics of the current run. The
+ * handling time of each event posted to the event bus by an ingest thread is recorded as an 'event.*' stage. Events
+ * posted by other threads, such as web requests, are not attributed to the run. Search index writes are only queued
+ * while an event is handled, the bulk requests that send them are recorded as the 'search.index.flush' stage.
+ * While a run is in progress its metrics are broadcast periodically over the stomp broker so they can be followed live.
+ */
+@Service
+public class DataProcessMetricsService
+{
+    private static final Logger logger = LoggerFactory.getLogger(DataProcessMetricsService.class);
+
+    /** The stomp destination that the metrics of the current run are broadcast to. */
+    public static final String BROKER_NAME = "/event/process/metrics";
+
+    @Autowired private EventBus eventBus;
+    @Autowired private ElasticIndexQueue indexQueue;
+    @Autowired private SimpMessagingTemplate messagingTemplate;
+
+    /** Set to false to stop recording stage timings and queue depths. */
+    @Value("${process.metrics.enabled:true}") private boolean enabled;
+
+    /** The queues whose depths are sampled during a run. */
+    private final Map<String, LongSupplier> queues = new ConcurrentHashMap<>();
+
+    /** The run that is currently in progress, if any. */
+    private volatile DataProcessRun currentRun;
+
+    /** The threads that are processing data for the current run. */
+    private final Set<Thread> ingestThreads = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        if (eventBus instanceof TimedEventBus) {
+            ((TimedEventBus) eventBus).setPostListener((event, elapsedNanos) -> {
+                if (ingestThreads.contains(Thread.currentThread())) {
+                    record("event." + event.getClass().getSimpleName(), elapsedNanos, 1);
+                }
+            });
+        }
+        indexQueue.setFlushListener((requestCount, elapsedNanos) ->
+            record("search.index.flush", elapsedNanos, requestCount));
+        registerQueue("search.index", indexQueue::getPendingCount);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Starts recording metrics for the given run. The calling thread is treated as an ingest thread.
+     *
+     * @param run DataProcessRun
+     */
+    public void startRun(DataProcessRun run) {
+        if (enabled) {
+            currentRun = run;
+            ingestThreads.add(Thread.currentThread());
+        }
+    }
+
+    /**
+     * Takes a final sample of the queue depths, broadcasts the metrics of the given run and stops recording.
+     *
+     * @param run DataProcessRun
+     */
+    public void finishRun(DataProcessRun run) {
+        if (run != null && run == currentRun) {
+            sampleQueues();
+            broadcast(run);
+            currentRun = null;
+            ingestThreads.clear();
+        }
+    }
+
+    /**
+     * Runs the given action, attributing the events it posts to the current run. Used by worker threads that
+     * process data on behalf of the thread that started the run.
+     *
+     * @param action Runnable
+     */
+    public void runAsIngest(Runnable action) {
+        boolean added = ingestThreads.add(Thread.currentThread());
+        try {
+            action.run();
+        }
+        finally {
+            if (added) {
+                ingestThreads.remove(Thread.currentThread());
+            }
+        }
+    }
+
+    /**
+     * Records a single timing of a stage of the current run. Nothing is recorded if no run is in progress.
+     *
+     * @param stage String - The name of the stage
+     * @param elapsedNanos long - The time spent in the stage
+     * @param items long - The number of items that were handled
+     */
+    public void record(String stage, long elapsedNanos, long items) {
+        DataProcessRun run = currentRun;
+        if (run != null) {
+            run.getMetrics().record(stage, elapsedNanos, items);
+        }
+    }
+
+    /**
+     * Runs the given action and records its execution time as a stage of the current run.
+     *
+     * @param stage String - The name of the stage
+     * @param items long - The number of items handled by the action
+     * @param action Runnable
+     */
+    public void time(String stage, long items, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        }
+        finally {
+            record(stage, System.nanoTime() - start, items);
+        }
+    }
+
+    /**
+     * Registers a queue whose depth should be sampled during each run.
+     *
+     * @param queue String - The name of the queue
+     * @param depth LongSupplier - Supplies the current number of items in the queue
+     */
+    public void registerQueue(String queue, LongSupplier depth) {
+        queues.put(queue, depth);
+    }
+
+    /**
+     * Records the current depth of every registered queue in the metrics of the current run.
+     */
+    public void sampleQueues() {
+        DataProcessRun run = currentRun;
+        if (run != null) {
+            queues.forEach((queue, depth) -> run.getMetrics().recordQueueDepth(queue, depth.getAsLong()));
+        }
+    }
+
+    /**
+     * @return Optional<DataProcessRun> - The run that metrics are currently being recorded for, if any.
+     */
+    public Optional<DataProcessRun> getCurrentRun() {
+        return Optional.ofNullable(currentRun);
+    }
+
+    /**
+     * Samples the queues and broadcasts the metrics of the current run, if there is one.
+     */
+    @Scheduled(fixedDelayString = "${process.metrics.stomp.interval:5000}")
+    public void broadcastCurrentMetrics() {
+        DataProcessRun run = currentRun;
+        if (run != null) {
+            sampleQueues();
+            broadcast(run);
+        }
+    }
+
+    /** --- Internal --- */
+
+    private void broadcast(DataProcessRun run) {
+        try {
+            messagingTemplate.convertAndSend(BROKER_NAME, new DataProcessMetricsView(run));
+        }
+        catch (MessagingException ex) {
+            logger.warn("Failed to broadcast metrics for process run {}: {}", run.getProcessId(), ex.getMessage());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.process.DataProcessLogDao;
+import gov.nysenate.openleg.model.process.DataProcessMetrics;
 import gov.nysenate.openleg.model.process.DataProcessRun;
 import gov.nysenate.openleg.model.process.DataProcessRunInfo;
 import gov.nysenate.openleg.model.process.DataProcessUnit;
@@ -60,6 +61,12 @@ public class SimpleDataProcessLogService implements DataProcessLogService
         return processLogDao.getUnits(processId, SortOrder.DESC, limOff);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public DataProcessMetrics getMetrics(int processId) {
+        return processLogDao.getMetrics(processId);
+    }
+
     /** {@inheritDoc} */
     @Override
     public DataProcessRun startNewRun(LocalDateTime startDateTime, String invoker) {
@@ -84,6 +91,7 @@ public class SimpleDataProcessLogService implements DataProcessLogService
         if (env.isProcessLoggingEnabled()) {
             run.setEndDateTime(LocalDateTime.now());
             processLogDao.updateRun(run);
+            processLogDao.updateMetrics(run);
         }
     }
 
@@ -0,0 +1,381 @@
+package gov.nysenate.openleg.service.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.util.concurrent.Striped;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.cache.*;
+import gov.nysenate.openleg.model.calendar.Calendar;
+import gov.nysenate.openleg.model.law.LawDocument;
+import gov.nysenate.openleg.service.base.data.CachingService;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.calendar.event.BulkCalendarUpdateEvent;
+import gov.nysenate.openleg.service.calendar.event.CalendarUpdateEvent;
+import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
+import gov.nysenate.openleg.service.law.event.LawUpdateEvent;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.MemoryUnit;
+import net.sf.ehcache.event.CacheEventListenerAdapter;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the serialized json of api responses for frequently requested content, so that the view objects are
+ * only built and serialized once per modification of the content.
+ *
+ * Responses are keyed by their content, variant and content version (see {@link ResponseCacheKey}), which also
+ * serves as the ETag of the response. Larger responses are gzip compressed once when they are cached, and the
+ * compressed copy is served to clients that accept it. Clients can request compact (non-indented) json with
+ * the 'compact' request parameter. The cached responses of a piece of content are evicted when it is updated.
+ * The keys of the cached responses are indexed by content path, so that evicting a piece of content does not
+ * require scanning the whole cache.
+ */
+@Service
+public class CachedResponseService implements CachingService<String>
+{
+    private static final Logger logger = LoggerFactory.getLogger(CachedResponseService.class);
+
+    private static final String JSON_CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    /** Responses smaller than this are not worth compressing. */
+    private static final int MIN_GZIP_BYTES = 1024;
+
+    @Autowired private CacheManager cacheManager;
+    @Autowired private EventBus eventBus;
+    @Autowired private ObjectMapper objectMapper;
+
+    @Value("${response.cache.size:100}") private long responseCacheSizeMb;
+    @Value("${response.cache.gzip:true}") private boolean gzipEnabled;
+
+    private Cache responseCache;
+
+    private ObjectWriter compactWriter;
+
+    /** Prevents concurrent requests for the same uncached response from building it more than once. */
+    private final Striped<Lock> buildLocks = Striped.lock(64);
+
+    /** The cache keys of the cached responses, grouped by content path. */
+    private final Map<String, Set<String>> contentKeys = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    protected void init() {
+        compactWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        setupCaches();
+        responseCache.getCacheEventNotificationService().registerListener(new ContentKeyListener());
+        eventBus.register(this);
+    }
+
+    @PreDestroy
+    protected void cleanUp() {
+        cacheManager.removeCache(ContentCache.RESPONSE.name());
+    }
+
+    /** --- CachingService implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public void setupCaches() {
+        this.responseCache = new Cache(new CacheConfiguration().name(ContentCache.RESPONSE.name())
+            .eternal(true)
+            .maxBytesLocalHeap(responseCacheSizeMb, MemoryUnit.MEGABYTES)
+            .sizeOfPolicy(defaultSizeOfPolicy()));
+        cacheManager.addCache(this.responseCache);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<Ehcache> getCaches() {
+        return Collections.singletonList(responseCache);
+    }
+
+    /**
+     * Evicts all responses built from the content at the given content path.
+     *
+     * @param contentPath String - e.g. {@link ResponseCacheKey#getContentPath(gov.nysenate.openleg.model.bill.BaseBillId)}
+     */
+    @Override
+    public void evictContent(String contentPath) {
+        evictContent(Collections.singleton(contentPath));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
+        if (evictEvent.affects(ContentCache.RESPONSE)) {
+            evictCaches();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheEvictIdEvent(CacheEvictIdEvent<String> evictIdEvent) {
+        if (evictIdEvent.affects(ContentCache.RESPONSE)) {
+            evictContent(evictIdEvent.getContentId());
+        }
+    }
+
+    /**
+     * Responses are cached as they are requested, there is nothing to pre-load.
+     */
+    @Override
+    public void warmCaches() {}
+
+    /** {@inheritDoc} */
+    @Override
+    @Subscribe
+    public void handleCacheWarmEvent(CacheWarmEvent warmEvent) {
+        if (warmEvent.affects(ContentCache.RESPONSE)) {
+            warmCaches();
+        }
+    }
+
+    /** --- Content update handlers --- */
+
+    @Subscribe
+    public void handleBillUpdateEvent(BillUpdateEvent billUpdateEvent) {
+        evictBills(Collections.singleton(billUpdateEvent.getBill()));
+    }
+
+    @Subscribe
+    public void handleBulkBillUpdateEvent(BulkBillUpdateEvent bulkBillUpdateEvent) {
+        evictBills(bulkBillUpdateEvent.getBills());
+    }
+
+    @Subscribe
+    public void handleCalendarUpdateEvent(CalendarUpdateEvent calendarUpdateEvent) {
+        evictCalendars(Collections.singleton(calendarUpdateEvent.getCalendar()));
+    }
+
+    @Subscribe
+    public void handleBulkCalendarUpdateEvent(BulkCalendarUpdateEvent bulkCalendarUpdateEvent) {
+        evictCalendars(bulkCalendarUpdateEvent.getCalendars());
+    }
+
+    @Subscribe
+    public void handleLawUpdateEvent(LawUpdateEvent lawUpdateEvent) {
+        evictLaws(Collections.singleton(lawUpdateEvent.getLawDoc()));
+    }
+
+    @Subscribe
+    public void handleBulkLawUpdateEvent(BulkLawUpdateEvent bulkLawUpdateEvent) {
+        evictLaws(bulkLawUpdateEvent.getLawDocuments());
+    }
+
+    /** --- Public Methods --- */
+
+    /**
+     * Writes the response identified by the given key, building and serializing it only if it is not cached.
+     * Responds with 304 Not Modified if the request's If-None-Match or If-Modified-Since headers match the key.
+     *
+     * @param key ResponseCacheKey
+     * @param responseSupplier Supplier<?> - Builds the response object if it is not cached.
+     */
+    public void writeResponse(ResponseCacheKey key, Supplier<?> responseSupplier, HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        boolean compact = isCompact(request);
+        ResponseCacheKey variantKey = compact ? key.compact() : key;
+        long lastModified = (key.getModifiedDateTime() != null)
+                ? key.getModifiedDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        if (new ServletWebRequest(request, response).checkNotModified(variantKey.getETag(), lastModified)) {
+            return;
+        }
+        CachedResponse cachedResponse = getResponse(variantKey, responseSupplier, compact);
+        response.setContentType(JSON_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = cachedResponse.getBytes();
+        if (cachedResponse.isCompressed() && acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cachedResponse.getGzipBytes();
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Writes a response that is not cached, honoring the 'compact' request parameter.
+     *
+     * @param responseObject Object
+     */
+    public void writeResponse(Object responseObject, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        byte[] body = getWriter(isCompact(request)).writeValueAsBytes(responseObject);
+        response.setContentType(JSON_CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Retrieves a response from the cache, building, serializing and caching it if it is not present.
+     *
+     * @param key ResponseCacheKey
+     * @param responseSupplier Supplier<?> - Builds the response object if it is not cached.
+     * @param compact boolean - Serialize without indentation.
+     * @return CachedResponse
+     */
+    public CachedResponse getResponse(ResponseCacheKey key, Supplier<?> responseSupplier, boolean compact)
+            throws JsonProcessingException {
+        String cacheKey = key.getCacheKey();
+        Element element = responseCache.get(cacheKey);
+        if (element != null) {
+            return (CachedResponse) element.getObjectValue();
+        }
+        Lock buildLock = buildLocks.get(cacheKey);
+        buildLock.lock();
+        try {
+            element = responseCache.get(cacheKey);
+            if (element != null) {
+                return (CachedResponse) element.getObjectValue();
+            }
+            logger.debug("Building response {}", key);
+            byte[] bytes = getWriter(compact).writeValueAsBytes(responseSupplier.get());
+            CachedResponse cachedResponse = new CachedResponse(key.getETag(), bytes, gzip(bytes));
+            contentKeys.computeIfAbsent(key.getContentPath(), path -> ConcurrentHashMap.newKeySet()).add(cacheKey);
+            responseCache.put(new Element(cacheKey, cachedResponse));
+            return cachedResponse;
+        }
+        finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * @param contentPath String
+     * @return int - The number of responses that are cached for the given content path.
+     */
+    public int getCachedCount(String contentPath) {
+        return contentKeys.getOrDefault(contentPath, Collections.emptySet()).size();
+    }
+
+    /** --- Internal Methods --- */
+
+    private ObjectWriter getWriter(boolean compact) {
+        return compact ? compactWriter : objectMapper.writer();
+    }
+
+    private static boolean isCompact(HttpServletRequest request) {
+        return BooleanUtils.toBoolean(request.getParameter("compact"));
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        return StringUtils.containsIgnoreCase(request.getHeader(HttpHeaders.ACCEPT_ENCODING), "gzip");
+    }
+
+    /**
+     * @return byte[] - The gzip compressed bytes, or null if compression is disabled or not worthwhile.
+     */
+    private byte[] gzip(byte[] bytes) {
+        if (!gzipEnabled || bytes.length < MIN_GZIP_BYTES) {
+            return null;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(compressed)) {
+            gzipOut.write(bytes);
+        }
+        catch (IOException ex) {
+            logger.warn("Could not compress response", ex);
+            return null;
+        }
+        return compressed.size() < bytes.length ? compressed.toByteArray() : null;
+    }
+
+    /**
+     * Removes the cached responses under any of the given content paths.
+     */
+    private void evictContent(Set<String> contentPaths) {
+        for (String contentPath : contentPaths) {
+            Set<String> keys = contentKeys.remove(contentPath);
+            if (keys != null) {
+                keys.forEach(responseCache::remove);
+            }
+        }
+    }
+
+    /**
+     * Removes the given cache key from the content path index.
+     */
+    private void unindex(String cacheKey) {
+        String contentPath = cacheKey.substring(0, cacheKey.lastIndexOf('/'));
+        contentKeys.computeIfPresent(contentPath, (path, keys) -> {
+            keys.remove(cacheKey);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Keeps the content path index in sync with responses that leave the cache on their own.
+     */
+    private class ContentKeyListener extends CacheEventListenerAdapter
+    {
+        @Override
+        public void notifyElementRemoved(Ehcache cache, Element element) {
+            unindex((String) element.getObjectKey());
+        }
+
+        @Override
+        public void notifyElementExpired(Ehcache cache, Element element) {
+            unindex((String) element.getObjectKey());
+        }
+
+        @Override
+        public void notifyElementEvicted(Ehcache cache, Element element) {
+            unindex((String) element.getObjectKey());
+        }
+
+        @Override
+        public void notifyRemoveAll(Ehcache cache) {
+            contentKeys.clear();
+        }
+    }
+
+    private void evictBills(Collection<Bill> bills) {
+        evictContent(bills.stream()
+                .map(bill -> ResponseCacheKey.getContentPath(bill.getBaseBillId()))
+                .collect(Collectors.toSet()));
+    }
+
+    private void evictCalendars(Collection<Calendar> calendars) {
+        evictContent(calendars.stream()
+                .map(calendar -> ResponseCacheKey.getContentPath(calendar.getId()))
+                .collect(Collectors.toSet()));
+    }
+
+    private void evictLaws(Collection<LawDocument> lawDocuments) {
+        evictContent(lawDocuments.stream()
+                .filter(Objects::nonNull)
+                .map(lawDoc -> ResponseCacheKey.getLawContentPath(lawDoc.getLawId()))
+                .collect(Collectors.toSet()));
+    }
+}
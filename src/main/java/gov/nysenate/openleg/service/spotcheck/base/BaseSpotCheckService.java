@@ -6,9 +6,7 @@ import gov.nysenate.openleg.model.spotcheck.SpotCheckObservation;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.function.Function;
 
 public abstract class BaseSpotCheckService<ContentKey, ContentType, ReferenceType>
@@ -37,10 +35,7 @@ public abstract class BaseSpotCheckService<ContentKey, ContentType, ReferenceTyp
                                             SpotCheckObservation<ContentKey> observation,
                                             SpotCheckMismatchType mismatchType,
                                             Function<? super T, String> toString, String split) {
-        Function<Collection<T>, String> stringify = collection ->
-                Optional.ofNullable(collection).orElse(Collections.emptyList()).stream()
-                        .map(toString).reduce("", (a, b) -> StringUtils.isEmpty(a) ? b : a + split + b);
-        checkString(stringify.apply(content), stringify.apply(reference), observation, mismatchType);
+        checkString(join(content, toString, split), join(reference, toString, split), observation, mismatchType);
     }
 
 
@@ -49,4 +44,24 @@ public abstract class BaseSpotCheckService<ContentKey, ContentType, ReferenceTyp
                                        SpotCheckMismatchType mismatchType) {
         checkCollection(content, reference, observation, mismatchType, Objects::toString, " ");
     }
+
+    /**
+     * Joins the string values of a collection with the given separator. Values are skipped until the first
+     * non empty value is reached, so no leading separators are added.
+     */
+    private static <T> String join(Collection<T> collection, Function<? super T, String> toString, String split) {
+        StringBuilder joined = new StringBuilder();
+        if (collection != null) {
+            for (T item : collection) {
+                String value = toString.apply(item);
+                if (joined.length() > 0) {
+                    joined.append(split).append(value);
+                }
+                else if (value != null) {
+                    joined.append(value);
+                }
+            }
+        }
+        return joined.toString();
+    }
 }
@@ -0,0 +1,81 @@
+package gov.nysenate.openleg.service.spotcheck.base;
+
+import gov.nysenate.openleg.dao.spotcheck.SpotCheckMismatchDiffDao;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckMismatch;
+import gov.nysenate.openleg.util.MismatchDiffUtils;
+import gov.nysenate.openleg.util.StringDiffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Serves the stored diffs of spotcheck mismatches.
+ *
+ * Diffs are stored with each mismatch when a report is saved. Mismatches that were saved before diffs were stored
+ * are backfilled in the background, a batch of mismatches is processed on each run until none are left without a diff.
+ */
+@Service
+public class MismatchDiffService
+{
+    private static final Logger logger = LoggerFactory.getLogger(MismatchDiffService.class);
+
+    @Autowired private SpotCheckMismatchDiffDao mismatchDiffDao;
+
+    /** Set to false to disable the backfill. */
+    @Value("${spotcheck.diff.backfill.enabled:true}") private boolean enabled;
+
+    /** The number of mismatch diffs that are computed in a single run. */
+    @Value("${spotcheck.diff.backfill.batch.size:200}") private int batchSize;
+
+    /** Set once all mismatches have a stored diff. */
+    private volatile boolean complete = false;
+
+    /**
+     * Gets the diff from the reference data to the observed data of a mismatch. The stored diff is decoded if
+     * there is one, otherwise the diff is computed.
+     *
+     * @param mismatchId int
+     * @param simple boolean - Set to true to make the results of the diff less granular.
+     * @return LinkedList<StringDiffer.Diff>
+     * @throws MismatchNotFoundEx if no mismatch exists with the given id.
+     */
+    public LinkedList<StringDiffer.Diff> getDiff(int mismatchId, boolean simple) {
+        return mismatchDiffDao.getMismatch(mismatchId).getDiff(simple);
+    }
+
+    /**
+     * Stores the diffs for the next batch of mismatches that do not have one.
+     *
+     * @return int - the number of mismatches that were updated.
+     */
+    @Scheduled(fixedDelayString = "${spotcheck.diff.backfill.interval:60000}")
+    public synchronized int backfillDiffs() {
+        if (!enabled || complete) {
+            return 0;
+        }
+        try {
+            List<SpotCheckMismatch> mismatches = mismatchDiffDao.getMismatchesWithoutDiff(batchSize);
+            if (mismatches.isEmpty()) {
+                logger.info("All spotcheck mismatches have a stored diff");
+                complete = true;
+                return 0;
+            }
+            mismatches.parallelStream().forEach(mismatch -> mismatch.setEncodedDiff(
+                    MismatchDiffUtils.encodeDiff(mismatch.getReferenceData(), mismatch.getObservedData())));
+            mismatchDiffDao.updateDiffs(mismatches);
+            logger.info("Stored diffs for {} spotcheck mismatches", mismatches.size());
+            return mismatches.size();
+        }
+        catch (DataAccessException ex) {
+            logger.error("Error while backfilling spotcheck mismatch diffs", ex);
+            return 0;
+        }
+    }
+}
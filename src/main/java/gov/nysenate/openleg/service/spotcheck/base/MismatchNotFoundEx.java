@@ -6,6 +6,7 @@ public class MismatchNotFoundEx extends RuntimeException {
 
     public MismatchNotFoundEx(int mismatchId) {
         super("Mismatch with id = " + mismatchId + " could not be retrieved.");
+        this.mismatchId = mismatchId;
     }
 
     public int getMismatchId() {
@@ -12,6 +12,7 @@ import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpFragment;
 import gov.nysenate.openleg.model.spotcheck.senatesite.agenda.SenateSiteAgenda;
 import gov.nysenate.openleg.model.spotcheck.senatesite.agenda.SenateSiteAgendaBill;
 import gov.nysenate.openleg.processor.base.ParseError;
+import gov.nysenate.openleg.service.spotcheck.senatesite.base.CloseableIterator;
 import gov.nysenate.openleg.service.spotcheck.senatesite.base.JsonParser;
 import gov.nysenate.openleg.util.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,7 +20,6 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -30,30 +30,15 @@ public class AgendaJsonParser extends JsonParser {
     @Autowired
     ObjectMapper objectMapper;
 
-    public List<SenateSiteAgenda> parseAgendas(SenateSiteDump agendaDump) throws ParseError {
-        return agendaDump.getDumpFragments().stream()
-                .flatMap(fragment -> extractAgendasFromFragment(fragment).stream())
-                .collect(Collectors.toList());
-    }
-
-    private List<SenateSiteAgenda> extractAgendasFromFragment(SenateSiteDumpFragment fragment) throws ParseError{
-        try {
-            JsonNode agendaMap = objectMapper.readTree(fragment.getFragmentFile())
-                    .path("agendas");
-            if (agendaMap.isMissingNode()) {
-                throw new ParseError("Could not locate \"agendas\" node in senate site agenda dump fragment file: " +
-                        fragment.getFragmentFile().getAbsolutePath());
-            }
-            List<SenateSiteAgenda> agendas = new LinkedList<>();
-            for (JsonNode agendaNode : agendaMap) {
-                agendas.add(extractSenSiteAgenda(agendaNode, fragment));
-            }
-            return agendas;
-        } catch (IOException | NoSuchElementException ex) {
-            throw new ParseError("error while reading senate site agenda dump fragment file: " +
-                    fragment.getFragmentFile().getAbsolutePath(),
-                    ex);
-        }
+    /**
+     * Lazily parses the senate site agendas of a single dump fragment, reading one agenda at a time.
+     * The returned iterator should be closed in case it is not read to the end.
+     *
+     * @param fragment SenateSiteDumpFragment
+     * @return CloseableIterator<SenateSiteAgenda>
+     */
+    public CloseableIterator<SenateSiteAgenda> parseAgendas(SenateSiteDumpFragment fragment) throws ParseError {
+        return parseFragment(fragment, "agendas", this::extractSenSiteAgenda);
     }
 
     private SenateSiteAgenda extractSenSiteAgenda(JsonNode agendaNode, SenateSiteDumpFragment fragment) throws IOException {
@@ -23,8 +23,8 @@ import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.service.agenda.data.AgendaDataService;
 import gov.nysenate.openleg.service.spotcheck.base.BaseSpotCheckReportService;
+import gov.nysenate.openleg.service.spotcheck.senatesite.base.SenateSiteSpotCheckEngine;
 import gov.nysenate.openleg.util.DateUtils;
-import org.elasticsearch.common.collect.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +33,7 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +55,8 @@ public class AgendaReportServices extends BaseSpotCheckReportService<CommitteeAg
     private AgendaDataService agendaDataService;
     @Autowired
     private CommitteeAgendaAddendumIdSpotCheckReportDao committeeAgendaAddendumIdSpotCheckReportDao;
+    @Autowired
+    private SenateSiteSpotCheckEngine checkEngine;
 
     @Override
     protected SpotCheckReportDao<CommitteeAgendaAddendumId> getReportDao() {
@@ -79,42 +82,36 @@ public class AgendaReportServices extends BaseSpotCheckReportService<CommitteeAg
             // Get reference agendas using the agenda dump update interval
             Set<AgendaId> updatedAgendaIds = getAgendaUpdatesDuring(agendaDump);
             logger.info("got {} updated agenda ids", updatedAgendaIds.size());
-            Map<AgendaId, Agenda> updatedAgendas = new LinkedHashMap<>();
             logger.info("retrieving agendas");
-            for (AgendaId agendaId : updatedAgendaIds) {
-                try {
-                    updatedAgendas.put(agendaId, agendaDataService.getAgenda(agendaId));
-                } catch (AgendaNotFoundEx ex) {
-                    SpotCheckObservation<CommitteeAgendaAddendumId> observation = new SpotCheckObservation<>(reportId.getReferenceId(),
-                            new CommitteeAgendaAddendumId(agendaId, null, Version.DEFAULT));
-                    observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", agendaId));
-                    report.addObservation(observation);
-                }
+            Map<AgendaId, Agenda> updatedAgendas =
+                    checkEngine.loadContent(updatedAgendaIds, this::getAgendas, Agenda::getId);
+            for (AgendaId agendaId : Sets.difference(updatedAgendaIds, updatedAgendas.keySet())) {
+                SpotCheckObservation<CommitteeAgendaAddendumId> observation = new SpotCheckObservation<>(reportId.getReferenceId(),
+                        new CommitteeAgendaAddendumId(agendaId, null, Version.DEFAULT));
+                observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", agendaId));
+                report.addObservation(observation);
             }
             logger.info("got {} agendas", updatedAgendas.size());
-            logger.info("retrieving agenda dump");
-            // Extract senate site agendas from the dump
-            Multimap<CommitteeAgendaAddendumId, SenateSiteAgenda> dumpedAgendas = ArrayListMultimap.create();
-            agendaJsonParser.parseAgendas(agendaDump).forEach(b -> dumpedAgendas.put(b.getcommitteeAgendaAddendumId(), b));
-            logger.info("parsed {} dumped agendas", dumpedAgendas.size());
 
-            prunePostDumpAgendas(agendaDump, report, dumpedAgendas, updatedAgendas);
+            Set<AgendaId> postDumpAgendaIds = prunePostDumpAgendas(agendaDump, report, updatedAgendas);
+            Set<CommitteeAgendaAddendumId> openlegAgendaIds = updatedAgendas.values().stream()
+                    .map(Agenda::getCommitteeAgendaAddendumIds)
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toSet());
+
+            logger.info("checking agenda dump");
+            // Check each dumped senate site agenda as the dump fragments are parsed
+            Set<CommitteeAgendaAddendumId> dumpedAgendaIds = ConcurrentHashMap.newKeySet();
+            List<SpotCheckObservation<CommitteeAgendaAddendumId>> checkObservations = checkEngine.checkDump(agendaDump,
+                    agendaJsonParser::parseAgendas,
+                    senSiteAgenda -> checkAgenda(senSiteAgenda, updatedAgendas, postDumpAgendaIds, openlegAgendaIds,
+                                                 dumpedAgendaIds, reportId.getReferenceId()));
+            logger.info("checked {} dumped agendas", dumpedAgendaIds.size());
 
             logger.info("comparing agendas present");
-            // Add observations for any missing calendars that should have been in the dump
-            Tuple<List<SpotCheckObservation<CommitteeAgendaAddendumId>>,List<CommitteeAgendaAddendumId>> obs =
-                    getRefDataMissingObs(dumpedAgendas.values(), updatedAgendas.values(),
-                    reportId.getReferenceId());
-            report.addObservations(obs.v1());
-
-            logger.info("checking agendas");
-            // Check each dumped senate site calendar
-            dumpedAgendas.values().stream()
-                    .filter(senateSiteAgenda -> updatedAgendas.containsKey(senateSiteAgenda.getAgendaId())
-                            && !obs.v2().contains(senateSiteAgenda.getcommitteeAgendaAddendumId()))
-                    .map(senateSiteAgenda-> agendaCheckServices.check(updatedAgendas.get(senateSiteAgenda.getAgendaId()),
-                            senateSiteAgenda))
-                    .forEach(report::addObservation);
+            // Add observations for any missing agendas that should have been in the dump
+            report.addObservations(getRefDataMissingObs(dumpedAgendaIds, openlegAgendaIds, reportId.getReferenceId()));
+            report.addObservations(checkObservations);
 
             logger.info("done: {} mismatches", report.getOpenMismatchCount(false));
         } finally {
@@ -152,8 +149,47 @@ public class AgendaReportServices extends BaseSpotCheckReportService<CommitteeAg
                 .collect(Collectors.toCollection(TreeSet::new));
     }
 
-    private void prunePostDumpAgendas(SenateSiteDump agendaDump, SpotCheckReport report,
-                                        Multimap<CommitteeAgendaAddendumId, SenateSiteAgenda> senSiteAgendas, Map<AgendaId, Agenda> openlegAgendas) {
+    /**
+     * Loads a batch of agendas, skipping any that could not be found.
+     */
+    private List<Agenda> getAgendas(Collection<AgendaId> agendaIds) {
+        List<Agenda> agendas = new ArrayList<>();
+        for (AgendaId agendaId : agendaIds) {
+            try {
+                agendas.add(agendaDataService.getAgenda(agendaId));
+            } catch (AgendaNotFoundEx ignored) {}
+        }
+        return agendas;
+    }
+
+    /**
+     * Checks a single dumped agenda addendum. Addenda of agendas that were updated after the dump are skipped and
+     * addenda that do not exist in openleg are reported as missing.
+     */
+    private List<SpotCheckObservation<CommitteeAgendaAddendumId>> checkAgenda(
+            SenateSiteAgenda senSiteAgenda, Map<AgendaId, Agenda> openlegAgendas, Set<AgendaId> postDumpAgendaIds,
+            Set<CommitteeAgendaAddendumId> openlegAgendaIds, Set<CommitteeAgendaAddendumId> dumpedAgendaIds,
+            SpotCheckReferenceId refId) {
+        CommitteeAgendaAddendumId addendumId = senSiteAgenda.getcommitteeAgendaAddendumId();
+        if (postDumpAgendaIds.contains(senSiteAgenda.getAgendaId())) {
+            return Collections.emptyList();
+        }
+        dumpedAgendaIds.add(addendumId);
+        if (!openlegAgendaIds.contains(addendumId)) {
+            SpotCheckObservation<CommitteeAgendaAddendumId> observation = new SpotCheckObservation<>(refId, addendumId);
+            observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", ""));
+            return Collections.singletonList(observation);
+        }
+        return Collections.singletonList(
+                agendaCheckServices.check(openlegAgendas.get(senSiteAgenda.getAgendaId()), senSiteAgenda));
+    }
+
+    /**
+     * Get the ids of all agendas updated after the update interval specified by the dump
+     * Remove these agendas from the openleg references, they are skipped while checking the dump
+     */
+    private Set<AgendaId> prunePostDumpAgendas(SenateSiteDump agendaDump, SpotCheckReport report,
+                                               Map<AgendaId, Agenda> openlegAgendas) {
         Range<LocalDateTime> agendaDumpRange = agendaDump.getDumpId().getRange();
         Range<LocalDateTime> postDumpRange =  Range.downTo(DateUtils.endOfDateTimeRange(agendaDumpRange),
                 agendaDumpRange.upperBoundType() == BoundType.OPEN ? BoundType.CLOSED : BoundType.OPEN);
@@ -164,50 +200,27 @@ public class AgendaReportServices extends BaseSpotCheckReportService<CommitteeAg
                 .collect(Collectors.toSet());
 
         if (!postDumpUpdatedAgendas.isEmpty()) {
-            // Iterate over calendars updated after the update interval, removing them from the references and
+            // Iterate over agendas updated after the update interval, removing them from the references and
             //  collecting them in a list to add to the report notes
             String notes = postDumpUpdatedAgendas.stream()
-                    .peek(senSiteAgendas::removeAll)
                     .peek(openlegAgendas::remove)
-                    .reduce("Ignored Agendas:", (str, agendaId) -> str + " " + agendaId, (a, b) -> a + " " + b);
+                    .map(Object::toString)
+                    .collect(Collectors.joining(" ", "Ignored Agendas: ", ""));
             report.setNotes(notes);
         }
+        return postDumpUpdatedAgendas;
     }
 
-    private Tuple<List<SpotCheckObservation<CommitteeAgendaAddendumId>>, List<CommitteeAgendaAddendumId>> getRefDataMissingObs(Collection<SenateSiteAgenda> senSiteAgendas,
-                                                                                                                   Collection<Agenda> openlegAgendas,
-                                                                                                                   SpotCheckReferenceId refId) {
-        Set<CommitteeAgendaAddendumId> senSiteAgendaIds = senSiteAgendas.stream()
-                .map(SenateSiteAgenda::getcommitteeAgendaAddendumId)
-                .collect(Collectors.toSet());
-
-        Set<CommitteeAgendaAddendumId> openlegAgendaIds = openlegAgendas.stream()
-                .map(Agenda::getCommitteeAgendaAddendumIds)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
-        List<CommitteeAgendaAddendumId> toRemove = new ArrayList<>();
-
-        List<SpotCheckObservation<CommitteeAgendaAddendumId>> refData = Sets.difference(openlegAgendaIds, senSiteAgendaIds).stream()
+    private List<SpotCheckObservation<CommitteeAgendaAddendumId>> getRefDataMissingObs(Set<CommitteeAgendaAddendumId> senSiteAgendaIds,
+                                                                                       Set<CommitteeAgendaAddendumId> openlegAgendaIds,
+                                                                                       SpotCheckReferenceId refId) {
+        return Sets.difference(openlegAgendaIds, senSiteAgendaIds).stream()
                 .map(agendaId -> {
                     SpotCheckObservation<CommitteeAgendaAddendumId> observation =
                             new SpotCheckObservation<>(refId, agendaId);
                     observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.REFERENCE_DATA_MISSING, "", ""));
                     return observation;
                 }).collect(Collectors.toList());
-
-        List<SpotCheckObservation<CommitteeAgendaAddendumId>> obsData = Sets.difference(senSiteAgendaIds,openlegAgendaIds).stream()
-                .map(agendaId -> {
-                    SpotCheckObservation<CommitteeAgendaAddendumId> observation =
-                            new SpotCheckObservation<>(refId, agendaId);
-                    observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", ""));
-                    toRemove.add(agendaId);
-                    return observation;
-                }).collect(Collectors.toList());
-
-        List<SpotCheckObservation<CommitteeAgendaAddendumId>> allDataObs = new ArrayList<>();
-        allDataObs.addAll(refData);
-        allDataObs.addAll(obsData);
-        return Tuple.tuple(allDataObs,toRemove);
     }
 
 
@@ -0,0 +1,57 @@
+package gov.nysenate.openleg.service.spotcheck.senatesite.base;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An iterator that reads from a resource, e.g. a dump fragment file. The resource is released once the iterator
+ * is exhausted, but an iterator that is abandoned early must be closed, preferably with a try-with-resources.
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Closeable
+{
+    /**
+     * Groups runs of consecutive items that have the same key into lists. Closing the returned iterator
+     * closes this one.
+     *
+     * @param keyMapper Function<T, K> - Gets the key of an item.
+     * @return CloseableIterator<List<T>>
+     */
+    default <K> CloseableIterator<List<T>> groupConsecutive(Function<T, K> keyMapper) {
+        CloseableIterator<T> source = this;
+        PeekingIterator<T> items = Iterators.peekingIterator(source);
+        return new CloseableIterator<List<T>>() {
+            @Override
+            public boolean hasNext() {
+                return items.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                if (!items.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<T> group = new ArrayList<>();
+                K key = keyMapper.apply(items.peek());
+                do {
+                    group.add(items.next());
+                }
+                while (items.hasNext() && Objects.equals(key, keyMapper.apply(items.peek())));
+                return group;
+            }
+
+            @Override
+            public void close() throws IOException {
+                source.close();
+            }
+        };
+    }
+}
@@ -3,6 +3,7 @@ package gov.nysenate.openleg.service.spotcheck.senatesite.base;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpFragment;
 import gov.nysenate.openleg.processor.base.ParseError;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -21,6 +22,62 @@ public class JsonParser {
     @Autowired
     ObjectMapper objectMapper;
 
+    /** Parses a single item of a senate site dump fragment. */
+    @FunctionalInterface
+    protected interface FragmentItemParser<T>
+    {
+        T parse(JsonNode itemNode, SenateSiteDumpFragment fragment) throws IOException;
+    }
+
+    /**
+     * Lazily parses the items of the given top level field of a dump fragment, reading one item at a time.
+     * The fragment file stays open until all items are read or the returned iterator is closed.
+     *
+     * @param fragment SenateSiteDumpFragment
+     * @param itemsField String - The name of the field that contains the items, e.g. "bills".
+     * @param itemParser FragmentItemParser<T>
+     * @return CloseableIterator<T>
+     * @throws ParseError - If the fragment could not be read or an item could not be parsed.
+     */
+    protected <T> CloseableIterator<T> parseFragment(SenateSiteDumpFragment fragment, String itemsField,
+                                                     FragmentItemParser<T> itemParser) throws ParseError {
+        SenateSiteDumpFragmentReader reader;
+        try {
+            reader = new SenateSiteDumpFragmentReader(objectMapper, fragment, itemsField);
+        } catch (IOException ex) {
+            throw new ParseError("error while reading senate site dump fragment file: " +
+                    fragment.getFragmentFile().getAbsolutePath(), ex);
+        }
+        return new CloseableIterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return reader.hasNext();
+            }
+
+            @Override
+            public T next() {
+                JsonNode itemNode = reader.next();
+                try {
+                    return itemParser.parse(itemNode, fragment);
+                } catch (IOException | RuntimeException ex) {
+                    try {
+                        reader.close();
+                    } catch (IOException ignored) {}
+                    if (ex instanceof ParseError) {
+                        throw (ParseError) ex;
+                    }
+                    throw new ParseError("error while reading senate site dump fragment file: " +
+                            fragment.getFragmentFile().getAbsolutePath(), ex);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
     protected <T> Optional<T> deserializeValue(JsonNode jsonNode, String fieldName, TypeReference<T> resultType) {
         String jsonValue = getValue(jsonNode, fieldName);
         return Optional.ofNullable(jsonValue).map(json -> {
@@ -0,0 +1,143 @@
+package gov.nysenate.openleg.service.spotcheck.senatesite.base;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpFragment;
+import gov.nysenate.openleg.processor.base.ParseError;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams the items of a senate site dump fragment file one at a time. The items are the elements (or values) of a
+ * single top level field of the fragment json, e.g. "bills". Only the item that is currently being read is held in
+ * memory, so fragments of any size can be read with a fixed amount of heap.
+ *
+ * The underlying file is closed once all items have been read, or when an error occurs.
+ */
+public class SenateSiteDumpFragmentReader implements CloseableIterator<JsonNode>
+{
+    private final SenateSiteDumpFragment fragment;
+    private final String itemsField;
+    private final JsonParser jsonParser;
+
+    /** Set once the parser is positioned inside of the items field. */
+    private boolean started = false;
+
+    /** Set once all items have been read. */
+    private boolean finished = false;
+
+    /** The next item to return, null if it has not been read yet. */
+    private JsonNode nextItem;
+
+    /** --- Constructors --- */
+
+    public SenateSiteDumpFragmentReader(ObjectMapper objectMapper, SenateSiteDumpFragment fragment,
+                                        String itemsField) throws IOException {
+        this.fragment = fragment;
+        this.itemsField = itemsField;
+        this.jsonParser = objectMapper.getFactory().createParser(fragment.getFragmentFile());
+    }
+
+    /** --- Iterator implementation --- */
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ParseError - If the fragment file could not be read or does not contain the items field.
+     */
+    @Override
+    public boolean hasNext() {
+        if (nextItem != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        try {
+            if (!started) {
+                started = true;
+                if (!seekItems()) {
+                    close();
+                    return false;
+                }
+            }
+            JsonToken token = jsonParser.nextToken();
+            if (token == JsonToken.FIELD_NAME) {
+                token = jsonParser.nextToken();
+            }
+            if (token == null || token == JsonToken.END_ARRAY || token == JsonToken.END_OBJECT) {
+                close();
+                return false;
+            }
+            nextItem = jsonParser.readValueAsTree();
+            return true;
+        }
+        catch (IOException ex) {
+            closeQuietly();
+            throw new ParseError("error while reading senate site dump fragment file: " + getFilePath(), ex);
+        }
+        catch (RuntimeException ex) {
+            closeQuietly();
+            throw ex;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public JsonNode next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JsonNode item = nextItem;
+        nextItem = null;
+        return item;
+    }
+
+    /** --- CloseableIterator implementation --- */
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        nextItem = null;
+        jsonParser.close();
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Advances the parser to the start of the items field, skipping over all other top level fields.
+     *
+     * @return boolean - true if the items field contains items, false if it holds a scalar value.
+     * @throws IOException
+     * @throws ParseError - If the fragment does not contain the items field.
+     */
+    private boolean seekItems() throws IOException {
+        if (jsonParser.nextToken() != JsonToken.START_OBJECT) {
+            throw new ParseError("Expected a json object in senate site dump fragment file: " + getFilePath());
+        }
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            JsonToken valueToken = jsonParser.nextToken();
+            if (itemsField.equals(fieldName)) {
+                return valueToken == JsonToken.START_ARRAY || valueToken == JsonToken.START_OBJECT;
+            }
+            jsonParser.skipChildren();
+        }
+        throw new ParseError("Could not locate \"" + itemsField + "\" node in senate site dump fragment file: " +
+                getFilePath());
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException ignored) {}
+    }
+
+    private String getFilePath() {
+        return fragment.getFragmentFile().getAbsolutePath();
+    }
+}
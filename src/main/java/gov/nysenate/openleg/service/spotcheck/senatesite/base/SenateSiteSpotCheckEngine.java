@@ -0,0 +1,142 @@
+package gov.nysenate.openleg.service.spotcheck.senatesite.base;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckObservation;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDump;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpFragment;
+import gov.nysenate.openleg.processor.base.ParseError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Runs the comparisons for the senate site spotcheck reports on a shared fork join pool.
+ *
+ * The openleg content referenced by a dump is loaded in batches, and the dump fragments are parsed and checked
+ * concurrently as they are read so that only the references that are being checked are held in memory. The
+ * observations are returned to the calling thread, which merges them into the report.
+ */
+@Service
+public class SenateSiteSpotCheckEngine
+{
+    private static final Logger logger = LoggerFactory.getLogger(SenateSiteSpotCheckEngine.class);
+
+    /** Number of content ids that are loaded by a single task. */
+    private static final int LOAD_BATCH_SIZE = 100;
+
+    /** Number of references that are read from a dump fragment before they are checked. */
+    private static final int CHECK_BATCH_SIZE = 100;
+
+    @Autowired private Environment env;
+
+    private ForkJoinPool checkPool;
+
+    @PostConstruct
+    protected void init() {
+        checkPool = new ForkJoinPool(env.getSenateSiteSpotcheckThreads(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("spotcheck-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        checkPool.shutdownNow();
+    }
+
+    /**
+     * Loads the openleg content for the given ids in parallel batches.
+     *
+     * @param ids Collection<ContentId> - The ids of the content to load.
+     * @param batchLoader Function - Loads the content for a batch of ids, skipping any ids that were not found.
+     * @param idMapper Function - Gets the id of a loaded piece of content.
+     * @return Map<ContentId, ContentType> - The loaded content, in the order of the given ids.
+     */
+    public <ContentId, ContentType> Map<ContentId, ContentType> loadContent(
+            Collection<ContentId> ids, Function<List<ContentId>, ? extends Collection<ContentType>> batchLoader,
+            Function<ContentType, ContentId> idMapper) {
+        List<List<ContentId>> batches = Lists.partition(new ArrayList<>(ids), LOAD_BATCH_SIZE);
+        Map<ContentId, ContentType> loaded = invoke(() -> batches.parallelStream()
+                .flatMap(batch -> batchLoader.apply(batch).stream())
+                .collect(toMap(idMapper, Function.identity(), (a, b) -> a)));
+        Map<ContentId, ContentType> content = new LinkedHashMap<>();
+        ids.stream().filter(loaded::containsKey).forEach(id -> content.put(id, loaded.get(id)));
+        return content;
+    }
+
+    /**
+     * Parses each fragment of the dump and checks the references it contains, fanning both out over the pool.
+     * The references of a fragment are read lazily and checked in batches, so only the batches that are being
+     * checked are held in memory.
+     *
+     * @param dump SenateSiteDump - The dump to check.
+     * @param parser Function - Lazily reads the references from a single dump fragment.
+     * @param checker Function - Checks a single reference, returning any resulting observations. This is called
+     *                           concurrently and must be thread safe.
+     * @return List<SpotCheckObservation<ContentKey>> - All observations, in the order of the dump fragments.
+     */
+    public <ReferenceType, ContentKey> List<SpotCheckObservation<ContentKey>> checkDump(
+            SenateSiteDump dump, Function<SenateSiteDumpFragment, ? extends CloseableIterator<ReferenceType>> parser,
+            Function<ReferenceType, ? extends Collection<SpotCheckObservation<ContentKey>>> checker) {
+        List<SenateSiteDumpFragment> fragments = new ArrayList<>(dump.getDumpFragments());
+        fragments.sort(Comparator.comparingInt(SenateSiteDumpFragment::getSequenceNo));
+        logger.info("checking {} fragments of {}", fragments.size(), dump.getDumpId());
+        return invoke(() -> fragments.parallelStream()
+                .map(fragment -> checkFragment(fragment, parser, checker))
+                .flatMap(List::stream)
+                .collect(toList()));
+    }
+
+    /** --- Internal Methods --- */
+
+    private <ReferenceType, ContentKey> List<SpotCheckObservation<ContentKey>> checkFragment(
+            SenateSiteDumpFragment fragment,
+            Function<SenateSiteDumpFragment, ? extends CloseableIterator<ReferenceType>> parser,
+            Function<ReferenceType, ? extends Collection<SpotCheckObservation<ContentKey>>> checker) {
+        List<SpotCheckObservation<ContentKey>> observations = new ArrayList<>();
+        try (CloseableIterator<ReferenceType> references = parser.apply(fragment)) {
+            Iterators.partition(references, CHECK_BATCH_SIZE).forEachRemaining(batch ->
+                    observations.addAll(batch.parallelStream()
+                            .flatMap(reference -> checker.apply(reference).stream())
+                            .collect(toList())));
+        }
+        catch (IOException ex) {
+            throw new ParseError("error while closing senate site dump fragment file: " +
+                    fragment.getFragmentFile().getAbsolutePath(), ex);
+        }
+        return observations;
+    }
+
+    /**
+     * Runs the task in the check pool so that any parallel streams it creates use the pool's threads.
+     */
+    private <T> T invoke(Callable<T> task) {
+        try {
+            return checkPool.submit(task).get();
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Senate site spotcheck task failed", ex.getCause());
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running senate site spotcheck task", ex);
+        }
+    }
+}
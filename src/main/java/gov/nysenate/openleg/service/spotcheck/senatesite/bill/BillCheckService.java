@@ -45,9 +45,19 @@ public class BillCheckService extends BaseSpotCheckService<BillId, Bill, SenateS
     /** {@inheritDoc} */
     @Override
     public SpotCheckObservation<BillId> check(Bill content, SenateSiteBill reference) {
-        SpotCheckObservation<BillId> observation = new SpotCheckObservation<>(reference.getReferenceId(), reference.getBillId());
+        return check(new BillView(content), reference);
+    }
 
-        BillView contentBillView = new BillView(content);
+    /**
+     * Checks a reference bill against a view of the content bill. The view can be shared by the checks of
+     * all the amendments of a bill, since building it is considerably more expensive than the checks themselves.
+     *
+     * @param contentBillView BillView
+     * @param reference SenateSiteBill
+     * @return SpotCheckObservation<BillId>
+     */
+    public SpotCheckObservation<BillId> check(BillView contentBillView, SenateSiteBill reference) {
+        SpotCheckObservation<BillId> observation = new SpotCheckObservation<>(reference.getReferenceId(), reference.getBillId());
 
         BillAmendmentView amendment;
         try {
@@ -17,6 +17,7 @@ import gov.nysenate.openleg.processor.base.ParseError;
 import gov.nysenate.openleg.util.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import gov.nysenate.openleg.service.spotcheck.senatesite.base.CloseableIterator;
 import gov.nysenate.openleg.service.spotcheck.senatesite.base.JsonParser;
 
 import java.io.IOException;
@@ -29,34 +30,19 @@ public class BillJsonParser extends JsonParser{
 
     @Autowired ObjectMapper objectMapper;
 
-    public List<SenateSiteBill> parseBills(SenateSiteDump billDump) throws ParseError {
-        return billDump.getDumpFragments().stream()
-                .flatMap(fragment -> extractBillsFromFragment(fragment).stream())
-                .collect(Collectors.toList());
+    /**
+     * Lazily parses the senate site bills of a single dump fragment, reading one bill at a time.
+     * The returned iterator should be closed in case it is not read to the end.
+     *
+     * @param fragment SenateSiteDumpFragment
+     * @return CloseableIterator<SenateSiteBill>
+     */
+    public CloseableIterator<SenateSiteBill> parseBills(SenateSiteDumpFragment fragment) throws ParseError {
+        return parseFragment(fragment, "bills", this::extractSenSiteBill);
     }
 
     /** --- Internal Methods --- */
 
-    private List<SenateSiteBill> extractBillsFromFragment(SenateSiteDumpFragment fragment) throws ParseError {
-        try {
-            JsonNode billMap = objectMapper.readTree(fragment.getFragmentFile())
-                    .path("bills");
-            if (billMap.isMissingNode()) {
-                throw new ParseError("Could not locate \"bills\" node in senate site bill dump fragment file: " +
-                        fragment.getFragmentFile().getAbsolutePath());
-            }
-            List<SenateSiteBill> bills = new LinkedList<>();
-            for (JsonNode billNode : billMap) {
-                bills.add(extractSenSiteBill(billNode, fragment));
-            }
-            return bills;
-        } catch (IOException | NoSuchElementException ex) {
-            throw new ParseError("error while reading senate site bill dump fragment file: " +
-                    fragment.getFragmentFile().getAbsolutePath(),
-                    ex);
-        }
-    }
-
     private SenateSiteBill extractSenSiteBill(JsonNode billNode, SenateSiteDumpFragment fragment) throws IOException {
         SenateSiteBill bill = new SenateSiteBill(DateUtils.endOfDateTimeRange(fragment.getDumpId().getRange()));
 
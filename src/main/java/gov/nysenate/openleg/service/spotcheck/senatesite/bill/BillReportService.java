@@ -1,6 +1,7 @@
 package gov.nysenate.openleg.service.spotcheck.senatesite.bill;
 
 import com.google.common.collect.*;
+import gov.nysenate.openleg.client.view.bill.BillView;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
@@ -21,8 +22,8 @@ import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDump;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
-import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import gov.nysenate.openleg.service.spotcheck.base.BaseSpotCheckReportService;
+import gov.nysenate.openleg.service.spotcheck.senatesite.base.SenateSiteSpotCheckEngine;
 import gov.nysenate.openleg.service.spotcheck.senatesite.bill.BillCheckService;
 import gov.nysenate.openleg.service.spotcheck.senatesite.bill.BillJsonParser;
 import gov.nysenate.openleg.util.DateUtils;
@@ -34,6 +35,7 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -49,6 +51,7 @@ public class BillReportService extends BaseSpotCheckReportService<BillId> {
     @Autowired private BillUpdatesDao billUpdatesDao;
 
     @Autowired private BillCheckService billCheckService;
+    @Autowired private SenateSiteSpotCheckEngine checkEngine;
 
     @Override
     protected SpotCheckReportDao<BillId> getReportDao() {
@@ -74,36 +77,34 @@ public class BillReportService extends BaseSpotCheckReportService<BillId> {
             // Get reference bills using the bill dump update interval
             Set<BaseBillId> updatedBillIds = getBillUpdatesDuring(billDump);
             logger.info("got {} updated bill ids", updatedBillIds.size());
-            Map<BaseBillId, Bill> updatedBills = new LinkedHashMap<>();
             logger.info("retrieving bills");
-            for (BaseBillId billId : updatedBillIds) {
-                try {
-                    updatedBills.put(billId, billDataService.getBill(billId));
-                } catch (BillNotFoundEx ex) {
-                    SpotCheckObservation<BillId> observation = new SpotCheckObservation<>(reportId.getReferenceId(), billId);
-                    observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", billId));
-                    report.addObservation(observation);
-                }
+            Map<BaseBillId, Bill> updatedBills =
+                    checkEngine.loadContent(updatedBillIds, billDataService::getBills, Bill::getBaseBillId);
+            for (BaseBillId billId : Sets.difference(updatedBillIds, updatedBills.keySet())) {
+                SpotCheckObservation<BillId> observation = new SpotCheckObservation<>(reportId.getReferenceId(), billId);
+                observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", billId));
+                report.addObservation(observation);
             }
             logger.info("got {} bills", updatedBills.size());
-            logger.info("retrieving bill dump");
-            // Extract senate site bills from the dump
-            Multimap<BaseBillId, SenateSiteBill> dumpedBills = ArrayListMultimap.create();
-            billJsonParser.parseBills(billDump).forEach(b -> dumpedBills.put(b.getBaseBillId(), b));
-            logger.info("parsed {} dumped bills", dumpedBills.size());
 
-            prunePostDumpBills(billDump, report, dumpedBills, updatedBills);
+            Set<BaseBillId> postDumpBillIds = prunePostDumpBills(billDump, report, updatedBills);
+
+            logger.info("checking bill dump");
+            // Check each dumped senate site bill as the dump fragments are parsed
+            Set<BillId> dumpedBillIds = ConcurrentHashMap.newKeySet();
+            List<SpotCheckObservation<BillId>> checkObservations = checkEngine.checkDump(billDump,
+                    fragment -> billJsonParser.parseBills(fragment).groupConsecutive(SenateSiteBill::getBaseBillId),
+                    senSiteBills -> postDumpBillIds.contains(senSiteBills.get(0).getBaseBillId())
+                            ? Collections.emptyList()
+                            : checkBills(updatedBills.get(senSiteBills.get(0).getBaseBillId()), senSiteBills,
+                                         dumpedBillIds));
+            logger.info("checked {} dumped bills", dumpedBillIds.size());
 
             logger.info("comparing bills present");
             // Add observations for any missing bills that should have been in the dump
-            report.addObservations(getRefDataMissingObs(dumpedBills.values(), updatedBills.values(),
+            report.addObservations(getRefDataMissingObs(dumpedBillIds, updatedBills.values(),
                     reportId.getReferenceId()));
-
-            logger.info("checking bills");
-            // Check each dumped senate site bill
-            dumpedBills.values().stream()
-                    .map(senSiteBill -> billCheckService.check(updatedBills.get(senSiteBill.getBaseBillId()), senSiteBill))
-                    .forEach(report::addObservation);
+            report.addObservations(checkObservations);
 
             logger.info("done: {} mismatches", report.getOpenMismatchCount(false));
         } finally {
@@ -145,17 +146,34 @@ public class BillReportService extends BaseSpotCheckReportService<BillId> {
                 .collect(Collectors.toCollection(TreeSet::new));
     }
 
+    /**
+     * Checks all the dumped amendments of a bill against a single view of the openleg bill.
+     *
+     * @param content Bill - The openleg bill, null if it was not updated during the dump interval
+     * @param senSiteBills List<SenateSiteBill> - Dumped amendments of the bill
+     * @param dumpedBillIds Set<BillId> - Collects the ids of all checked amendments
+     * @return List<SpotCheckObservation<BillId>>
+     */
+    private List<SpotCheckObservation<BillId>> checkBills(Bill content, List<SenateSiteBill> senSiteBills,
+                                                          Set<BillId> dumpedBillIds) {
+        BillView contentBillView = new BillView(content);
+        return senSiteBills.stream()
+                .peek(senSiteBill -> dumpedBillIds.add(senSiteBill.getBillId()))
+                .map(senSiteBill -> billCheckService.check(contentBillView, senSiteBill))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get the base bill ids of all bills updated after the update interval specified by the dump
-     * Remove these bills from the openleg and senate site bill references
+     * Remove these bills from the openleg bill references, they are skipped while checking the dump
      * Store a string list of these bill ids in the report notes
      *
      * @param billDump SenateSiteBillDump
-     * @param senSiteBills Multimap<BaseBillId, SenateSiteBill>
      * @param openlegBills Map<BaseBillId, Bill>
+     * @return Set<BaseBillId> - The bills that were updated after the dump
      */
-    private void prunePostDumpBills(SenateSiteDump billDump, SpotCheckReport report,
-                                    Multimap<BaseBillId, SenateSiteBill> senSiteBills, Map<BaseBillId, Bill> openlegBills) {
+    private Set<BaseBillId> prunePostDumpBills(SenateSiteDump billDump, SpotCheckReport report,
+                                               Map<BaseBillId, Bill> openlegBills) {
         Range<LocalDateTime> billDumpRange = billDump.getDumpId().getRange();
         Range<LocalDateTime> postDumpRange =  Range.downTo(DateUtils.endOfDateTimeRange(billDumpRange),
                 billDumpRange.upperBoundType() == BoundType.OPEN ? BoundType.CLOSED : BoundType.OPEN);
@@ -169,27 +187,25 @@ public class BillReportService extends BaseSpotCheckReportService<BillId> {
             // Iterate over bills updated after the update interval, removing them from the references and
             //  collecting them in a list to add to the report notes
             String notes = postDumpUpdatedBills.stream()
-                    .peek(senSiteBills::removeAll)
                     .peek(openlegBills::remove)
-                    .reduce("Ignored Bills:", (str, billId) -> str + " " + billId, (a, b) -> a + " " + b);
+                    .map(Object::toString)
+                    .collect(Collectors.joining(" ", "Ignored Bills: ", ""));
             report.setNotes(report.getNotes() + "\n" + notes);
         }
+        return postDumpUpdatedBills;
     }
 
     /**
      * Generate data missing observations for all bills that were updated in the bill dump update interval,
      *  but not included in the bill dump
-     * @param senSiteBills Collection<SenateSiteBill> - Bills extracted from the dump
+     * @param senSiteBillIds Set<BillId> - Ids of the bills extracted from the dump
      * @param openlegBills Collection<Bill> - Bills updated during the dump interval
      * @param refId SpotCheckReferenceId - reference Id used to create the observations
      * @return List<SpotCheckObservation<BillId>>
      */
-    private List<SpotCheckObservation<BillId>> getRefDataMissingObs(Collection<SenateSiteBill> senSiteBills,
+    private List<SpotCheckObservation<BillId>> getRefDataMissingObs(Set<BillId> senSiteBillIds,
                                                                     Collection<Bill> openlegBills,
                                                                     SpotCheckReferenceId refId) {
-        Set<BillId> senSiteBillIds = senSiteBills.stream()
-                .map(SenateSiteBill::getBillId)
-                .collect(Collectors.toSet());
         Set<BillId> openlegBillIds = openlegBills.stream()
                 .flatMap(bill -> bill.getAmendmentIds().stream()
                         .filter(billId -> bill.getPublishStatus(billId.getVersion())
@@ -15,6 +15,7 @@ import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpFragment;
 import gov.nysenate.openleg.model.spotcheck.senatesite.bill.SenateSiteBill;
 import gov.nysenate.openleg.model.spotcheck.senatesite.calendar.SenateSiteCalendar;
 import gov.nysenate.openleg.processor.base.ParseError;
+import gov.nysenate.openleg.service.spotcheck.senatesite.base.CloseableIterator;
 import gov.nysenate.openleg.service.spotcheck.senatesite.base.JsonParser;
 import gov.nysenate.openleg.util.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,30 +35,15 @@ public class CalendarJsonParser extends JsonParser {
     @Autowired
     ObjectMapper objectMapper;
 
-    public List<SenateSiteCalendar> parseCalendars(SenateSiteDump calendarDump) throws ParseError {
-        return calendarDump.getDumpFragments().stream()
-                .flatMap(fragment -> extractCalendarsFromFragment(fragment).stream())
-                .collect(Collectors.toList());
-    }
-
-    private List<SenateSiteCalendar> extractCalendarsFromFragment(SenateSiteDumpFragment fragment) throws ParseError{
-        try {
-            JsonNode calendarMap = objectMapper.readTree(fragment.getFragmentFile())
-                    .path("calendars");
-            if (calendarMap.isMissingNode()) {
-                throw new ParseError("Could not locate \"calendars\" node in senate site calendar dump fragment file: " +
-                        fragment.getFragmentFile().getAbsolutePath());
-            }
-            List<SenateSiteCalendar> calendars = new LinkedList<>();
-            for (JsonNode calendarNode : calendarMap) {
-                calendars.add(extractSenSiteCalendar(calendarNode, fragment));
-            }
-            return calendars;
-        } catch (IOException | NoSuchElementException ex) {
-            throw new ParseError("error while reading senate site calendar dump fragment file: " +
-                    fragment.getFragmentFile().getAbsolutePath(),
-                    ex);
-        }
+    /**
+     * Lazily parses the senate site calendars of a single dump fragment, reading one calendar at a time.
+     * The returned iterator should be closed in case it is not read to the end.
+     *
+     * @param fragment SenateSiteDumpFragment
+     * @return CloseableIterator<SenateSiteCalendar>
+     */
+    public CloseableIterator<SenateSiteCalendar> parseCalendars(SenateSiteDumpFragment fragment) throws ParseError {
+        return parseFragment(fragment, "calendars", this::extractSenSiteCalendar);
     }
 
     private SenateSiteCalendar extractSenSiteCalendar(JsonNode calendarNode, SenateSiteDumpFragment fragment) throws IOException {
@@ -24,8 +24,8 @@ import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.service.calendar.data.CalendarDataService;
 import gov.nysenate.openleg.service.calendar.data.CalendarNotFoundEx;
 import gov.nysenate.openleg.service.spotcheck.base.BaseSpotCheckReportService;
+import gov.nysenate.openleg.service.spotcheck.senatesite.base.SenateSiteSpotCheckEngine;
 import gov.nysenate.openleg.util.DateUtils;
-import org.elasticsearch.common.collect.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +34,7 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -50,6 +51,7 @@ public class CalendarReportServices extends BaseSpotCheckReportService<CalendarE
     @Autowired private CalendarUpdatesDao calendarUpdatesDao;
     @Autowired private CalendarDataService calendarDataService;
     @Autowired private CalendarEntryListIdSpotCheckReportDao calendarEntryListIdSpotCheckReportDao;
+    @Autowired private SenateSiteSpotCheckEngine checkEngine;
 
     @Override
     protected SpotCheckReportDao<CalendarEntryListId> getReportDao() {
@@ -75,39 +77,36 @@ public class CalendarReportServices extends BaseSpotCheckReportService<CalendarE
             // Get reference calendars using the calendar dump update interval
             Set<CalendarId> updatedCalendarIds = getCalendarUpdatesDuring(calendarDump);
             logger.info("got {} updated calendar ids", updatedCalendarIds.size());
-            Map<CalendarId, Calendar> updatedCalendars = new LinkedHashMap<>();
             logger.info("retrieving calendars");
-            for (CalendarId calendarId : updatedCalendarIds) {
-                try {
-                    updatedCalendars.put(calendarId, calendarDataService.getCalendar(calendarId));
-                } catch (CalendarNotFoundEx ex) {
-                    SpotCheckObservation<CalendarEntryListId> observation = new SpotCheckObservation<>(reportId.getReferenceId(),
-                            new CalendarEntryListId(calendarId, CalendarType.ALL, Version.DEFAULT, 0));
-                    observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", calendarId));
-                    report.addObservation(observation);
-                }
+            Map<CalendarId, Calendar> updatedCalendars =
+                    checkEngine.loadContent(updatedCalendarIds, this::getCalendars, Calendar::getId);
+            for (CalendarId calendarId : Sets.difference(updatedCalendarIds, updatedCalendars.keySet())) {
+                SpotCheckObservation<CalendarEntryListId> observation = new SpotCheckObservation<>(reportId.getReferenceId(),
+                        new CalendarEntryListId(calendarId, CalendarType.ALL, Version.DEFAULT, 0));
+                observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", calendarId));
+                report.addObservation(observation);
             }
             logger.info("got {} calendars", updatedCalendars.size());
-            logger.info("retrieving calendar dump");
-            // Extract senate site calendars from the dump
-            Multimap<CalendarEntryListId, SenateSiteCalendar> dumpedCalendars = ArrayListMultimap.create();
-            calendarJsonParser.parseCalendars(calendarDump).forEach(b -> dumpedCalendars.put(b.getCalendarEntryListId(), b));
-            logger.info("parsed {} dumped calendars", dumpedCalendars.size());
 
-            prunePostDumpcalendars(calendarDump, report, dumpedCalendars, updatedCalendars);
+            Set<CalendarId> postDumpCalendarIds = prunePostDumpcalendars(calendarDump, report, updatedCalendars);
+            Set<CalendarEntryListId> openlegCalendarIds = updatedCalendars.values().stream()
+                    .map(Calendar::getCalendarEntryListIds)
+                    .flatMap(Collection::stream)
+                    .collect(Collectors.toSet());
+
+            logger.info("checking calendar dump");
+            // Check each dumped senate site calendar as the dump fragments are parsed
+            Set<CalendarEntryListId> dumpedCalendarIds = ConcurrentHashMap.newKeySet();
+            List<SpotCheckObservation<CalendarEntryListId>> checkObservations = checkEngine.checkDump(calendarDump,
+                    calendarJsonParser::parseCalendars,
+                    senSiteCalendar -> checkCalendar(senSiteCalendar, updatedCalendars, postDumpCalendarIds,
+                                                     openlegCalendarIds, dumpedCalendarIds, reportId.getReferenceId()));
+            logger.info("checked {} dumped calendars", dumpedCalendarIds.size());
 
             logger.info("comparing calendars present");
             // Add observations for any missing calendars that should have been in the dump
-            Tuple<List<SpotCheckObservation<CalendarEntryListId>>,List<CalendarEntryListId>> obs = getRefDataMissingObs(dumpedCalendars.values(), updatedCalendars.values(),
-                    reportId.getReferenceId());
-            report.addObservations(obs.v1());
-
-            logger.info("checking calendars");
-            // Check each dumped senate site calendar
-            dumpedCalendars.values().stream()
-                    .filter(sencal -> updatedCalendars.containsKey(sencal.getCalendarId()) && !obs.v2().contains(sencal.getCalendarEntryListId()))
-                    .map(senSitecalendar -> calendarCheckServices.check(updatedCalendars.get(senSitecalendar.getCalendarId()), senSitecalendar))
-                    .forEach(report::addObservation);
+            report.addObservations(getRefDataMissingObs(dumpedCalendarIds, openlegCalendarIds, reportId.getReferenceId()));
+            report.addObservations(checkObservations);
 
             logger.info("done: {} mismatches", report.getOpenMismatchCount(false));
         } finally {
@@ -148,8 +147,47 @@ public class CalendarReportServices extends BaseSpotCheckReportService<CalendarE
                 .collect(Collectors.toCollection(TreeSet::new));
     }
 
-    private void prunePostDumpcalendars(SenateSiteDump calendarDump, SpotCheckReport report,
-                                        Multimap<CalendarEntryListId, SenateSiteCalendar> senSiteCalendars, Map<CalendarId, Calendar> openlegCalendars) {
+    /**
+     * Loads a batch of calendars, skipping any that could not be found.
+     */
+    private List<Calendar> getCalendars(Collection<CalendarId> calendarIds) {
+        List<Calendar> calendars = new ArrayList<>();
+        for (CalendarId calendarId : calendarIds) {
+            try {
+                calendars.add(calendarDataService.getCalendar(calendarId));
+            } catch (CalendarNotFoundEx ignored) {}
+        }
+        return calendars;
+    }
+
+    /**
+     * Checks a single dumped calendar entry list. Entry lists of calendars that were updated after the dump are
+     * skipped and entry lists that do not exist in openleg are reported as missing.
+     */
+    private List<SpotCheckObservation<CalendarEntryListId>> checkCalendar(
+            SenateSiteCalendar senSiteCalendar, Map<CalendarId, Calendar> openlegCalendars,
+            Set<CalendarId> postDumpCalendarIds, Set<CalendarEntryListId> openlegCalendarIds,
+            Set<CalendarEntryListId> dumpedCalendarIds, SpotCheckReferenceId refId) {
+        CalendarEntryListId entryListId = senSiteCalendar.getCalendarEntryListId();
+        if (postDumpCalendarIds.contains(senSiteCalendar.getCalendarId())) {
+            return Collections.emptyList();
+        }
+        dumpedCalendarIds.add(entryListId);
+        if (!openlegCalendarIds.contains(entryListId)) {
+            SpotCheckObservation<CalendarEntryListId> observation = new SpotCheckObservation<>(refId, entryListId);
+            observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", ""));
+            return Collections.singletonList(observation);
+        }
+        return Collections.singletonList(
+                calendarCheckServices.check(openlegCalendars.get(senSiteCalendar.getCalendarId()), senSiteCalendar));
+    }
+
+    /**
+     * Get the ids of all calendars updated after the update interval specified by the dump
+     * Remove these calendars from the openleg references, they are skipped while checking the dump
+     */
+    private Set<CalendarId> prunePostDumpcalendars(SenateSiteDump calendarDump, SpotCheckReport report,
+                                                   Map<CalendarId, Calendar> openlegCalendars) {
         Range<LocalDateTime> calendarDumpRange = calendarDump.getDumpId().getRange();
         Range<LocalDateTime> postDumpRange =  Range.downTo(DateUtils.endOfDateTimeRange(calendarDumpRange),
                 calendarDumpRange.upperBoundType() == BoundType.OPEN ? BoundType.CLOSED : BoundType.OPEN);
@@ -163,47 +201,24 @@ public class CalendarReportServices extends BaseSpotCheckReportService<CalendarE
             // Iterate over calendars updated after the update interval, removing them from the references and
             //  collecting them in a list to add to the report notes
             String notes = postDumpUpdatedCalendars.stream()
-                    .peek(senSiteCalendars::removeAll)
                     .peek(openlegCalendars::remove)
-                    .reduce("Ignored Calendars:", (str, calendarId) -> str + " " + calendarId, (a, b) -> a + " " + b);
+                    .map(Object::toString)
+                    .collect(Collectors.joining(" ", "Ignored Calendars: ", ""));
             report.setNotes(notes);
         }
+        return postDumpUpdatedCalendars;
     }
 
-    private Tuple<List<SpotCheckObservation<CalendarEntryListId>>, List<CalendarEntryListId>> getRefDataMissingObs(Collection<SenateSiteCalendar> senSiteCalendars,
-                                                                                       Collection<Calendar> openlegCalendars,
-                                                                                       SpotCheckReferenceId refId) {
-        Set<CalendarEntryListId> senSiteCalendarIds = senSiteCalendars.stream()
-                .map(SenateSiteCalendar::getCalendarEntryListId)
-                .collect(Collectors.toSet());
-
-        Set<CalendarEntryListId> openlegCalendarIds = openlegCalendars.stream()
-                .map(Calendar::getCalendarEntryListIds)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
-        List<CalendarEntryListId> toRemove = new ArrayList<>();
-
-        List<SpotCheckObservation<CalendarEntryListId>> refData = Sets.difference(openlegCalendarIds, senSiteCalendarIds).stream()
+    private List<SpotCheckObservation<CalendarEntryListId>> getRefDataMissingObs(Set<CalendarEntryListId> senSiteCalendarIds,
+                                                                                 Set<CalendarEntryListId> openlegCalendarIds,
+                                                                                 SpotCheckReferenceId refId) {
+        return Sets.difference(openlegCalendarIds, senSiteCalendarIds).stream()
                 .map(calendarId -> {
                     SpotCheckObservation<CalendarEntryListId> observation =
                             new SpotCheckObservation<>(refId, calendarId);
                     observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.REFERENCE_DATA_MISSING, "", ""));
                     return observation;
                 }).collect(Collectors.toList());
-
-        List<SpotCheckObservation<CalendarEntryListId>> obsData = Sets.difference(senSiteCalendarIds,openlegCalendarIds).stream()
-                .map(calendarId -> {
-                    SpotCheckObservation<CalendarEntryListId> observation =
-                            new SpotCheckObservation<>(refId, calendarId);
-                    observation.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.OBSERVE_DATA_MISSING, "", ""));
-                    toRemove.add(calendarId);
-                    return observation;
-                }).collect(Collectors.toList());
-
-        List<SpotCheckObservation<CalendarEntryListId>> allDataObs = new ArrayList<>();
-        allDataObs.addAll(refData);
-        allDataObs.addAll(obsData);
-        return Tuple.tuple(allDataObs,toRemove);
     }
 
     /**
@@ -12,6 +12,7 @@ import gov.nysenate.openleg.model.transcript.Transcript;
 import gov.nysenate.openleg.model.transcript.TranscriptId;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
+import gov.nysenate.openleg.service.base.search.SearchIndexRebuildService;
 import gov.nysenate.openleg.service.transcript.data.TranscriptDataService;
 import gov.nysenate.openleg.service.transcript.event.BulkTranscriptUpdateEvent;
 import gov.nysenate.openleg.service.transcript.event.TranscriptUpdateEvent;
@@ -29,6 +30,7 @@ import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -41,6 +43,7 @@ public class ElasticTranscriptSearchService implements TranscriptSearchService,
     @Autowired protected EventBus eventBus;
     @Autowired protected ElasticTranscriptSearchDao transcriptSearchDao;
     @Autowired protected TranscriptDataService transcriptDataService;
+    @Autowired protected SearchIndexRebuildService rebuildService;
 
     @PostConstruct
     protected void init() {
@@ -147,18 +150,17 @@ public class ElasticTranscriptSearchService implements TranscriptSearchService,
     /** {@inheritDoc} */
     @Override
     public void rebuildIndex() {
-        clearIndex();
-        for (int year = 1993; year <= LocalDate.now().getYear(); year++) {
+        rebuildService.rebuild(SearchIndex.TRANSCRIPT, transcriptSearchDao, Collections.singletonList("all"), unit -> {
             LimitOffset limOff = LimitOffset.TWENTY_FIVE;
             List<TranscriptId> transcriptIds = transcriptDataService.getTranscriptIds(SortOrder.DESC, limOff);
             while (!transcriptIds.isEmpty()) {
-                logger.info("Indexing {} transcripts starting from {}", transcriptIds.size(), year);
+                logger.info("Indexing {} transcripts starting from {}", transcriptIds.size(), transcriptIds.get(0));
                 List<Transcript> transcripts = transcriptIds.stream().map(transcriptDataService::getTranscript).collect(Collectors.toList());
                 updateIndex(transcripts);
                 limOff = limOff.next();
                 transcriptIds = transcriptDataService.getTranscriptIds(SortOrder.DESC, limOff);
             }
-        }
+        });
     }
 
     /** {@inheritDoc} */
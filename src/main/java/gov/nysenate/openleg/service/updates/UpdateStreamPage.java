@@ -0,0 +1,29 @@
+package gov.nysenate.openleg.service.updates;
+
+import gov.nysenate.openleg.client.view.updates.UpdateDigestView;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+
+import java.util.List;
+
+/**
+ * A page of streamed updates that a subscriber has missed, along with the cursor that the following page
+ * can be read from. The next cursor is null once the subscriber has caught up with the stream.
+ */
+public class UpdateStreamPage
+{
+    private final List<UpdateDigestView> updates;
+    private final UpdateCursor nextCursor;
+
+    public UpdateStreamPage(List<UpdateDigestView> updates, UpdateCursor nextCursor) {
+        this.updates = updates;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<UpdateDigestView> getUpdates() {
+        return updates;
+    }
+
+    public UpdateCursor getNextCursor() {
+        return nextCursor;
+    }
+}
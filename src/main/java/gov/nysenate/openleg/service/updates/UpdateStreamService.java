@@ -0,0 +1,374 @@
+package gov.nysenate.openleg.service.updates;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Range;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.client.view.updates.UpdateDigestView;
+import gov.nysenate.openleg.client.view.updates.UpdateTokenView;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.updates.AggregateUpdatesDao;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+import gov.nysenate.openleg.model.updates.UpdateDigest;
+import gov.nysenate.openleg.model.updates.UpdateType;
+import gov.nysenate.openleg.service.agenda.event.AgendaUpdateEvent;
+import gov.nysenate.openleg.service.agenda.event.BulkAgendaUpdateEvent;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.calendar.event.BulkCalendarUpdateEvent;
+import gov.nysenate.openleg.service.calendar.event.CalendarUpdateEvent;
+import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
+import gov.nysenate.openleg.service.law.event.LawUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Pushes the change log to STOMP subscribers as a stream of update digests, so that clients can be notified of
+ * changes instead of polling the updates apis.
+ *
+ * Each content type is broadcast to its own topic, e.g. '/event/updates/bill'. The digests are read from the change
+ * log with the same cursor queries that back the updates apis. Whenever content is updated, the rows processed since
+ * the previous read are streamed. A poll on a fixed delay re-scans a trailing window of the change log and skips rows
+ * that were already broadcast, so rows committed late by long running transactions are still streamed, see
+ * {@link UpdateStreamWindow}. Every message carries the following headers:
+ *
+ *  cursor    - The position of the update in the change log, see {@link UpdateCursor}. A client that falls behind or
+ *              reconnects can resume from the last cursor it received, see {@link #getUpdatesAfter}.
+ *  session   - The session year of a bill, or the year of an agenda or calendar.
+ *  committee - The committee a bill is currently in, or the committee of an agenda update.
+ *  lawId     - The law id of a law update.
+ *
+ * Subscribers can filter a topic on these headers with a selector, e.g. "selector: headers.session == '2017'".
+ */
+@Service
+public class UpdateStreamService
+{
+    private static final Logger logger = LoggerFactory.getLogger(UpdateStreamService.class);
+
+    public static final String TOPIC_PREFIX = "/event/updates/";
+
+    public static final String CURSOR_HEADER = "cursor";
+    public static final String SESSION_HEADER = "session";
+    public static final String COMMITTEE_HEADER = "committee";
+    public static final String LAW_ID_HEADER = "lawId";
+
+    /** The headers that a subscriber can filter updates on. */
+    public static final ImmutableSet<String> FILTER_HEADERS = ImmutableSet.of(SESSION_HEADER, COMMITTEE_HEADER, LAW_ID_HEADER);
+
+    /** Number of change log rows that are read per query. */
+    private static final int BATCH_SIZE = 500;
+
+    @Service
+    public static class AsyncUpdateStreamer
+    {
+        @Autowired private AggregateUpdatesDao updatesDao;
+        @Autowired private BillDataService billData;
+        @Autowired private SimpMessagingTemplate messagingTemplate;
+        @Autowired private ObjectMapper objectMapper;
+
+        /** Each scan of the change log re-reads this many seconds before the end of the previous scan so that rows
+         *  committed by long running transactions are not skipped, see {@link UpdateStreamWindow}. */
+        @Value("${updates.stream.rescan.window:300}") private int rescanWindowSeconds;
+
+        /** Only updates made after the stream is started are broadcast. */
+        private final LocalDateTime streamStart = LocalDateTime.now();
+
+        /** The rows that have been broadcast for each content type. */
+        private final Map<UpdateContentType, UpdateStreamWindow> windows = new ConcurrentHashMap<>();
+
+        /**
+         * Retrieves the updates of a content type that were made after the given cursor. Only updates that would
+         * have been broadcast with headers matching all of the given filters are returned. Rows that were broadcast
+         * after the cursor but sit before it in the change log, i.e. late commits picked up by a rescan, are
+         * returned first.
+         *
+         * @param contentType UpdateContentType
+         * @param after UpdateCursor - Resume after this cursor, if null the first updates after the stream start
+         *                             are returned.
+         * @param filters Map<String, String> - Header name to value, see {@link #FILTER_HEADERS}
+         * @param limit int - The maximum number of change log rows to read after the cursor
+         * @return UpdateStreamPage
+         */
+        public UpdateStreamPage getUpdatesAfter(UpdateContentType contentType, UpdateCursor after,
+                                                Map<String, String> filters, int limit) {
+            LocalDateTime start = (after != null) ? after.getDateTime() : streamStart;
+            Range<LocalDateTime> range = Range.atLeast(start);
+            List<UpdateDigest<Map<String, String>>> digests = getDigests(contentType, range, after, limit);
+            Map<String, UpdateDigest<Map<String, String>>> rows = new LinkedHashMap<>();
+            if (after != null) {
+                getLateDigests(contentType, after).forEach(digest -> rows.put(UpdateStreamWindow.getRowKey(digest), digest));
+            }
+            digests.forEach(digest -> rows.putIfAbsent(UpdateStreamWindow.getRowKey(digest), digest));
+            List<UpdateDigest<Map<String, String>>> resumed = new ArrayList<>(rows.values());
+            Map<BaseBillId, String> billCommittees = getBillCommittees(resumed);
+            List<UpdateDigestView> views = new ArrayList<>();
+            for (UpdateDigest<Map<String, String>> digest : resumed) {
+                Map<String, String> headers = getHeaders(digest, billCommittees);
+                boolean matches = filters.entrySet().stream()
+                        .allMatch(filter -> filter.getValue().equalsIgnoreCase(headers.get(filter.getKey())));
+                if (matches) {
+                    views.add(getView(digest));
+                }
+            }
+            UpdateCursor nextCursor = (limit > 0 && digests.size() == limit)
+                    ? UpdateCursor.of(digests.get(digests.size() - 1), UpdateType.PROCESSED_DATE)
+                    : null;
+            return new UpdateStreamPage(views, nextCursor);
+        }
+
+        /**
+         * Broadcasts the rows of the given content types that were processed since the previous scan.
+         */
+        @Async
+        public void stream(Collection<UpdateContentType> contentTypes) {
+            contentTypes.forEach(contentType -> stream(contentType, false));
+        }
+
+        /**
+         * Re-scans the trailing window of the change log for the given content types and broadcasts every row that
+         * has not been broadcast yet.
+         */
+        @Async
+        public void rescan(Collection<UpdateContentType> contentTypes) {
+            contentTypes.forEach(contentType -> stream(contentType, true));
+        }
+
+        /**
+         * Reads the change log for the given content type and broadcasts every row that has not been broadcast yet.
+         *
+         * @param contentType UpdateContentType
+         * @param rescan boolean - Re-read the trailing window if true, otherwise only read rows processed since
+         *                         the previous scan.
+         */
+        synchronized void stream(UpdateContentType contentType, boolean rescan) {
+            LocalDateTime end = LocalDateTime.now();
+            UpdateStreamWindow window = getWindow(contentType);
+            Range<LocalDateTime> range = rescan ? window.getScanRange(end) : window.getNewRowsRange(end);
+            String topic = TOPIC_PREFIX + contentType.name().toLowerCase();
+            UpdateCursor after = null;
+            List<UpdateDigest<Map<String, String>>> digests;
+            do {
+                digests = getDigests(contentType, range, after, BATCH_SIZE);
+                List<UpdateDigest<Map<String, String>>> unsent = digests.stream()
+                        .filter(window::markSent)
+                        .collect(toList());
+                Map<BaseBillId, String> billCommittees = getBillCommittees(unsent);
+                for (UpdateDigest<Map<String, String>> digest : unsent) {
+                    Map<String, Object> headers = new HashMap<>(getHeaders(digest, billCommittees));
+                    try {
+                        messagingTemplate.convertAndSend(topic, objectMapper.writeValueAsString(getView(digest)), headers);
+                    }
+                    catch (JsonProcessingException ex) {
+                        logger.error("Failed to serialize update digest for the update stream", ex);
+                    }
+                }
+                if (!digests.isEmpty()) {
+                    after = UpdateCursor.of(digests.get(digests.size() - 1), UpdateType.PROCESSED_DATE);
+                }
+            }
+            while (digests.size() == BATCH_SIZE);
+            if (rescan) {
+                window.finishScan(end);
+            }
+            else {
+                window.finishNewRowsScan(end);
+            }
+        }
+
+        private UpdateStreamWindow getWindow(UpdateContentType contentType) {
+            return windows.computeIfAbsent(contentType,
+                    type -> new UpdateStreamWindow(streamStart, Duration.ofSeconds(rescanWindowSeconds)));
+        }
+
+        /**
+         * Re-reads the trailing window before the given cursor and returns the rows that were broadcast after the
+         * row at the cursor was broadcast.
+         */
+        private List<UpdateDigest<Map<String, String>>> getLateDigests(UpdateContentType contentType,
+                                                                       UpdateCursor after) {
+            Set<String> sentAfter;
+            Range<LocalDateTime> range;
+            synchronized (this) {
+                UpdateStreamWindow window = getWindow(contentType);
+                sentAfter = window.getSentAfter(after);
+                range = window.getResumeRange(after);
+            }
+            List<UpdateDigest<Map<String, String>>> lateDigests = new ArrayList<>();
+            if (sentAfter.isEmpty()) {
+                return lateDigests;
+            }
+            UpdateCursor scanAfter = null;
+            List<UpdateDigest<Map<String, String>>> digests;
+            do {
+                digests = getDigests(contentType, range, scanAfter, BATCH_SIZE);
+                digests.stream()
+                        .filter(digest -> sentAfter.contains(UpdateStreamWindow.getRowKey(digest)))
+                        .forEach(lateDigests::add);
+                if (!digests.isEmpty()) {
+                    scanAfter = UpdateCursor.of(digests.get(digests.size() - 1), UpdateType.PROCESSED_DATE);
+                }
+            }
+            while (digests.size() == BATCH_SIZE);
+            return lateDigests;
+        }
+
+        private List<UpdateDigest<Map<String, String>>> getDigests(UpdateContentType contentType,
+                                                                   Range<LocalDateTime> range,
+                                                                   UpdateCursor after, int limit) {
+            // Agenda committees are only known from the changed fields
+            return updatesDao.getUpdateDigestsAfter(range, ImmutableSet.of(contentType), UpdateType.PROCESSED_DATE,
+                    SortOrder.ASC, after, limit, contentType == UpdateContentType.AGENDA);
+        }
+
+        /**
+         * Looks up the current committee of every bill in the given digests with a single batched read.
+         */
+        private Map<BaseBillId, String> getBillCommittees(List<UpdateDigest<Map<String, String>>> digests) {
+            Set<BaseBillId> billIds = digests.stream()
+                    .filter(digest -> digest.getContentType() == UpdateContentType.BILL)
+                    .map(digest -> getBaseBillId(digest.getId()))
+                    .collect(toCollection(LinkedHashSet::new));
+            if (billIds.isEmpty()) {
+                return Collections.emptyMap();
+            }
+            Map<BaseBillId, String> committees = new HashMap<>();
+            for (Bill bill : billData.getBills(billIds)) {
+                if (bill.getStatus() != null && bill.getStatus().getCommitteeId() != null) {
+                    committees.put(bill.getBaseBillId(), bill.getStatus().getCommitteeId().getName());
+                }
+            }
+            return committees;
+        }
+
+        private static BaseBillId getBaseBillId(Map<String, String> id) {
+            return new BaseBillId(id.get("printNo"), Integer.parseInt(id.get("session")));
+        }
+
+        private Map<String, String> getHeaders(UpdateDigest<Map<String, String>> digest,
+                                               Map<BaseBillId, String> billCommittees) {
+            Map<String, String> headers = new HashMap<>();
+            Map<String, String> id = digest.getId();
+            headers.put(CURSOR_HEADER, UpdateCursor.of(digest, UpdateType.PROCESSED_DATE).encode());
+            switch (digest.getContentType()) {
+                case BILL:
+                    headers.put(SESSION_HEADER, id.get("session"));
+                    String committee = billCommittees.get(getBaseBillId(id));
+                    if (committee != null) {
+                        headers.put(COMMITTEE_HEADER, committee);
+                    }
+                    break;
+                case AGENDA:
+                    headers.put(SESSION_HEADER, id.get("year"));
+                    if (digest.getFields() != null && digest.getFields().get("committee_name") != null) {
+                        headers.put(COMMITTEE_HEADER, digest.getFields().get("committee_name"));
+                    }
+                    break;
+                case CALENDAR:
+                    headers.put(SESSION_HEADER, id.get("year"));
+                    break;
+                case LAW:
+                    if (id.containsKey("lawId")) {
+                        headers.put(LAW_ID_HEADER, id.get("lawId"));
+                    }
+                    else if (id.containsKey("lawDocId")) {
+                        headers.put(LAW_ID_HEADER, id.get("lawDocId").substring(0, 3));
+                    }
+                    break;
+            }
+            return headers;
+        }
+
+        private UpdateDigestView getView(UpdateDigest<Map<String, String>> digest) {
+            digest.setFields(null);
+            return new UpdateDigestView(digest, UpdateTokenView.getIdView(digest));
+        }
+    }
+
+    @Autowired private EventBus eventBus;
+    @Autowired private AsyncUpdateStreamer asyncStreamer;
+
+    @PostConstruct
+    private void init() {
+        this.eventBus.register(this);
+    }
+
+    /** --- Public Methods --- */
+
+    /**
+     * @see AsyncUpdateStreamer#getUpdatesAfter(UpdateContentType, UpdateCursor, Map, int)
+     */
+    public UpdateStreamPage getUpdatesAfter(UpdateContentType contentType, UpdateCursor after,
+                                            Map<String, String> filters, int limit) {
+        return asyncStreamer.getUpdatesAfter(contentType, after, filters, limit);
+    }
+
+    /** --- Scheduled Methods --- */
+
+    @Scheduled(fixedDelayString = "${updates.stream.poll.interval:5000}")
+    public void streamAll() {
+        asyncStreamer.rescan(UpdateContentType.getAllTypes());
+    }
+
+    /** --- Event Handlers --- */
+
+    @Subscribe
+    public void handleBillUpdateEvent(BillUpdateEvent event) {
+        asyncStreamer.stream(ImmutableSet.of(UpdateContentType.BILL));
+    }
+
+    @Subscribe
+    public void handleBulkBillUpdateEvent(BulkBillUpdateEvent event) {
+        asyncStreamer.stream(ImmutableSet.of(UpdateContentType.BILL));
+    }
+
+    @Subscribe
+    public void handleAgendaUpdateEvent(AgendaUpdateEvent event) {
+        asyncStreamer.stream(ImmutableSet.of(UpdateContentType.AGENDA));
+    }
+
+    @Subscribe
+    public void handleBulkAgendaUpdateEvent(BulkAgendaUpdateEvent event) {
+        asyncStreamer.stream(ImmutableSet.of(UpdateContentType.AGENDA));
+    }
+
+    @Subscribe
+    public void handleCalendarUpdateEvent(CalendarUpdateEvent event) {
+        asyncStreamer.stream(ImmutableSet.of(UpdateContentType.CALENDAR));
+    }
+
+    @Subscribe
+    public void handleBulkCalendarUpdateEvent(BulkCalendarUpdateEvent event) {
+        asyncStreamer.stream(ImmutableSet.of(UpdateContentType.CALENDAR));
+    }
+
+    @Subscribe
+    public void handleLawUpdateEvent(LawUpdateEvent event) {
+        asyncStreamer.stream(ImmutableSet.of(UpdateContentType.LAW));
+    }
+
+    @Subscribe
+    public void handleBulkLawUpdateEvent(BulkLawUpdateEvent event) {
+        asyncStreamer.stream(ImmutableSet.of(UpdateContentType.LAW));
+    }
+}
@@ -0,0 +1,181 @@
+package gov.nysenate.openleg.service.updates;
+
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+import gov.nysenate.openleg.model.updates.UpdateDigest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Keeps track of the change log rows of a single content type that have already been broadcast by the update stream.
+ *
+ * The processed date time of a change log row is the start time of the transaction that wrote it, not its commit
+ * time. A row written by a long running transaction therefore becomes visible with a date time that may be earlier
+ * than rows that have already been streamed. To pick these rows up, a rescan re-reads a trailing window of the
+ * change log before the end of the previous rescan, and rows that were already broadcast are skipped based on their
+ * table and change id. The window has to be longer than the longest transaction that writes to the change log.
+ * Scans in between rescans only read the rows processed since the end of the previous scan.
+ *
+ * This class is not thread safe, the update streamer synchronizes access to it.
+ */
+public class UpdateStreamWindow
+{
+    /** Rows processed before this time are never streamed. */
+    private final LocalDateTime streamStart;
+
+    /** How far before the end of the previous scan each scan starts. */
+    private final Duration rescanWindow;
+
+    /** The end of the last completed rescan, null if there has not been one. */
+    private LocalDateTime rescannedUntil;
+
+    /** The end of the last completed scan or rescan, null if there has not been one. */
+    private LocalDateTime scannedUntil;
+
+    /** Each broadcast row, keyed by table and change id. */
+    private final Map<String, SentRow> sent = new HashMap<>();
+
+    /** Incremented for each broadcast row, to record the order in which rows were broadcast. */
+    private long sendCount = 0;
+
+    /** --- Constructors --- */
+
+    public UpdateStreamWindow(LocalDateTime streamStart, Duration rescanWindow) {
+        this.streamStart = streamStart;
+        this.rescanWindow = rescanWindow;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Gets the range of processed date times that the next rescan should read, which includes the trailing window
+     * before the end of the previous rescan.
+     *
+     * @param end LocalDateTime - The end of the scan, usually now.
+     * @return Range<LocalDateTime>
+     */
+    public Range<LocalDateTime> getScanRange(LocalDateTime end) {
+        LocalDateTime start = streamStart;
+        if (rescannedUntil != null && rescannedUntil.minus(rescanWindow).isAfter(streamStart)) {
+            start = rescannedUntil.minus(rescanWindow);
+        }
+        return Range.closed(start, end.isBefore(start) ? start : end);
+    }
+
+    /**
+     * Gets the range of processed date times that were not covered by any previous scan.
+     *
+     * @param end LocalDateTime - The end of the scan, usually now.
+     * @return Range<LocalDateTime>
+     */
+    public Range<LocalDateTime> getNewRowsRange(LocalDateTime end) {
+        LocalDateTime start = (scannedUntil != null && scannedUntil.isAfter(streamStart)) ? scannedUntil : streamStart;
+        return Range.closed(start, end.isBefore(start) ? start : end);
+    }
+
+    /**
+     * Gets the range of processed date times to re-read when a subscriber resumes after the given cursor. Rows that
+     * were broadcast after the cursor can have an earlier processed date time, but never earlier than this range.
+     *
+     * @param after UpdateCursor
+     * @return Range<LocalDateTime>
+     */
+    public Range<LocalDateTime> getResumeRange(UpdateCursor after) {
+        LocalDateTime start = after.getDateTime().minus(rescanWindow);
+        return Range.closed(start.isAfter(streamStart) ? start : streamStart, after.getDateTime());
+    }
+
+    /**
+     * Gets the rows that were broadcast after the row at the given cursor. If the row at the cursor is not
+     * remembered, it is too old for any row to have been broadcast after it with an earlier processed date time,
+     * and no rows are returned.
+     *
+     * @param after UpdateCursor
+     * @return Set<String> - The table and change id keys of the rows, see {@link #getRowKey(UpdateDigest)}.
+     */
+    public Set<String> getSentAfter(UpdateCursor after) {
+        Optional<Long> cursorOrder = sent.values().stream()
+                .filter(row -> row.changeId == after.getChangeId() && row.processed.equals(after.getDateTime()))
+                .map(row -> row.order)
+                .findAny();
+        if (!cursorOrder.isPresent()) {
+            return Collections.emptySet();
+        }
+        return sent.entrySet().stream()
+                .filter(entry -> entry.getValue().order > cursorOrder.get())
+                .map(Map.Entry::getKey)
+                .collect(toSet());
+    }
+
+    /**
+     * Marks the given row as broadcast.
+     *
+     * @param digest UpdateDigest<?>
+     * @return boolean - true if the row had not been broadcast before and should be sent now.
+     */
+    public boolean markSent(UpdateDigest<?> digest) {
+        String rowKey = getRowKey(digest);
+        if (sent.containsKey(rowKey)) {
+            return false;
+        }
+        sent.put(rowKey, new SentRow(digest.getChangeId(), digest.getProcessedDateTime(), ++sendCount));
+        return true;
+    }
+
+    /**
+     * Records the end of a completed rescan. Rows that can no longer fall within the rescan range are forgotten.
+     *
+     * @param end LocalDateTime - The end of the scan range that was read.
+     */
+    public void finishScan(LocalDateTime end) {
+        rescannedUntil = end;
+        finishNewRowsScan(end);
+        LocalDateTime horizon = end.minus(rescanWindow);
+        sent.values().removeIf(row -> row.processed.isBefore(horizon));
+    }
+
+    /**
+     * Records the end of a completed scan of new rows.
+     *
+     * @param end LocalDateTime - The end of the scan range that was read.
+     */
+    public void finishNewRowsScan(LocalDateTime end) {
+        if (scannedUntil == null || end.isAfter(scannedUntil)) {
+            scannedUntil = end;
+        }
+    }
+
+    /**
+     * @return int - The number of broadcast rows that are still remembered.
+     */
+    public int getSentCount() {
+        return sent.size();
+    }
+
+    /** --- Internal --- */
+
+    static String getRowKey(UpdateDigest<?> digest) {
+        return digest.getTable() + ":" + digest.getChangeId();
+    }
+
+    private static class SentRow
+    {
+        private final int changeId;
+        private final LocalDateTime processed;
+        private final long order;
+
+        private SentRow(int changeId, LocalDateTime processed, long order) {
+            this.changeId = changeId;
+            this.processed = processed;
+            this.order = order;
+        }
+    }
+}
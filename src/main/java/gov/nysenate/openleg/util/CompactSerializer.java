@@ -0,0 +1,62 @@
+package gov.nysenate.openleg.util;
+
+import org.apache.commons.lang3.SerializationException;
+
+import java.io.*;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Converts serializable objects to and from a compressed byte array. Caches can store this form instead of
+ * the object graph itself, which takes a fraction of the heap space and has an exact, cheaply computed size.
+ */
+public abstract class CompactSerializer
+{
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Serializes and deflates the given object.
+     *
+     * @param object Serializable
+     * @return byte[]
+     * @throws SerializationException if the object graph could not be serialized.
+     */
+    public static byte[] serialize(Serializable object) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes, deflater, BUFFER_SIZE))) {
+            out.writeObject(object);
+        }
+        catch (IOException ex) {
+            throw new SerializationException("Failed to serialize " + object.getClass().getSimpleName(), ex);
+        }
+        finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Inflates and deserializes an object that was serialized with {@link #serialize(Serializable)}.
+     *
+     * @param bytes byte[]
+     * @param type Class<T> - The expected type of the object
+     * @return T
+     * @throws SerializationException if the bytes could not be deserialized into the given type.
+     */
+    public static <T> T deserialize(byte[] bytes, Class<T> type) {
+        Inflater inflater = new Inflater();
+        try (ObjectInputStream in = new ObjectInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(bytes), inflater, BUFFER_SIZE))) {
+            return type.cast(in.readObject());
+        }
+        catch (IOException | ClassNotFoundException | ClassCastException ex) {
+            throw new SerializationException("Failed to deserialize " + type.getSimpleName(), ex);
+        }
+        finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package gov.nysenate.openleg.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedList;
+
+/**
+ * Computes the diffs between the reference and observed data of spotcheck mismatches.
+ *
+ * Diffs are stored in the compact delta encoding of {@link StringDiffer#diff_toDelta(LinkedList)}, which only records
+ * the lengths of unchanged and deleted text along with the inserted text. The full diff is rebuilt from the delta and
+ * the reference data, which is much cheaper than running the diff again.
+ */
+public class MismatchDiffUtils
+{
+    private static final Logger logger = LoggerFactory.getLogger(MismatchDiffUtils.class);
+
+    private MismatchDiffUtils() {}
+
+    /**
+     * Computes the diff between the reference and observed data, encoded as a delta.
+     *
+     * @param referenceData String
+     * @param observedData String
+     * @return String - the encoded diff
+     */
+    public static String encodeDiff(String referenceData, String observedData) {
+        StringDiffer stringDiffer = new StringDiffer();
+        return stringDiffer.diff_toDelta(stringDiffer.diff_main(nullToEmpty(referenceData), nullToEmpty(observedData)));
+    }
+
+    /**
+     * Gets the diff between the reference and observed data, decoding it from the encoded diff if one is available.
+     * The diff is computed from scratch if there is no encoded diff or if it no longer matches the reference data.
+     *
+     * @param referenceData String
+     * @param observedData String
+     * @param encodedDiff String - a diff created by {@link #encodeDiff(String, String)}, may be null.
+     * @param simple boolean - Set to true to make the results of the diff less granular.
+     * @return LinkedList<StringDiffer.Diff>
+     */
+    public static LinkedList<StringDiffer.Diff> getDiff(String referenceData, String observedData,
+                                                        String encodedDiff, boolean simple) {
+        StringDiffer stringDiffer = new StringDiffer();
+        LinkedList<StringDiffer.Diff> diffs = null;
+        if (encodedDiff != null) {
+            try {
+                diffs = stringDiffer.diff_fromDelta(nullToEmpty(referenceData), encodedDiff);
+            } catch (IllegalArgumentException ex) {
+                logger.warn("Stored mismatch diff does not match its reference data, recomputing: {}", ex.getMessage());
+            }
+        }
+        if (diffs == null) {
+            diffs = stringDiffer.diff_main(nullToEmpty(referenceData), nullToEmpty(observedData));
+        }
+        if (simple) {
+            stringDiffer.diff_cleanupSemantic(diffs);
+        }
+        return diffs;
+    }
+
+    private static String nullToEmpty(String data) {
+        return data == null ? "" : data;
+    }
+}
@@ -1,5 +1,7 @@
 package gov.nysenate.openleg.util;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import gov.nysenate.openleg.model.spotcheck.SpotCheckRefType;
@@ -10,19 +12,26 @@ import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpSessionId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Parses a {@link SenateSiteDumpFragment} from a json String and {@link SpotCheckRefType}.
  * The json string has the following mandatory strings: from, to, part, totalParts, session.
+ * The json is read with a streaming parser, so the bulk of the fragment data is never held in memory.
  */
 @Service
 public class SenateSiteDumpFragParser {
 
     @Autowired private ObjectMapper objectMapper;
 
+    /** The top level fields that make up the fragment metadata. */
+    private static final String[] METADATA_FIELDS = {"from", "to", "part", "totalParts", "session"};
+
     /**
      * <p>Parse a json string into a {@link SenateSiteDumpFragment}. Its SenateSiteDumpId implementation
      * depends on what information is included in the json. A json with valid values for <code>from</code>
@@ -36,7 +45,24 @@ public class SenateSiteDumpFragParser {
      * @see SenateSiteDumpId
      */
     public SenateSiteDumpFragment parseFragment(String json, SpotCheckRefType refType) throws IOException {
-        JsonNode rootNode = objectMapper.readValue(json, JsonNode.class);
+        // The whole string is read so that malformed json is rejected before the fragment is saved
+        try (JsonParser jsonParser = objectMapper.getFactory().createParser(json)) {
+            return parseFragment(readMetadata(jsonParser, true), refType);
+        }
+    }
+
+    /**
+     * Parse the {@link SenateSiteDumpFragment} metadata from a saved fragment file.
+     * The file is only read up to the last metadata field.
+     * @see #parseFragment(String, SpotCheckRefType)
+     */
+    public SenateSiteDumpFragment parseFragment(File fragmentFile, SpotCheckRefType refType) throws IOException {
+        try (JsonParser jsonParser = objectMapper.getFactory().createParser(fragmentFile)) {
+            return parseFragment(readMetadata(jsonParser, false), refType);
+        }
+    }
+
+    private SenateSiteDumpFragment parseFragment(Map<String, JsonNode> rootNode, SpotCheckRefType refType) {
         LocalDateTime from = parseDateTimeFromNode(getRequiredNode(rootNode, "from"));
         LocalDateTime to = parseDateTimeFromNode(getRequiredNode(rootNode, "to"));
         int part = getRequiredNode(rootNode, "part").asInt();
@@ -49,12 +75,52 @@ public class SenateSiteDumpFragParser {
         return new SenateSiteDumpFragment(dumpId, part);
     }
 
+    /**
+     * Reads the metadata fields from the top level of the json object, skipping over all other fields.
+     *
+     * @param jsonParser JsonParser
+     * @param readAll boolean - if false, stop reading once all metadata fields have been found.
+     * @return Map<String, JsonNode> - the metadata fields that were found.
+     */
+    private Map<String, JsonNode> readMetadata(JsonParser jsonParser, boolean readAll) throws IOException {
+        if (jsonParser.nextToken() != JsonToken.START_OBJECT) {
+            throw new SenateSiteDumpFragParserException("Invalid senate site dump fragment: expected a json object");
+        }
+        Map<String, JsonNode> metadata = new HashMap<>();
+        while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = jsonParser.getCurrentName();
+            jsonParser.nextToken();
+            if (isMetadataField(fieldName)) {
+                metadata.put(fieldName, jsonParser.readValueAsTree());
+                if (!readAll && metadata.size() == METADATA_FIELDS.length) {
+                    return metadata;
+                }
+            }
+            else {
+                jsonParser.skipChildren();
+            }
+        }
+        if (readAll && jsonParser.nextToken() != null) {
+            throw new SenateSiteDumpFragParserException("Invalid senate site dump fragment: trailing json content");
+        }
+        return metadata;
+    }
+
+    private static boolean isMetadataField(String fieldName) {
+        for (String metadataField : METADATA_FIELDS) {
+            if (metadataField.equals(fieldName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Get a node from a rootNode and field name.
      * If the node does not exist, throw exception.
      */
-    private JsonNode getRequiredNode(JsonNode rootNode, String fieldName) {
-        if (rootNode.has(fieldName)) {
+    private JsonNode getRequiredNode(Map<String, JsonNode> rootNode, String fieldName) {
+        if (rootNode.containsKey(fieldName)) {
             return rootNode.get(fieldName);
         }
         else {
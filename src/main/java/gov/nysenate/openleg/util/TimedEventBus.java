@@ -0,0 +1,53 @@
+package gov.nysenate.openleg.util;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.SubscriberExceptionHandler;
+
+/**
+ * A synchronous EventBus that reports how long each posted event took to be handled by all of its subscribers.
+ *
+ * Events that are posted from within a subscriber are only queued, they are dispatched once the current subscriber
+ * returns. Their handling time is included in the time of the outer event and such nested posts are not reported.
+ */
+public class TimedEventBus extends EventBus
+{
+    /**
+     * Receives the handling time of each posted event.
+     */
+    @FunctionalInterface
+    public interface PostListener
+    {
+        void eventPosted(Object event, long elapsedNanos);
+    }
+
+    private volatile PostListener postListener;
+
+    /** Set while the current thread is dispatching an event. */
+    private final ThreadLocal<Boolean> dispatching = new ThreadLocal<>();
+
+    public TimedEventBus(SubscriberExceptionHandler exceptionHandler) {
+        super(exceptionHandler);
+    }
+
+    @Override
+    public void post(Object event) {
+        PostListener listener = postListener;
+        if (listener == null || dispatching.get() != null) {
+            super.post(event);
+            return;
+        }
+        dispatching.set(Boolean.TRUE);
+        long start = System.nanoTime();
+        try {
+            super.post(event);
+        }
+        finally {
+            dispatching.remove();
+            listener.eventPosted(event, System.nanoTime() - start);
+        }
+    }
+
+    public void setPostListener(PostListener postListener) {
+        this.postListener = postListener;
+    }
+}
@@ -12,53 +12,99 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * Utility methods for parsing xml documents and evaluating xpath expressions against them.
+ *
+ * Neither DocumentBuilder nor XPath instances are thread safe so each thread is given its own instances.
+ * This allows the helper to be shared between processors that are run concurrently.
+ *
+ * XPath expressions are compiled once per thread and cached, since the processors evaluate the same small set of
+ * expressions against every fragment.
+ */
 @Component
 public class XmlHelper
 {
-    private final DocumentBuilder dBuilder;
-    private final XPath xpath;
+    /** The maximum number of compiled expressions cached per thread. Some expressions are built with indexes. */
+    private static final int MAX_CACHED_EXPRESSIONS = 512;
+
+    private final ThreadLocal<DocumentBuilder> dBuilder;
+    private final ThreadLocal<XPath> xpath;
+    private final ThreadLocal<Map<String, XPathExpression>> expressions;
 
     public XmlHelper() throws ParserConfigurationException {
-        dBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-        xpath = XPathFactory.newInstance().newXPath();
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        // Fail early if the parser is misconfigured rather than on first use within a thread.
+        factory.newDocumentBuilder();
+        XPathFactory xpathFactory = XPathFactory.newInstance();
+        dBuilder = ThreadLocal.withInitial(() -> {
+            try {
+                return factory.newDocumentBuilder();
+            }
+            catch (ParserConfigurationException ex) {
+                throw new IllegalStateException("Failed to create document builder", ex);
+            }
+        });
+        xpath = ThreadLocal.withInitial(xpathFactory::newXPath);
+        expressions = ThreadLocal.withInitial(() -> new LinkedHashMap<String, XPathExpression>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > MAX_CACHED_EXPRESSIONS;
+            }
+        });
     }
 
     public Document parse(File file) throws SAXException, IOException {
-        return dBuilder.parse(file);
+        return dBuilder.get().parse(file);
     }
 
     public Document parse(String xmlString) throws IOException, SAXException {
         InputSource is = new InputSource(new ByteArrayInputStream(xmlString.getBytes("utf-8")));
-        return dBuilder.parse(is);
+        return dBuilder.get().parse(is);
     }
 
     public Boolean getBoolean(String path, Node node) throws XPathExpressionException {
-        return (Boolean)xpath.evaluate(path, node, XPathConstants.BOOLEAN);
+        return (Boolean)compile(path).evaluate(node, XPathConstants.BOOLEAN);
     }
 
     public String getString(String path, Node node) throws XPathExpressionException {
-        return (String)xpath.evaluate(path, node, XPathConstants.STRING);
+        return (String)compile(path).evaluate(node, XPathConstants.STRING);
     }
 
     public Double getDouble(String path, Node node) throws XPathExpressionException {
-        return (Double)xpath.evaluate(path, node, XPathConstants.NUMBER);
+        return (Double)compile(path).evaluate(node, XPathConstants.NUMBER);
     }
 
     public Integer getInteger(String path, Node node) throws XPathExpressionException {
-        return ((Double)xpath.evaluate(path, node, XPathConstants.NUMBER)).intValue();
+        return ((Double)compile(path).evaluate(node, XPathConstants.NUMBER)).intValue();
     }
 
     public Node getNode(String path, Node node) throws XPathExpressionException {
-        return (Node)xpath.evaluate(path, node, XPathConstants.NODE);
+        return (Node)compile(path).evaluate(node, XPathConstants.NODE);
     }
 
     public NodeList getNodeList(String path, Node node) throws XPathExpressionException {
-        return (NodeList)xpath.evaluate(path, node, XPathConstants.NODESET);
+        return (NodeList)compile(path).evaluate(node, XPathConstants.NODESET);
+    }
+
+    /**
+     * Gets the compiled form of the given expression, compiling it if the current thread has not seen it recently.
+     */
+    private XPathExpression compile(String path) throws XPathExpressionException {
+        Map<String, XPathExpression> cache = expressions.get();
+        XPathExpression expression = cache.get(path);
+        if (expression == null) {
+            expression = xpath.get().compile(path);
+            cache.put(path, expression);
+        }
+        return expression;
     }
 }
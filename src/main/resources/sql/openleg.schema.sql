@@ -2708,6 +2708,51 @@ ALTER TABLE data_process_run OWNER TO postgres;
 COMMENT ON TABLE data_process_run IS 'Keeps track of data processing runs';
 
 
+--
+-- Name: data_process_run_queue; Type: TABLE; Schema: master; Owner: postgres
+--
+
+CREATE TABLE data_process_run_queue (
+    process_id integer NOT NULL,
+    queue text NOT NULL,
+    samples bigint NOT NULL,
+    last_depth bigint NOT NULL,
+    peak_depth bigint NOT NULL
+);
+
+
+ALTER TABLE data_process_run_queue OWNER TO postgres;
+
+--
+-- Name: TABLE data_process_run_queue; Type: COMMENT; Schema: master; Owner: postgres
+--
+
+COMMENT ON TABLE data_process_run_queue IS 'Work queue depths sampled during each data process run';
+
+
+--
+-- Name: data_process_run_stage; Type: TABLE; Schema: master; Owner: postgres
+--
+
+CREATE TABLE data_process_run_stage (
+    process_id integer NOT NULL,
+    stage text NOT NULL,
+    count bigint NOT NULL,
+    items bigint NOT NULL,
+    total_time_ns bigint NOT NULL,
+    max_time_ns bigint NOT NULL
+);
+
+
+ALTER TABLE data_process_run_stage OWNER TO postgres;
+
+--
+-- Name: TABLE data_process_run_stage; Type: COMMENT; Schema: master; Owner: postgres
+--
+
+COMMENT ON TABLE data_process_run_stage IS 'Stage timings recorded during each data process run';
+
+
 --
 -- Name: daybreak_bill; Type: TABLE; Schema: master; Owner: postgres
 --
@@ -3866,6 +3911,53 @@ COMMENT ON COLUMN public_hearing_file.pending_processing IS 'Indicates if this p
 COMMENT ON COLUMN public_hearing_file.archived IS 'Indicates if this public hearing file has been moved to the archive directory.';
 
 
+--
+-- Name: search_index_rebuild; Type: TABLE; Schema: master; Owner: postgres
+--
+
+CREATE TABLE search_index_rebuild (
+    search_index text NOT NULL,
+    target_index text NOT NULL,
+    started_date_time timestamp without time zone DEFAULT now() NOT NULL
+);
+
+
+ALTER TABLE search_index_rebuild OWNER TO postgres;
+
+--
+-- Name: TABLE search_index_rebuild; Type: COMMENT; Schema: master; Owner: postgres
+--
+
+COMMENT ON TABLE search_index_rebuild IS 'Search index rebuilds that have not yet been swapped in';
+
+
+--
+-- Name: COLUMN search_index_rebuild.target_index; Type: COMMENT; Schema: master; Owner: postgres
+--
+
+COMMENT ON COLUMN search_index_rebuild.target_index IS 'The versioned elastic search index being built';
+
+
+--
+-- Name: search_index_rebuild_unit; Type: TABLE; Schema: master; Owner: postgres
+--
+
+CREATE TABLE search_index_rebuild_unit (
+    search_index text NOT NULL,
+    unit text NOT NULL,
+    completed_date_time timestamp without time zone DEFAULT now() NOT NULL
+);
+
+
+ALTER TABLE search_index_rebuild_unit OWNER TO postgres;
+
+--
+-- Name: TABLE search_index_rebuild_unit; Type: COMMENT; Schema: master; Owner: postgres
+--
+
+COMMENT ON TABLE search_index_rebuild_unit IS 'Units of work that have been written to the target index of a rebuild';
+
+
 --
 -- Name: sobi_file; Type: TABLE; Schema: master; Owner: postgres
 --
@@ -4031,7 +4123,8 @@ CREATE TABLE spotcheck_mismatch (
     report_date_time timestamp without time zone NOT NULL,
     observed_date_time timestamp without time zone NOT NULL,
     reference_active_date_time timestamp without time zone NOT NULL,
-    created_date_time timestamp without time zone DEFAULT now() NOT NULL
+    created_date_time timestamp without time zone DEFAULT now() NOT NULL,
+    diff text
 );
 
 
@@ -4053,6 +4146,62 @@ ALTER TABLE ONLY spotcheck_mismatch
 CREATE INDEX spotcheck_mismatch_datasource_content_type_ref_date_time_index ON spotcheck_mismatch USING btree (datasource, content_type, reference_active_date_time);
 
 
+--
+-- Name: spotcheck_mismatch_missing_diff_idx; Type: INDEX; Schema: master; Owner: postgres
+--
+
+CREATE INDEX spotcheck_mismatch_missing_diff_idx ON spotcheck_mismatch USING btree (mismatch_id) WHERE (diff IS NULL);
+
+
+--
+-- Name: spotcheck_current_mismatch; Type: TABLE; Schema: master; Owner: postgres
+--
+
+CREATE TABLE spotcheck_current_mismatch (
+    key public.hstore NOT NULL,
+    type text NOT NULL,
+    datasource text NOT NULL,
+    content_type text NOT NULL,
+    mismatch_id integer NOT NULL,
+    state text NOT NULL,
+    ignore_status text NOT NULL,
+    reference_active_date_time timestamp without time zone NOT NULL,
+    observed_date_time timestamp without time zone,
+    first_seen_date_time timestamp without time zone
+);
+
+
+ALTER TABLE spotcheck_current_mismatch OWNER TO postgres;
+
+--
+-- Name: TABLE spotcheck_current_mismatch; Type: COMMENT; Schema: master; Owner: postgres
+--
+
+COMMENT ON TABLE spotcheck_current_mismatch IS 'The most recent mismatch for each key, type and datasource';
+
+
+--
+-- Name: spotcheck_current_mismatch spotcheck_current_mismatch_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres
+--
+
+ALTER TABLE ONLY spotcheck_current_mismatch
+    ADD CONSTRAINT spotcheck_current_mismatch_pkey PRIMARY KEY (key, type, datasource);
+
+
+--
+-- Name: spotcheck_current_mismatch_datasource_content_type_state_idx; Type: INDEX; Schema: master; Owner: postgres
+--
+
+CREATE INDEX spotcheck_current_mismatch_datasource_content_type_state_idx ON spotcheck_current_mismatch USING btree (datasource, content_type, state);
+
+
+--
+-- Name: spotcheck_current_mismatch_mismatch_id_idx; Type: INDEX; Schema: master; Owner: postgres
+--
+
+CREATE UNIQUE INDEX spotcheck_current_mismatch_mismatch_id_idx ON spotcheck_current_mismatch USING btree (mismatch_id);
+
+
 --
 -- Name: transcript; Type: TABLE; Schema: master; Owner: postgres
 --
@@ -5595,6 +5744,22 @@ ALTER TABLE ONLY public_hearing
     ADD CONSTRAINT public_hearing_pkey PRIMARY KEY (filename);
 
 
+--
+-- Name: search_index_rebuild_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres
+--
+
+ALTER TABLE ONLY search_index_rebuild
+    ADD CONSTRAINT search_index_rebuild_pkey PRIMARY KEY (search_index);
+
+
+--
+-- Name: search_index_rebuild_unit_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres
+--
+
+ALTER TABLE ONLY search_index_rebuild_unit
+    ADD CONSTRAINT search_index_rebuild_unit_pkey PRIMARY KEY (search_index, unit);
+
+
 --
 -- Name: sobi_fragment_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres
 --
@@ -5611,6 +5776,22 @@ ALTER TABLE ONLY data_process_run
     ADD CONSTRAINT sobi_fragment_process_pkey PRIMARY KEY (id);
 
 
+--
+-- Name: data_process_run_queue_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres
+--
+
+ALTER TABLE ONLY data_process_run_queue
+    ADD CONSTRAINT data_process_run_queue_pkey PRIMARY KEY (process_id, queue);
+
+
+--
+-- Name: data_process_run_stage_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres
+--
+
+ALTER TABLE ONLY data_process_run_stage
+    ADD CONSTRAINT data_process_run_stage_pkey PRIMARY KEY (process_id, stage);
+
+
 --
 -- Name: sobi_pkey; Type: CONSTRAINT; Schema: master; Owner: postgres
 --
@@ -5744,10 +5925,10 @@ ALTER TABLE ONLY session_member
 SET search_path = master, pg_catalog;
 
 --
--- Name: agenda_change_log_action_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
+-- Name: agenda_change_log_action_date_time_id_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX agenda_change_log_action_date_time_idx ON agenda_change_log USING btree (action_date_time);
+CREATE INDEX agenda_change_log_action_date_time_id_idx ON agenda_change_log USING btree (action_date_time, id);
 
 
 --
@@ -5758,10 +5939,10 @@ CREATE INDEX agenda_change_log_agenda_id_idx ON agenda_change_log USING btree (a
 
 
 --
--- Name: agenda_change_log_published_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
+-- Name: agenda_change_log_published_date_time_id_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX agenda_change_log_published_date_time_idx ON agenda_change_log USING btree (published_date_time);
+CREATE INDEX agenda_change_log_published_date_time_id_idx ON agenda_change_log USING btree (published_date_time, id);
 
 
 --
@@ -5779,17 +5960,17 @@ CREATE INDEX agenda_info_committee_item_bill_idx ON agenda_info_committee_item U
 
 
 --
--- Name: bill_change_log_action_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
+-- Name: bill_change_log_action_date_time_id_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX bill_change_log_action_date_time_idx ON bill_change_log USING btree (action_date_time);
+CREATE INDEX bill_change_log_action_date_time_id_idx ON bill_change_log USING btree (action_date_time, id);
 
 
 --
--- Name: bill_change_log_published_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
+-- Name: bill_change_log_published_date_time_id_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX bill_change_log_published_date_time_idx ON bill_change_log USING btree (published_date_time);
+CREATE INDEX bill_change_log_published_date_time_id_idx ON bill_change_log USING btree (published_date_time, id);
 
 
 --
@@ -5823,10 +6004,10 @@ CREATE INDEX bill_session_year_idx ON bill USING btree (bill_session_year);
 
 
 --
--- Name: calendar_change_log_action_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
+-- Name: calendar_change_log_action_date_time_id_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX calendar_change_log_action_date_time_idx ON calendar_change_log USING btree (action_date_time);
+CREATE INDEX calendar_change_log_action_date_time_id_idx ON calendar_change_log USING btree (action_date_time, id);
 
 
 --
@@ -5837,10 +6018,10 @@ CREATE INDEX calendar_change_log_calendar_id_idx ON calendar_change_log USING bt
 
 
 --
--- Name: calendar_change_log_published_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
+-- Name: calendar_change_log_published_date_time_id_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX calendar_change_log_published_date_time_idx ON calendar_change_log USING btree (published_date_time);
+CREATE INDEX calendar_change_log_published_date_time_id_idx ON calendar_change_log USING btree (published_date_time, id);
 
 
 --
@@ -5879,10 +6060,10 @@ CREATE INDEX daybreak_sponsor_pkey ON daybreak_bill_sponsor USING btree (report_
 
 
 --
--- Name: law_change_log_action_date_time_idx; Type: INDEX; Schema: master; Owner: postgres
+-- Name: law_change_log_action_date_time_id_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX law_change_log_action_date_time_idx ON law_change_log USING btree (action_date_time);
+CREATE INDEX law_change_log_action_date_time_id_idx ON law_change_log USING btree (action_date_time, id);
 
 
 --
@@ -5893,10 +6074,10 @@ CREATE INDEX law_change_log_law_id_idx ON law_change_log USING btree (law_id);
 
 
 --
--- Name: law_change_log_published_date_idx; Type: INDEX; Schema: master; Owner: postgres
+-- Name: law_change_log_published_date_time_id_idx; Type: INDEX; Schema: master; Owner: postgres
 --
 
-CREATE INDEX law_change_log_published_date_idx ON law_change_log USING btree (published_date_time);
+CREATE INDEX law_change_log_published_date_time_id_idx ON law_change_log USING btree (published_date_time, id);
 
 
 --
@@ -6703,6 +6884,22 @@ ALTER TABLE ONLY data_process_run_unit
     ADD CONSTRAINT data_process_log_process_id_fkey FOREIGN KEY (process_id) REFERENCES data_process_run(id) ON UPDATE CASCADE ON DELETE CASCADE;
 
 
+--
+-- Name: data_process_run_queue_process_id_fkey; Type: FK CONSTRAINT; Schema: master; Owner: postgres
+--
+
+ALTER TABLE ONLY data_process_run_queue
+    ADD CONSTRAINT data_process_run_queue_process_id_fkey FOREIGN KEY (process_id) REFERENCES data_process_run(id) ON DELETE CASCADE;
+
+
+--
+-- Name: data_process_run_stage_process_id_fkey; Type: FK CONSTRAINT; Schema: master; Owner: postgres
+--
+
+ALTER TABLE ONLY data_process_run_stage
+    ADD CONSTRAINT data_process_run_stage_process_id_fkey FOREIGN KEY (process_id) REFERENCES data_process_run(id) ON DELETE CASCADE;
+
+
 --
 -- Name: daybreak_bill_action_report_date_fkey; Type: FK CONSTRAINT; Schema: master; Owner: postgres
 --
@@ -6831,6 +7028,14 @@ ALTER TABLE ONLY sobi_fragment
     ADD CONSTRAINT sobi_fragment_sobi_file_name_fkey FOREIGN KEY (sobi_file_name) REFERENCES sobi_file(file_name) ON UPDATE CASCADE ON DELETE CASCADE;
 
 
+--
+-- Name: search_index_rebuild_unit_search_index_fkey; Type: FK CONSTRAINT; Schema: master; Owner: postgres
+--
+
+ALTER TABLE ONLY search_index_rebuild_unit
+    ADD CONSTRAINT search_index_rebuild_unit_search_index_fkey FOREIGN KEY (search_index) REFERENCES search_index_rebuild(search_index) ON DELETE CASCADE;
+
+
 --
 -- Name: transcript_transcript_file_fkey; Type: FK CONSTRAINT; Schema: master; Owner: postgres
 --
@@ -6847,6 +7052,14 @@ ALTER TABLE ONLY spotcheck_mismatch
     ADD CONSTRAINT spotcheck_mismatch_report_id_fkey FOREIGN KEY (report_id) REFERENCES spotcheck_report(id);
 
 
+--
+-- Name: spotcheck_current_mismatch spotcheck_current_mismatch_mismatch_id_fkey; Type: FK CONSTRAINT; Schema: master; Owner: postgres
+--
+
+ALTER TABLE ONLY spotcheck_current_mismatch
+    ADD CONSTRAINT spotcheck_current_mismatch_mismatch_id_fkey FOREIGN KEY (mismatch_id) REFERENCES spotcheck_mismatch(mismatch_id);
+
+
 SET search_path = public, pg_catalog;
 
 --
@@ -7675,6 +7888,15 @@ REVOKE ALL ON TABLE spotcheck_mismatch FROM postgres;
 GRANT ALL ON TABLE spotcheck_mismatch TO postgres;
 
 
+--
+-- Name: spotcheck_current_mismatch; Type: ACL; Schema: master; Owner: postgres
+--
+
+REVOKE ALL ON TABLE spotcheck_current_mismatch FROM PUBLIC;
+REVOKE ALL ON TABLE spotcheck_current_mismatch FROM postgres;
+GRANT ALL ON TABLE spotcheck_current_mismatch TO postgres;
+
+
 --
 -- Name: spotcheck_mismatch_mismatch_id_seq; Type: ACL; Schema: master; Owner: postgres
 --
@@ -0,0 +1,20 @@
+-- Stage timings and queue depths recorded during each data process run. Rows are written once the run finishes.
+
+CREATE TABLE master.data_process_run_stage (
+  process_id integer NOT NULL REFERENCES master.data_process_run (id) ON DELETE CASCADE,
+  stage text NOT NULL,
+  count bigint NOT NULL,
+  items bigint NOT NULL,
+  total_time_ns bigint NOT NULL,
+  max_time_ns bigint NOT NULL,
+  PRIMARY KEY (process_id, stage)
+);
+
+CREATE TABLE master.data_process_run_queue (
+  process_id integer NOT NULL REFERENCES master.data_process_run (id) ON DELETE CASCADE,
+  queue text NOT NULL,
+  samples bigint NOT NULL,
+  last_depth bigint NOT NULL,
+  peak_depth bigint NOT NULL,
+  PRIMARY KEY (process_id, queue)
+);
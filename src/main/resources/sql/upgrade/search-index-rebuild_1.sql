@@ -0,0 +1,17 @@
+CREATE TABLE master.search_index_rebuild (
+    search_index text NOT NULL PRIMARY KEY,
+    target_index text NOT NULL,
+    started_date_time timestamp without time zone DEFAULT now() NOT NULL
+);
+
+COMMENT ON TABLE master.search_index_rebuild IS 'Search index rebuilds that have not yet been swapped in';
+COMMENT ON COLUMN master.search_index_rebuild.target_index IS 'The versioned elastic search index being built';
+
+CREATE TABLE master.search_index_rebuild_unit (
+    search_index text NOT NULL REFERENCES master.search_index_rebuild (search_index) ON DELETE CASCADE,
+    unit text NOT NULL,
+    completed_date_time timestamp without time zone DEFAULT now() NOT NULL,
+    PRIMARY KEY (search_index, unit)
+);
+
+COMMENT ON TABLE master.search_index_rebuild_unit IS 'Units of work that have been written to the target index of a rebuild';
@@ -0,0 +1,30 @@
+-- Holds the most recent mismatch for each key, type and datasource so that the spotcheck summary and listing queries
+-- only have to look at current mismatches instead of the full mismatch history. Rows are upserted whenever a
+-- report is saved.
+
+CREATE TABLE master.spotcheck_current_mismatch (
+  key hstore NOT NULL,
+  type text NOT NULL,
+  datasource text NOT NULL,
+  content_type text NOT NULL,
+  mismatch_id integer NOT NULL REFERENCES master.spotcheck_mismatch (mismatch_id),
+  state text NOT NULL,
+  ignore_status text NOT NULL,
+  reference_active_date_time timestamp without time zone NOT NULL,
+  observed_date_time timestamp without time zone,
+  first_seen_date_time timestamp without time zone,
+  PRIMARY KEY (key, type, datasource)
+);
+
+CREATE UNIQUE INDEX spotcheck_current_mismatch_mismatch_id_idx ON master.spotcheck_current_mismatch (mismatch_id);
+CREATE INDEX spotcheck_current_mismatch_datasource_content_type_state_idx
+  ON master.spotcheck_current_mismatch (datasource, content_type, state);
+
+INSERT INTO master.spotcheck_current_mismatch
+  (key, type, datasource, content_type, mismatch_id, state, ignore_status,
+   reference_active_date_time, observed_date_time, first_seen_date_time)
+SELECT DISTINCT ON (key, type, datasource)
+  key, type, datasource, content_type, mismatch_id, state, ignore_status,
+  reference_active_date_time, observed_date_time, first_seen_date_time
+FROM master.spotcheck_mismatch
+ORDER BY key, type, datasource, reference_active_date_time DESC, mismatch_id DESC;
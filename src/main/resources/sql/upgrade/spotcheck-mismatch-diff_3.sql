@@ -0,0 +1,7 @@
+-- Mismatch diffs are computed once when a report is saved and stored in the compact delta encoding instead of being
+-- recomputed every time a mismatch is viewed. Existing mismatches are backfilled by the application.
+
+ALTER TABLE master.spotcheck_mismatch
+ADD COLUMN diff text;
+
+CREATE INDEX spotcheck_mismatch_missing_diff_idx ON master.spotcheck_mismatch (mismatch_id) WHERE diff IS NULL;
@@ -0,0 +1,22 @@
+-- Cursor paginated update queries seek on (update date time, id), replace the single column date indexes
+-- of the change logs with composite indexes so that every page can be read with a single index range scan.
+
+CREATE INDEX agenda_change_log_action_date_time_id_idx ON master.agenda_change_log (action_date_time, id);
+CREATE INDEX agenda_change_log_published_date_time_id_idx ON master.agenda_change_log (published_date_time, id);
+DROP INDEX master.agenda_change_log_action_date_time_idx;
+DROP INDEX master.agenda_change_log_published_date_time_idx;
+
+CREATE INDEX bill_change_log_action_date_time_id_idx ON master.bill_change_log (action_date_time, id);
+CREATE INDEX bill_change_log_published_date_time_id_idx ON master.bill_change_log (published_date_time, id);
+DROP INDEX master.bill_change_log_action_date_time_idx;
+DROP INDEX master.bill_change_log_published_date_time_idx;
+
+CREATE INDEX calendar_change_log_action_date_time_id_idx ON master.calendar_change_log (action_date_time, id);
+CREATE INDEX calendar_change_log_published_date_time_id_idx ON master.calendar_change_log (published_date_time, id);
+DROP INDEX master.calendar_change_log_action_date_time_idx;
+DROP INDEX master.calendar_change_log_published_date_time_idx;
+
+CREATE INDEX law_change_log_action_date_time_id_idx ON master.law_change_log (action_date_time, id);
+CREATE INDEX law_change_log_published_date_time_id_idx ON master.law_change_log (published_date_time, id);
+DROP INDEX master.law_change_log_action_date_time_idx;
+DROP INDEX master.law_change_log_published_date_idx;
@@ -0,0 +1,90 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.search.IndexQueueStats;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ElasticIndexQueueTest
+{
+    private List<List<ActionRequest>> sentBatches = new ArrayList<>();
+
+    private ElasticIndexQueue queue = new ElasticIndexQueue() {
+        @Override
+        protected BulkResponse executeBulk(BulkRequest bulkRequest) {
+            sentBatches.add(new ArrayList<>(bulkRequest.requests()));
+            return new BulkResponse(new BulkItemResponse[0], 1);
+        }
+    };
+
+    @Before
+    public void setUp() {
+        queue.configure(10, 2, 0);
+    }
+
+    @Test
+    public void testUpdatesAreCoalescedByKey() throws Exception {
+        IndexRequest first = new IndexRequest("bills", "2013", "S1234");
+        IndexRequest second = new IndexRequest("bills", "2013", "S2000");
+        DeleteRequest delete = new DeleteRequest("bills", "2013", "S1234");
+        queue.enqueue("bills/2013/S1234", Collections.singletonList(first));
+        queue.enqueue("bills/2013/S2000", Collections.singletonList(second));
+        queue.enqueue("bills/2013/S1234", Collections.singletonList(delete));
+        assertEquals(2, queue.getPendingCount());
+
+        queue.flush(queue.takeBatch(false));
+        assertEquals(Arrays.asList(Arrays.asList(delete, second)), sentBatches);
+
+        IndexQueueStats stats = queue.getStats();
+        assertEquals(0, stats.getPendingCount());
+        assertEquals(2, stats.getQueuedCount());
+        assertEquals(1, stats.getCoalescedCount());
+        assertEquals(2, stats.getSentCount());
+        assertEquals(1, stats.getBulkRequestCount());
+    }
+
+    @Test
+    public void testBatchesAreBoundedBySize() throws Exception {
+        List<ActionRequest> agendaRequests = Arrays.asList(
+            new IndexRequest("agendas", "2014-1", "Finance"), new IndexRequest("agendas", "2014-1", "Rules"));
+        queue.enqueue("agendas/2014-1", agendaRequests);
+        queue.enqueue("bills/2013/S1", Collections.singletonList(new IndexRequest("bills", "2013", "S1")));
+        queue.enqueue("bills/2013/S2", Collections.singletonList(new IndexRequest("bills", "2013", "S2")));
+
+        List<ActionRequest> batch = queue.takeBatch(false);
+        assertEquals(3, batch.size());
+        assertEquals(agendaRequests, batch.subList(0, 2));
+        assertEquals(1, queue.getPendingCount());
+        assertEquals(1, queue.takeBatch(false).size());
+        assertTrue(queue.takeBatch(false).isEmpty());
+    }
+
+    @Test
+    public void testFlushListenerReceivesEachBulkRequest() throws Exception {
+        List<Integer> flushedCounts = new ArrayList<>();
+        queue.setFlushListener((requestCount, elapsedNanos) -> flushedCounts.add(requestCount));
+        queue.enqueue("bills/2013/S1", Collections.singletonList(new IndexRequest("bills", "2013", "S1")));
+        queue.enqueue("bills/2013/S2", Collections.singletonList(new IndexRequest("bills", "2013", "S2")));
+        queue.enqueue("bills/2013/S3", Collections.singletonList(new IndexRequest("bills", "2013", "S3")));
+
+        queue.flush(queue.takeBatch(false));
+        queue.flush(queue.takeBatch(false));
+        queue.flush(queue.takeBatch(false));
+        assertEquals(Arrays.asList(2, 1), flushedCounts);
+    }
+}
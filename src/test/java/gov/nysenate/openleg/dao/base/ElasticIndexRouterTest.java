@@ -0,0 +1,101 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.apache.commons.lang3.tuple.Pair;
+import org.elasticsearch.action.ActionRequest;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ElasticIndexRouterTest
+{
+    private ElasticIndexRouter router = new ElasticIndexRouter();
+
+    @Test
+    public void testWritesAreUnchangedWithoutRebuilds() {
+        BulkRequest bulkRequest = new BulkRequest().add(new IndexRequest("bills", "2013", "S1234").source("{}"));
+        router.route(bulkRequest);
+        assertEquals(Arrays.asList("bills"), getIndices(bulkRequest));
+        assertArrayEquals(new String[]{"bills"}, router.getWriteIndices("bills"));
+    }
+
+    @Test
+    public void testLiveWritesAreCopiedIntoRebuildTarget() {
+        router.addRebuildTarget("bills", "bills_20170101000000");
+        BulkRequest bulkRequest = new BulkRequest()
+            .add(new IndexRequest("bills", "2013", "S1234").source("{}"))
+            .add(new DeleteRequest("bills", "2013", "S2000"))
+            .add(new IndexRequest("agendas", "2014-1", "Finance").source("{}"));
+        router.route(bulkRequest);
+        assertEquals(Arrays.asList("bills", "bills", "agendas", "bills_20170101000000", "bills_20170101000000"),
+                     getIndices(bulkRequest));
+        assertArrayEquals(new String[]{"bills", "bills_20170101000000"}, router.getWriteIndices("bills"));
+
+        router.removeRebuildTarget("bills");
+        BulkRequest afterRebuild = new BulkRequest().add(new DeleteRequest("bills", "2013", "S2000"));
+        router.route(afterRebuild);
+        assertEquals(Arrays.asList("bills"), getIndices(afterRebuild));
+    }
+
+    @Test
+    public void testLoaderWritesOnlyGoToRebuildTarget() {
+        router.addRebuildTarget("bills", "bills_20170101000000");
+        router.bindLoader("bills", "bills_20170101000000");
+        try {
+            BulkRequest bulkRequest = new BulkRequest().add(new IndexRequest("bills", "2013", "S1234").source("{}"));
+            router.route(bulkRequest);
+            assertEquals(Arrays.asList("bills_20170101000000"), getIndices(bulkRequest));
+            assertEquals(IndexRequest.OpType.CREATE, ((IndexRequest) bulkRequest.requests().get(0)).opType());
+            assertArrayEquals(new String[]{"bills_20170101000000"}, router.getWriteIndices("bills"));
+        }
+        finally {
+            router.unbindLoader("bills");
+        }
+    }
+
+    @Test
+    public void testLiveWritesOverwriteAndLiveDeletesAreRecorded() {
+        router.addRebuildTarget("bills", "bills_20170101000000");
+        BulkRequest bulkRequest = new BulkRequest()
+            .add(new IndexRequest("bills", "2013", "S1234").source("{}"))
+            .add(new DeleteRequest("bills", "2013", "S2000"))
+            .add(new DeleteRequest("agendas", "2014-1", "Finance"));
+        router.route(bulkRequest);
+        assertEquals(IndexRequest.OpType.INDEX, ((IndexRequest) bulkRequest.requests().get(3)).opType());
+        assertEquals(Collections.singleton(Pair.of("2013", "S2000")), router.getRebuildDeletes("bills"));
+        assertTrue(router.getRebuildDeletes("agendas").isEmpty());
+
+        router.removeRebuildTarget("bills");
+        assertTrue(router.getRebuildDeletes("bills").isEmpty());
+    }
+
+    @Test
+    public void testLoaderDeletesAreNotRecorded() {
+        router.addRebuildTarget("bills", "bills_20170101000000");
+        router.bindLoader("bills", "bills_20170101000000");
+        try {
+            router.route(new BulkRequest().add(new DeleteRequest("bills", "2013", "S2000")));
+            assertTrue(router.getRebuildDeletes("bills").isEmpty());
+        }
+        finally {
+            router.unbindLoader("bills");
+        }
+    }
+
+    private static List<String> getIndices(BulkRequest bulkRequest) {
+        return bulkRequest.requests().stream()
+            .map(request -> (request instanceof IndexRequest)
+                ? ((IndexRequest) request).index() : ((DeleteRequest) request).index())
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,46 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.spotcheck.SqlSpotCheckReportQuery;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SqlQueryRegistryTest
+{
+    private static final String SCHEMA = "registry_test";
+
+    @Test
+    public void testSqlIsResolvedOnce() {
+        String sql = SqlSpotCheckReportQuery.GET_MISMATCH.getSql(SCHEMA);
+        assertTrue(sql.contains(SCHEMA + ".spotcheck_mismatch"));
+        assertFalse(sql.contains("${schema}"));
+        assertSame(sql, SqlSpotCheckReportQuery.GET_MISMATCH.getSql(SCHEMA));
+        assertEquals(SqlQueryUtils.getSqlWithSchema(SqlSpotCheckReportQuery.GET_MISMATCH.getSql(), "other"),
+                SqlSpotCheckReportQuery.GET_MISMATCH.getSql("other"));
+    }
+
+    @Test
+    public void testQueryNames() {
+        SqlSpotCheckReportQuery query = SqlSpotCheckReportQuery.GET_MISMATCHES;
+        String name = "SqlSpotCheckReportQuery.GET_MISMATCHES";
+        assertEquals(name, SqlQueryRegistry.getQueryName(query.getSql(SCHEMA)));
+        assertEquals(name, SqlQueryRegistry.getQueryName(query.getSql(SCHEMA, new LimitOffset(10, 21))));
+        assertEquals(name, SqlQueryRegistry.getQueryName(
+                query.getSql(SCHEMA, new OrderBy("reference_active_date_time", SortOrder.DESC), new LimitOffset(10))));
+        // The active mismatches query contains its own order by clause
+        assertEquals("SqlSpotCheckReportQuery.ACTIVE_MISMATCHES", SqlQueryRegistry.getQueryName(
+                SqlSpotCheckReportQuery.ACTIVE_MISMATCHES.getSql(SCHEMA, new OrderBy("key", SortOrder.ASC))));
+        assertEquals(SqlQueryRegistry.UNREGISTERED, SqlQueryRegistry.getQueryName("SELECT 1"));
+    }
+
+    @Test
+    public void testRegisterAll() {
+        int count = SqlQueryRegistry.registerAll("gov.nysenate.openleg.dao.spotcheck", "registry_scan_test");
+        assertEquals(SqlSpotCheckReportQuery.values().length, count);
+        assertEquals("SqlSpotCheckReportQuery.INSERT_REPORT", SqlQueryRegistry.getQueryName(
+                SqlQueryUtils.getSqlWithSchema(SqlSpotCheckReportQuery.INSERT_REPORT.getSql(), "registry_scan_test")));
+    }
+}
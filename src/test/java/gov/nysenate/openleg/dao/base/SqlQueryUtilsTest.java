@@ -2,13 +2,18 @@ package gov.nysenate.openleg.dao.base;
 
 import com.google.common.collect.ImmutableMap;
 import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
+
 import static gov.nysenate.openleg.dao.base.SqlQueryUtils.getOrderByClause;
 import static gov.nysenate.openleg.dao.base.SqlQueryUtils.getSqlWithSchema;
+import static gov.nysenate.openleg.dao.base.SqlQueryUtils.getUpdateCursorCondition;
 import static org.junit.Assert.assertEquals;
 
 @Category(UnitTest.class)
@@ -53,4 +58,24 @@ public class SqlQueryUtilsTest
                 new OrderBy("id", SortOrder.DESC, "name", SortOrder.NONE)).trim());
         assertEquals("", getOrderByClause(null).trim());
     }
+
+    @Test
+    public void testGetUpdateCursorCondition() throws Exception {
+        UpdateCursor cursor = new UpdateCursor(LocalDateTime.of(2017, 3, 1, 12, 0), UpdateContentType.BILL, 42);
+        assertEquals("1 = 1", getUpdateCursorCondition(null, UpdateContentType.BILL, "d", "id", SortOrder.ASC));
+        // Same content type, compare by date and id
+        assertEquals("(d, id) > (:cursorDateTime, :cursorChangeId)",
+                getUpdateCursorCondition(cursor, UpdateContentType.BILL, "d", "id", SortOrder.ASC));
+        assertEquals("(MAX(d), MAX(id)) < (:cursorDateTime, :cursorChangeId)",
+                getUpdateCursorCondition(cursor, UpdateContentType.BILL, "MAX(d)", "MAX(id)", SortOrder.DESC));
+        // Content types that sort after the cursor's include rows at the cursor date
+        assertEquals("d >= :cursorDateTime",
+                getUpdateCursorCondition(cursor, UpdateContentType.CALENDAR, "d", "id", SortOrder.ASC));
+        assertEquals("d > :cursorDateTime",
+                getUpdateCursorCondition(cursor, UpdateContentType.AGENDA, "d", "id", SortOrder.ASC));
+        assertEquals("d <= :cursorDateTime",
+                getUpdateCursorCondition(cursor, UpdateContentType.AGENDA, "d", "id", SortOrder.DESC));
+        assertEquals("d < :cursorDateTime",
+                getUpdateCursorCondition(cursor, UpdateContentType.LAW, "d", "id", SortOrder.DESC));
+    }
 }
@@ -0,0 +1,144 @@
+package gov.nysenate.openleg.dao.bill;
+
+import gov.nysenate.openleg.BaseTests;
+import gov.nysenate.openleg.annotation.IntegrationTest;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.base.SqlQueryMetrics;
+import gov.nysenate.openleg.dao.base.SqlQueryStats;
+import gov.nysenate.openleg.dao.bill.data.BillDao;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that saving bills in a batch leaves the database in the same state as saving them one at a time.
+ * Each test runs in a transaction that is rolled back.
+ */
+@Category(IntegrationTest.class)
+@Transactional
+public class SqlBillDaoIT extends BaseTests
+{
+    @Autowired private BillDao billDao;
+    @Autowired private SqlQueryMetrics queryMetrics;
+
+    @Test
+    public void testBatchUpdateMatchesSingleUpdate() throws Exception {
+        List<BaseBillId> billIds = findBillsWithVotes(2);
+        List<Bill> originals = billDao.getBills(billIds);
+
+        // Save the modified bills one at a time
+        billIds.forEach(billId -> billDao.updateBill(modify(billDao.getBill(billId)), null));
+        List<Bill> singleResults = billDao.getBills(billIds);
+
+        // Restore the original state and save the same modifications as a batch
+        originals.forEach(original -> billDao.updateBill(original, null));
+        List<Pair<Bill, SobiFragment>> updates = billIds.stream()
+            .map(billId -> Pair.of(modify(billDao.getBill(billId)), (SobiFragment) null))
+            .collect(Collectors.toList());
+        queryMetrics.reset();
+        billDao.updateBills(updates);
+        List<SqlQueryStats> batchStats = getBillQueryStats();
+        List<Bill> batchResults = billDao.getBills(billIds);
+
+        for (int i = 0; i < billIds.size(); i++) {
+            assertBillsEqual(singleResults.get(i), batchResults.get(i));
+        }
+        // Every bill statement is sent once for the whole batch rather than once per bill
+        assertFalse(batchStats.isEmpty());
+        for (SqlQueryStats stats : batchStats) {
+            assertEquals(stats.getQueryName(), 1, stats.getCount());
+        }
+    }
+
+    @Test
+    public void testBatchUpdateDeletesChildren() throws Exception {
+        BaseBillId billId = findBillsWithVotes(1).get(0);
+        Bill original = billDao.getBill(billId);
+        Bill modified = modify(billDao.getBill(billId));
+        billDao.updateBills(Arrays.asList(Pair.of(modified, null)));
+
+        Bill saved = billDao.getBill(billId);
+        assertEquals(original.getActions().size(), saved.getActions().size());
+        assertFalse(saved.getActions().contains(original.getActions().get(original.getActions().size() - 1)));
+        assertEquals(countVotes(original) - 1, countVotes(saved));
+        assertEquals(modified.getTitle(), saved.getTitle());
+    }
+
+    /** --- Internal --- */
+
+    /**
+     * Finds bills that have at least two actions and an amendment with votes.
+     */
+    private List<BaseBillId> findBillsWithVotes(int count) {
+        List<BaseBillId> billIds = billDao.getBillIds(SessionYear.of(2013), new LimitOffset(500), SortOrder.ASC);
+        List<BaseBillId> found = billDao.getBills(billIds).stream()
+            .filter(bill -> bill.getActions().size() >= 2 && countVotes(bill) > 0)
+            .map(Bill::getBaseBillId)
+            .limit(count)
+            .collect(Collectors.toList());
+        assertEquals("Not enough bills with votes in the test database", count, found.size());
+        return found;
+    }
+
+    /**
+     * Changes the title, replaces the last action with a new one and drops a vote.
+     */
+    private static Bill modify(Bill bill) {
+        bill.setTitle(bill.getTitle() + " (modified)");
+        List<BillAction> actions = new ArrayList<>(bill.getActions());
+        BillAction last = actions.remove(actions.size() - 1);
+        actions.add(new BillAction(last.getDate(), "MODIFIED " + last.getText(), last.getChamber(),
+                                   last.getSequenceNo() + 1, last.getBillId()));
+        bill.setActions(actions);
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            List<BillVote> votes = amendment.getVotesList();
+            if (!votes.isEmpty()) {
+                amendment.setVotesMap(new ArrayList<>(votes.subList(1, votes.size())));
+                break;
+            }
+        }
+        return bill;
+    }
+
+    private List<SqlQueryStats> getBillQueryStats() {
+        return queryMetrics.getQueryStats().stream()
+            .filter(stats -> stats.getQueryName().startsWith("SqlBillQuery."))
+            .collect(Collectors.toList());
+    }
+
+    private static int countVotes(Bill bill) {
+        return bill.getAmendmentList().stream().mapToInt(amendment -> amendment.getVotesList().size()).sum();
+    }
+
+    private static void assertBillsEqual(Bill expected, Bill actual) {
+        assertEquals(expected.getBaseBillId(), actual.getBaseBillId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getAmendmentIds(), actual.getAmendmentIds());
+        assertEquals(expected.getActions(), actual.getActions());
+        assertEquals(expected.getMilestones(), actual.getMilestones());
+        assertEquals(expected.getPastCommittees(), actual.getPastCommittees());
+        assertEquals(expected.getAllPreviousVersions(), actual.getAllPreviousVersions());
+        assertEquals(expected.getSponsor(), actual.getSponsor());
+        for (BillAmendment amendment : expected.getAmendmentList()) {
+            BillAmendment actualAmendment = actual.getAmendment(amendment.getVersion());
+            assertEquals(amendment.getVotesList(), actualAmendment.getVotesList());
+            assertEquals(amendment.getSameAs(), actualAmendment.getSameAs());
+            assertEquals(amendment.getCoSponsors(), actualAmendment.getCoSponsors());
+            assertEquals(amendment.getMultiSponsors(), actualAmendment.getMultiSponsors());
+            assertEquals(amendment.getFullText(), actualAmendment.getFullText());
+        }
+    }
+}
@@ -19,6 +19,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
+
 @Category(SillyTest.class)
 public class SqlBillDaoTest extends BaseTests
 {
@@ -32,6 +34,26 @@ public class SqlBillDaoTest extends BaseTests
         logger.info("{}", OutputUtils.toJson(billDao.getBill(new BaseBillId("S1051", 2013))));
     }
 
+    @Test
+    public void testGetBills() throws Exception {
+        List<BaseBillId> baseBillIds = billDao.getBillIds(SessionYear.of(2013), LimitOffset.FIFTY, SortOrder.ASC);
+        StopWatch sw = new StopWatch();
+        sw.start();
+        List<Bill> bills = billDao.getBills(baseBillIds);
+        sw.stop();
+        logger.info("Fetched {} bills in {} ms", bills.size(), sw.getTime());
+        assertEquals(baseBillIds.size(), bills.size());
+        for (Bill bill : bills) {
+            Bill singleBill = billDao.getBill(bill.getBaseBillId());
+            assertEquals(singleBill.getAmendmentIds(), bill.getAmendmentIds());
+            assertEquals(singleBill.getActions(), bill.getActions());
+            assertEquals(singleBill.getMilestones(), bill.getMilestones());
+            assertEquals(singleBill.getPastCommittees(), bill.getPastCommittees());
+            assertEquals(singleBill.getAllPreviousVersions(), bill.getAllPreviousVersions());
+            assertEquals(singleBill.getCalendars(), bill.getCalendars());
+        }
+    }
+
     @Test
     public void testGetBillIdsBySession() throws Exception {
         StopWatch sw = new StopWatch();
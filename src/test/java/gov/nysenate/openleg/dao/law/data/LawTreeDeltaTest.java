@@ -0,0 +1,74 @@
+package gov.nysenate.openleg.dao.law.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.*;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LawTreeDeltaTest
+{
+    private static final LocalDate PREV_DATE = LocalDate.of(2017, 1, 6);
+    private static final LocalDate NEW_DATE = LocalDate.of(2017, 2, 3);
+
+    @Test
+    public void testUnchangedTree() throws Exception {
+        LawTree prevTree = createTree(PREV_DATE, "S1", "S2", "S3");
+        LawTreeDelta delta = LawTreeDelta.of(prevTree, prevTree.copy());
+        assertTrue(delta.isEmpty());
+    }
+
+    @Test
+    public void testInsertShiftsFollowingNodes() throws Exception {
+        LawTree prevTree = createTree(PREV_DATE, "S1", "S2", "S3", "S4");
+        LawTree newTree = createTree(NEW_DATE, "S1", "S1-A", "S2", "S3", "S4");
+        LawTreeDelta delta = LawTreeDelta.of(prevTree, newTree);
+        assertEquals(Arrays.asList("ABCS1-A"), getDocIds(delta.getAddedNodes()));
+        assertTrue(delta.getRemovedDocIds().isEmpty());
+        assertTrue(delta.getUpdatedNodes().isEmpty());
+        assertEquals(1, delta.getSequenceShifts().size());
+        LawTreeDelta.SequenceShift shift = delta.getSequenceShifts().get(0);
+        assertEquals(3, shift.getFromSequenceNo());
+        assertEquals(5, shift.getToSequenceNo());
+        assertEquals(1, shift.getOffset());
+    }
+
+    @Test
+    public void testRemoveAndUpdate() throws Exception {
+        LawTree prevTree = createTree(PREV_DATE, "S1", "S2", "S3");
+        LawTree newTree = createTree(NEW_DATE, "S1", "S3");
+        newTree.find("ABCS1").get().setRepealedDate(NEW_DATE);
+        LawTreeDelta delta = LawTreeDelta.of(prevTree, newTree);
+        assertEquals(Arrays.asList("ABCS2"), delta.getRemovedDocIds());
+        // A single shifted node is written as a regular update
+        assertEquals(Arrays.asList("ABCS1", "ABCS3"), getDocIds(delta.getUpdatedNodes()));
+        assertTrue(delta.getSequenceShifts().isEmpty());
+        assertTrue(delta.getAddedNodes().isEmpty());
+    }
+
+    /** --- Internal --- */
+
+    private LawTree createTree(LocalDate publishedDate, String... sectionIds) {
+        LawTreeNode root = new LawTreeNode(
+            new LawDocInfo("ABC-CH1", "ABC", "-CH1", "Chapter", LawDocumentType.CHAPTER, "1", PREV_DATE), 1);
+        int sequenceNo = 2;
+        for (String sectionId : sectionIds) {
+            root.addChild(new LawTreeNode(new LawDocInfo("ABC" + sectionId, "ABC", sectionId, sectionId,
+                LawDocumentType.SECTION, sectionId.substring(1), PREV_DATE), sequenceNo++));
+        }
+        LawInfo lawInfo = new LawInfo();
+        lawInfo.setLawId("ABC");
+        return new LawTree(new LawVersionId("ABC", publishedDate), root, lawInfo);
+    }
+
+    private List<String> getDocIds(List<LawTreeNode> nodes) {
+        return nodes.stream().map(LawTreeNode::getDocumentId).collect(toList());
+    }
+}
@@ -5,7 +5,9 @@ import gov.nysenate.openleg.annotation.SillyTest;
 import gov.nysenate.openleg.dao.bill.reference.senatesite.SenateSiteDao;
 import gov.nysenate.openleg.model.spotcheck.SpotCheckRefType;
 import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDump;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpFragment;
 import gov.nysenate.openleg.model.spotcheck.senatesite.bill.SenateSiteBill;
+import gov.nysenate.openleg.service.spotcheck.senatesite.base.CloseableIterator;
 import gov.nysenate.openleg.service.spotcheck.senatesite.bill.BillJsonParser;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -27,8 +29,11 @@ public class SenateSiteBillDumpTest extends BaseTests {
     public void parseDumps() throws Exception {
         Collection<SenateSiteDump> dumps = senateSiteDao.getPendingDumps(SpotCheckRefType.SENATE_SITE_BILLS);
         SenateSiteDump dump = dumps.stream().findAny().orElseThrow(RuntimeException::new);
-        Collection<SenateSiteBill> bills = billJsonParser.parseBills(dump);
-        logger.info("glerp");
+        for (SenateSiteDumpFragment fragment : dump.getDumpFragments()) {
+            try (CloseableIterator<SenateSiteBill> bills = billJsonParser.parseBills(fragment)) {
+                logger.info("glerp {}", bills.hasNext());
+            }
+        }
     }
 
     @Test
@@ -0,0 +1,91 @@
+package gov.nysenate.openleg.dao.spotcheck;
+
+import gov.nysenate.openleg.BaseTests;
+import gov.nysenate.openleg.annotation.IntegrationTest;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.spotcheck.*;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that saving mismatches keeps the current mismatch table pointed at the mismatch with the most
+ * recent reference date for each key, type and datasource. Each test runs in a transaction that is rolled back.
+ */
+@Category(IntegrationTest.class)
+@Transactional
+public class SpotCheckCurrentMismatchIT extends BaseTests
+{
+    private static final BaseBillId billId = new BaseBillId("S999999", 2017); // A bill that only exists in tests
+
+    @Autowired private BaseBillIdSpotCheckReportDao reportDao;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    public void testNewerMismatchReplacesCurrentMismatch() {
+        LocalDateTime refDateTime = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        reportDao.saveReport(createMismatchReport(refDateTime, SpotCheckMismatchIgnore.NOT_IGNORED));
+        assertEquals(refDateTime, getCurrentReferenceDateTime());
+
+        // Conflicts with the existing row, which is updated
+        reportDao.saveReport(createMismatchReport(refDateTime.plusMinutes(1), SpotCheckMismatchIgnore.IGNORE_PERMANENTLY));
+        assertEquals(refDateTime.plusMinutes(1), getCurrentReferenceDateTime());
+        assertEquals(1, getCurrentRowCount());
+        assertEquals(SpotCheckMismatchIgnore.IGNORE_PERMANENTLY.name(),
+                     jdbc.queryForObject("SELECT ignore_status FROM master.spotcheck_current_mismatch" + KEY_FILTER,
+                                         String.class));
+    }
+
+    @Test
+    public void testOlderMismatchDoesNotReplaceCurrentMismatch() {
+        LocalDateTime refDateTime = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        reportDao.saveReport(createMismatchReport(refDateTime, SpotCheckMismatchIgnore.NOT_IGNORED));
+
+        // A report for an earlier reference is saved after the fact, it stays in the history only
+        reportDao.saveReport(createMismatchReport(refDateTime.minusMinutes(1), SpotCheckMismatchIgnore.NOT_IGNORED));
+        assertEquals(refDateTime, getCurrentReferenceDateTime());
+        assertEquals(1, getCurrentRowCount());
+        assertEquals(2, jdbc.queryForObject("SELECT count(*) FROM master.spotcheck_mismatch" + KEY_FILTER,
+                                            Integer.class).intValue());
+    }
+
+    /** --- Internal --- */
+
+    private static final String KEY_FILTER =
+        " WHERE key -> 'print_no' = 'S999999' AND key -> 'session_year' = '2017' AND type = 'BILL_COSPONSOR'";
+
+    private LocalDateTime getCurrentReferenceDateTime() {
+        List<Timestamp> refDateTimes = jdbc.queryForList(
+            "SELECT reference_active_date_time FROM master.spotcheck_current_mismatch" + KEY_FILTER, Timestamp.class);
+        assertEquals(1, refDateTimes.size());
+        return refDateTimes.get(0).toLocalDateTime();
+    }
+
+    private int getCurrentRowCount() {
+        return jdbc.queryForObject("SELECT count(*) FROM master.spotcheck_current_mismatch" + KEY_FILTER,
+                                   Integer.class);
+    }
+
+    private SpotCheckReport<BaseBillId> createMismatchReport(LocalDateTime refDateTime,
+                                                             SpotCheckMismatchIgnore ignoreStatus) {
+        SpotCheckReportId reportId = new SpotCheckReportId(SpotCheckRefType.LBDC_DAYBREAK, refDateTime, LocalDateTime.now());
+        SpotCheckReport<BaseBillId> report = new SpotCheckReport<>();
+        report.setReportId(reportId);
+        SpotCheckObservation<BaseBillId> ob =
+            new SpotCheckObservation<>(new SpotCheckReferenceId(SpotCheckRefType.LBDC_DAYBREAK, refDateTime), billId);
+        SpotCheckMismatch mm = new SpotCheckMismatch(SpotCheckMismatchType.BILL_COSPONSOR, "ObservedSponsor", "ReferenceSponsor");
+        mm.setIgnoreStatus(ignoreStatus);
+        ob.addMismatch(mm);
+        report.addObservation(ob);
+        return report;
+    }
+}
@@ -0,0 +1,37 @@
+package gov.nysenate.openleg.model.cache;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.transcript.TranscriptId;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class PdfCacheKeyTest
+{
+    private static final LocalDateTime modified = LocalDateTime.of(2017, 3, 1, 12, 0);
+
+    @Test
+    public void testBillKeys() throws Exception {
+        PdfCacheKey key = PdfCacheKey.of(new BillId("S1234A", 2017), modified);
+        assertEquals("bills/2017/S1234", key.getContentPath());
+        assertEquals(PdfCacheKey.getContentPath(new BaseBillId("S1234", 2017)), key.getContentPath());
+        assertEquals(key, PdfCacheKey.of(new BillId("S1234A", 2017), modified));
+        assertEquals(key.getETag(), PdfCacheKey.of(new BillId("S1234A", 2017), modified).getETag());
+
+        assertNotEquals(key.getETag(), PdfCacheKey.of(new BillId("S1234", 2017), modified).getETag());
+        assertNotEquals(key.getETag(), PdfCacheKey.of(new BillId("S1234A", 2017), modified.plusSeconds(1)).getETag());
+    }
+
+    @Test
+    public void testContentPathIsSanitized() throws Exception {
+        PdfCacheKey key = PdfCacheKey.of(new TranscriptId("../010115 v2.txt"), modified);
+        assertEquals("transcripts/.._010115_v2.txt", key.getContentPath());
+        assertFalse(key.getContentPath().contains("/../"));
+    }
+}
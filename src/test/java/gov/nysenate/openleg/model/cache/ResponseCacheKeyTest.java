@@ -0,0 +1,54 @@
+package gov.nysenate.openleg.model.cache;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.calendar.CalendarId;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ResponseCacheKeyTest
+{
+    private static final LocalDateTime modified = LocalDateTime.of(2017, 3, 1, 12, 0);
+
+    private final BaseBillId billId = new BaseBillId("S1234", 2017);
+
+    @Test
+    public void testEquality() throws Exception {
+        ResponseCacheKey key = ResponseCacheKey.of(billId, "bill?view=DEFAULT", modified);
+        ResponseCacheKey same = ResponseCacheKey.of(new BaseBillId("S1234", 2017), "bill?view=DEFAULT", modified);
+        assertEquals(key, same);
+        assertEquals(key.hashCode(), same.hashCode());
+        assertEquals(key.getETag(), same.getETag());
+        assertEquals(key.getCacheKey(), same.getCacheKey());
+
+        assertNotEquals(key, ResponseCacheKey.of(billId, "bill?view=INFO", modified));
+        assertNotEquals(key, ResponseCacheKey.of(billId, "bill?view=DEFAULT", modified.plusSeconds(1)));
+        assertNotEquals(key, ResponseCacheKey.of(new BaseBillId("S1234", 2015), "bill?view=DEFAULT", modified));
+    }
+
+    @Test
+    public void testETagChangesWithVersion() throws Exception {
+        ResponseCacheKey key = ResponseCacheKey.of(billId, "bill?view=DEFAULT", modified);
+        assertNotEquals(key.getETag(), ResponseCacheKey.of(billId, "bill?view=DEFAULT", modified.plusSeconds(1)).getETag());
+        assertNotEquals(key.getETag(), ResponseCacheKey.of(billId, "bill?view=DEFAULT", null).getETag());
+        assertNotEquals(key.getETag(), key.compact().getETag());
+        assertEquals(key.compact(), key.compact());
+    }
+
+    @Test
+    public void testCacheKeyIsUnderContentPath() throws Exception {
+        ResponseCacheKey billKey = ResponseCacheKey.of(billId, "bill?view=DEFAULT", modified);
+        assertEquals("bills/2017/S1234", billKey.getContentPath());
+        assertEquals("bills/2017/S1234/" + billKey.getETag(), billKey.getCacheKey());
+        assertEquals(billKey.getContentPath(), billKey.compact().getContentPath());
+
+        ResponseCacheKey calKey = ResponseCacheKey.of(new CalendarId(12, 2017), "calendar?full=false", modified);
+        assertEquals("calendars/2017/12", calKey.getContentPath());
+        assertEquals("laws/ABC", ResponseCacheKey.ofLaw("abc", "law", modified).getContentPath());
+    }
+}
@@ -0,0 +1,69 @@
+package gov.nysenate.openleg.model.process;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class DataProcessMetricsTest
+{
+    @Test
+    public void testStageMetrics() {
+        DataProcessMetrics metrics = new DataProcessMetrics();
+        assertTrue(metrics.isEmpty());
+        metrics.record("sobi.fragment.BILL", TimeUnit.MILLISECONDS.toNanos(300), 1);
+        metrics.record("sobi.fragment.BILL", TimeUnit.MILLISECONDS.toNanos(200), 1);
+        metrics.record("flush.bills", TimeUnit.SECONDS.toNanos(2), 100);
+
+        List<DataProcessStageMetric> stages = metrics.getStageMetrics();
+        assertEquals(2, stages.size());
+        DataProcessStageMetric flush = stages.get(0);
+        assertEquals("flush.bills", flush.getStage());
+        assertEquals(50, flush.getItemsPerSecond(), 0.001);
+        DataProcessStageMetric bill = stages.get(1);
+        assertEquals(2, bill.getCount());
+        assertEquals(2, bill.getItems());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), bill.getTotalNanos());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300), bill.getMaxNanos());
+        assertEquals(4, bill.getItemsPerSecond(), 0.001);
+        assertEquals(0, new DataProcessStageMetric("empty", 0, 0, 0, 0).getItemsPerSecond(), 0);
+    }
+
+    @Test
+    public void testQueueMetrics() {
+        DataProcessMetrics metrics = new DataProcessMetrics();
+        metrics.recordQueueDepth("search.index", 40);
+        metrics.recordQueueDepth("search.index", 120);
+        metrics.recordQueueDepth("search.index", 5);
+
+        DataProcessQueueMetric queue = metrics.getQueueMetrics().get(0);
+        assertEquals(3, queue.getSamples());
+        assertEquals(5, queue.getLastDepth());
+        assertEquals(120, queue.getPeakDepth());
+    }
+
+    @Test
+    public void testLoadedMetricsKeepRecording() {
+        DataProcessMetrics loaded = new DataProcessMetrics(
+            Collections.singletonList(new DataProcessStageMetric("collate.sobi file", 1, 10, 1000, 1000)),
+            Collections.singletonList(new DataProcessQueueMetric("search.index", 2, 7, 30)));
+        loaded.record("collate.sobi file", 3000, 5);
+        loaded.recordQueueDepth("search.index", 12);
+
+        DataProcessStageMetric stage = loaded.getStageMetrics().get(0);
+        assertEquals(2, stage.getCount());
+        assertEquals(15, stage.getItems());
+        assertEquals(4000, stage.getTotalNanos());
+        assertEquals(3000, stage.getMaxNanos());
+        DataProcessQueueMetric queue = loaded.getQueueMetrics().get(0);
+        assertEquals(3, queue.getSamples());
+        assertEquals(12, queue.getLastDepth());
+        assertEquals(30, queue.getPeakDepth());
+    }
+}
@@ -0,0 +1,36 @@
+package gov.nysenate.openleg.model.updates;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class UpdateCursorTest
+{
+    @Test
+    public void testEncodeDecode() throws Exception {
+        UpdateCursor cursor = new UpdateCursor(LocalDateTime.of(2017, 3, 1, 12, 30, 15, 123000000),
+                                               UpdateContentType.CALENDAR, 123456);
+        assertEquals(cursor, UpdateCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    public void testOfToken() throws Exception {
+        UpdateToken<String> token = new UpdateToken<>("S1234", UpdateContentType.BILL, "SOBI.D170301.T120000.TXT-1",
+                LocalDateTime.of(2017, 3, 1, 12, 0), LocalDateTime.of(2017, 3, 1, 12, 5));
+        token.setChangeId(7);
+        assertEquals(new UpdateCursor(LocalDateTime.of(2017, 3, 1, 12, 0), UpdateContentType.BILL, 7),
+                     UpdateCursor.of(token, UpdateType.PUBLISHED_DATE));
+        assertEquals(new UpdateCursor(LocalDateTime.of(2017, 3, 1, 12, 5), UpdateContentType.BILL, 7),
+                     UpdateCursor.of(token, UpdateType.PROCESSED_DATE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecodeMalformed() throws Exception {
+        UpdateCursor.decode("not-a-cursor");
+    }
+}
@@ -0,0 +1,68 @@
+package gov.nysenate.openleg.processor.law;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.LawFile;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LawBlockReaderTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testReadBlocks() throws Exception {
+        LawFile lawFile = createLawFile(
+            header("ABC", "-CH1", "") + "\n" +
+            "CHAPTER 1 OF THE CONSOLIDATED LAWS\n" +
+            header("ABC", "1", "") + "\n" +
+            "Section 1. Short title.\n" +
+            "This chapter shall be known as the abc law.\n" +
+            header("XYZ", "2", "*REPEAL*") + "\n");
+        List<LawBlock> blocks = new ArrayList<>();
+        try (LawBlockReader reader = new LawBlockReader(lawFile)) {
+            reader.forEachRemaining(blocks::add);
+        }
+        assertEquals(3, blocks.size());
+        assertEquals("ABC-CH1", blocks.get(0).getDocumentId());
+        assertEquals("1", blocks.get(1).getLocationId());
+        assertEquals("Section 1. Short title.\\nThis chapter shall be known as the abc law.\\n",
+                     blocks.get(1).getText().toString());
+        assertEquals(LocalDate.of(2017, 3, 1), blocks.get(1).getPublishedDate());
+        assertEquals("XYZ", blocks.get(2).getLawId());
+        assertEquals("*REPEAL*", blocks.get(2).getMethod());
+        assertTrue(blocks.get(2).isConsolidated());
+        assertEquals("", blocks.get(2).getText().toString());
+    }
+
+    @Test(expected = LawParseException.class)
+    public void testTextBeforeHeader() throws Exception {
+        LawFile lawFile = createLawFile("orphaned text\n" + header("ABC", "1", "") + "\n");
+        try (LawBlockReader reader = new LawBlockReader(lawFile)) {
+            reader.hasNext();
+        }
+    }
+
+    /** --- Internal --- */
+
+    private LawFile createLawFile(String text) throws Exception {
+        File file = tempFolder.newFile("20170301.UPDATE");
+        FileUtils.write(file, text, LawBlockReader.LAWFILE_CHARSET);
+        return new LawFile(file);
+    }
+
+    private String header(String lawId, String locationId, String method) {
+        return String.format("..SO DOC %s%-13s%-8s %-15s LAWS(CONSOLIDATED)", lawId, locationId, method, "");
+    }
+}
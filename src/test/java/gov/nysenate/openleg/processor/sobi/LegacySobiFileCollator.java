@@ -0,0 +1,167 @@
+package gov.nysenate.openleg.processor.sobi;
+
+import gov.nysenate.openleg.model.sobi.SobiFile;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sobi.SobiFragmentType;
+import gov.nysenate.openleg.model.sobi.SobiLineType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The original, whole file implementation of sobi file collation that was replaced by {@link SobiFileCollator}.
+ * It is kept around to verify that the output of the streaming collator is unchanged and to benchmark against.
+ */
+public class LegacySobiFileCollator
+{
+    private static final Logger logger = LoggerFactory.getLogger(LegacySobiFileCollator.class);
+
+    private static final Pattern patchTagPattern = Pattern.compile("^\\s*</?PATCH>\\s*$");
+
+    /**
+     * Extracts a list of SobiFragments from the given SobiFile.
+     */
+    public static List<SobiFragment> createFragments(SobiFile sobiFile) throws IOException {
+        List<SobiFragment> sobiFragments = new ArrayList<>();
+        StringBuilder billBuffer = new StringBuilder();
+
+        boolean isPatch = false;
+        StringBuilder patchMessage = new StringBuilder();
+
+        // Incrementing sequenceNo maintains the order in which the sobi fragments were
+        // found in the source sobiFile. However the sequence number for the bill fragment
+        // is always set to 0 to ensure that they are always processed first.
+        int sequenceNo = 1;
+
+        // Replace the null characters with spaces and split by newline.
+        List<String> lines = Arrays.asList(sobiFile.getText().replace('\0', ' ').split("\\r?\\n"));
+        Iterator<String> lineIterator = lines.iterator();
+        while (lineIterator.hasNext()) {
+            String line = lineIterator.next();
+            // Check for a patch tag indicating a manual fix
+            if (patchTagPattern.matcher(line).matches()) {
+                isPatch = true;
+                extractPatchMessage(lineIterator, patchMessage);
+            }
+            SobiFragmentType fragmentType = getFragmentTypeFromLine(line);
+            if (fragmentType != null) {
+                // Bill fragments are in the sobi format and appended into a single buffer
+                if (fragmentType.equals(SobiFragmentType.BILL)) {
+                    // Memos need to be converted to latin1 encoding
+                    if (line.charAt(11) == SobiLineType.SPONSOR_MEMO.getTypeCode()) {
+                        line = new String(line.getBytes(sobiFile.getEncoding()), "latin1");
+                    }
+                    line = line.replace((char)193, '°');
+                    billBuffer.append(line).append("\n");
+                }
+                // Other fragment types are in XML format. The iterator moves past the closing xml
+                // tag and the xml text is stored in the fragment.
+                else {
+                    String xmlText = extractXmlText(fragmentType, line, lineIterator);
+                    SobiFragment fragment = new SobiFragment(sobiFile, fragmentType, xmlText, sequenceNo++);
+                    sobiFragments.add(fragment);
+                }
+            }
+        }
+        // Convert the billBuffer into a single bill fragment (if applicable) with sequence no set to 0.
+        if (billBuffer.length() > 0) {
+            SobiFragment billFragment = new SobiFragment(sobiFile, SobiFragmentType.BILL, billBuffer.toString(), 0);
+            sobiFragments.add(billFragment);
+        }
+        // Set manual fix flag and add notes if this file was a patch
+        if (isPatch) {
+            String notes = patchMessage.toString();
+            sobiFragments.forEach(fragment -> {
+                fragment.setManualFix(true);
+                fragment.setManualFixNotes(notes);
+            });
+        }
+        return sobiFragments;
+    }
+
+    /**
+     * Check the given SOBI line to determine if it matches the start of a SOBI Fragment type.
+     *
+     * @param line String
+     * @return SobiFragmentType or null if no match
+     */
+    private static SobiFragmentType getFragmentTypeFromLine(String line) {
+        for (SobiFragmentType fragmentType : SobiFragmentType.values()) {
+            if (line.matches(fragmentType.getStartPattern())) {
+                return fragmentType;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets a patch sobi message from within a set of patch tags, appending it to the given string builder
+     * @param lineIterator Iterator<String>
+     * @param patchMessage StringBuilder
+     */
+    private static void extractPatchMessage(Iterator<String> lineIterator, StringBuilder patchMessage) {
+        while(lineIterator.hasNext()) {
+            String line = lineIterator.next();
+            if (patchTagPattern.matcher(line).matches()) {
+                return;
+            }
+            if (patchMessage.length() > 0) {
+                patchMessage.append("\n");
+            }
+            patchMessage.append(line.trim());
+        }
+    }
+
+    /**
+     * Extracts a well formed XML document from the lines and writes it to the given
+     * file. This depends strongly on escape sequences being on their own line; otherwise
+     * we'll get malformed XML docs.
+     *
+     * @param fragmentType SobiFragmentType
+     * @param line String - The starting line of the document
+     * @param iterator Iterator<String> - Current iterator from the sobi file's text body
+     *
+     * @return String - The resulting XML string.
+     * @throws java.io.IOException
+     */
+    private static String extractXmlText(SobiFragmentType fragmentType, String line, Iterator<String> iterator) throws IOException {
+        String endPattern = fragmentType.getEndPattern();
+        StringBuffer xmlBuffer = new StringBuffer(
+            "<?xml version='1.0' encoding='UTF-8'?>&newl;" +
+                "<SENATEDATA>&newl;" + line + "&newl;"
+        );
+        String in = null;
+        while (iterator.hasNext()) {
+            in = iterator.next();
+            xmlBuffer.append(in.replaceAll("\\xb9", "&sect;")).append("&newl;");
+            if (in.matches(endPattern)) {
+                break;
+            }
+        }
+        if (in == null) {
+            // This is bad, but don't throw an exception. If the resulting XML document
+            // is malformed we'll throw the exception during ingest.
+            logger.error("Unterminated XML document: " + line);
+        }
+        String xmlString = xmlBuffer.append("</SENATEDATA>").toString();
+
+        // TODO: Figure out this magic.
+        xmlBuffer = new StringBuffer();
+        Matcher m = Pattern.compile("<\\!\\[CDATA\\[(.*?)\\]\\]>").matcher(xmlString);
+        while(m.find()) {
+            m.appendReplacement(xmlBuffer, Matcher.quoteReplacement(m.group(0).replaceAll("&newl;", "").replaceAll("\\\\n","\n")));
+        }
+        m.appendTail(xmlBuffer);
+
+        // TODO: Figure out this magic as well.
+        xmlString = xmlBuffer.toString().replaceAll("&newl;", "\n").replaceAll("(?!\n)\\p{Cntrl}","").replaceAll("(?!\\.{2})[ ]{2,}"," ");
+        return xmlString;
+    }
+}
@@ -0,0 +1,55 @@
+package gov.nysenate.openleg.processor.sobi;
+
+import gov.nysenate.openleg.model.sobi.SobiFile;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming {@link SobiFileCollator} against the original whole file collation
+ * using the sample sobi files in the test resources.
+ *
+ * Run via the main method with the test classpath, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SobiCollationBenchmark
+{
+    @Param({"SOBI.D140509.T124706.TXT"})
+    public String fileName;
+
+    private SobiFile sobiFile;
+
+    @Setup
+    public void setup() throws Exception {
+        sobiFile = new SobiFile(new File(getClass().getResource("/sobi/" + fileName).toURI()));
+    }
+
+    @Benchmark
+    public List<SobiFragment> legacyCollation() throws Exception {
+        return LegacySobiFileCollator.createFragments(sobiFile);
+    }
+
+    @Benchmark
+    public List<SobiFragment> streamingCollation() {
+        return SobiFileCollator.collate(sobiFile);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(SobiCollationBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,69 @@
+package gov.nysenate.openleg.processor.sobi;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.sobi.SobiFile;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sobi.SobiFragmentType;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SobiFileCollatorTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testSampleFileMatchesLegacyCollation() throws Exception {
+        SobiFile sobiFile = new SobiFile(new File(getClass().getResource("/sobi/SOBI.D140509.T124706.TXT").toURI()));
+        assertSameFragments(LegacySobiFileCollator.createFragments(sobiFile), SobiFileCollator.collate(sobiFile));
+    }
+
+    @Test
+    public void testXmlCleanupMatchesLegacyCollation() throws Exception {
+        String text =
+            "<sencalendar no=\"1\" sessyr=\"2013\" year=\"2014\">\r\n" +
+            "  <supplemental    id=\"\">\t\u0001\r\n" +
+            "    <![CDATA[first line\\n\r\n" +
+            "second   line]]>\r\n" +
+            "    <text>¹ 5</text>\r\n" +
+            "</sencalendar>\r\n" +
+            "<PATCH>\r\n" +
+            "  Manual fix for a bad agenda  \r\n" +
+            "</PATCH>\r\n" +
+            "2013S01234 3AN ACT relating to testing\r\n" +
+            "<senagenda no=\"2\" sessyr=\"2013\" year=\"2014\">\r\n" +
+            "  <![CDATA[never closed\r\n" +
+            "</senagenda>\r\n\r\n\r\n";
+        File file = tempFolder.newFile("SOBI.D140101.T000000.TXT");
+        FileUtils.write(file, text, SobiFile.DEFAULT_ENCODING);
+        SobiFile sobiFile = new SobiFile(file);
+
+        // The calendar is read before the patch block but is still flagged as a manual fix
+        List<SobiFragment> fragments = SobiFileCollator.collate(sobiFile);
+        assertEquals(3, fragments.size());
+        assertEquals(SobiFragmentType.BILL, fragments.get(2).getType());
+        assertTrue(fragments.stream().allMatch(SobiFragment::isManualFix));
+        assertSameFragments(LegacySobiFileCollator.createFragments(sobiFile), fragments);
+    }
+
+    private static void assertSameFragments(List<SobiFragment> expected, List<SobiFragment> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getFragmentId(), actual.get(i).getFragmentId());
+            assertEquals(expected.get(i).getType(), actual.get(i).getType());
+            assertEquals(expected.get(i).getSequenceNo(), actual.get(i).getSequenceNo());
+            assertEquals(expected.get(i).getText(), actual.get(i).getText());
+            assertEquals(expected.get(i).isManualFix(), actual.get(i).isManualFix());
+            assertEquals(expected.get(i).getManualFixNotes(), actual.get(i).getManualFixNotes());
+        }
+    }
+}
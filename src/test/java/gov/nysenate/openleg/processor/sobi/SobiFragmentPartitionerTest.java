@@ -0,0 +1,174 @@
+package gov.nysenate.openleg.processor.sobi;
+
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillInfo;
+import gov.nysenate.openleg.model.sobi.SobiBlock;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import gov.nysenate.openleg.model.sobi.SobiFragmentType;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SobiFragmentPartitionerTest
+{
+    private static final String FRAGMENT_ID = "SOBI.D130107.T151509.TXT-0-BILL";
+
+    private SobiFragmentPartitioner partitioner = new SobiFragmentPartitioner();
+    private StubBillDataService billDataService = new StubBillDataService();
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(partitioner, "billDataService", billDataService);
+    }
+
+    @Test
+    public void testBillFragmentIsSplitByBill() {
+        List<List<SobiFragment>> partitions = partitioner.partition(Arrays.asList(
+            billFragment("2013S01234 3AN ACT relating to testing",
+                         "2013S02000 3AN ACT relating to other things",
+                         "2013S01234 CSummary of the first bill")));
+        assertEquals(2, partitions.size());
+        SobiFragment s1234 = partitions.get(0).get(0);
+        assertEquals(FRAGMENT_ID, s1234.getFragmentId());
+        assertEquals(SobiFragmentType.BILL, s1234.getType());
+        assertEquals(Arrays.asList(new BillId("S1234", 2013), new BillId("S1234", 2013)),
+                     getBillIds(s1234));
+        assertEquals(Arrays.asList(new BillId("S2000", 2013)), getBillIds(partitions.get(1).get(0)));
+    }
+
+    @Test
+    public void testUniBillsShareAPartition() {
+        List<List<SobiFragment>> partitions = partitioner.partition(Arrays.asList(
+            billFragment("2013S01234 3AN ACT relating to testing",
+                         "2013S02000 5Same as Uni. A 372",
+                         "2013A00372 3AN ACT relating to other things")));
+        assertEquals(2, partitions.size());
+        assertEquals(1, partitions.get(0).size());
+        assertEquals(2, partitions.get(1).size());
+        assertEquals(Arrays.asList(new BillId("A372", 2013)), getBillIds(partitions.get(1).get(1)));
+    }
+
+    /** The same as line that made S2000 a uni-bill was processed in an earlier batch. */
+    @Test
+    public void testUniBillSplitAcrossFragmentsSharesAPartition() {
+        billDataService.addUniBill(new BaseBillId("S2000", 2013), new BillId("A372", 2013));
+        SobiFragment first = billFragment("2013S01234 3AN ACT relating to testing",
+                                          "2013S02000 T00000.SO DOC S 2000                BTXT                 2013");
+        SobiFragment second = new SobiFragment("SOBI.D130107.T151510.TXT-0-BILL", null, SobiFragmentType.BILL,
+                                               "2013A00372 3AN ACT relating to other things", 0);
+        List<List<SobiFragment>> partitions = partitioner.partition(Arrays.asList(first, second));
+        assertEquals(2, partitions.size());
+        assertEquals(Arrays.asList(new BillId("S1234", 2013)), getBillIds(partitions.get(0).get(0)));
+        assertEquals(2, partitions.get(1).size());
+        assertEquals(Arrays.asList(new BillId("S2000", 2013)), getBillIds(partitions.get(1).get(0)));
+        assertEquals(Arrays.asList(new BillId("A372", 2013)), getBillIds(partitions.get(1).get(1)));
+    }
+
+    @Test
+    public void testPersistedUniBillsWithoutTextDoNotShareAPartition() {
+        billDataService.addUniBill(new BaseBillId("S2000", 2013), new BillId("A372", 2013));
+        SobiFragment first = billFragment("2013S02000 3AN ACT relating to testing");
+        SobiFragment second = new SobiFragment("SOBI.D130107.T151510.TXT-0-BILL", null, SobiFragmentType.BILL,
+                                               "2013A00372 3AN ACT relating to other things", 0);
+        assertEquals(2, partitioner.partition(Arrays.asList(first, second)).size());
+    }
+
+    @Test
+    public void testUnknownXmlFragmentsShareAPartition() {
+        SobiFragment first = new SobiFragment("first", null, SobiFragmentType.ANNOTATION, "<xml/>", 1);
+        SobiFragment second = new SobiFragment("second", null, SobiFragmentType.ANNOTATION, "<xml/>", 2);
+        List<List<SobiFragment>> partitions = partitioner.partition(Arrays.asList(first, second));
+        assertEquals(Arrays.asList(Arrays.asList(first, second)), partitions);
+    }
+
+    private static SobiFragment billFragment(String... lines) {
+        return new SobiFragment(FRAGMENT_ID, null, SobiFragmentType.BILL, String.join("\n", lines), 0);
+    }
+
+    private static List<BillId> getBillIds(SobiFragment fragment) {
+        return fragment.getSobiBlocks().stream().map(SobiBlock::getBillId).collect(Collectors.toList());
+    }
+
+    /** Returns the registered uni-bills from {@link #getBills(Collection)}, nothing else is used by the partitioner. */
+    private static class StubBillDataService implements BillDataService
+    {
+        private final Map<BaseBillId, Bill> bills = new HashMap<>();
+
+        private void addUniBill(BaseBillId billId, BillId sameAs) {
+            Bill bill = new Bill(billId);
+            BillAmendment amendment = new BillAmendment(billId, Version.DEFAULT);
+            amendment.setUniBill(true);
+            amendment.setSameAs(new HashSet<>(Collections.singleton(sameAs)));
+            bill.addAmendment(amendment);
+            bills.put(billId, bill);
+        }
+
+        @Override
+        public Bill getBill(BaseBillId billId) throws BillNotFoundEx {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Bill> getBills(Collection<BaseBillId> billIds) {
+            return billIds.stream().map(bills::get).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+
+        @Override
+        public BillInfo getBillInfo(BaseBillId billId) throws BillNotFoundEx {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BillInfo getBillInfoSafe(BaseBillId billId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<BaseBillId> getBillIds(SessionYear sessionYear, LimitOffset limitOffset) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getBillCount(SessionYear sessionYear) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void saveBill(Bill bill, SobiFragment fragment, boolean postUpdateEvent) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void saveBills(Collection<Pair<Bill, SobiFragment>> bills, boolean postUpdateEvent) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Range<SessionYear>> activeSessionRange() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<String> getAlternateBillPdfUrl(BillId billId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
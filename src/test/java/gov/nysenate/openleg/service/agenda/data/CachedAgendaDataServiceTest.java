@@ -0,0 +1,127 @@
+package gov.nysenate.openleg.service.agenda.data;
+
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.agenda.data.AgendaDao;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.model.agenda.Agenda;
+import gov.nysenate.openleg.model.agenda.AgendaId;
+import gov.nysenate.openleg.model.agenda.AgendaInfoAddendum;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.cache.ehcache.EhCacheCache;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CachedAgendaDataServiceTest
+{
+    private static final AgendaId agendaId = new AgendaId(10, 2017);
+
+    private CacheManager cacheManager;
+    private CachedAgendaDataService agendaData;
+    private final StubAgendaDao agendaDao = new StubAgendaDao();
+
+    @Before
+    public void setup() {
+        Configuration config = new Configuration();
+        config.setName("agenda-cache-test-" + System.nanoTime());
+        config.setUpdateCheck(false);
+        cacheManager = CacheManager.newInstance(config);
+
+        // The cache is bounded by entry count so the test does not depend on the heap size calculation
+        agendaData = new CachedAgendaDataService() {
+            @Override
+            public void setupCaches() {
+                Cache cache = new Cache(new CacheConfiguration().name(ContentCache.AGENDA.name())
+                    .eternal(true)
+                    .maxEntriesLocalHeap(100));
+                cacheManager.addCache(cache);
+                ReflectionTestUtils.setField(this, "agendaCache", new EhCacheCache(cache));
+            }
+        };
+        ReflectionTestUtils.setField(agendaData, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(agendaData, "agendaDao", agendaDao);
+        ReflectionTestUtils.setField(agendaData, "eventBus", new EventBus());
+        agendaData.setupCaches();
+    }
+
+    @After
+    public void tearDown() {
+        cacheManager.shutdown();
+    }
+
+    @Test
+    public void testModifyingAgendaForUpdateDoesNotChangeCache() throws Exception {
+        Agenda agenda = agendaData.getAgendaForUpdate(agendaId);
+        agenda.putAgendaInfoAddendum(createAddendum("A"));
+
+        assertNotSame(agenda, agendaData.getAgenda(agendaId));
+        assertEquals(1, agendaData.getAgenda(agendaId).getAgendaInfoAddenda().size());
+        assertEquals(1, agendaDao.getCount);
+    }
+
+    @Test
+    public void testModifyingSavedAgendaDoesNotChangeCache() throws Exception {
+        Agenda agenda = agendaData.getAgendaForUpdate(agendaId);
+        agenda.putAgendaInfoAddendum(createAddendum("A"));
+        agendaData.saveAgenda(agenda, null, false);
+        assertEquals(2, agendaData.getAgenda(agendaId).getAgendaInfoAddenda().size());
+
+        agenda.putAgendaInfoAddendum(createAddendum("B"));
+        assertEquals(2, agendaData.getAgenda(agendaId).getAgendaInfoAddenda().size());
+        assertEquals(1, agendaDao.getCount);
+    }
+
+    private static AgendaInfoAddendum createAddendum(String addendumId) {
+        return new AgendaInfoAddendum(agendaId, addendumId, LocalDate.of(2017, 3, 6),
+                                      LocalDateTime.of(2017, 3, 1, 12, 0));
+    }
+
+    /**
+     * Returns a new agenda with a single info addendum whenever it is read.
+     */
+    private static class StubAgendaDao implements AgendaDao
+    {
+        private int getCount = 0;
+
+        @Override
+        public Agenda getAgenda(AgendaId agendaId) {
+            getCount++;
+            Agenda agenda = new Agenda(agendaId);
+            agenda.putAgendaInfoAddendum(createAddendum(""));
+            return agenda;
+        }
+
+        @Override
+        public void updateAgenda(Agenda agenda, SobiFragment sobiFragment) {}
+
+        @Override
+        public Agenda getAgenda(LocalDate weekOf) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<AgendaId> getAgendaIds(int year, SortOrder idOrder) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteAgenda(AgendaId agendaId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
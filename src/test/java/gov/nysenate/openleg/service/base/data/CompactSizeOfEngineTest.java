@@ -0,0 +1,42 @@
+package gov.nysenate.openleg.service.base.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.pool.Size;
+import net.sf.ehcache.pool.SizeOfEngine;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CompactSizeOfEngineTest
+{
+    /** Stands in for the default engine, which cannot inspect the heap on every jvm. */
+    private static final SizeOfEngine fixedEngine = new SizeOfEngine() {
+        @Override
+        public Size sizeOf(Object key, Object value, Object container) {
+            return new Size(1, true);
+        }
+
+        @Override
+        public SizeOfEngine copyWith(int maxDepth, boolean abortWhenMaxDepthExceeded) {
+            return this;
+        }
+    };
+
+    private final CompactSizeOfEngine engine = new CompactSizeOfEngine(fixedEngine);
+
+    @Test
+    public void testByteArrayEntriesAreSizedByLength() {
+        Element element = new Element("S100-2017", new byte[10000]);
+        assertEquals(CompactSizeOfEngine.ENTRY_OVERHEAD + 10000, engine.sizeOf("S100-2017", element, null).getCalculated());
+        assertEquals(CompactSizeOfEngine.ENTRY_OVERHEAD + 10000,
+                     engine.copyWith(100, false).sizeOf("S100-2017", element, null).getCalculated());
+    }
+
+    @Test
+    public void testOtherEntriesUseDefaultEngine() {
+        assertEquals(1, engine.sizeOf("S100-2017", new Element("S100-2017", "text"), null).getCalculated());
+    }
+}
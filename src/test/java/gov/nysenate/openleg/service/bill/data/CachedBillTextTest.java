@@ -0,0 +1,231 @@
+package gov.nysenate.openleg.service.bill.data;
+
+import com.google.common.collect.Range;
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.bill.data.BillDao;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.dao.DataAccessException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CachedBillTextTest
+{
+    private static final BaseBillId billId = new BaseBillId("S100", 2017);
+
+    private CacheManager cacheManager;
+    private CachedBillDataService billData;
+    private final StubBillDao billDao = new StubBillDao();
+
+    @Before
+    public void setup() {
+        Configuration config = new Configuration();
+        config.setName("bill-text-test-" + System.nanoTime());
+        config.setUpdateCheck(false);
+        cacheManager = CacheManager.newInstance(config);
+
+        // The caches are bounded by entry count so the test does not depend on the heap size calculation
+        billData = new CachedBillDataService() {
+            @Override
+            public void setupCaches() {
+                ReflectionTestUtils.setField(this, "billCache", addCache(ContentCache.BILL));
+                ReflectionTestUtils.setField(this, "billInfoCache", addCache(ContentCache.BILL_INFO));
+                ReflectionTestUtils.setField(this, "billTextCache", addCache(ContentCache.BILL_TEXT));
+            }
+        };
+        EventBus eventBus = new EventBus();
+        ReflectionTestUtils.setField(billData, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(billData, "billDao", billDao);
+        ReflectionTestUtils.setField(billData, "eventBus", eventBus);
+        billData.setupCaches();
+        eventBus.register(billData);
+    }
+
+    @After
+    public void tearDown() {
+        cacheManager.shutdown();
+    }
+
+    @Test
+    public void testWarmReadDoesNotUseDao() throws Exception {
+        billData.saveBill(createBill("original text"), null, true);
+        billDao.reset();
+
+        Bill bill = billData.getBill(billId);
+        assertEquals("original text", bill.getAmendment(Version.DEFAULT).getFullText());
+        assertEquals("original memo", bill.getAmendment(Version.DEFAULT).getMemo());
+        assertEquals(0, billDao.callCount);
+    }
+
+    @Test
+    public void testSaveWithoutEventReplacesText() throws Exception {
+        billData.saveBill(createBill("original text"), null, false);
+        assertEquals("original text", billData.getBill(billId).getAmendment(Version.DEFAULT).getFullText());
+
+        billData.saveBill(createBill("amended text"), null, false);
+        billDao.reset();
+        assertEquals("amended text", billData.getBill(billId).getAmendment(Version.DEFAULT).getFullText());
+        assertEquals(0, billDao.callCount);
+
+        billData.saveBills(Collections.singletonList(Pair.of(createBill("batched text"), null)), false);
+        billDao.reset();
+        assertEquals("batched text", billData.getBill(billId).getAmendment(Version.DEFAULT).getFullText());
+        assertEquals(0, billDao.callCount);
+    }
+
+    @Test
+    public void testBillInfoIsCachedWithBill() throws Exception {
+        billData.saveBill(createBill("original text", "original title"), null, false);
+        billDao.reset();
+        assertEquals("original title", billData.getBillInfo(billId).getTitle());
+        assertEquals(0, billDao.callCount);
+
+        billData.saveBill(createBill("amended text", "amended title"), null, false);
+        assertEquals("amended title", billData.getBillInfo(billId).getTitle());
+        assertEquals(1, billDao.callCount);
+    }
+
+    @Test
+    public void testConcurrentReadsNeverMixUpdates() throws Exception {
+        billData.saveBill(createBill("text 0", "title 0"), null, false);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writes = writer.submit(() -> {
+                for (int i = 1; i <= 500; i++) {
+                    billData.saveBill(createBill("text " + i, "title " + i), null, false);
+                }
+            });
+            while (!writes.isDone()) {
+                Bill bill = billData.getBill(billId);
+                assertEquals(bill.getTitle().replace("title", "text"), bill.getAmendment(Version.DEFAULT).getFullText());
+            }
+            writes.get();
+        }
+        finally {
+            writer.shutdownNow();
+        }
+        assertEquals("text 500", billData.getBill(billId).getAmendment(Version.DEFAULT).getFullText());
+    }
+
+    /** --- Internal --- */
+
+    private Cache addCache(ContentCache contentCache) {
+        Cache cache = new Cache(new CacheConfiguration().name(contentCache.name())
+            .eternal(true)
+            .maxEntriesLocalHeap(100));
+        cacheManager.addCache(cache);
+        return cache;
+    }
+
+    private static Bill createBill(String fullText) {
+        return createBill(fullText, null);
+    }
+
+    private static Bill createBill(String fullText, String title) {
+        Bill bill = new Bill(billId);
+        bill.setTitle(title);
+        BillAmendment amendment = new BillAmendment(billId, Version.DEFAULT);
+        amendment.setFullText(fullText);
+        amendment.setMemo("original memo");
+        bill.addAmendment(amendment);
+        return bill;
+    }
+
+    /**
+     * Counts the calls made to the dao. The text of a bill is never expected to be read back from the database.
+     */
+    private static class StubBillDao implements BillDao
+    {
+        private int callCount = 0;
+
+        private void reset() {
+            callCount = 0;
+        }
+
+        @Override
+        public Bill getBill(BillId billId) throws DataAccessException {
+            callCount++;
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Bill> getBills(Collection<BaseBillId> billIds) throws DataAccessException {
+            callCount++;
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BillInfo getBillInfo(BillId billId) throws DataAccessException {
+            callCount++;
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void applyText(Bill strippedBill) throws DataAccessException {
+            callCount++;
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<BaseBillId> getBillIds(SessionYear sessionYear, LimitOffset limOff, SortOrder billIdSort) {
+            callCount++;
+            return Collections.emptyList();
+        }
+
+        @Override
+        public int getBillCount() throws DataAccessException {
+            callCount++;
+            return 0;
+        }
+
+        @Override
+        public int getBillCount(SessionYear sessionYear) throws DataAccessException {
+            callCount++;
+            return 0;
+        }
+
+        @Override
+        public String getAlternateBillPdfUrl(BillId billId) throws DataAccessException {
+            callCount++;
+            return null;
+        }
+
+        @Override
+        public Range<SessionYear> activeSessionRange() throws DataAccessException {
+            callCount++;
+            return null;
+        }
+
+        @Override
+        public void updateBill(Bill bill, SobiFragment sobiFragment) throws DataAccessException {
+            callCount++;
+        }
+
+        @Override
+        public void updateBills(Collection<Pair<Bill, SobiFragment>> billUpdates) throws DataAccessException {
+            callCount++;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package gov.nysenate.openleg.service.calendar.data;
+
+import com.google.common.collect.Range;
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.calendar.data.CalendarDao;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import gov.nysenate.openleg.model.calendar.*;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CachedCalendarDataServiceTest
+{
+    private static final CalendarId calendarId = new CalendarId(10, 2017);
+
+    private CacheManager cacheManager;
+    private CachedCalendarDataService calendarData;
+    private final StubCalendarDao calendarDao = new StubCalendarDao();
+
+    @Before
+    public void setup() {
+        Configuration config = new Configuration();
+        config.setName("calendar-cache-test-" + System.nanoTime());
+        config.setUpdateCheck(false);
+        cacheManager = CacheManager.newInstance(config);
+
+        // The cache is bounded by entry count so the test does not depend on the heap size calculation
+        calendarData = new CachedCalendarDataService() {
+            @Override
+            public void setupCaches() {
+                Cache cache = new Cache(new CacheConfiguration().name(ContentCache.CALENDAR.name())
+                    .eternal(true)
+                    .maxEntriesLocalHeap(100));
+                cacheManager.addCache(cache);
+                ReflectionTestUtils.setField(this, "calendarCache", cache);
+            }
+        };
+        ReflectionTestUtils.setField(calendarData, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(calendarData, "calendarDao", calendarDao);
+        ReflectionTestUtils.setField(calendarData, "eventBus", new EventBus());
+        calendarData.setupCaches();
+    }
+
+    @After
+    public void tearDown() {
+        cacheManager.shutdown();
+    }
+
+    @Test
+    public void testModifyingCalendarForUpdateDoesNotChangeCache() throws Exception {
+        Calendar calendar = calendarData.getCalendarForUpdate(calendarId);
+        calendar.putSupplemental(createSupplemental(Version.A));
+
+        assertNotSame(calendar, calendarData.getCalendar(calendarId));
+        assertEquals(1, calendarData.getCalendar(calendarId).getSupplementalMap().size());
+        assertEquals(1, calendarDao.getCount);
+    }
+
+    @Test
+    public void testModifyingSavedCalendarDoesNotChangeCache() throws Exception {
+        Calendar calendar = calendarData.getCalendarForUpdate(calendarId);
+        calendar.putSupplemental(createSupplemental(Version.A));
+        calendarData.saveCalendar(calendar, null, false);
+        assertEquals(2, calendarData.getCalendar(calendarId).getSupplementalMap().size());
+
+        calendar.putSupplemental(createSupplemental(Version.B));
+        assertEquals(2, calendarData.getCalendar(calendarId).getSupplementalMap().size());
+        assertEquals(1, calendarDao.getCount);
+    }
+
+    private static CalendarSupplemental createSupplemental(Version version) {
+        return new CalendarSupplemental(calendarId, version, LocalDate.of(2017, 3, 1),
+                                        LocalDateTime.of(2017, 3, 1, 12, 0));
+    }
+
+    /**
+     * Returns a new calendar with a single supplemental whenever it is read.
+     */
+    private static class StubCalendarDao implements CalendarDao
+    {
+        private int getCount = 0;
+
+        @Override
+        public Calendar getCalendar(CalendarId calendarId) {
+            getCount++;
+            Calendar calendar = new Calendar(calendarId);
+            calendar.putSupplemental(createSupplemental(Version.DEFAULT));
+            return calendar;
+        }
+
+        @Override
+        public void updateCalendar(Calendar calendar, SobiFragment sobiFragment) {}
+
+        @Override
+        public CalendarActiveList getActiveList(CalendarActiveListId calendarActiveListId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CalendarSupplemental getCalendarSupplemental(CalendarSupplementalId calendarSupplementalId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Range<Integer> getActiveYearRange() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getCalendarCount() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getCalendarCount(int year) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getActiveListCount(int year) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getCalendarSupplementalCount(int year) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<CalendarId> getCalendarIds(int year, SortOrder calOrder, LimitOffset limitOffset) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<CalendarActiveListId> getActiveListIds(int year, SortOrder sortOrder, LimitOffset limitOffset) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<CalendarSupplementalId> getCalendarSupplementalIds(int year, SortOrder sortOrder,
+                                                                       LimitOffset limitOffset) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package gov.nysenate.openleg.service.entity.committee.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.Committee;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CommitteeSessionHistoryTest
+{
+    private static final LocalDateTime FIRST = LocalDateTime.of(2017, 1, 4, 10, 0);
+    private static final LocalDateTime SECOND = LocalDateTime.of(2017, 3, 1, 10, 0);
+
+    @Test
+    public void testGetVersion() throws Exception {
+        Committee first = createCommittee(FIRST, SECOND);
+        Committee second = createCommittee(SECOND, null);
+        CommitteeSessionHistory history = CommitteeSessionHistory.of(Arrays.asList(second, first));
+
+        assertFalse(history.getVersion(FIRST.minusDays(1)).isPresent());
+        assertSame(first, history.getVersion(FIRST).get());
+        assertSame(first, history.getVersion(SECOND.minusSeconds(1)).get());
+        assertSame(second, history.getVersion(SECOND).get());
+        assertSame(second, history.getVersion(SECOND.plusYears(1)).get());
+        assertEquals(Arrays.asList(second, first), history.getHistory());
+    }
+
+    @Test
+    public void testReformedVersion() throws Exception {
+        CommitteeSessionHistory history =
+            CommitteeSessionHistory.of(Arrays.asList(createCommittee(FIRST, SECOND)));
+        assertTrue(history.getVersion(FIRST.plusDays(1)).isPresent());
+        assertFalse(history.getVersion(SECOND).isPresent());
+        assertTrue(CommitteeSessionHistory.of(null).isEmpty());
+    }
+
+    /** --- Internal --- */
+
+    private Committee createCommittee(LocalDateTime created, LocalDateTime reformed) {
+        Committee committee = new Committee("Finance", Chamber.SENATE);
+        committee.setPublishedDateTime(created);
+        committee.setReformed(reformed);
+        return committee;
+    }
+}
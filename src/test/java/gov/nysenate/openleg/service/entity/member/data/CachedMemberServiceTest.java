@@ -0,0 +1,209 @@
+package gov.nysenate.openleg.service.entity.member.data;
+
+import com.google.common.collect.TreeMultimap;
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.entity.member.data.MemberDao;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.MemberNotFoundEx;
+import gov.nysenate.openleg.model.entity.Person;
+import gov.nysenate.openleg.model.entity.SessionMember;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CachedMemberServiceTest
+{
+    private static final SessionYear session = SessionYear.of(2017);
+
+    private CacheManager cacheManager;
+    private CachedMemberService memberService;
+    private final StubMemberDao memberDao = new StubMemberDao();
+
+    @Before
+    public void setup() {
+        Configuration config = new Configuration();
+        config.setName("member-cache-test-" + System.nanoTime());
+        config.setUpdateCheck(false);
+        cacheManager = CacheManager.newInstance(config);
+
+        // The cache is bounded by entry count so the test does not depend on the heap size calculation
+        memberService = new CachedMemberService() {
+            @Override
+            public void setupCaches() {
+                Cache cache = new Cache(new CacheConfiguration().name(ContentCache.MEMBER.name())
+                    .eternal(true)
+                    .maxEntriesLocalHeap(100));
+                cacheManager.addCache(cache);
+                ReflectionTestUtils.setField(this, "memberCache", cache);
+            }
+        };
+        ReflectionTestUtils.setField(memberService, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(memberService, "memberDao", memberDao);
+        ReflectionTestUtils.setField(memberService, "eventBus", new EventBus());
+        memberService.setupCaches();
+    }
+
+    @After
+    public void tearDown() {
+        cacheManager.shutdown();
+    }
+
+    @Test
+    public void testShortNameLookupIgnoresCaseAndRequestWhitespace() throws Exception {
+        SessionMember member = addMember(1, "SMITH", session, Chamber.SENATE, false);
+        memberService.warmCaches();
+
+        assertSame(member, memberService.getMemberByShortName("SMITH", session, Chamber.SENATE));
+        assertSame(member, memberService.getMemberByShortName("Smith", session, Chamber.SENATE));
+        assertSame(member, memberService.getMemberByShortName("  smith \t", session, Chamber.SENATE));
+        assertEquals(0, memberDao.shortNameQueryCount);
+    }
+
+    @Test
+    public void testShortNameLookupMatchesLeadingCharacters() throws Exception {
+        SessionMember member = addMember(1, "VERYLONGSHORTNAME A", session, Chamber.ASSEMBLY, false);
+        memberService.warmCaches();
+
+        assertSame(member, memberService.getMemberByShortName("VeryLongShortNa", session, Chamber.ASSEMBLY));
+        assertSame(member, memberService.getMemberByShortName("VERYLONGSHORTNAME B", session, Chamber.ASSEMBLY));
+        assertEquals(0, memberDao.shortNameQueryCount);
+    }
+
+    @Test
+    public void testShortNameLookupFallsBackToDao() throws Exception {
+        // Stored short names are not trimmed by the dao, so they are not trimmed in the index either
+        addMember(1, " JONES", session, Chamber.SENATE, false);
+        addMember(2, "SMITH", session, Chamber.SENATE, false);
+        memberService.warmCaches();
+
+        assertNotFound("JONES", session, Chamber.SENATE);
+        assertNotFound("SMITH", session, Chamber.ASSEMBLY);
+        assertNotFound("SMITH", SessionYear.of(2015), Chamber.SENATE);
+        assertEquals(3, memberDao.shortNameQueryCount);
+    }
+
+    @Test
+    public void testPrimaryShortNameTakesPrecedence() throws Exception {
+        addMember(1, "SMITH", session, Chamber.SENATE, true);
+        SessionMember primary = addMember(2, "smith", session, Chamber.SENATE, false);
+        addMember(3, "Smith", session, Chamber.SENATE, true);
+        memberService.warmCaches();
+
+        assertSame(primary, memberService.getMemberByShortName("SMITH", session, Chamber.SENATE));
+    }
+
+    /** --- Internal --- */
+
+    private void assertNotFound(String shortName, SessionYear sessionYear, Chamber chamber) {
+        try {
+            memberService.getMemberByShortName(shortName, sessionYear, chamber);
+            fail("Expected no member for " + shortName);
+        }
+        catch (MemberNotFoundEx expected) {}
+    }
+
+    private SessionMember addMember(int sessionMemberId, String shortName, SessionYear sessionYear, Chamber chamber,
+                                    boolean alternate) {
+        SessionMember member = new SessionMember(sessionMemberId, sessionYear);
+        member.setSessionMemberId(sessionMemberId);
+        member.setLbdcShortName(shortName);
+        member.setChamber(chamber);
+        member.setAlternate(alternate);
+        memberDao.members.add(member);
+        return member;
+    }
+
+    /**
+     * Serves all members for the cache warm up and counts the short name queries that miss the index.
+     */
+    private static class StubMemberDao implements MemberDao
+    {
+        private final List<SessionMember> members = new ArrayList<>();
+        private int shortNameQueryCount = 0;
+
+        @Override
+        public List<SessionMember> getAllMembers(SortOrder sortOrder, LimitOffset limOff) {
+            return members;
+        }
+
+        @Override
+        public SessionMember getMemberByShortName(String lbdcShortName, SessionYear sessionYear, Chamber chamber) {
+            shortNameQueryCount++;
+            throw new EmptyResultDataAccessException(1);
+        }
+
+        @Override
+        public SessionMember getMemberById(int id, SessionYear session) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SessionMember getMemberBySessionId(int sessionMemberId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public TreeMultimap<SessionYear, SessionMember> getMemberById(int id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<SessionYear, SessionMember> getMembersByShortName(String lbdcShortName, Chamber chamber) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<SessionMember> getUnverifiedSessionMembers() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updatePerson(Person person) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateMember(SessionMember member) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateSessionMember(SessionMember member) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void linkMember(int memberId, int personId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void linkSessionMember(int sessionMemberId, int memberId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void clearOrphans() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
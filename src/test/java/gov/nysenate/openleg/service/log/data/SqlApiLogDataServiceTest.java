@@ -0,0 +1,197 @@
+package gov.nysenate.openleg.service.log.data;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Range;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.log.data.ApiLogDao;
+import gov.nysenate.openleg.model.auth.ApiResponse;
+import gov.nysenate.openleg.model.auth.ApiUser;
+import gov.nysenate.openleg.service.auth.ApiUserService;
+import gov.nysenate.openleg.service.auth.OpenLegRole;
+import gov.nysenate.openleg.service.log.event.ApiLogBatchEvent;
+import gov.nysenate.openleg.service.log.event.ApiLogEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SqlApiLogDataServiceTest
+{
+    private StubApiLogDao apiLogDao;
+    private SqlApiLogDataService apiLogDataService;
+    private List<ApiLogBatchEvent> batchEvents;
+
+    @Before
+    public void setUp() {
+        EventBus eventBus = new EventBus();
+        batchEvents = new ArrayList<>();
+        eventBus.register(new Object() {
+            @Subscribe
+            public void handleBatch(ApiLogBatchEvent event) {
+                batchEvents.add(event);
+            }
+        });
+        apiLogDao = new StubApiLogDao();
+        apiLogDataService = new SqlApiLogDataService();
+        ReflectionTestUtils.setField(apiLogDataService, "eventBus", eventBus);
+        ReflectionTestUtils.setField(apiLogDataService, "apiLogDao", apiLogDao);
+        ReflectionTestUtils.setField(apiLogDataService, "apiUserService", new StubApiUserService());
+        ReflectionTestUtils.setField(apiLogDataService, "queueSize", 5);
+        ReflectionTestUtils.setField(apiLogDataService, "batchSize", 2);
+    }
+
+    @Test
+    public void dropsAndCountsEventsWhenFull() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(apiLogDataService.queueApiLogEvent(newEvent()));
+        }
+        assertFalse(apiLogDataService.queueApiLogEvent(newEvent()));
+        assertFalse(apiLogDataService.queueApiLogEvent(newEvent()));
+        assertEquals(5, apiLogDataService.getQueuedCount());
+        assertEquals(2, apiLogDataService.getDroppedCount());
+
+        // Space frees up once the queue is flushed
+        assertEquals(5, apiLogDataService.flushApiLogEvents());
+        assertTrue(apiLogDataService.queueApiLogEvent(newEvent()));
+        assertEquals(1, apiLogDataService.getQueuedCount());
+        assertEquals(2, apiLogDataService.getDroppedCount());
+    }
+
+    @Test(timeout = 10000)
+    public void doesNotBlockWhileFullAndFlushing() throws Exception {
+        apiLogDao.saveLatch = new CountDownLatch(1);
+        for (int i = 0; i < 5; i++) {
+            apiLogDataService.queueApiLogEvent(newEvent());
+        }
+        Thread flusher = new Thread(apiLogDataService::flushApiLogEvents);
+        flusher.start();
+        assertTrue(apiLogDao.saveStarted.await(5, TimeUnit.SECONDS));
+
+        // The flush holds its first batch in the dao, the rest of the queue is still full
+        for (int i = 0; i < 2; i++) {
+            assertTrue(apiLogDataService.queueApiLogEvent(newEvent()));
+        }
+        long start = System.nanoTime();
+        assertFalse(apiLogDataService.queueApiLogEvent(newEvent()));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, apiLogDataService.getDroppedCount());
+
+        apiLogDao.saveLatch.countDown();
+        flusher.join();
+        assertEquals(7, apiLogDao.saved.size());
+        assertEquals(0, apiLogDataService.getQueuedCount());
+    }
+
+    @Test
+    public void drainsQueueOnShutdown() {
+        for (int i = 0; i < 5; i++) {
+            apiLogDataService.queueApiLogEvent(newEvent());
+        }
+        apiLogDataService.destroy();
+        assertEquals(5, apiLogDao.saved.size());
+        assertEquals(0, apiLogDataService.getQueuedCount());
+        // Batch size is 2, so the events are saved and announced in three batches
+        assertEquals(3, apiLogDao.batchCount);
+        assertEquals(3, batchEvents.size());
+    }
+
+    /** --- Internal --- */
+
+    private static ApiLogEvent newEvent() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/3/bills");
+        request.setParameter("key", "test");
+        LocalDateTime now = LocalDateTime.now();
+        return new ApiLogEvent(request, new MockHttpServletResponse(), now, now);
+    }
+
+    private static class StubApiLogDao implements ApiLogDao
+    {
+        private final List<ApiResponse> saved = new ArrayList<>();
+        private final CountDownLatch saveStarted = new CountDownLatch(1);
+        private CountDownLatch saveLatch;
+        private int batchCount;
+
+        @Override
+        public List<ApiResponse> getResponses(LimitOffset limOff, SortOrder order) {
+            return saved;
+        }
+
+        @Override
+        public List<ApiResponse> getResponses(Range<LocalDateTime> dateTimeRange, LimitOffset limOff, SortOrder order) {
+            return saved;
+        }
+
+        @Override
+        public void saveApiResponse(ApiResponse res) {
+            saved.add(res);
+        }
+
+        @Override
+        public void saveApiResponses(List<ApiResponse> responses) {
+            saveStarted.countDown();
+            if (saveLatch != null) {
+                try {
+                    saveLatch.await();
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            saved.addAll(responses);
+            batchCount++;
+        }
+    }
+
+    private static class StubApiUserService implements ApiUserService
+    {
+        @Override
+        public ApiUser registerNewUser(String email, String name, String orgName) {
+            return null;
+        }
+
+        @Override
+        public ApiUser getUser(String email) {
+            return null;
+        }
+
+        @Override
+        public Optional<ApiUser> getUserByKey(String apiKey) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void activateUser(String regToken) {}
+
+        @Override
+        public boolean validateKey(String key) {
+            return false;
+        }
+
+        @Override
+        public ImmutableSet<OpenLegRole> getRoles(String key) {
+            return ImmutableSet.of();
+        }
+
+        @Override
+        public void grantRole(String apiKey, OpenLegRole role) {}
+
+        @Override
+        public void revokeRole(String apiKey, OpenLegRole role) {}
+    }
+}
@@ -0,0 +1,117 @@
+package gov.nysenate.openleg.service.pdf;
+
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.model.cache.CachedPdf;
+import gov.nysenate.openleg.model.cache.PdfCacheKey;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CachedPdfServiceTest
+{
+    /** Larger than the in-memory limit so that the PDF is served from disk. */
+    private static final byte[] CONTENT = new byte[2 * 1024 * 1024];
+
+    static {
+        new Random(42).nextBytes(CONTENT);
+    }
+
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private CacheManager cacheManager;
+    private CachedPdfService pdfService;
+
+    private final PdfCacheKey key = new PdfCacheKey("bills/2017/S100", "", LocalDateTime.of(2017, 1, 1, 12, 0));
+    private final AtomicInteger renderCount = new AtomicInteger();
+    private final PdfRenderer renderer = outputStream -> {
+        renderCount.incrementAndGet();
+        outputStream.write(CONTENT);
+    };
+
+    @Before
+    public void setup() throws Exception {
+        Configuration config = new Configuration();
+        config.setName("pdf-test-" + System.nanoTime());
+        config.setMaxBytesLocalHeap("100M");
+        config.setUpdateCheck(false);
+        cacheManager = CacheManager.newInstance(config);
+        Environment env = new Environment();
+        env.setBaseDir(tempFolder.getRoot());
+
+        pdfService = new CachedPdfService();
+        ReflectionTestUtils.setField(pdfService, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(pdfService, "eventBus", new EventBus());
+        ReflectionTestUtils.setField(pdfService, "env", env);
+        ReflectionTestUtils.setField(pdfService, "pdfCacheSizeMb", 10L);
+        ReflectionTestUtils.setField(pdfService, "pdfDiskCacheSizeMb", 100L);
+        pdfService.init();
+    }
+
+    @After
+    public void tearDown() {
+        cacheManager.shutdown();
+    }
+
+    @Test
+    public void testEvictBetweenGetAndWrite() throws Exception {
+        CachedPdf pdf = pdfService.getPdf(key, renderer);
+        assertFalse(pdf.isInMemory());
+
+        pdfService.evictContent(key.getContentPath());
+        // The pinned file is only deleted once it is released
+        assertTrue(Files.exists(pdf.getFile()));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        pdfService.writePdf(pdf, response);
+        pdfService.release(pdf);
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+        assertFalse(Files.exists(pdf.getFile()));
+
+        // The evicted pdf is rendered again on the next request
+        pdfService.release(pdfService.getPdf(key, renderer));
+        assertEquals(2, renderCount.get());
+    }
+
+    @Test
+    public void testReCachedFileIsKeptOnRelease() throws Exception {
+        CachedPdf pdf = pdfService.getPdf(key, renderer);
+        pdfService.evictContent(key.getContentPath());
+        // The file is rendered again into the same path while the evicted copy is still pinned
+        CachedPdf renderedPdf = pdfService.getPdf(key, renderer);
+        pdfService.release(pdf);
+        assertTrue(Files.exists(renderedPdf.getFile()));
+        pdfService.release(renderedPdf);
+        assertTrue(Files.exists(renderedPdf.getFile()));
+    }
+
+    @Test
+    public void testMissingFileIsRenderedAgain() throws Exception {
+        CachedPdf pdf = pdfService.getPdf(key, renderer);
+        pdfService.release(pdf);
+        Files.delete(pdf.getFile());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        pdfService.writePdf(key, renderer, new MockHttpServletRequest(), response);
+        assertEquals(200, response.getStatus());
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+        assertEquals(2, renderCount.get());
+    }
+}
@@ -0,0 +1,75 @@
+package gov.nysenate.openleg.service.process;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.base.ElasticIndexQueue;
+import gov.nysenate.openleg.model.process.DataProcessRun;
+import gov.nysenate.openleg.model.process.DataProcessStageMetric;
+import gov.nysenate.openleg.util.TimedEventBus;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class DataProcessMetricsServiceTest
+{
+    private final TimedEventBus eventBus = new TimedEventBus((ex, context) -> {});
+    private final DataProcessMetricsService metricsService = new DataProcessMetricsService();
+    private final DataProcessRun run = new DataProcessRun(1, LocalDateTime.now(), "test");
+
+    @Before
+    public void setup() {
+        ReflectionTestUtils.setField(metricsService, "eventBus", eventBus);
+        ReflectionTestUtils.setField(metricsService, "indexQueue", new ElasticIndexQueue());
+        ReflectionTestUtils.setField(metricsService, "enabled", true);
+        metricsService.init();
+    }
+
+    @Test
+    public void testOnlyIngestThreadEventsAreRecorded() throws Exception {
+        metricsService.startRun(run);
+        eventBus.post("ingest");
+        postFromThread(() -> eventBus.post("web"));
+        postFromThread(() -> metricsService.runAsIngest(() -> eventBus.post("worker")));
+        // The starting thread is still an ingest thread after running an ingest action itself
+        metricsService.runAsIngest(() -> {});
+        eventBus.post("ingest");
+
+        assertEquals(3, getStage("event.String").getCount());
+        assertEquals(1, getStages().size());
+    }
+
+    @Test
+    public void testNothingIsRecordedOutsideOfARun() throws Exception {
+        eventBus.post("idle");
+        metricsService.record("flush.bills", 100, 1);
+        assertFalse(metricsService.getCurrentRun().isPresent());
+        assertTrue(getStages().isEmpty());
+    }
+
+    /** --- Internal --- */
+
+    private static void postFromThread(Runnable action) throws InterruptedException {
+        Thread thread = new Thread(action);
+        thread.start();
+        thread.join();
+    }
+
+    private List<DataProcessStageMetric> getStages() {
+        return run.getMetrics().getStageMetrics();
+    }
+
+    private DataProcessStageMetric getStage(String stage) {
+        List<DataProcessStageMetric> matches = getStages().stream()
+            .filter(metric -> metric.getStage().equals(stage))
+            .collect(Collectors.toList());
+        assertEquals(1, matches.size());
+        return matches.get(0);
+    }
+}
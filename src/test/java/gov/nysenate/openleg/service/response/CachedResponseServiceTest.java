@@ -0,0 +1,149 @@
+package gov.nysenate.openleg.service.response;
+
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.config.ApplicationConfig;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import gov.nysenate.openleg.model.cache.ResponseCacheKey;
+import gov.nysenate.openleg.model.calendar.Calendar;
+import gov.nysenate.openleg.model.calendar.CalendarId;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.service.calendar.event.CalendarUpdateEvent;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.config.CacheConfiguration;
+import net.sf.ehcache.config.Configuration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CachedResponseServiceTest
+{
+    private static final LocalDateTime modified = LocalDateTime.of(2017, 1, 1, 12, 0);
+
+    private CacheManager cacheManager;
+    private EventBus eventBus;
+    private CachedResponseService responseService;
+
+    private final AtomicInteger buildCount = new AtomicInteger();
+
+    private final BaseBillId billA = new BaseBillId("S100", 2017);
+    private final BaseBillId billB = new BaseBillId("S200", 2017);
+    private final CalendarId calendarId = new CalendarId(10, 2017);
+
+    @Before
+    public void setup() throws Exception {
+        Configuration config = new Configuration();
+        config.setName("response-test-" + System.nanoTime());
+        config.setUpdateCheck(false);
+        cacheManager = CacheManager.newInstance(config);
+        eventBus = new EventBus();
+
+        // The cache is bounded by entry count so the test does not depend on the heap size calculation
+        responseService = new CachedResponseService() {
+            @Override
+            public void setupCaches() {
+                Cache cache = new Cache(new CacheConfiguration().name(ContentCache.RESPONSE.name())
+                    .eternal(true)
+                    .maxEntriesLocalHeap(100));
+                cacheManager.addCache(cache);
+                ReflectionTestUtils.setField(this, "responseCache", cache);
+            }
+        };
+        ReflectionTestUtils.setField(responseService, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(responseService, "eventBus", eventBus);
+        ReflectionTestUtils.setField(responseService, "objectMapper", new ApplicationConfig().objectMapper());
+        ReflectionTestUtils.setField(responseService, "responseCacheSizeMb", 10L);
+        ReflectionTestUtils.setField(responseService, "gzipEnabled", true);
+        responseService.init();
+    }
+
+    @After
+    public void tearDown() {
+        cacheManager.shutdown();
+    }
+
+    @Test
+    public void testResponseIsBuiltOnce() throws Exception {
+        ResponseCacheKey key = ResponseCacheKey.of(billA, "bill?view=DEFAULT", modified);
+        assertEquals(responseService.getResponse(key, this::build, false).getETag(),
+                     responseService.getResponse(key, this::build, false).getETag());
+        assertEquals(1, buildCount.get());
+    }
+
+    @Test
+    public void testBillUpdateEvictsOnlyThatBill() throws Exception {
+        cache(ResponseCacheKey.of(billA, "bill?view=DEFAULT", modified));
+        cache(ResponseCacheKey.of(billA, "bill?view=DEFAULT", modified).compact());
+        cache(ResponseCacheKey.of(billB, "bill?view=DEFAULT", modified));
+        cache(ResponseCacheKey.of(calendarId, "calendar?full=false", modified));
+        assertEquals(2, responseService.getCachedCount(ResponseCacheKey.getContentPath(billA)));
+
+        eventBus.post(new BillUpdateEvent(new Bill(billA), modified));
+        assertEquals(0, responseService.getCachedCount(ResponseCacheKey.getContentPath(billA)));
+        assertEquals(1, responseService.getCachedCount(ResponseCacheKey.getContentPath(billB)));
+        assertEquals(1, responseService.getCachedCount(ResponseCacheKey.getContentPath(calendarId)));
+        assertEquals(2, getCacheSize());
+
+        // The evicted response is rebuilt on the next request
+        int builds = buildCount.get();
+        cache(ResponseCacheKey.of(billA, "bill?view=DEFAULT", modified));
+        assertEquals(builds + 1, buildCount.get());
+    }
+
+    @Test
+    public void testBulkUpdateEvictions() throws Exception {
+        cache(ResponseCacheKey.of(billA, "bill?view=DEFAULT", modified));
+        cache(ResponseCacheKey.of(billB, "bill?view=INFO", modified));
+        cache(ResponseCacheKey.of(calendarId, "calendar?full=false", modified));
+
+        eventBus.post(new BulkBillUpdateEvent(Arrays.asList(new Bill(billA), new Bill(billB)), modified));
+        assertEquals(1, getCacheSize());
+
+        eventBus.post(new CalendarUpdateEvent(new Calendar(calendarId), modified));
+        assertEquals(0, getCacheSize());
+        assertEquals(0, responseService.getCachedCount(ResponseCacheKey.getContentPath(calendarId)));
+    }
+
+    @Test
+    public void testIndexFollowsCacheRemovals() throws Exception {
+        ResponseCacheKey key = ResponseCacheKey.of(billA, "bill?view=DEFAULT", modified);
+        cache(key);
+        cache(ResponseCacheKey.of(billB, "bill?view=DEFAULT", modified));
+
+        cacheManager.getCache(ContentCache.RESPONSE.name()).remove(key.getCacheKey());
+        assertEquals(0, responseService.getCachedCount(key.getContentPath()));
+
+        responseService.evictCaches();
+        assertEquals(0, responseService.getCachedCount(ResponseCacheKey.getContentPath(billB)));
+        assertEquals(0, getCacheSize());
+    }
+
+    /** --- Internal --- */
+
+    private Object build() {
+        buildCount.incrementAndGet();
+        return Collections.singletonMap("build", buildCount.get());
+    }
+
+    private void cache(ResponseCacheKey key) throws Exception {
+        responseService.getResponse(key, this::build, false);
+    }
+
+    private int getCacheSize() {
+        return cacheManager.getCache(ContentCache.RESPONSE.name()).getSize();
+    }
+}
@@ -0,0 +1,102 @@
+package gov.nysenate.openleg.service.spotcheck.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.spotcheck.SpotCheckMismatchDiffDao;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckMismatch;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckMismatchType;
+import gov.nysenate.openleg.util.MismatchDiffUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class MismatchDiffServiceTest
+{
+    private static final String REFERENCE = "AN ACT to amend the tax law, in relation to the sales tax";
+    private static final String OBSERVED = "AN ACT to amend the education law, in relation to the sales tax";
+
+    private StubMismatchDiffDao mismatchDiffDao;
+    private MismatchDiffService mismatchDiffService;
+
+    @Before
+    public void setUp() {
+        mismatchDiffDao = new StubMismatchDiffDao();
+        mismatchDiffService = new MismatchDiffService();
+        ReflectionTestUtils.setField(mismatchDiffService, "mismatchDiffDao", mismatchDiffDao);
+        ReflectionTestUtils.setField(mismatchDiffService, "enabled", true);
+        ReflectionTestUtils.setField(mismatchDiffService, "batchSize", 2);
+    }
+
+    @Test
+    public void testGetDiffDecodesStoredDiff() {
+        SpotCheckMismatch mismatch = mismatchDiffDao.add(1);
+        mismatch.setEncodedDiff(MismatchDiffUtils.encodeDiff(REFERENCE, OBSERVED));
+        assertEquals(MismatchDiffUtils.getDiff(REFERENCE, OBSERVED, null, true), mismatchDiffService.getDiff(1, true));
+    }
+
+    @Test(expected = MismatchNotFoundEx.class)
+    public void testGetDiffOfMissingMismatch() {
+        mismatchDiffService.getDiff(1, true);
+    }
+
+    @Test
+    public void testBackfillStoresDiffsInBatches() {
+        mismatchDiffDao.add(1);
+        mismatchDiffDao.add(2);
+        mismatchDiffDao.add(3);
+        assertEquals(2, mismatchDiffService.backfillDiffs());
+        assertEquals(1, mismatchDiffService.backfillDiffs());
+        assertEquals(0, mismatchDiffService.backfillDiffs());
+        for (int mismatchId = 1; mismatchId <= 3; mismatchId++) {
+            assertEquals(MismatchDiffUtils.encodeDiff(REFERENCE, OBSERVED),
+                         mismatchDiffDao.getMismatch(mismatchId).getEncodedDiff());
+        }
+    }
+
+    private static class StubMismatchDiffDao implements SpotCheckMismatchDiffDao
+    {
+        private final Map<Integer, SpotCheckMismatch> mismatches = new TreeMap<>();
+
+        private SpotCheckMismatch add(int mismatchId) {
+            SpotCheckMismatch mismatch =
+                new SpotCheckMismatch(SpotCheckMismatchType.BILL_TITLE, OBSERVED, REFERENCE);
+            mismatch.setMismatchId(mismatchId);
+            mismatches.put(mismatchId, mismatch);
+            return mismatch;
+        }
+
+        @Override
+        public SpotCheckMismatch getMismatch(int mismatchId) {
+            if (!mismatches.containsKey(mismatchId)) {
+                throw new MismatchNotFoundEx(mismatchId);
+            }
+            return mismatches.get(mismatchId);
+        }
+
+        @Override
+        public List<SpotCheckMismatch> getMismatchesWithoutDiff(int limit) {
+            return mismatches.values().stream()
+                .filter(mismatch -> mismatch.getEncodedDiff() == null)
+                .limit(limit)
+                .map(mismatch -> {
+                    SpotCheckMismatch copy = new SpotCheckMismatch(mismatch.getMismatchType(),
+                        mismatch.getObservedData(), mismatch.getReferenceData());
+                    copy.setMismatchId(mismatch.getMismatchId());
+                    return copy;
+                })
+                .collect(Collectors.toList());
+        }
+
+        @Override
+        public void updateDiffs(List<SpotCheckMismatch> updated) {
+            updated.forEach(mismatch ->
+                mismatches.get(mismatch.getMismatchId()).setEncodedDiff(mismatch.getEncodedDiff()));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package gov.nysenate.openleg.service.spotcheck.senatesite.base;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckRefType;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpFragment;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpSessionId;
+import gov.nysenate.openleg.processor.base.ParseError;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SenateSiteDumpFragmentReaderTest
+{
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testReadArrayItems() throws Exception {
+        List<JsonNode> items = readItems(createFragment(
+                "{\"from\": \"\", \"meta\": {\"bills\": [1]}, \"bills\": [{\"a\": 1}, {\"a\": 2}], \"session\": 2017}"));
+        assertEquals(2, items.size());
+        assertEquals(1, items.get(0).path("a").asInt());
+        assertEquals(2, items.get(1).path("a").asInt());
+    }
+
+    @Test
+    public void testReadObjectItems() throws Exception {
+        List<JsonNode> items = readItems(createFragment("{\"bills\": {\"S1-2017\": {\"a\": 1}, \"S2-2017\": {}}}"));
+        assertEquals(2, items.size());
+        assertEquals(1, items.get(0).path("a").asInt());
+    }
+
+    @Test(expected = ParseError.class)
+    public void testMissingItems() throws Exception {
+        readItems(createFragment("{\"calendars\": []}"));
+    }
+
+    @Test
+    public void testGroupConsecutiveItems() throws Exception {
+        SenateSiteDumpFragment fragment = createFragment("{\"bills\": [{\"a\": 1}, {\"a\": 1}, {\"a\": 2}, {\"a\": 1}]}");
+        List<Integer> groupSizes = new ArrayList<>();
+        try (CloseableIterator<List<JsonNode>> groups = new SenateSiteDumpFragmentReader(objectMapper, fragment, "bills")
+                .groupConsecutive(item -> item.path("a").asInt())) {
+            groups.forEachRemaining(group -> groupSizes.add(group.size()));
+        }
+        assertEquals(Arrays.asList(2, 1, 1), groupSizes);
+    }
+
+    @Test
+    public void testCloseBeforeExhausted() throws Exception {
+        SenateSiteDumpFragment fragment = createFragment("{\"bills\": [{\"a\": 1}, {\"a\": 2}, {\"a\": 3}]}");
+        SenateSiteDumpFragmentReader reader = new SenateSiteDumpFragmentReader(objectMapper, fragment, "bills");
+        try (CloseableIterator<List<JsonNode>> groups = reader.groupConsecutive(item -> item.path("a").asInt())) {
+            assertEquals(1, groups.next().get(0).path("a").asInt());
+        }
+        assertFalse(reader.hasNext());
+    }
+
+    /** --- Internal --- */
+
+    private List<JsonNode> readItems(SenateSiteDumpFragment fragment) throws Exception {
+        List<JsonNode> items = new ArrayList<>();
+        try (SenateSiteDumpFragmentReader reader = new SenateSiteDumpFragmentReader(objectMapper, fragment, "bills")) {
+            reader.forEachRemaining(items::add);
+        }
+        return items;
+    }
+
+    private SenateSiteDumpFragment createFragment(String json) throws Exception {
+        File file = tempFolder.newFile("bill_dump-1.json");
+        FileUtils.write(file, json, StandardCharsets.UTF_8);
+        SenateSiteDumpFragment fragment = new SenateSiteDumpFragment(new SenateSiteDumpSessionId(
+                SpotCheckRefType.SENATE_SITE_BILLS, 1, 2017, LocalDateTime.of(2017, 3, 1, 0, 0)), 1);
+        fragment.setFragmentFile(file);
+        return fragment;
+    }
+}
@@ -0,0 +1,139 @@
+package gov.nysenate.openleg.service.spotcheck.senatesite.base;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckObservation;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckRefType;
+import gov.nysenate.openleg.model.spotcheck.SpotCheckReferenceId;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDump;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpFragment;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpSessionId;
+import gov.nysenate.openleg.processor.base.ParseError;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SenateSiteSpotCheckEngineTest
+{
+    private static final LocalDateTime dumpTime = LocalDateTime.of(2017, 3, 1, 0, 0);
+    private static final SenateSiteDumpSessionId dumpId =
+            new SenateSiteDumpSessionId(SpotCheckRefType.SENATE_SITE_BILLS, 2, 2017, dumpTime);
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SenateSiteSpotCheckEngine engine = new SenateSiteSpotCheckEngine();
+
+    @Before
+    public void setup() {
+        Environment env = new Environment();
+        env.setSenateSiteSpotcheckThreads(2);
+        ReflectionTestUtils.setField(engine, "env", env);
+        engine.init();
+    }
+
+    @After
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    public void testLoadContentSkipsMissingContent() {
+        List<Integer> ids = IntStream.range(0, 250).boxed().collect(Collectors.toList());
+        AtomicInteger batches = new AtomicInteger();
+        // Content is missing for every multiple of 7
+        Map<Integer, String> content = engine.loadContent(ids, batch -> {
+            batches.incrementAndGet();
+            return batch.stream().filter(id -> id % 7 != 0).map(String::valueOf).collect(Collectors.toList());
+        }, Integer::valueOf);
+
+        assertEquals(3, batches.get());
+        List<Integer> expected = ids.stream().filter(id -> id % 7 != 0).collect(Collectors.toList());
+        assertEquals(expected, new ArrayList<>(content.keySet()));
+        assertEquals("8", content.get(8));
+    }
+
+    @Test
+    public void testCheckDumpChecksEveryItemInFragmentOrder() throws Exception {
+        SenateSiteDump dump = new SenateSiteDump(dumpId);
+        // Added out of order, the fragments are checked by sequence number
+        dump.addDumpFragment(createFragment(2, "{\"bills\": [{\"a\": 3}]}"));
+        dump.addDumpFragment(createFragment(1, "{\"bills\": " + getItems(1, 250) + "}"));
+
+        List<SpotCheckObservation<Integer>> observations =
+                engine.checkDump(dump, this::readItems, item -> Collections.singletonList(observe(item)));
+        List<Integer> checked = observations.stream().map(SpotCheckObservation::getKey).collect(Collectors.toList());
+        List<Integer> expected = IntStream.range(0, 250).mapToObj(i -> 1).collect(Collectors.toList());
+        expected.add(3);
+        assertEquals(expected, checked);
+    }
+
+    @Test
+    public void testCheckDumpClosesFragmentsOnFailure() throws Exception {
+        SenateSiteDump dump = new SenateSiteDump(dumpId);
+        dump.addDumpFragment(createFragment(1, "{\"bills\": " + getItems(1, 250) + "}"));
+        List<SenateSiteDumpFragmentReader> readers = new ArrayList<>();
+        try {
+            engine.checkDump(dump, fragment -> {
+                SenateSiteDumpFragmentReader reader = (SenateSiteDumpFragmentReader) readItems(fragment);
+                readers.add(reader);
+                return reader;
+            }, item -> {
+                throw new ParseError("bad item");
+            });
+            fail("Expected the check to fail");
+        }
+        catch (ParseError expected) {}
+        assertEquals(1, readers.size());
+        assertFalse(readers.get(0).hasNext());
+    }
+
+    /** --- Internal --- */
+
+    private CloseableIterator<JsonNode> readItems(SenateSiteDumpFragment fragment) {
+        try {
+            return new SenateSiteDumpFragmentReader(objectMapper, fragment, "bills");
+        }
+        catch (IOException ex) {
+            throw new ParseError("could not open fragment", ex);
+        }
+    }
+
+    private static SpotCheckObservation<Integer> observe(JsonNode item) {
+        return new SpotCheckObservation<>(new SpotCheckReferenceId(SpotCheckRefType.SENATE_SITE_BILLS, dumpTime),
+                item.path("a").asInt());
+    }
+
+    private static String getItems(int value, int count) {
+        return IntStream.range(0, count).mapToObj(i -> "{\"a\": " + value + "}")
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    private SenateSiteDumpFragment createFragment(int sequenceNo, String json) throws IOException {
+        File file = tempFolder.newFile("bill_dump-" + sequenceNo + ".json");
+        FileUtils.write(file, json, StandardCharsets.UTF_8);
+        SenateSiteDumpFragment fragment = new SenateSiteDumpFragment(dumpId, sequenceNo);
+        fragment.setFragmentFile(file);
+        return fragment;
+    }
+}
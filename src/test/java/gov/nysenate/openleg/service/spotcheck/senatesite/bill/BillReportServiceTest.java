@@ -0,0 +1,319 @@
+package gov.nysenate.openleg.service.spotcheck.senatesite.bill;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.client.view.bill.BillView;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.PaginatedList;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.bill.data.BillUpdatesDao;
+import gov.nysenate.openleg.dao.bill.reference.senatesite.SenateSiteDao;
+import gov.nysenate.openleg.model.base.PublishStatus;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.sobi.SobiFragment;
+import gov.nysenate.openleg.model.spotcheck.*;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDump;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpFragment;
+import gov.nysenate.openleg.model.spotcheck.senatesite.SenateSiteDumpSessionId;
+import gov.nysenate.openleg.model.spotcheck.senatesite.bill.SenateSiteBill;
+import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+import gov.nysenate.openleg.model.updates.UpdateDigest;
+import gov.nysenate.openleg.model.updates.UpdateToken;
+import gov.nysenate.openleg.model.updates.UpdateType;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.spotcheck.senatesite.base.JsonParser;
+import gov.nysenate.openleg.service.spotcheck.senatesite.base.SenateSiteSpotCheckEngine;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class BillReportServiceTest
+{
+    private static final SessionYear session = SessionYear.of(2017);
+    private static final LocalDateTime dumpTime = LocalDateTime.of(2017, 3, 1, 0, 0);
+    private static final SenateSiteDumpSessionId dumpId =
+            new SenateSiteDumpSessionId(SpotCheckRefType.SENATE_SITE_BILLS, 1, 2017, dumpTime);
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final BillReportService reportService = new BillReportService();
+    private final SenateSiteSpotCheckEngine checkEngine = new SenateSiteSpotCheckEngine();
+    private final StubSenateSiteDao senateSiteDao = new StubSenateSiteDao();
+    private final StubBillDataService billDataService = new StubBillDataService();
+    private final StubBillUpdatesDao billUpdatesDao = new StubBillUpdatesDao();
+    private final StubBillCheckService billCheckService = new StubBillCheckService();
+
+    @Before
+    public void setup() {
+        Environment env = new Environment();
+        env.setSenateSiteSpotcheckThreads(2);
+        ReflectionTestUtils.setField(checkEngine, "env", env);
+        ReflectionTestUtils.invokeMethod(checkEngine, "init");
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        BillJsonParser billJsonParser = new BillJsonParser();
+        ReflectionTestUtils.setField(billJsonParser, "objectMapper", objectMapper);
+        Field baseObjectMapper = ReflectionUtils.findField(JsonParser.class, "objectMapper");
+        ReflectionUtils.makeAccessible(baseObjectMapper);
+        ReflectionUtils.setField(baseObjectMapper, billJsonParser, objectMapper);
+
+        ReflectionTestUtils.setField(reportService, "senateSiteDao", senateSiteDao);
+        ReflectionTestUtils.setField(reportService, "billJsonParser", billJsonParser);
+        ReflectionTestUtils.setField(reportService, "billDataService", billDataService);
+        ReflectionTestUtils.setField(reportService, "billUpdatesDao", billUpdatesDao);
+        ReflectionTestUtils.setField(reportService, "billCheckService", billCheckService);
+        ReflectionTestUtils.setField(reportService, "checkEngine", checkEngine);
+    }
+
+    @After
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(checkEngine, "shutdown");
+    }
+
+    @Test
+    public void testReportCoversMissingAndPostDumpBills() throws Exception {
+        // S1 and S2 are dumped and in openleg, S3 is only in openleg, S4 was updated after the dump,
+        // S5 has an id in openleg but could not be loaded and S6 is only in the dump
+        senateSiteDao.dump = createDump(dumpItem("S1", "S1"), dumpItem("S1", "S1A"), dumpItem("S2", "S2"),
+                dumpItem("S4", "S4"), dumpItem("S6", "S6"));
+        billDataService.billIds = billIds("S1", "S2", "S3", "S4", "S5");
+        billDataService.bills = billIds("S1", "S2", "S3", "S4").stream()
+                .map(BillReportServiceTest::createBill)
+                .collect(Collectors.toList());
+        billUpdatesDao.postDumpUpdates = billIds("S4");
+
+        SpotCheckReport<BillId> report = reportService.generateReport(null, null);
+
+        Map<BillId, Boolean> expectedChecks = new HashMap<>();
+        expectedChecks.put(new BillId("S1", session), true);
+        expectedChecks.put(new BillId("S1A", session), true);
+        expectedChecks.put(new BillId("S2", session), true);
+        expectedChecks.put(new BillId("S6", session), false);
+        assertEquals(expectedChecks, billCheckService.checked);
+
+        assertEquals(Collections.singleton(new BillId("S3", session)),
+                getMismatchKeys(report, SpotCheckMismatchType.REFERENCE_DATA_MISSING));
+        assertEquals(Collections.singleton(new BillId("S5", session)),
+                getMismatchKeys(report, SpotCheckMismatchType.OBSERVE_DATA_MISSING));
+        assertFalse(report.getObservations().containsKey(new BillId("S4", session)));
+        assertTrue(report.getNotes().endsWith("Ignored Bills: S4-2017"));
+        assertTrue(senateSiteDao.processed);
+    }
+
+    @Test
+    public void testPostDumpBillsAreNotReportedMissing() throws Exception {
+        senateSiteDao.dump = createDump(dumpItem("S1", "S1"));
+        billDataService.billIds = billIds("S1", "S2");
+        billDataService.bills = billIds("S1", "S2").stream()
+                .map(BillReportServiceTest::createBill)
+                .collect(Collectors.toList());
+        billUpdatesDao.postDumpUpdates = billIds("S2");
+
+        SpotCheckReport<BillId> report = reportService.generateReport(null, null);
+
+        assertEquals(Collections.singleton(new BillId("S1", session)), billCheckService.checked.keySet());
+        assertEquals(Collections.singleton(new BillId("S1", session)), report.getObservations().keySet());
+    }
+
+    /** --- Internal --- */
+
+    private static Set<BillId> getMismatchKeys(SpotCheckReport<BillId> report, SpotCheckMismatchType type) {
+        return report.getObservations().values().stream()
+                .filter(obs -> obs.getMismatches().containsKey(type))
+                .map(SpotCheckObservation::getKey)
+                .map(billId -> new BillId(billId.getPrintNo(), billId.getSession()))
+                .collect(Collectors.toSet());
+    }
+
+    private static List<BaseBillId> billIds(String... printNos) {
+        return Arrays.stream(printNos)
+                .map(printNo -> new BaseBillId(printNo, session))
+                .collect(Collectors.toList());
+    }
+
+    private static Bill createBill(BaseBillId billId) {
+        Bill bill = new Bill(billId);
+        bill.addAmendment(new BillAmendment(billId, Version.DEFAULT));
+        bill.updatePublishStatus(Version.DEFAULT, new PublishStatus(true, dumpTime.minusDays(1)));
+        return bill;
+    }
+
+    private static String dumpItem(String basePrintNo, String printNo) {
+        return String.format("{\"field_ol_base_print_no\": {\"und\": [{\"value\": \"%s\"}]}, " +
+                        "\"field_ol_print_no\": {\"und\": [{\"value\": \"%s\"}]}, " +
+                        "\"field_ol_session\": {\"und\": [{\"value\": \"%d\"}]}}",
+                basePrintNo, printNo, session.getYear());
+    }
+
+    private SenateSiteDump createDump(String... items) throws IOException {
+        File file = tempFolder.newFile("bill_dump-1.json");
+        FileUtils.write(file, "{\"bills\": [" + String.join(", ", items) + "]}", StandardCharsets.UTF_8);
+        SenateSiteDumpFragment fragment = new SenateSiteDumpFragment(dumpId, 1);
+        fragment.setFragmentFile(file);
+        SenateSiteDump dump = new SenateSiteDump(dumpId);
+        dump.addDumpFragment(fragment);
+        return dump;
+    }
+
+    /**
+     * Records each check along with whether the openleg bill was present for it.
+     */
+    private static class StubBillCheckService extends BillCheckService
+    {
+        private final Map<BillId, Boolean> checked = new ConcurrentHashMap<>();
+
+        @Override
+        public SpotCheckObservation<BillId> check(BillView contentBillView, SenateSiteBill reference) {
+            checked.put(reference.getBillId(), contentBillView.getBasePrintNo() != null);
+            return new SpotCheckObservation<>(reference.getReferenceId(), reference.getBillId());
+        }
+    }
+
+    private static class StubSenateSiteDao implements SenateSiteDao
+    {
+        private SenateSiteDump dump;
+        private boolean processed = false;
+
+        @Override
+        public Collection<SenateSiteDump> getPendingDumps(SpotCheckRefType refType) {
+            return Collections.singletonList(dump);
+        }
+
+        @Override
+        public void saveDumpFragment(SenateSiteDumpFragment fragment, String fragmentData) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setProcessed(SenateSiteDump dump) {
+            processed = true;
+        }
+    }
+
+    private static class StubBillUpdatesDao implements BillUpdatesDao
+    {
+        private List<BaseBillId> postDumpUpdates = Collections.emptyList();
+
+        @Override
+        public PaginatedList<UpdateToken<BaseBillId>> getUpdates(Range<LocalDateTime> dateTimeRange, UpdateType type,
+                                                                 BillUpdateField filter, SortOrder dateOrder,
+                                                                 LimitOffset limOff) {
+            assertTrue(dateTimeRange.contains(dumpTime));
+            List<UpdateToken<BaseBillId>> tokens = postDumpUpdates.stream()
+                    .map(billId -> new UpdateToken<>(billId, UpdateContentType.BILL, "", dumpTime, dumpTime))
+                    .collect(Collectors.toList());
+            return new PaginatedList<>(tokens.size(), limOff, tokens);
+        }
+
+        @Override
+        public PaginatedList<UpdateDigest<BaseBillId>> getDetailedUpdates(
+                Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter, SortOrder dateOrder,
+                LimitOffset limOff) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<UpdateToken<BaseBillId>> getUpdatesAfter(
+                Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter, SortOrder dateOrder,
+                UpdateCursor after, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<UpdateDigest<BaseBillId>> getDetailedUpdatesAfter(
+                Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter, SortOrder dateOrder,
+                UpdateCursor after, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PaginatedList<UpdateDigest<BaseBillId>> getDetailedUpdatesForBill(
+                BaseBillId billId, Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter,
+                SortOrder dateOrder, LimitOffset limOff) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class StubBillDataService implements BillDataService
+    {
+        private List<BaseBillId> billIds = Collections.emptyList();
+        private List<Bill> bills = Collections.emptyList();
+
+        @Override
+        public List<BaseBillId> getBillIds(SessionYear sessionYear, LimitOffset limitOffset) {
+            return billIds;
+        }
+
+        @Override
+        public List<Bill> getBills(Collection<BaseBillId> billIds) {
+            return bills.stream()
+                    .filter(bill -> billIds.contains(bill.getBaseBillId()))
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public Bill getBill(BaseBillId billId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BillInfo getBillInfo(BaseBillId billId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BillInfo getBillInfoSafe(BaseBillId billId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getBillCount(SessionYear sessionYear) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void saveBill(Bill bill, SobiFragment fragment, boolean postUpdateEvent) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void saveBills(Collection<Pair<Bill, SobiFragment>> bills, boolean postUpdateEvent) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Range<SessionYear>> activeSessionRange() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<String> getAlternateBillPdfUrl(BillId billId) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package gov.nysenate.openleg.service.updates;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.config.ApplicationConfig;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.PaginatedList;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.updates.AggregateUpdatesDao;
+import gov.nysenate.openleg.model.updates.*;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class UpdateStreamServiceTest
+{
+    private static final String CURSOR_KEY = UpdateStreamService.CURSOR_HEADER;
+
+    private final List<UpdateDigest<Map<String, String>>> changeLog = new ArrayList<>();
+    private final List<Message<?>> sentMessages = new ArrayList<>();
+    private final List<Range<LocalDateTime>> readRanges = new ArrayList<>();
+
+    private UpdateStreamService.AsyncUpdateStreamer streamer;
+    private LocalDateTime streamStart;
+
+    @Before
+    public void setup() {
+        streamer = new UpdateStreamService.AsyncUpdateStreamer();
+        streamStart = (LocalDateTime) ReflectionTestUtils.getField(streamer, "streamStart");
+        ReflectionTestUtils.setField(streamer, "updatesDao", new ChangeLogDao());
+        ReflectionTestUtils.setField(streamer, "messagingTemplate", new SimpMessagingTemplate(new MessageChannel() {
+            @Override
+            public boolean send(Message<?> message) {
+                return send(message, INDEFINITE_TIMEOUT);
+            }
+
+            @Override
+            public boolean send(Message<?> message, long timeout) {
+                sentMessages.add(message);
+                return true;
+            }
+        }));
+        ReflectionTestUtils.setField(streamer, "objectMapper", new ApplicationConfig().objectMapper());
+        ReflectionTestUtils.setField(streamer, "rescanWindowSeconds", 300);
+    }
+
+    @Test
+    public void testLateCommitBehindCursorIsStreamed() throws InterruptedException {
+        // A transaction that started before the last streamed row commits after it was streamed
+        addCalendarChange(2, streamStart.plusNanos(10_000_000));
+        Thread.sleep(20);
+        streamer.stream(UpdateContentType.CALENDAR, true);
+        assertEquals(1, sentMessages.size());
+
+        addCalendarChange(1, streamStart.plusNanos(1_000_000));
+        streamer.stream(UpdateContentType.CALENDAR, true);
+        assertEquals(2, sentMessages.size());
+        UpdateCursor lateCursor = UpdateCursor.decode(getCursorHeader(sentMessages.get(1)));
+        assertEquals(1, lateCursor.getChangeId());
+
+        // Rows are only broadcast once
+        streamer.stream(UpdateContentType.CALENDAR, true);
+        assertEquals(2, sentMessages.size());
+    }
+
+    @Test
+    public void testNewRowScansDoNotRescanWindow() throws InterruptedException {
+        addCalendarChange(2, streamStart.plusNanos(10_000_000));
+        Thread.sleep(20);
+        streamer.stream(UpdateContentType.CALENDAR, false);
+        assertEquals(1, sentMessages.size());
+        LocalDateTime firstScanEnd = readRanges.get(0).upperEndpoint();
+
+        // A late commit behind the previous scan is left for the next rescan
+        addCalendarChange(1, streamStart.plusNanos(1_000_000));
+        streamer.stream(UpdateContentType.CALENDAR, false);
+        assertEquals(firstScanEnd, readRanges.get(1).lowerEndpoint());
+        assertEquals(1, sentMessages.size());
+
+        streamer.stream(UpdateContentType.CALENDAR, true);
+        assertEquals(streamStart, readRanges.get(2).lowerEndpoint());
+        assertEquals(2, sentMessages.size());
+    }
+
+    @Test
+    public void testResumeIncludesLateRowsBroadcastAfterCursor() throws InterruptedException {
+        addCalendarChange(2, streamStart.plusNanos(10_000_000));
+        Thread.sleep(20);
+        streamer.stream(UpdateContentType.CALENDAR, true);
+        UpdateCursor lastReceived = UpdateCursor.decode(getCursorHeader(sentMessages.get(0)));
+
+        // The subscriber disconnects, then a late commit is broadcast behind its cursor along with a new row
+        addCalendarChange(1, streamStart.plusNanos(1_000_000));
+        addCalendarChange(3, LocalDateTime.now());
+        Thread.sleep(20);
+        streamer.stream(UpdateContentType.CALENDAR, true);
+        assertEquals(3, sentMessages.size());
+
+        UpdateStreamPage page = streamer.getUpdatesAfter(UpdateContentType.CALENDAR, lastReceived,
+                                                         Collections.emptyMap(), 10);
+        assertEquals(2, page.getUpdates().size());
+        assertNull(page.getNextCursor());
+
+        // Nothing was broadcast after the last row, so there is nothing to resume
+        UpdateCursor latest = UpdateCursor.decode(getCursorHeader(sentMessages.get(2)));
+        assertTrue(streamer.getUpdatesAfter(UpdateContentType.CALENDAR, latest, Collections.emptyMap(), 10)
+                .getUpdates().isEmpty());
+    }
+
+    @Test
+    public void testStreamWindowForgetsRowsOutsideWindow() {
+        LocalDateTime start = LocalDateTime.of(2017, 1, 1, 0, 0);
+        UpdateStreamWindow window = new UpdateStreamWindow(start, Duration.ofMinutes(5));
+        assertEquals(Range.closed(start, start.plusMinutes(1)), window.getScanRange(start.plusMinutes(1)));
+
+        assertTrue(window.markSent(getCalendarChange(1, start.plusMinutes(1))));
+        assertTrue(window.markSent(getCalendarChange(2, start.plusMinutes(20))));
+        assertFalse(window.markSent(getCalendarChange(2, start.plusMinutes(20))));
+        window.finishScan(start.plusMinutes(21));
+
+        assertEquals(Range.closed(start.plusMinutes(16), start.plusMinutes(22)), window.getScanRange(start.plusMinutes(22)));
+        assertEquals(1, window.getSentCount());
+    }
+
+    /** --- Internal --- */
+
+    private void addCalendarChange(int changeId, LocalDateTime processed) {
+        changeLog.add(getCalendarChange(changeId, processed));
+    }
+
+    private static UpdateDigest<Map<String, String>> getCalendarChange(int changeId, LocalDateTime processed) {
+        UpdateDigest<Map<String, String>> digest = new UpdateDigest<>(
+                new HashMap<>(ImmutableMap.of("calNo", "10", "year", "2017")),
+                UpdateContentType.CALENDAR, "SOBI.D170101.T000000.TXT", processed, processed);
+        digest.setChangeId(changeId);
+        digest.setTable("calendar");
+        digest.setAction("INSERT");
+        return digest;
+    }
+
+    private static String getCursorHeader(Message<?> message) {
+        @SuppressWarnings("unchecked")
+        Map<String, List<String>> nativeHeaders = (Map<String, List<String>>) message.getHeaders().get("nativeHeaders");
+        return nativeHeaders.get(CURSOR_KEY).get(0);
+    }
+
+    /** Serves the change log rows that have been committed so far, ordered by processed date time and change id. */
+    private class ChangeLogDao implements AggregateUpdatesDao
+    {
+        @Override
+        public List<UpdateDigest<Map<String, String>>> getUpdateDigestsAfter(Range<LocalDateTime> dateTimeRange,
+                                                                             Set<UpdateContentType> types,
+                                                                             UpdateType updateType, SortOrder order,
+                                                                             UpdateCursor after, int limit,
+                                                                             boolean detail) {
+            readRanges.add(dateTimeRange);
+            return changeLog.stream()
+                    .filter(digest -> dateTimeRange.contains(digest.getProcessedDateTime()))
+                    .filter(digest -> after == null || digest.getProcessedDateTime().isAfter(after.getDateTime()) ||
+                            (digest.getProcessedDateTime().equals(after.getDateTime())
+                             && digest.getChangeId() > after.getChangeId()))
+                    .sorted(Comparator.comparing((UpdateDigest<Map<String, String>> digest) -> digest.getProcessedDateTime())
+                            .thenComparing(UpdateToken::getChangeId))
+                    .limit(limit)
+                    .map(UpdateStreamServiceTest::copy)
+                    .collect(toList());
+        }
+
+        @Override
+        public PaginatedList<UpdateToken<Map<String, String>>> getUpdateTokens(
+                Range<LocalDateTime> dateTimeRange, Set<UpdateContentType> types, UpdateType updateType,
+                SortOrder order, LimitOffset limitOffset) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public PaginatedList<UpdateDigest<Map<String, String>>> getUpdateDigests(
+                Range<LocalDateTime> dateTimeRange, Set<UpdateContentType> types, UpdateType updateType,
+                SortOrder order, LimitOffset limitOffset, boolean detail) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<UpdateToken<Map<String, String>>> getUpdateTokensAfter(
+                Range<LocalDateTime> dateTimeRange, Set<UpdateContentType> types, UpdateType updateType,
+                SortOrder order, UpdateCursor after, int limit) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static UpdateDigest<Map<String, String>> copy(UpdateDigest<Map<String, String>> digest) {
+        UpdateDigest<Map<String, String>> copy = getCalendarChange(digest.getChangeId(), digest.getProcessedDateTime());
+        copy.setTable(digest.getTable());
+        return copy;
+    }
+}
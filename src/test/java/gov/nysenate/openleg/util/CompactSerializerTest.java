@@ -0,0 +1,79 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.CommitteeVersionId;
+import gov.nysenate.openleg.model.entity.SessionMember;
+import org.apache.commons.lang3.SerializationException;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class CompactSerializerTest
+{
+    @Test
+    public void testBillRoundTrip() throws Exception {
+        Bill bill = createBill();
+        byte[] bytes = CompactSerializer.serialize(bill);
+        Bill decoded = CompactSerializer.deserialize(bytes, Bill.class);
+
+        assertNotSame(bill, decoded);
+        assertEquals(bill.getBaseBillId(), decoded.getBaseBillId());
+        assertEquals(bill.getSession(), decoded.getSession());
+        assertEquals(bill.getPublishedDateTime(), decoded.getPublishedDateTime());
+        assertEquals(bill.getTitle(), decoded.getTitle());
+        assertEquals(bill.getStatus(), decoded.getStatus());
+        assertEquals(bill.getActions(), decoded.getActions());
+        assertEquals(bill.getPastCommittees(), decoded.getPastCommittees());
+        assertEquals(bill.getAmendPublishStatusMap(), decoded.getAmendPublishStatusMap());
+        BillAmendment amendment = decoded.getAmendment(Version.A);
+        assertEquals("An act to amend the tax law", amendment.getActClause());
+        assertEquals(bill.getAmendment(Version.A).getVotesList(), amendment.getVotesList());
+    }
+
+    @Test
+    public void testBillInfoRoundTrip() {
+        BillInfo billInfo = new BillInfo(createBill());
+        BillInfo decoded = CompactSerializer.deserialize(CompactSerializer.serialize(billInfo), BillInfo.class);
+        assertEquals(billInfo.getBillId(), decoded.getBillId());
+        assertEquals(billInfo.getTitle(), decoded.getTitle());
+        assertEquals(billInfo.getActions(), decoded.getActions());
+        assertEquals(billInfo.getMilestones(), decoded.getMilestones());
+    }
+
+    @Test(expected = SerializationException.class)
+    public void testDeserializeToWrongType() {
+        CompactSerializer.deserialize(CompactSerializer.serialize(new BaseBillId("S1234", 2017)), Bill.class);
+    }
+
+    private static Bill createBill() {
+        BaseBillId baseBillId = new BaseBillId("S1234", 2017);
+        Bill bill = new Bill(baseBillId);
+        bill.setYear(2017);
+        bill.setTitle("Relates to the taxation of things");
+        bill.setSummary("Relates to the taxation of things in a particular way");
+        bill.setPublishedDateTime(LocalDateTime.of(2017, 1, 4, 10, 30));
+        bill.setStatus(new BillStatus(BillStatusType.IN_SENATE_COMM, LocalDate.of(2017, 1, 4)));
+        bill.addAction(new BillAction(LocalDate.of(2017, 1, 4), "REFERRED TO FINANCE", Chamber.SENATE, 1,
+                                      new BillId(baseBillId, Version.DEFAULT)));
+        bill.addPastCommittee(new CommitteeVersionId(Chamber.SENATE, "Finance", SessionYear.of(2017),
+                                                     LocalDateTime.of(2017, 1, 4, 0, 0)));
+
+        BillAmendment amendment = new BillAmendment(baseBillId, Version.A);
+        amendment.setActClause("An act to amend the tax law");
+        amendment.setFullText("The full text");
+        BillVote vote = new BillVote(amendment.getBillId(), LocalDate.of(2017, 3, 1), BillVoteType.FLOOR);
+        vote.addMemberVote(BillVoteCode.AYE, new SessionMember(370, SessionYear.of(2017)));
+        amendment.updateVote(vote);
+        bill.addAmendment(amendment);
+        return bill;
+    }
+}
@@ -0,0 +1,31 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class MismatchDiffUtilsTest
+{
+    private static final String REFERENCE = "AN ACT to amend the tax law, in relation to the sales tax\nSection 1.";
+    private static final String OBSERVED = "AN ACT to amend the education law, in relation to the sales tax + fees\nSection 1.";
+
+    @Test
+    public void testEncodedDiffMatchesComputedDiff() {
+        String encodedDiff = MismatchDiffUtils.encodeDiff(REFERENCE, OBSERVED);
+        assertFalse(encodedDiff.contains("sales tax"));
+        assertEquals(MismatchDiffUtils.getDiff(REFERENCE, OBSERVED, null, false),
+                     MismatchDiffUtils.getDiff(REFERENCE, OBSERVED, encodedDiff, false));
+        assertEquals(MismatchDiffUtils.getDiff(REFERENCE, OBSERVED, null, true),
+                     MismatchDiffUtils.getDiff(REFERENCE, OBSERVED, encodedDiff, true));
+    }
+
+    @Test
+    public void testStaleEncodedDiffIsRecomputed() {
+        String encodedDiff = MismatchDiffUtils.encodeDiff("short", "shorter");
+        assertEquals(MismatchDiffUtils.getDiff(REFERENCE, OBSERVED, null, false),
+                     MismatchDiffUtils.getDiff(REFERENCE, OBSERVED, encodedDiff, false));
+    }
+}
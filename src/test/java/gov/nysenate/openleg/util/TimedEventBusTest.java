@@ -0,0 +1,45 @@
+package gov.nysenate.openleg.util;
+
+import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class TimedEventBusTest
+{
+    private final TimedEventBus eventBus = new TimedEventBus((ex, context) -> {});
+
+    private final List<Object> reported = new ArrayList<>();
+    private final List<Object> handled = new ArrayList<>();
+
+    @Test
+    public void testNestedPostsAreNotReported() throws Exception {
+        eventBus.setPostListener((event, elapsedNanos) -> reported.add(event));
+        eventBus.register(new Object() {
+            @Subscribe
+            public void handleString(String event) {
+                handled.add(event);
+                eventBus.post(event.length());
+            }
+
+            @Subscribe
+            public void handleInteger(Integer event) {
+                handled.add(event);
+            }
+        });
+        eventBus.post("outer");
+        assertEquals(2, handled.size());
+        assertEquals(1, reported.size());
+        assertEquals("outer", reported.get(0));
+
+        // The thread is no longer dispatching once the outer post returns
+        eventBus.post(1);
+        assertEquals(2, reported.size());
+    }
+}
@@ -0,0 +1,143 @@
+package gov.nysenate.openleg.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per fragment cost of reading an agenda sobi fragment, walking it with the same expressions used by
+ * the AgendaProcessor. The cached expressions of {@link XmlHelper} are compared against compiling every
+ * expression on each evaluation, which is what the helper used to do.
+ *
+ * The sample sobi files in the test resources do not contain any xml fragments (and the agenda/calendar alerts are
+ * html) so the fragment is generated with a configurable number of committees and bills.
+ *
+ * Run via the main method with the test classpath, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class XmlHelperBenchmark
+{
+    @Param({"5", "20"})
+    public int committees;
+
+    @Param({"10"})
+    public int billsPerCommittee;
+
+    private String fragmentText;
+    private XmlHelper xmlHelper;
+    private XPath xpath;
+
+    @Setup
+    public void setup() throws Exception {
+        xmlHelper = new XmlHelper();
+        xpath = XPathFactory.newInstance().newXPath();
+        fragmentText = createAgendaFragment(committees, billsPerCommittee);
+    }
+
+    @Benchmark
+    public int uncompiledExpressions() throws Exception {
+        Document doc = xmlHelper.parse(fragmentText);
+        return readAgenda(doc, (path, node, type) -> xpath.evaluate(path, node, type));
+    }
+
+    @Benchmark
+    public int cachedExpressions() throws Exception {
+        Document doc = xmlHelper.parse(fragmentText);
+        return readAgenda(doc, (path, node, type) -> {
+            if (type == XPathConstants.NODE) {
+                return xmlHelper.getNode(path, node);
+            }
+            if (type == XPathConstants.NODESET) {
+                return xmlHelper.getNodeList(path, node);
+            }
+            return xmlHelper.getString(path, node);
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(XmlHelperBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+
+    /** --- Internal --- */
+
+    @FunctionalInterface
+    private interface Evaluator
+    {
+        Object evaluate(String path, Node node, QName type) throws XPathExpressionException;
+    }
+
+    private static int readAgenda(Document doc, Evaluator xml) throws XPathExpressionException {
+        int values = 0;
+        Node xmlAgenda = (Node) xml.evaluate("SENATEDATA/senagenda", doc, XPathConstants.NODE);
+        values += length(xml.evaluate("@no", xmlAgenda, XPathConstants.STRING));
+        values += length(xml.evaluate("@year", xmlAgenda, XPathConstants.STRING));
+        values += length(xml.evaluate("@action", xmlAgenda, XPathConstants.STRING));
+        NodeList xmlAddendums = (NodeList) xml.evaluate("addendum", xmlAgenda, XPathConstants.NODESET);
+        for (int i = 0; i < xmlAddendums.getLength(); i++) {
+            Node xmlAddendum = xmlAddendums.item(i);
+            values += length(xml.evaluate("@id", xmlAddendum, XPathConstants.STRING));
+            values += length(xml.evaluate("weekof/text()", xmlAddendum, XPathConstants.STRING));
+            values += length(xml.evaluate("pubdate/text()", xmlAddendum, XPathConstants.STRING));
+            values += length(xml.evaluate("pubtime/text()", xmlAddendum, XPathConstants.STRING));
+            NodeList xmlCommittees = (NodeList) xml.evaluate("committees/committee", xmlAddendum, XPathConstants.NODESET);
+            for (int j = 0; j < xmlCommittees.getLength(); j++) {
+                Node xmlCommittee = xmlCommittees.item(j);
+                values += length(xml.evaluate("name/text()", xmlCommittee, XPathConstants.STRING));
+                values += length(xml.evaluate("chair/text()", xmlCommittee, XPathConstants.STRING));
+                values += length(xml.evaluate("location/text()", xmlCommittee, XPathConstants.STRING));
+                values += length(xml.evaluate("notes/text()", xmlCommittee, XPathConstants.STRING));
+                values += length(xml.evaluate("meetdate/text()", xmlCommittee, XPathConstants.STRING));
+                values += length(xml.evaluate("meettime/text()", xmlCommittee, XPathConstants.STRING));
+                NodeList xmlBills = (NodeList) xml.evaluate("bills/bill", xmlCommittee, XPathConstants.NODESET);
+                for (int k = 0; k < xmlBills.getLength(); k++) {
+                    Node xmlBill = xmlBills.item(k);
+                    values += length(xml.evaluate("@no", xmlBill, XPathConstants.STRING));
+                    values += length(xml.evaluate("message/text()", xmlBill, XPathConstants.STRING));
+                }
+            }
+        }
+        return values;
+    }
+
+    private static int length(Object value) {
+        return ((String) value).length();
+    }
+
+    private static String createAgendaFragment(int committees, int billsPerCommittee) {
+        StringBuilder xml = new StringBuilder()
+            .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<SENATEDATA>\n<senagenda no=\"11\" year=\"2014\" sessyr=\"2013\" action=\"replace\">\n")
+            .append("<addendum id=\"A\">\n<weekof>2014-05-05</weekof><pubdate>2014-05-09</pubdate>")
+            .append("<pubtime>12.47.06</pubtime>\n<committees>\n");
+        for (int i = 0; i < committees; i++) {
+            xml.append("<committee><name>Committee ").append(i).append("</name><chair>Chair ").append(i)
+               .append("</chair><location>Room ").append(100 + i).append("</location><notes></notes>")
+               .append("<meetdate>2014-05-06</meetdate><meettime>10.00.00</meettime>\n<bills>\n");
+            for (int j = 0; j < billsPerCommittee; j++) {
+                xml.append("<bill no=\"S").append(1000 * (i + 1) + j).append("\"><message></message></bill>\n");
+            }
+            xml.append("</bills>\n</committee>\n");
+        }
+        return xml.append("</committees>\n</addendum>\n</senagenda>\n</SENATEDATA>\n").toString();
+    }
+}
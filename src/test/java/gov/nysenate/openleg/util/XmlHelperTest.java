@@ -0,0 +1,54 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class XmlHelperTest
+{
+    private static final String XML =
+            "<agenda no=\"11\"><bill no=\"S1\"/><bill no=\"S2\"/><bill no=\"S3\"/></agenda>";
+
+    @Test
+    public void testRepeatedEvaluation() throws Exception {
+        XmlHelper xml = new XmlHelper();
+        Document doc = xml.parse(XML);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("11", xml.getString("agenda/@no", doc));
+            assertEquals(Integer.valueOf(11), xml.getInteger("agenda/@no", doc));
+            NodeList bills = xml.getNodeList("agenda/bill", doc);
+            assertEquals(3, bills.getLength());
+            assertEquals("S" + (i + 1), xml.getString("@no", bills.item(i)));
+            assertEquals("S" + (i + 1), xml.getString("agenda/bill[" + (i + 1) + "]/@no", doc));
+        }
+    }
+
+    @Test
+    public void testConcurrentEvaluation() throws Exception {
+        XmlHelper xml = new XmlHelper();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> {
+                    Document doc = xml.parse(XML);
+                    return xml.getNodeList("agenda/bill", doc).getLength() + xml.getInteger("agenda/@no", doc);
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(Integer.valueOf(14), result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}